@@ -0,0 +1,85 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.analysis.simPoint;
+
+/**
+ * Basic block vector (BBV), i.e., the number of instructions executed in each basic block during a fixed size
+ * interval of instructions.
+ *
+ * @author Min Cai
+ */
+public class BasicBlockVector {
+    private int interval;
+    private long numInstructions;
+    private int[] basicBlockIds;
+    private long[] counts;
+
+    /**
+     * Create a basic block vector.
+     *
+     * @param interval        the index of the interval
+     * @param numInstructions the number of instructions executed in the interval
+     * @param basicBlockIds   the IDs of the basic blocks executed in the interval, in ascending order
+     * @param counts          the number of instructions executed in each of the basic blocks
+     */
+    public BasicBlockVector(int interval, long numInstructions, int[] basicBlockIds, long[] counts) {
+        this.interval = interval;
+        this.numInstructions = numInstructions;
+        this.basicBlockIds = basicBlockIds;
+        this.counts = counts;
+    }
+
+    /**
+     * Get the index of the interval.
+     *
+     * @return the index of the interval
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Get the number of instructions executed in the interval.
+     *
+     * @return the number of instructions executed in the interval
+     */
+    public long getNumInstructions() {
+        return numInstructions;
+    }
+
+    /**
+     * Get the IDs of the basic blocks executed in the interval, in ascending order.
+     *
+     * @return the IDs of the basic blocks executed in the interval
+     */
+    public int[] getBasicBlockIds() {
+        return basicBlockIds;
+    }
+
+    /**
+     * Get the number of instructions executed in each of the basic blocks.
+     *
+     * @return the number of instructions executed in each of the basic blocks
+     */
+    public long[] getCounts() {
+        return counts;
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.analysis.simPoint;
+
+/**
+ * Simulation point, i.e., the interval chosen to represent a cluster of the intervals with similar basic block vectors.
+ *
+ * @author Min Cai
+ */
+public class SimPoint {
+    private int interval;
+    private int cluster;
+    private double weight;
+
+    /**
+     * Create a simulation point.
+     *
+     * @param interval the index of the representative interval
+     * @param cluster  the index of the cluster
+     * @param weight   the weight, i.e., the fraction of the instructions executed in the intervals of the cluster
+     */
+    public SimPoint(int interval, int cluster, double weight) {
+        this.interval = interval;
+        this.cluster = cluster;
+        this.weight = weight;
+    }
+
+    /**
+     * Get the index of the representative interval.
+     *
+     * @return the index of the representative interval
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Get the index of the cluster.
+     *
+     * @return the index of the cluster
+     */
+    public int getCluster() {
+        return cluster;
+    }
+
+    /**
+     * Get the weight, i.e., the fraction of the instructions executed in the intervals of the cluster.
+     *
+     * @return the weight
+     */
+    public double getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SimPoint{interval=%d, cluster=%d, weight=%.4f}", interval, cluster, weight);
+    }
+}
@@ -0,0 +1,317 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.analysis.simPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Simulation point helper, which clusters the basic block vectors with the k-means algorithm and picks the
+ * representative interval of each cluster, following the SimPoint methodology: the vectors are normalized and
+ * randomly projected to a low number of dimensions, the clusterings for 1 to the maximum number of clusters are scored
+ * with the Bayesian information criterion (BIC), and the smallest number of clusters whose score reaches the threshold
+ * fraction of the score range is chosen.
+ *
+ * @author Min Cai
+ */
+public class SimPointHelper {
+    /**
+     * Pick the simulation points from the specified list of basic block vectors.
+     *
+     * @param basicBlockVectors the list of basic block vectors
+     * @param maxNumClusters    the maximum number of clusters
+     * @param seed              the seed of the random projection and the initial centroids
+     * @return the simulation points in ascending order of their intervals
+     */
+    public static List<SimPoint> pickSimPoints(List<BasicBlockVector> basicBlockVectors, int maxNumClusters, long seed) {
+        if (basicBlockVectors.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        double[][] points = project(basicBlockVectors, seed);
+
+        List<int[]> clusterings = new ArrayList<>();
+        double[] scores = new double[Math.min(maxNumClusters, points.length)];
+
+        for (int numClusters = 1; numClusters <= scores.length; numClusters++) {
+            int[] assignments = cluster(points, numClusters, new Random(seed + numClusters));
+            clusterings.add(assignments);
+            scores[numClusters - 1] = computeBic(points, assignments, numClusters);
+        }
+
+        double minScore = Arrays.stream(scores).min().getAsDouble();
+        double maxScore = Arrays.stream(scores).max().getAsDouble();
+
+        int numClusters = 1;
+        while (numClusters < scores.length && scores[numClusters - 1] < minScore + BIC_THRESHOLD * (maxScore - minScore)) {
+            numClusters++;
+        }
+
+        int[] assignments = clusterings.get(numClusters - 1);
+        double[][] centroids = computeCentroids(points, assignments, numClusters);
+
+        long totalNumInstructions = basicBlockVectors.stream().mapToLong(BasicBlockVector::getNumInstructions).sum();
+
+        List<SimPoint> simPoints = new ArrayList<>();
+
+        for (int cluster = 0; cluster < numClusters; cluster++) {
+            int representative = -1;
+            long numInstructions = 0;
+
+            for (int i = 0; i < points.length; i++) {
+                if (assignments[i] == cluster) {
+                    numInstructions += basicBlockVectors.get(i).getNumInstructions();
+
+                    if (representative == -1 || distance(points[i], centroids[cluster]) < distance(points[representative], centroids[cluster])) {
+                        representative = i;
+                    }
+                }
+            }
+
+            if (representative != -1) {
+                simPoints.add(new SimPoint(basicBlockVectors.get(representative).getInterval(), cluster, (double) numInstructions / totalNumInstructions));
+            }
+        }
+
+        simPoints.sort(Comparator.comparingInt(SimPoint::getInterval));
+
+        return simPoints;
+    }
+
+    /**
+     * Normalize the specified basic block vectors and randomly project them to a low number of dimensions.
+     *
+     * @param basicBlockVectors the list of basic block vectors
+     * @param seed              the seed of the random projection
+     * @return the projected points
+     */
+    private static double[][] project(List<BasicBlockVector> basicBlockVectors, long seed) {
+        int numBasicBlocks = basicBlockVectors.stream().flatMapToInt(basicBlockVector -> Arrays.stream(basicBlockVector.getBasicBlockIds())).max().orElse(-1) + 1;
+
+        Random random = new Random(seed);
+
+        double[][] projection = new double[numBasicBlocks][NUM_PROJECTED_DIMENSIONS];
+        for (double[] row : projection) {
+            for (int j = 0; j < NUM_PROJECTED_DIMENSIONS; j++) {
+                row[j] = random.nextDouble() * 2 - 1;
+            }
+        }
+
+        double[][] points = new double[basicBlockVectors.size()][NUM_PROJECTED_DIMENSIONS];
+
+        for (int i = 0; i < basicBlockVectors.size(); i++) {
+            BasicBlockVector basicBlockVector = basicBlockVectors.get(i);
+
+            long sum = Arrays.stream(basicBlockVector.getCounts()).sum();
+            if (sum == 0) {
+                continue;
+            }
+
+            for (int k = 0; k < basicBlockVector.getBasicBlockIds().length; k++) {
+                double frequency = (double) basicBlockVector.getCounts()[k] / sum;
+                double[] row = projection[basicBlockVector.getBasicBlockIds()[k]];
+
+                for (int j = 0; j < NUM_PROJECTED_DIMENSIONS; j++) {
+                    points[i][j] += frequency * row[j];
+                }
+            }
+        }
+
+        return points;
+    }
+
+    /**
+     * Cluster the specified points with the k-means algorithm seeded by the k-means++ initialization.
+     *
+     * @param points      the points
+     * @param numClusters the number of clusters
+     * @param random      the random number generator
+     * @return the index of the cluster that each point is assigned to
+     */
+    private static int[] cluster(double[][] points, int numClusters, Random random) {
+        double[][] centroids = new double[numClusters][];
+        centroids[0] = points[random.nextInt(points.length)].clone();
+
+        double[] minDistances = new double[points.length];
+
+        for (int cluster = 1; cluster < numClusters; cluster++) {
+            double sum = 0;
+            for (int i = 0; i < points.length; i++) {
+                minDistances[i] = Double.MAX_VALUE;
+                for (int c = 0; c < cluster; c++) {
+                    minDistances[i] = Math.min(minDistances[i], distance(points[i], centroids[c]));
+                }
+                sum += minDistances[i];
+            }
+
+            int next = 0;
+            double target = random.nextDouble() * sum;
+            while (next < points.length - 1 && (target -= minDistances[next]) > 0) {
+                next++;
+            }
+
+            centroids[cluster] = points[next].clone();
+        }
+
+        int[] assignments = new int[points.length];
+        Arrays.fill(assignments, -1);
+
+        for (int iteration = 0; iteration < MAX_NUM_ITERATIONS; iteration++) {
+            boolean changed = false;
+
+            for (int i = 0; i < points.length; i++) {
+                int nearest = 0;
+                for (int c = 1; c < numClusters; c++) {
+                    if (distance(points[i], centroids[c]) < distance(points[i], centroids[nearest])) {
+                        nearest = c;
+                    }
+                }
+
+                if (assignments[i] != nearest) {
+                    assignments[i] = nearest;
+                    changed = true;
+                }
+            }
+
+            if (!changed) {
+                break;
+            }
+
+            double[][] newCentroids = computeCentroids(points, assignments, numClusters);
+            for (int c = 0; c < numClusters; c++) {
+                if (newCentroids[c] != null) {
+                    centroids[c] = newCentroids[c];
+                }
+            }
+        }
+
+        return assignments;
+    }
+
+    /**
+     * Compute the centroids of the clusters.
+     *
+     * @param points      the points
+     * @param assignments the index of the cluster that each point is assigned to
+     * @param numClusters the number of clusters
+     * @return the centroids of the clusters, null for the empty ones
+     */
+    private static double[][] computeCentroids(double[][] points, int[] assignments, int numClusters) {
+        double[][] centroids = new double[numClusters][];
+        int[] sizes = new int[numClusters];
+
+        for (int i = 0; i < points.length; i++) {
+            int cluster = assignments[i];
+            if (centroids[cluster] == null) {
+                centroids[cluster] = new double[NUM_PROJECTED_DIMENSIONS];
+            }
+
+            for (int j = 0; j < NUM_PROJECTED_DIMENSIONS; j++) {
+                centroids[cluster][j] += points[i][j];
+            }
+            sizes[cluster]++;
+        }
+
+        for (int c = 0; c < numClusters; c++) {
+            if (centroids[c] != null) {
+                for (int j = 0; j < NUM_PROJECTED_DIMENSIONS; j++) {
+                    centroids[c][j] /= sizes[c];
+                }
+            }
+        }
+
+        return centroids;
+    }
+
+    /**
+     * Compute the Bayesian information criterion (BIC) score of the specified clustering, as defined in the X-means
+     * algorithm by Pelleg and Moore.
+     *
+     * @param points      the points
+     * @param assignments the index of the cluster that each point is assigned to
+     * @param numClusters the number of clusters
+     * @return the BIC score of the clustering
+     */
+    private static double computeBic(double[][] points, int[] assignments, int numClusters) {
+        double[][] centroids = computeCentroids(points, assignments, numClusters);
+
+        int numPoints = points.length;
+        int[] sizes = new int[numClusters];
+        double sumOfSquaredDistances = 0;
+
+        for (int i = 0; i < numPoints; i++) {
+            sizes[assignments[i]]++;
+            sumOfSquaredDistances += distance(points[i], centroids[assignments[i]]);
+        }
+
+        double variance = numPoints > numClusters ? sumOfSquaredDistances / (numPoints - numClusters) : 0;
+        variance = Math.max(variance, Double.MIN_NORMAL);
+
+        double logLikelihood = 0;
+        for (int size : sizes) {
+            if (size > 0) {
+                logLikelihood += -size / 2.0 * Math.log(2 * Math.PI)
+                        - size * NUM_PROJECTED_DIMENSIONS / 2.0 * Math.log(variance)
+                        - (size - numClusters) / 2.0
+                        + size * Math.log(size)
+                        - size * Math.log(numPoints);
+            }
+        }
+
+        int numParameters = (numClusters - 1) + NUM_PROJECTED_DIMENSIONS * numClusters + 1;
+
+        return logLikelihood - numParameters / 2.0 * Math.log(numPoints);
+    }
+
+    /**
+     * Get the squared Euclidean distance between the specified two points.
+     *
+     * @param point1 the first point
+     * @param point2 the second point
+     * @return the squared Euclidean distance between the two points
+     */
+    private static double distance(double[] point1, double[] point2) {
+        double sum = 0;
+        for (int j = 0; j < point1.length; j++) {
+            double difference = point1[j] - point2[j];
+            sum += difference * difference;
+        }
+        return sum;
+    }
+
+    /**
+     * Number of dimensions that the basic block vectors are randomly projected to.
+     */
+    private static final int NUM_PROJECTED_DIMENSIONS = 15;
+
+    /**
+     * Maximum number of iterations of the k-means algorithm.
+     */
+    private static final int MAX_NUM_ITERATIONS = 100;
+
+    /**
+     * Fraction of the BIC score range that the score of the chosen clustering must reach.
+     */
+    private static final double BIC_THRESHOLD = 0.9;
+}
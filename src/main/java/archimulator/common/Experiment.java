@@ -20,8 +20,15 @@
  */
 package archimulator.common;
 
+import archimulator.common.stat.StatStore;
 import archimulator.core.bpred.BranchPredictorType;
+import archimulator.isa.DirectMemoryBackingStore;
+import archimulator.isa.HeapMemoryBackingStore;
+import archimulator.isa.MappedFileMemoryBackingStore;
+import archimulator.isa.MemoryBackingStore;
+import archimulator.isa.MemoryBackingStoreType;
 import archimulator.os.Kernel;
+import archimulator.uncore.cache.partitioning.PartitionSearchType;
 import archimulator.uncore.cache.replacement.CacheReplacementPolicyType;
 import archimulator.uncore.dram.MemoryControllerType;
 import archimulator.uncore.net.simple.routing.RoutingAlgorithmType;
@@ -30,10 +37,17 @@ import archimulator.util.StorageUnit;
 import archimulator.util.StorageUnitHelper;
 import archimulator.util.dateTime.DateHelper;
 import archimulator.util.event.BlockingEventDispatcher;
+import archimulator.util.event.CalendarCycleAccurateEventQueue;
 import archimulator.util.event.CycleAccurateEventQueue;
+import archimulator.util.event.CycleAccurateEventQueueType;
 import org.apache.commons.lang.exception.ExceptionUtils;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Date;
 import java.util.List;
 
@@ -53,6 +67,36 @@ public class Experiment {
 
     private String outputDirectory;
 
+    private CycleAccurateEventQueueType cycleAccurateEventQueueType;
+
+    private boolean basicBlockFastForwardEnabled;
+
+    private MemoryBackingStoreType memoryBackingStoreType;
+
+    private boolean pendingFlowTreeDumpEnabled;
+
+    private boolean pipelineEntryPoolDebugEnabled;
+
+    private String roiCheckpointDirectory;
+
+    private long simPointIntervalSize;
+
+    private long simPointWarmupSize;
+
+    private int simPointMaxNumClusters;
+
+    private long samplingPeriod;
+
+    private long samplingUnitSize;
+
+    private long samplingDetailedWarmupSize;
+
+    private List<ProfilingHelperType> profilingHelperTypes;
+
+    private int utilityMonitorSamplingRatio;
+
+    private PartitionSearchType partitionSearchType;
+
     private int helperThreadPthreadSpawnIndex;
 
     private boolean dynamicSpeculativePrecomputationEnabled;
@@ -201,13 +245,20 @@ public class Experiment {
 
     private ArrayList<ContextMapping> contextMappings;
 
-    private List<ExperimentStat> stats;
+    private StatStore stats;
 
     /**
      * Current (max) memory page ID.
      */
     public transient int currentMemoryPageId;
 
+    /**
+     * IDs of the freed memory pages below the current (max) memory page ID, which are reused before new ones.
+     */
+    public transient BitSet freeMemoryPageIds;
+
+    private transient MemoryBackingStore memoryBackingStore;
+
     /**
      * Current (max) process ID.
      */
@@ -243,6 +294,38 @@ public class Experiment {
         this.numMaxInstructions = numMaxInstructions;
         this.contextMappings = new ArrayList<>(contextMappings);
 
+        this.cycleAccurateEventQueueType = CycleAccurateEventQueueType.CALENDAR;
+
+        this.basicBlockFastForwardEnabled = false;
+
+        this.memoryBackingStoreType = MemoryBackingStoreType.HEAP;
+
+        this.freeMemoryPageIds = new BitSet();
+
+        this.pendingFlowTreeDumpEnabled = false;
+
+        this.pipelineEntryPoolDebugEnabled = false;
+
+        this.roiCheckpointDirectory = null;
+
+        this.simPointIntervalSize = 10000000;
+
+        this.simPointWarmupSize = 1000000;
+
+        this.simPointMaxNumClusters = 10;
+
+        this.samplingPeriod = 1000000;
+
+        this.samplingUnitSize = 1000;
+
+        this.samplingDetailedWarmupSize = 2000;
+
+        this.profilingHelperTypes = new ArrayList<>();
+
+        this.utilityMonitorSamplingRatio = 1;
+
+        this.partitionSearchType = PartitionSearchType.DYNAMIC_PROGRAMMING;
+
         this.helperThreadPthreadSpawnIndex = 3720;
 
         this.dynamicSpeculativePrecomputationEnabled = dynamicSpeculativePrecomputationEnabled;
@@ -334,7 +417,7 @@ public class Experiment {
         this.basicMemoryControllerRowSize = 2048;
 
         this.createTime = DateHelper.toTick(new Date());
-        this.stats = new ArrayList<>();
+        this.stats = new StatStore();
     }
 
     /**
@@ -342,7 +425,18 @@ public class Experiment {
      */
     public void run() {
         try {
-            CycleAccurateEventQueue cycleAccurateEventQueue = new CycleAccurateEventQueue();
+            CycleAccurateEventQueue cycleAccurateEventQueue;
+
+            switch (getCycleAccurateEventQueueType()) {
+                case PRIORITY_QUEUE:
+                    cycleAccurateEventQueue = new CycleAccurateEventQueue();
+                    break;
+                default:
+                    cycleAccurateEventQueue = new CalendarCycleAccurateEventQueue();
+                    break;
+            }
+
+            this.memoryBackingStore = this.createMemoryBackingStore();
 
             if (getType() == ExperimentType.FUNCTIONAL) {
                 BlockingEventDispatcher<SimulationEvent> blockingEventDispatcher = new BlockingEventDispatcher<>();
@@ -355,13 +449,41 @@ public class Experiment {
 
                 BlockingEventDispatcher<SimulationEvent> blockingEventDispatcher = new BlockingEventDispatcher<>();
 
-                new ToRoiFastForwardSimulation(this, blockingEventDispatcher, cycleAccurateEventQueue, kernelRef).simulate();
+                File roiCheckpointFile = this.getRoiCheckpointFile();
+
+                if (roiCheckpointFile != null && roiCheckpointFile.exists()) {
+                    Logger.infof(Logger.ROI, "Skipped fast forwarding to the ROI by restoring the checkpoint %s.", 0, roiCheckpointFile);
+                } else {
+                    new ToRoiFastForwardSimulation(this, blockingEventDispatcher, cycleAccurateEventQueue, kernelRef).simulate();
+
+                    if (roiCheckpointFile != null) {
+                        kernelRef.get().saveCheckpoint(roiCheckpointFile);
+                        Logger.infof(Logger.ROI, "Saved the ROI checkpoint %s.", cycleAccurateEventQueue.getCurrentCycle(), roiCheckpointFile);
+                    }
+
+                    blockingEventDispatcher.clearListeners();
+
+                    cycleAccurateEventQueue.resetCurrentCycle();
+                }
+
+                new FromRoiDetailedSimulation(this, blockingEventDispatcher, cycleAccurateEventQueue, kernelRef).simulate();
+            } else if (getType() == ExperimentType.SAMPLED) {
+                BlockingEventDispatcher<SimulationEvent> blockingEventDispatcher = new BlockingEventDispatcher<>();
+
+                SimPointProfilingSimulation simPointProfilingSimulation = new SimPointProfilingSimulation(this, blockingEventDispatcher, cycleAccurateEventQueue);
+                simPointProfilingSimulation.simulate();
 
                 blockingEventDispatcher.clearListeners();
 
                 cycleAccurateEventQueue.resetCurrentCycle();
 
-                new FromRoiDetailedSimulation(this, blockingEventDispatcher, cycleAccurateEventQueue, kernelRef).simulate();
+                this.memoryBackingStore.close();
+                this.memoryBackingStore = this.createMemoryBackingStore();
+
+                new SampledSimulation(this, blockingEventDispatcher, cycleAccurateEventQueue, simPointProfilingSimulation.getSimPoints()).simulate();
+            } else if (getType() == ExperimentType.PERIODIC_SAMPLED) {
+                BlockingEventDispatcher<SimulationEvent> blockingEventDispatcher = new BlockingEventDispatcher<>();
+                new PeriodicSampledSimulation(this, blockingEventDispatcher, cycleAccurateEventQueue).simulate();
             }
 
             this.setState(ExperimentState.COMPLETED);
@@ -370,6 +492,27 @@ public class Experiment {
             this.setState(ExperimentState.ABORTED);
             this.setFailedReason(ExceptionUtils.getStackTrace(e));
             e.printStackTrace();
+        } finally {
+            if (this.memoryBackingStore != null) {
+                this.memoryBackingStore.close();
+                this.memoryBackingStore = null;
+            }
+        }
+    }
+
+    /**
+     * Create the memory backing store of the configured type.
+     *
+     * @return the newly created memory backing store
+     */
+    private MemoryBackingStore createMemoryBackingStore() {
+        switch (getMemoryBackingStoreType()) {
+            case DIRECT:
+                return new DirectMemoryBackingStore();
+            case MAPPED_FILE:
+                return new MappedFileMemoryBackingStore();
+            default:
+                return new HeapMemoryBackingStore();
         }
     }
 
@@ -445,6 +588,324 @@ public class Experiment {
         return outputDirectory;
     }
 
+    /**
+     * Get the cycle accurate event queue type.
+     *
+     * @return the cycle accurate event queue type
+     */
+    public CycleAccurateEventQueueType getCycleAccurateEventQueueType() {
+        return cycleAccurateEventQueueType;
+    }
+
+    /**
+     * Set the cycle accurate event queue type.
+     *
+     * @param cycleAccurateEventQueueType the cycle accurate event queue type
+     */
+    public void setCycleAccurateEventQueueType(CycleAccurateEventQueueType cycleAccurateEventQueueType) {
+        this.cycleAccurateEventQueueType = cycleAccurateEventQueueType;
+    }
+
+    /**
+     * Get a value indicating whether executing whole decoded basic blocks per cycle in the fast forward mode is enabled or not.
+     *
+     * @return a value indicating whether executing whole decoded basic blocks per cycle in the fast forward mode is enabled or not
+     */
+    public boolean getBasicBlockFastForwardEnabled() {
+        return basicBlockFastForwardEnabled;
+    }
+
+    /**
+     * Set a value indicating whether executing whole decoded basic blocks per cycle in the fast forward mode is enabled or not.
+     *
+     * @param basicBlockFastForwardEnabled a value indicating whether executing whole decoded basic blocks per cycle in the fast forward mode is enabled or not
+     */
+    public void setBasicBlockFastForwardEnabled(boolean basicBlockFastForwardEnabled) {
+        this.basicBlockFastForwardEnabled = basicBlockFastForwardEnabled;
+    }
+
+    /**
+     * Get the memory backing store type.
+     *
+     * @return the memory backing store type
+     */
+    public MemoryBackingStoreType getMemoryBackingStoreType() {
+        return memoryBackingStoreType;
+    }
+
+    /**
+     * Set the memory backing store type.
+     *
+     * @param memoryBackingStoreType the memory backing store type
+     */
+    public void setMemoryBackingStoreType(MemoryBackingStoreType memoryBackingStoreType) {
+        this.memoryBackingStoreType = memoryBackingStoreType;
+    }
+
+    /**
+     * Get a value indicating whether recording the child flows of the pending cache coherence flows for dumping is enabled or not.
+     *
+     * @return a value indicating whether recording the child flows of the pending cache coherence flows for dumping is enabled or not
+     */
+    public boolean getPendingFlowTreeDumpEnabled() {
+        return pendingFlowTreeDumpEnabled;
+    }
+
+    /**
+     * Set a value indicating whether recording the child flows of the pending cache coherence flows for dumping is enabled or not.
+     *
+     * @param pendingFlowTreeDumpEnabled a value indicating whether recording the child flows of the pending cache coherence flows for dumping is enabled or not
+     */
+    public void setPendingFlowTreeDumpEnabled(boolean pendingFlowTreeDumpEnabled) {
+        this.pendingFlowTreeDumpEnabled = pendingFlowTreeDumpEnabled;
+    }
+
+    /**
+     * Get a value indicating whether the debug mode of the pipeline entry pools, which never recycles the released
+     * decode buffer, reorder buffer and load/store queue entries so that any use after release is detected, is enabled or not.
+     *
+     * @return a value indicating whether the debug mode of the pipeline entry pools is enabled or not
+     */
+    public boolean getPipelineEntryPoolDebugEnabled() {
+        return pipelineEntryPoolDebugEnabled;
+    }
+
+    /**
+     * Set a value indicating whether the debug mode of the pipeline entry pools is enabled or not.
+     *
+     * @param pipelineEntryPoolDebugEnabled a value indicating whether the debug mode of the pipeline entry pools is enabled or not
+     */
+    public void setPipelineEntryPoolDebugEnabled(boolean pipelineEntryPoolDebugEnabled) {
+        this.pipelineEntryPoolDebugEnabled = pipelineEntryPoolDebugEnabled;
+    }
+
+    /**
+     * Get the directory holding the on-disk checkpoints taken at the region of interest (ROI) of the two-phase
+     * experiments, or null if the checkpoints are disabled.
+     *
+     * @return the directory holding the ROI checkpoints, or null if the checkpoints are disabled
+     */
+    public String getRoiCheckpointDirectory() {
+        return roiCheckpointDirectory;
+    }
+
+    /**
+     * Set the directory holding the on-disk checkpoints taken at the region of interest (ROI) of the two-phase
+     * experiments, or null to disable the checkpoints.
+     *
+     * @param roiCheckpointDirectory the directory holding the ROI checkpoints, or null to disable the checkpoints
+     */
+    public void setRoiCheckpointDirectory(String roiCheckpointDirectory) {
+        this.roiCheckpointDirectory = roiCheckpointDirectory;
+    }
+
+    /**
+     * Get the size in instructions of the intervals profiled for the basic block vectors of the sampled experiments.
+     *
+     * @return the size in instructions of the intervals profiled for the basic block vectors
+     */
+    public long getSimPointIntervalSize() {
+        return simPointIntervalSize;
+    }
+
+    /**
+     * Set the size in instructions of the intervals profiled for the basic block vectors of the sampled experiments.
+     *
+     * @param simPointIntervalSize the size in instructions of the intervals profiled for the basic block vectors
+     */
+    public void setSimPointIntervalSize(long simPointIntervalSize) {
+        this.simPointIntervalSize = simPointIntervalSize;
+    }
+
+    /**
+     * Get the number of instructions for warming up the caches before each simulation point of the sampled experiments.
+     *
+     * @return the number of instructions for warming up the caches before each simulation point
+     */
+    public long getSimPointWarmupSize() {
+        return simPointWarmupSize;
+    }
+
+    /**
+     * Set the number of instructions for warming up the caches before each simulation point of the sampled experiments.
+     *
+     * @param simPointWarmupSize the number of instructions for warming up the caches before each simulation point
+     */
+    public void setSimPointWarmupSize(long simPointWarmupSize) {
+        this.simPointWarmupSize = simPointWarmupSize;
+    }
+
+    /**
+     * Get the maximum number of clusters, and thus of simulation points, picked by the sampled experiments.
+     *
+     * @return the maximum number of clusters picked by the sampled experiments
+     */
+    public int getSimPointMaxNumClusters() {
+        return simPointMaxNumClusters;
+    }
+
+    /**
+     * Set the maximum number of clusters, and thus of simulation points, picked by the sampled experiments.
+     *
+     * @param simPointMaxNumClusters the maximum number of clusters picked by the sampled experiments
+     */
+    public void setSimPointMaxNumClusters(int simPointMaxNumClusters) {
+        this.simPointMaxNumClusters = simPointMaxNumClusters;
+    }
+
+    /**
+     * Get the sampling period in instructions of the periodic sampled experiments, out of which one measurement unit is
+     * sampled.
+     *
+     * @return the sampling period in instructions
+     */
+    public long getSamplingPeriod() {
+        return samplingPeriod;
+    }
+
+    /**
+     * Set the sampling period in instructions of the periodic sampled experiments, out of which one measurement unit is
+     * sampled.
+     *
+     * @param samplingPeriod the sampling period in instructions
+     */
+    public void setSamplingPeriod(long samplingPeriod) {
+        this.samplingPeriod = samplingPeriod;
+    }
+
+    /**
+     * Get the size in instructions of the measurement units of the periodic sampled experiments.
+     *
+     * @return the size in instructions of the measurement units
+     */
+    public long getSamplingUnitSize() {
+        return samplingUnitSize;
+    }
+
+    /**
+     * Set the size in instructions of the measurement units of the periodic sampled experiments.
+     *
+     * @param samplingUnitSize the size in instructions of the measurement units
+     */
+    public void setSamplingUnitSize(long samplingUnitSize) {
+        this.samplingUnitSize = samplingUnitSize;
+    }
+
+    /**
+     * Get the number of instructions simulated in detail before each measurement unit of the periodic sampled
+     * experiments to warm up the pipelines.
+     *
+     * @return the number of instructions simulated in detail before each measurement unit
+     */
+    public long getSamplingDetailedWarmupSize() {
+        return samplingDetailedWarmupSize;
+    }
+
+    /**
+     * Set the number of instructions simulated in detail before each measurement unit of the periodic sampled
+     * experiments to warm up the pipelines.
+     *
+     * @param samplingDetailedWarmupSize the number of instructions simulated in detail before each measurement unit
+     */
+    public void setSamplingDetailedWarmupSize(long samplingDetailedWarmupSize) {
+        this.samplingDetailedWarmupSize = samplingDetailedWarmupSize;
+    }
+
+    /**
+     * Get the file of the ROI checkpoint for the experiment. The file is keyed by the executables, their arguments and
+     * modification times, and the settings which affect the state reached at the ROI by fast forwarding.
+     *
+     * @return the file of the ROI checkpoint for the experiment, or null if the checkpoints are disabled
+     */
+    public File getRoiCheckpointFile() {
+        if (this.roiCheckpointDirectory == null) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder();
+
+        for (ContextMapping contextMapping : this.contextMappings) {
+            File executableFile = new File(contextMapping.getExecutable());
+            key.append(String.format("%d|%s|%s|%d|%d\n", contextMapping.getThreadId(), executableFile.getAbsolutePath(), contextMapping.getArguments(), executableFile.length(), executableFile.lastModified()));
+        }
+
+        key.append(String.format("%d|%d|%d|%s", this.numCores, this.numThreadsPerCore, this.helperThreadPthreadSpawnIndex, this.basicBlockFastForwardEnabled));
+
+        try {
+            StringBuilder digest = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-1").digest(key.toString().getBytes(StandardCharsets.UTF_8))) {
+                digest.append(String.format("%02x", b));
+            }
+
+            return new File(this.roiCheckpointDirectory, new File(this.contextMappings.get(0).getExecutable()).getName() + "-" + digest + ".roi");
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Get the list of the enabled profiling helper types.
+     *
+     * @return the list of the enabled profiling helper types
+     */
+    public List<ProfilingHelperType> getProfilingHelperTypes() {
+        return profilingHelperTypes;
+    }
+
+    /**
+     * Set the list of the enabled profiling helper types.
+     *
+     * @param profilingHelperTypes the list of the enabled profiling helper types
+     */
+    public void setProfilingHelperTypes(List<ProfilingHelperType> profilingHelperTypes) {
+        this.profilingHelperTypes = new ArrayList<>(profilingHelperTypes);
+    }
+
+    /**
+     * Get the sampling ratio of the utility monitors, i.e., one in every N sets of the L2 cache is profiled.
+     *
+     * @return the sampling ratio of the utility monitors
+     */
+    public int getUtilityMonitorSamplingRatio() {
+        return utilityMonitorSamplingRatio;
+    }
+
+    /**
+     * Set the sampling ratio of the utility monitors, i.e., one in every N sets of the L2 cache is profiled.
+     *
+     * @param utilityMonitorSamplingRatio the sampling ratio of the utility monitors
+     */
+    public void setUtilityMonitorSamplingRatio(int utilityMonitorSamplingRatio) {
+        this.utilityMonitorSamplingRatio = utilityMonitorSamplingRatio;
+    }
+
+    /**
+     * Get the type of the search for the optimal partition used by the cache partitioning helpers.
+     *
+     * @return the type of the search for the optimal partition used by the cache partitioning helpers
+     */
+    public PartitionSearchType getPartitionSearchType() {
+        return partitionSearchType;
+    }
+
+    /**
+     * Set the type of the search for the optimal partition used by the cache partitioning helpers.
+     *
+     * @param partitionSearchType the type of the search for the optimal partition used by the cache partitioning helpers
+     */
+    public void setPartitionSearchType(PartitionSearchType partitionSearchType) {
+        this.partitionSearchType = partitionSearchType;
+    }
+
+    /**
+     * Get the memory backing store holding the simulated physical pages while the experiment is running.
+     *
+     * @return the memory backing store holding the simulated physical pages while the experiment is running
+     */
+    public MemoryBackingStore getMemoryBackingStore() {
+        return memoryBackingStore;
+    }
+
     /**
      * Get the helper thread Pthread spawning index of pseudo calls.
      *
@@ -1855,20 +2316,20 @@ public class Experiment {
     }
 
     /**
-     * Get the in-memory list of statistics.
+     * Get the in-memory store of statistics.
      *
-     * @return the in-memory list of statistics
+     * @return the in-memory store of statistics
      */
-    public List<ExperimentStat> getStats() {
+    public StatStore getStats() {
         return stats;
     }
 
     /**
-     * Set the in-memory list of statistics.
+     * Set the in-memory store of statistics.
      *
-     * @param stats the in-memory list of statistics
+     * @param stats the in-memory store of statistics
      */
-    public void setStats(List<ExperimentStat> stats) {
+    public void setStats(StatStore stats) {
         this.stats = stats;
     }
 
@@ -1904,6 +2365,10 @@ public class Experiment {
                 return "functional";
             case DETAILED:
                 return "detailed";
+            case SAMPLED:
+                return "simPoint/sampled";
+            case PERIODIC_SAMPLED:
+                return "periodicSampling";
             default:
                 throw new IllegalArgumentException();
         }
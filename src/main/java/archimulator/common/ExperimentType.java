@@ -39,5 +39,16 @@ public enum ExperimentType {
     /**
      * Two-phase "fast forward and measurement" experiment.
      */
-    TWO_PHASE
+    TWO_PHASE,
+
+    /**
+     * Sampled experiment, which profiles the basic block vectors, picks the simulation points and measures them in detail.
+     */
+    SAMPLED,
+
+    /**
+     * Periodic sampled experiment, which measures a short unit out of every sampling period in detail and keeps the
+     * caches and branch predictors warm in between.
+     */
+    PERIODIC_SAMPLED
 }
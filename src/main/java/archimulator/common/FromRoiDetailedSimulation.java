@@ -88,12 +88,17 @@ public class FromRoiDetailedSimulation extends Simulation {
     }
 
     /**
-     * Prepare the kernel.
+     * Prepare the kernel, which is either the one left by the fast forward simulation, or the one restored from the ROI
+     * checkpoint if no fast forward simulation is run.
      *
      * @return the prepared kernel
      */
     @Override
     public Kernel prepareKernel() {
+        if (this.kernelRef.get() == null) {
+            this.kernelRef.set(Kernel.loadCheckpoint(this, this.getExperiment().getRoiCheckpointFile()));
+        }
+
         return this.kernelRef.get();
     }
 
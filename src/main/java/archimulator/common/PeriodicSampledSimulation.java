@@ -0,0 +1,247 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.common;
+
+import archimulator.common.report.ReportNode;
+import archimulator.util.event.BlockingEventDispatcher;
+import archimulator.util.event.CycleAccurateEventQueue;
+
+/**
+ * Periodic sampled simulation in the style of SMARTS, which systematically samples a short measurement unit out of
+ * every sampling period. Between the units the contexts are executed in the cache warmup mode, which keeps the TLBs,
+ * the caches and the branch predictors warm, and each unit is preceded by a short detailed warmup of the pipelines.
+ * The CPI (cycles per instruction) of the units is reported with its confidence interval.
+ *
+ * @author Min Cai
+ */
+public class PeriodicSampledSimulation extends Simulation {
+    private long phaseEndNumInstructions;
+
+    private long numSamples;
+    private double sumOfCpis;
+    private double sumOfSquaredCpis;
+
+    private long numMeasuredInstructions;
+    private long numMeasuredCycles;
+    private long numMeasuredL1DMisses;
+    private long numMeasuredL2Misses;
+
+    /**
+     * Create a periodic sampled simulation.
+     *
+     * @param experiment              the parent experiment
+     * @param blockingEventDispatcher the blocking event dispatcher
+     * @param cycleAccurateEventQueue the cycle accurate event queue
+     */
+    public PeriodicSampledSimulation(Experiment experiment, BlockingEventDispatcher<SimulationEvent> blockingEventDispatcher, CycleAccurateEventQueue cycleAccurateEventQueue) {
+        super(SimulationType.MEASUREMENT, experiment, blockingEventDispatcher, cycleAccurateEventQueue, null);
+    }
+
+    /**
+     * Get a value indicating whether it can do fast forward for one cycle or not.
+     *
+     * @return a value indicating whether it can do fast forward for one cycle or not
+     */
+    @Override
+    public boolean canDoFastForwardOneCycle() {
+        throw new IllegalArgumentException();
+    }
+
+    /**
+     * Get a value indicating whether it can do cache warmup for one cycle or not.
+     *
+     * @return a value indicating whether it can do cache warmup for one cycle or not
+     */
+    @Override
+    public boolean canDoCacheWarmupOneCycle() {
+        return this.canDoOneCycle();
+    }
+
+    /**
+     * Get a value indicating whether it can do measurement for one cycle or not.
+     *
+     * @return a value indicating whether it can do measurement for one cycle or not
+     */
+    @Override
+    public boolean canDoMeasurementOneCycle() {
+        return this.canDoOneCycle();
+    }
+
+    /**
+     * Get a value indicating whether the current phase can go on for one more cycle or not.
+     *
+     * @return a value indicating whether the current phase can go on for one more cycle or not
+     */
+    private boolean canDoOneCycle() {
+        return this.getNumInstructionsOnFirstThread() < this.phaseEndNumInstructions && !this.isNumMaxInstructionsReached();
+    }
+
+    /**
+     * Get a value indicating whether the maximum number of instructions has been reached or not.
+     *
+     * @return a value indicating whether the maximum number of instructions has been reached or not
+     */
+    private boolean isNumMaxInstructionsReached() {
+        return this.getExperiment().getNumMaxInstructions() != -1 && this.getNumInstructionsOnFirstThread() >= this.getExperiment().getNumMaxInstructions();
+    }
+
+    /**
+     * Begin the simulation.
+     */
+    @Override
+    public void beginSimulation() {
+        this.numSamples = 0;
+        this.sumOfCpis = 0;
+        this.sumOfSquaredCpis = 0;
+
+        this.numMeasuredInstructions = 0;
+        this.numMeasuredCycles = 0;
+        this.numMeasuredL1DMisses = 0;
+        this.numMeasuredL2Misses = 0;
+    }
+
+    /**
+     * End the simulation.
+     */
+    @Override
+    public void endSimulation() {
+    }
+
+    /**
+     * Do measurement by repeating the sampling periods until the contexts finish or the maximum number of instructions
+     * is reached. Each period is executed in the cache warmup mode up to the detailed warmup, which is followed by the
+     * measurement unit. The pipelines are squashed after each unit.
+     */
+    @Override
+    public void doMeasurement() {
+        long samplingPeriod = this.getExperiment().getSamplingPeriod();
+        long samplingUnitSize = this.getExperiment().getSamplingUnitSize();
+        long samplingDetailedWarmupSize = this.getExperiment().getSamplingDetailedWarmupSize();
+
+        for (long periodBeginNumInstructions = 0; ; periodBeginNumInstructions += samplingPeriod) {
+            long unitBeginNumInstructions = periodBeginNumInstructions + samplingPeriod - samplingUnitSize;
+
+            this.phaseEndNumInstructions = unitBeginNumInstructions - samplingDetailedWarmupSize;
+            if (this.canDoCacheWarmupOneCycle()) {
+                this.doCacheWarmup();
+            }
+
+            if (this.getProcessor().getKernel().getContexts().isEmpty() || this.isNumMaxInstructionsReached()) {
+                break;
+            }
+
+            this.redirectFetchToContexts();
+
+            this.phaseEndNumInstructions = unitBeginNumInstructions;
+            super.doMeasurement();
+
+            long numInstructionsBefore = this.getNumInstructionsOnFirstThread();
+            long numCyclesBefore = this.getCycleAccurateEventQueue().getCurrentCycle();
+            long numL1DMissesBefore = this.getNumL1DMisses();
+            long numL2MissesBefore = this.getProcessor().getMemoryHierarchy().getL2Controller().getNumDownwardMisses();
+
+            this.phaseEndNumInstructions = unitBeginNumInstructions + samplingUnitSize;
+            super.doMeasurement();
+
+            long numInstructions = this.getNumInstructionsOnFirstThread() - numInstructionsBefore;
+            long numCycles = this.getCycleAccurateEventQueue().getCurrentCycle() - numCyclesBefore;
+
+            if (this.getNumInstructionsOnFirstThread() >= this.phaseEndNumInstructions && numInstructions > 0) {
+                double cpi = (double) numCycles / numInstructions;
+
+                this.numSamples++;
+                this.sumOfCpis += cpi;
+                this.sumOfSquaredCpis += cpi * cpi;
+
+                this.numMeasuredInstructions += numInstructions;
+                this.numMeasuredCycles += numCycles;
+                this.numMeasuredL1DMisses += this.getNumL1DMisses() - numL1DMissesBefore;
+                this.numMeasuredL2Misses += this.getProcessor().getMemoryHierarchy().getL2Controller().getNumDownwardMisses() - numL2MissesBefore;
+            }
+
+            this.squashPipelines();
+        }
+    }
+
+    /**
+     * Dump the statistics, including the mean CPI of the measurement units with its confidence interval and the number
+     * of units needed to reach the target relative error.
+     *
+     * @param reportNode the report node
+     */
+    @Override
+    public void dumpStats(ReportNode reportNode) {
+        super.dumpStats(reportNode);
+
+        final double meanCpi = this.numSamples > 0 ? this.sumOfCpis / this.numSamples : 0;
+        final double stdDevCpi = this.numSamples > 1 ? Math.sqrt(Math.max(this.sumOfSquaredCpis - this.numSamples * meanCpi * meanCpi, 0) / (this.numSamples - 1)) : 0;
+        final double coefficientOfVariationCpi = meanCpi > 0 ? stdDevCpi / meanCpi : 0;
+        final double cpiConfidenceIntervalHalfWidth = this.numSamples > 0 ? CONFIDENCE_Z * stdDevCpi / Math.sqrt(this.numSamples) : 0;
+
+        reportNode.getChildren().add(new ReportNode(reportNode, "periodicSampling") {{
+            getChildren().add(new ReportNode(this, "samplingPeriod", getExperiment().getSamplingPeriod() + ""));
+            getChildren().add(new ReportNode(this, "samplingUnitSize", getExperiment().getSamplingUnitSize() + ""));
+            getChildren().add(new ReportNode(this, "samplingDetailedWarmupSize", getExperiment().getSamplingDetailedWarmupSize() + ""));
+
+            getChildren().add(new ReportNode(this, "numSamples", numSamples + ""));
+            getChildren().add(new ReportNode(this, "numMeasuredInstructions", numMeasuredInstructions + ""));
+            getChildren().add(new ReportNode(this, "numMeasuredCycles", numMeasuredCycles + ""));
+
+            getChildren().add(new ReportNode(this, "meanCpi", meanCpi + ""));
+            getChildren().add(new ReportNode(this, "meanIpc", (meanCpi > 0 ? 1 / meanCpi : 0) + ""));
+            getChildren().add(new ReportNode(this, "stdDevCpi", stdDevCpi + ""));
+            getChildren().add(new ReportNode(this, "coefficientOfVariationCpi", coefficientOfVariationCpi + ""));
+            getChildren().add(new ReportNode(this, "cpiConfidenceLevel", CONFIDENCE_LEVEL + ""));
+            getChildren().add(new ReportNode(this, "cpiConfidenceIntervalLow", (meanCpi - cpiConfidenceIntervalHalfWidth) + ""));
+            getChildren().add(new ReportNode(this, "cpiConfidenceIntervalHigh", (meanCpi + cpiConfidenceIntervalHalfWidth) + ""));
+            getChildren().add(new ReportNode(this, "cpiRelativeError", (meanCpi > 0 ? cpiConfidenceIntervalHalfWidth / meanCpi : 0) + ""));
+            getChildren().add(new ReportNode(this, "numRecommendedSamples", (long) Math.ceil(Math.pow(CONFIDENCE_Z * coefficientOfVariationCpi / TARGET_RELATIVE_ERROR, 2)) + ""));
+
+            getChildren().add(new ReportNode(this, "l1DMpki", (numMeasuredInstructions > 0 ? (double) numMeasuredL1DMisses * 1000 / numMeasuredInstructions : 0) + ""));
+            getChildren().add(new ReportNode(this, "l2Mpki", (numMeasuredInstructions > 0 ? (double) numMeasuredL2Misses * 1000 / numMeasuredInstructions : 0) + ""));
+        }});
+    }
+
+    /**
+     * Get the title prefix.
+     *
+     * @return the title prefix
+     */
+    @Override
+    public String getPrefix() {
+        return "periodicSampling";
+    }
+
+    /**
+     * Confidence level of the reported CPI confidence interval.
+     */
+    public static final double CONFIDENCE_LEVEL = 0.95;
+
+    /**
+     * Standard normal quantile of the confidence level.
+     */
+    private static final double CONFIDENCE_Z = 1.96;
+
+    /**
+     * Target relative error of the mean CPI, for which the recommended number of samples is reported.
+     */
+    private static final double TARGET_RELATIVE_ERROR = 0.03;
+}
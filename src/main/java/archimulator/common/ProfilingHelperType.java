@@ -0,0 +1,174 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.common;
+
+import archimulator.uncore.cache.replacement.CacheReplacementPolicyType;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Profiling helper type. The profiling helpers are only attached to a simulation when they are enabled in the
+ * experiment, or when they are required by another attached profiling helper or by the L2 cache replacement policy.
+ * The profiling helpers are attached and their statistics are dumped in the order of declaration.
+ *
+ * @author Min Cai
+ */
+public enum ProfilingHelperType {
+    /**
+     * Latency tracking.
+     */
+    LATENCY_TRACKING,
+
+    /**
+     * Stack distance profiling.
+     */
+    STACK_DISTANCE_PROFILING,
+
+    /**
+     * Reuse distance prediction.
+     */
+    REUSE_DISTANCE_PREDICTION,
+
+    /**
+     * Hotspot profiling.
+     */
+    HOTSPOT_PROFILING,
+
+    /**
+     * Helper thread L2 request profiling.
+     */
+    HELPER_THREAD_L2_REQUEST_PROFILING,
+
+    /**
+     * Cache interaction.
+     */
+    CACHE_INTERACTION,
+
+    /**
+     * Delinquent load identification.
+     */
+    DELINQUENT_LOAD_IDENTIFICATION,
+
+    /**
+     * Memory level parallelism (MLP) profiling.
+     */
+    MLP_PROFILING,
+
+    /**
+     * Bank level parallelism (BLP) profiling.
+     */
+    BLP_PROFILING,
+
+    /**
+     * Interval.
+     */
+    INTERVAL;
+
+    /**
+     * Get the list of the profiling helper types whose events or predictions the profiling helper relies on.
+     *
+     * @return the list of the profiling helper types whose events or predictions the profiling helper relies on
+     */
+    public List<ProfilingHelperType> getDependencies() {
+        switch (this) {
+            case HOTSPOT_PROFILING:
+                return Arrays.asList(STACK_DISTANCE_PROFILING, HELPER_THREAD_L2_REQUEST_PROFILING);
+            case INTERVAL:
+                return Arrays.asList(HELPER_THREAD_L2_REQUEST_PROFILING, MLP_PROFILING, BLP_PROFILING);
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Get the list of the profiling helper types required by the specified cache replacement policy type.
+     *
+     * @param cacheReplacementPolicyType the cache replacement policy type
+     * @return the list of the profiling helper types required by the specified cache replacement policy type
+     */
+    public static List<ProfilingHelperType> getRequiredProfilingHelperTypes(CacheReplacementPolicyType cacheReplacementPolicyType) {
+        switch (cacheReplacementPolicyType) {
+            case REUSE_DISTANCE_PREDICTION:
+                return Arrays.asList(REUSE_DISTANCE_PREDICTION);
+            case REREFERENCE_INTERVAL_PREDICTION:
+            case SET_DUELING_CACHE_PARTITIONING_LRU:
+            case SET_DUELING_STATIC_CACHE_PARTITIONING_LRU:
+            case HELPER_THREAD_SENSITIVE_LRU:
+            case PREFETCH_AWARE_R_LRU:
+            case PREFETCH_AWARE_H_LRU:
+            case PREFETCH_AWARE_M_LRU:
+            case PREFETCH_AWARE_RH_LRU:
+            case PREFETCH_AWARE_HM_LRU:
+            case PREFETCH_AWARE_RM_LRU:
+            case PREFETCH_AWARE_RHM_LRU:
+            case PREFETCH_AWARE_SET_DUELING_HM_LRU:
+                return Arrays.asList(HELPER_THREAD_L2_REQUEST_PROFILING);
+            case HELPER_THREAD_AND_MLP_AWARE_CACHE_PARTITIONING_LRU:
+                return Arrays.asList(DELINQUENT_LOAD_IDENTIFICATION);
+            case LINEAR_MLP_AWARE_LRU_LAMBDA_0:
+            case LINEAR_MLP_AWARE_LRU_LAMBDA_1:
+            case LINEAR_MLP_AWARE_LRU_LAMBDA_2:
+            case LINEAR_MLP_AWARE_LRU_LAMBDA_3:
+            case LINEAR_MLP_AWARE_LRU_LAMBDA_4:
+            case LINEAR_MLP_AWARE_LRU_LAMBDA_5:
+            case LINEAR_MLP_AWARE_LRU_LAMBDA_6:
+            case LINEAR_MLP_AWARE_LRU_LAMBDA_7:
+            case MLP_SENSITIVE_LRU:
+                return Arrays.asList(MLP_PROFILING);
+            case HT_PREF_ACC_BASED_PREF_AND_RDP_SET_DUELING:
+            case HT_USEFUL_PREF_BASED_PREF_AND_RDP_SET_DUELING:
+                return Arrays.asList(HELPER_THREAD_L2_REQUEST_PROFILING, REUSE_DISTANCE_PREDICTION);
+            default:
+                return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Resolve the set of the profiling helper types to be attached, including the specified enabled ones, those
+     * required by the specified L2 cache replacement policy type, and all of their dependencies.
+     *
+     * @param enabledProfilingHelperTypes the enabled profiling helper types
+     * @param l2ReplacementPolicyType     the L2 cache replacement policy type
+     * @return the set of the profiling helper types to be attached
+     */
+    public static EnumSet<ProfilingHelperType> resolve(Collection<ProfilingHelperType> enabledProfilingHelperTypes, CacheReplacementPolicyType l2ReplacementPolicyType) {
+        EnumSet<ProfilingHelperType> profilingHelperTypes = EnumSet.noneOf(ProfilingHelperType.class);
+
+        Deque<ProfilingHelperType> profilingHelperTypesToResolve = new ArrayDeque<>(enabledProfilingHelperTypes);
+        profilingHelperTypesToResolve.addAll(getRequiredProfilingHelperTypes(l2ReplacementPolicyType));
+
+        while (!profilingHelperTypesToResolve.isEmpty()) {
+            ProfilingHelperType profilingHelperType = profilingHelperTypesToResolve.pop();
+
+            if (profilingHelperTypes.add(profilingHelperType)) {
+                profilingHelperTypesToResolve.addAll(profilingHelperType.getDependencies());
+            }
+        }
+
+        return profilingHelperTypes;
+    }
+}
@@ -0,0 +1,223 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.common;
+
+import archimulator.analysis.simPoint.SimPoint;
+import archimulator.common.report.ReportNode;
+import archimulator.util.event.BlockingEventDispatcher;
+import archimulator.util.event.CycleAccurateEventQueue;
+
+import java.util.List;
+
+/**
+ * Sampled simulation, which fast forwards to each simulation point, warms up the caches for a fixed number of
+ * instructions before it and measures the interval of the simulation point in detail, and reports the statistics of
+ * each simulation point and their weighted averages.
+ *
+ * @author Min Cai
+ */
+public class SampledSimulation extends Simulation {
+    private List<SimPoint> simPoints;
+
+    private long phaseEndNumInstructions;
+
+    private int numMeasuredSimPoints;
+    private long[] numInstructions;
+    private long[] numCycles;
+    private long[] numL1DMisses;
+    private long[] numL2Misses;
+
+    /**
+     * Create a sampled simulation.
+     *
+     * @param experiment              the parent experiment
+     * @param blockingEventDispatcher the blocking event dispatcher
+     * @param cycleAccurateEventQueue the cycle accurate event queue
+     * @param simPoints               the simulation points in ascending order of their intervals
+     */
+    public SampledSimulation(Experiment experiment, BlockingEventDispatcher<SimulationEvent> blockingEventDispatcher, CycleAccurateEventQueue cycleAccurateEventQueue, List<SimPoint> simPoints) {
+        super(SimulationType.MEASUREMENT, experiment, blockingEventDispatcher, cycleAccurateEventQueue, null);
+
+        this.simPoints = simPoints;
+
+        this.numInstructions = new long[simPoints.size()];
+        this.numCycles = new long[simPoints.size()];
+        this.numL1DMisses = new long[simPoints.size()];
+        this.numL2Misses = new long[simPoints.size()];
+    }
+
+    /**
+     * Get a value indicating whether it can do fast forward for one cycle or not.
+     *
+     * @return a value indicating whether it can do fast forward for one cycle or not
+     */
+    @Override
+    public boolean canDoFastForwardOneCycle() {
+        return this.getNumInstructionsOnFirstThread() < this.phaseEndNumInstructions;
+    }
+
+    /**
+     * Get a value indicating whether it can do cache warmup for one cycle or not.
+     *
+     * @return a value indicating whether it can do cache warmup for one cycle or not
+     */
+    @Override
+    public boolean canDoCacheWarmupOneCycle() {
+        return this.getNumInstructionsOnFirstThread() < this.phaseEndNumInstructions;
+    }
+
+    /**
+     * Get a value indicating whether it can do measurement for one cycle or not.
+     *
+     * @return a value indicating whether it can do measurement for one cycle or not
+     */
+    @Override
+    public boolean canDoMeasurementOneCycle() {
+        return this.getNumInstructionsOnFirstThread() < this.phaseEndNumInstructions;
+    }
+
+    /**
+     * Begin the simulation.
+     */
+    @Override
+    public void beginSimulation() {
+        this.numMeasuredSimPoints = 0;
+    }
+
+    /**
+     * End the simulation.
+     */
+    @Override
+    public void endSimulation() {
+    }
+
+    /**
+     * Do measurement of each simulation point, preceded by fast forwarding to the beginning of the cache warmup and
+     * warming up the caches. The pipelines are squashed after each measurement, since the contexts are then
+     * functionally simulated until the next simulation point.
+     */
+    @Override
+    public void doMeasurement() {
+        long intervalSize = this.getExperiment().getSimPointIntervalSize();
+
+        for (SimPoint simPoint : this.simPoints) {
+            long beginNumInstructions = simPoint.getInterval() * intervalSize;
+
+            this.phaseEndNumInstructions = beginNumInstructions - this.getExperiment().getSimPointWarmupSize();
+            if (this.canDoFastForwardOneCycle()) {
+                this.doFastForward();
+            }
+
+            this.phaseEndNumInstructions = beginNumInstructions;
+            if (this.canDoCacheWarmupOneCycle()) {
+                this.doCacheWarmup();
+            }
+
+            if (this.getProcessor().getKernel().getContexts().isEmpty()) {
+                break;
+            }
+
+            this.redirectFetchToContexts();
+
+            long numInstructionsBefore = this.getNumInstructionsOnFirstThread();
+            long numCyclesBefore = this.getCycleAccurateEventQueue().getCurrentCycle();
+            long numL1DMissesBefore = this.getNumL1DMisses();
+            long numL2MissesBefore = this.getProcessor().getMemoryHierarchy().getL2Controller().getNumDownwardMisses();
+
+            this.phaseEndNumInstructions = beginNumInstructions + intervalSize;
+            super.doMeasurement();
+
+            this.numInstructions[this.numMeasuredSimPoints] = this.getNumInstructionsOnFirstThread() - numInstructionsBefore;
+            this.numCycles[this.numMeasuredSimPoints] = this.getCycleAccurateEventQueue().getCurrentCycle() - numCyclesBefore;
+            this.numL1DMisses[this.numMeasuredSimPoints] = this.getNumL1DMisses() - numL1DMissesBefore;
+            this.numL2Misses[this.numMeasuredSimPoints] = this.getProcessor().getMemoryHierarchy().getL2Controller().getNumDownwardMisses() - numL2MissesBefore;
+            this.numMeasuredSimPoints++;
+
+            this.squashPipelines();
+        }
+    }
+
+    /**
+     * Dump the statistics, including those of each measured simulation point and their weighted averages. The
+     * weights are normalized over the measured simulation points.
+     *
+     * @param reportNode the report node
+     */
+    @Override
+    public void dumpStats(ReportNode reportNode) {
+        super.dumpStats(reportNode);
+
+        double sumOfWeights = 0;
+        for (int i = 0; i < this.numMeasuredSimPoints; i++) {
+            sumOfWeights += this.simPoints.get(i).getWeight();
+        }
+
+        double weightedCpi = 0;
+        double weightedL1DMpki = 0;
+        double weightedL2Mpki = 0;
+
+        for (int i = 0; i < this.numMeasuredSimPoints; i++) {
+            double weight = sumOfWeights > 0 ? this.simPoints.get(i).getWeight() / sumOfWeights : 0;
+
+            if (this.numInstructions[i] > 0) {
+                weightedCpi += weight * this.numCycles[i] / this.numInstructions[i];
+                weightedL1DMpki += weight * this.numL1DMisses[i] * 1000 / this.numInstructions[i];
+                weightedL2Mpki += weight * this.numL2Misses[i] * 1000 / this.numInstructions[i];
+            }
+        }
+
+        final double finalWeightedCpi = weightedCpi;
+        final double finalWeightedL1DMpki = weightedL1DMpki;
+        final double finalWeightedL2Mpki = weightedL2Mpki;
+
+        reportNode.getChildren().add(new ReportNode(reportNode, "simPoint") {{
+            getChildren().add(new ReportNode(this, "numSimPoints", simPoints.size() + ""));
+            getChildren().add(new ReportNode(this, "numMeasuredSimPoints", numMeasuredSimPoints + ""));
+
+            for (int i = 0; i < numMeasuredSimPoints; i++) {
+                SimPoint simPoint = simPoints.get(i);
+
+                getChildren().add(new ReportNode(this, i + "/interval", simPoint.getInterval() + ""));
+                getChildren().add(new ReportNode(this, i + "/weight", simPoint.getWeight() + ""));
+                getChildren().add(new ReportNode(this, i + "/numInstructions", numInstructions[i] + ""));
+                getChildren().add(new ReportNode(this, i + "/numCycles", numCycles[i] + ""));
+                getChildren().add(new ReportNode(this, i + "/ipc", (numCycles[i] > 0 ? (double) numInstructions[i] / numCycles[i] : 0) + ""));
+                getChildren().add(new ReportNode(this, i + "/l1DMpki", (numInstructions[i] > 0 ? (double) numL1DMisses[i] * 1000 / numInstructions[i] : 0) + ""));
+                getChildren().add(new ReportNode(this, i + "/l2Mpki", (numInstructions[i] > 0 ? (double) numL2Misses[i] * 1000 / numInstructions[i] : 0) + ""));
+            }
+
+            getChildren().add(new ReportNode(this, "weightedCpi", finalWeightedCpi + ""));
+            getChildren().add(new ReportNode(this, "weightedIpc", (finalWeightedCpi > 0 ? 1 / finalWeightedCpi : 0) + ""));
+            getChildren().add(new ReportNode(this, "weightedL1DMpki", finalWeightedL1DMpki + ""));
+            getChildren().add(new ReportNode(this, "weightedL2Mpki", finalWeightedL2Mpki + ""));
+        }});
+    }
+
+    /**
+     * Get the title prefix.
+     *
+     * @return the title prefix
+     */
+    @Override
+    public String getPrefix() {
+        return "simPoint/sampled";
+    }
+}
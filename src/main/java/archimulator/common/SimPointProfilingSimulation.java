@@ -0,0 +1,225 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.common;
+
+import archimulator.analysis.BasicBlock;
+import archimulator.analysis.simPoint.BasicBlockVector;
+import archimulator.analysis.simPoint.SimPoint;
+import archimulator.analysis.simPoint.SimPointHelper;
+import archimulator.common.report.ReportNode;
+import archimulator.isa.StaticInstructionType;
+import archimulator.isa.event.InstructionFunctionallyExecutedEvent;
+import archimulator.util.event.BlockingEventDispatcher;
+import archimulator.util.event.CycleAccurateEventQueue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SimPoint profiling simulation, which functionally simulates the whole program, collects the basic block vector of
+ * each fixed size interval of instructions and picks the simulation points from them.
+ *
+ * @author Min Cai
+ */
+public class SimPointProfilingSimulation extends Simulation {
+    private Map<BasicBlock, Integer> basicBlockIds;
+    private long[] counts;
+
+    private long intervalBeginNumInstructions;
+
+    private List<BasicBlockVector> basicBlockVectors;
+
+    private List<SimPoint> simPoints;
+
+    /**
+     * Create a SimPoint profiling simulation.
+     *
+     * @param experiment              the parent experiment
+     * @param blockingEventDispatcher the blocking event dispatcher
+     * @param cycleAccurateEventQueue the cycle accurate event queue
+     */
+    public SimPointProfilingSimulation(Experiment experiment, BlockingEventDispatcher<SimulationEvent> blockingEventDispatcher, CycleAccurateEventQueue cycleAccurateEventQueue) {
+        super(SimulationType.FAST_FORWARD, experiment, blockingEventDispatcher, cycleAccurateEventQueue, null);
+    }
+
+    /**
+     * Get a value indicating whether it can do fast forward for one cycle or not. The current interval is closed as
+     * soon as the first hardware thread has executed the interval size of instructions in it.
+     *
+     * @return a value indicating whether it can do fast forward for one cycle or not
+     */
+    @Override
+    public boolean canDoFastForwardOneCycle() {
+        long numInstructions = this.getProcessor().getCores().get(0).getThreads().get(0).getNumInstructions();
+
+        if (numInstructions - this.intervalBeginNumInstructions >= this.getExperiment().getSimPointIntervalSize()) {
+            this.endInterval(numInstructions);
+        }
+
+        return this.getExperiment().getNumMaxInstructions() == -1 || numInstructions < this.getExperiment().getNumMaxInstructions();
+    }
+
+    /**
+     * Get a value indicating whether it can do cache warmup for one cycle or not.
+     *
+     * @return a value indicating whether it can do cache warmup for one cycle or not
+     */
+    @Override
+    public boolean canDoCacheWarmupOneCycle() {
+        throw new IllegalArgumentException();
+    }
+
+    /**
+     * Get a value indicating whether it can do measurement for one cycle or not.
+     *
+     * @return a value indicating whether it can do measurement for one cycle or not
+     */
+    @Override
+    public boolean canDoMeasurementOneCycle() {
+        throw new IllegalArgumentException();
+    }
+
+    /**
+     * Begin the simulation.
+     */
+    @Override
+    public void beginSimulation() {
+        this.basicBlockIds = new HashMap<>();
+        this.counts = new long[1024];
+
+        this.intervalBeginNumInstructions = 0;
+
+        this.basicBlockVectors = new ArrayList<>();
+
+        this.getBlockingEventDispatcher().addListener(InstructionFunctionallyExecutedEvent.class, event -> {
+            if (event.getContext().isPseudoCallEncounteredInLastInstructionExecution() || event.getStaticInstruction().getMnemonic().getType() == StaticInstructionType.NOP) {
+                return;
+            }
+
+            BasicBlock basicBlock = event.getContext().getProcess().getBasicBlock(event.getPc());
+            if (basicBlock != null) {
+                int basicBlockId = this.basicBlockIds.computeIfAbsent(basicBlock, key -> this.basicBlockIds.size());
+                if (basicBlockId >= this.counts.length) {
+                    this.counts = Arrays.copyOf(this.counts, this.counts.length * 2);
+                }
+                this.counts[basicBlockId]++;
+            }
+        });
+    }
+
+    /**
+     * Do fast forwarding, then close the last partial interval and pick the simulation points.
+     */
+    @Override
+    public void doFastForward() {
+        super.doFastForward();
+
+        long numInstructions = this.getProcessor().getCores().get(0).getThreads().get(0).getNumInstructions();
+
+        if (numInstructions > this.intervalBeginNumInstructions) {
+            this.endInterval(numInstructions);
+        }
+
+        this.simPoints = SimPointHelper.pickSimPoints(this.basicBlockVectors, this.getExperiment().getSimPointMaxNumClusters(), SIM_POINT_SEED);
+    }
+
+    /**
+     * End the simulation.
+     */
+    @Override
+    public void endSimulation() {
+    }
+
+    /**
+     * End the current interval and record its basic block vector.
+     *
+     * @param numInstructions the number of instructions executed on the first hardware thread so far
+     */
+    private void endInterval(long numInstructions) {
+        int numBasicBlocks = 0;
+        for (int i = 0; i < this.basicBlockIds.size(); i++) {
+            if (this.counts[i] > 0) {
+                numBasicBlocks++;
+            }
+        }
+
+        int[] ids = new int[numBasicBlocks];
+        long[] countsInInterval = new long[numBasicBlocks];
+
+        for (int i = 0, j = 0; i < this.basicBlockIds.size(); i++) {
+            if (this.counts[i] > 0) {
+                ids[j] = i;
+                countsInInterval[j] = this.counts[i];
+                j++;
+            }
+        }
+
+        this.basicBlockVectors.add(new BasicBlockVector(this.basicBlockVectors.size(), numInstructions - this.intervalBeginNumInstructions, ids, countsInInterval));
+
+        Arrays.fill(this.counts, 0);
+        this.intervalBeginNumInstructions = numInstructions;
+    }
+
+    /**
+     * Dump the statistics, including the picked simulation points.
+     *
+     * @param reportNode the report node
+     */
+    @Override
+    public void dumpStats(ReportNode reportNode) {
+        super.dumpStats(reportNode);
+
+        reportNode.getChildren().add(new ReportNode(reportNode, "simPoint") {{
+            getChildren().add(new ReportNode(this, "intervalSize", getExperiment().getSimPointIntervalSize() + ""));
+            getChildren().add(new ReportNode(this, "numIntervals", basicBlockVectors.size() + ""));
+            getChildren().add(new ReportNode(this, "numBasicBlocks", basicBlockIds.size() + ""));
+            getChildren().add(new ReportNode(this, "numSimPoints", (simPoints != null ? simPoints.size() : 0) + ""));
+            getChildren().add(new ReportNode(this, "simPoints", simPoints + ""));
+        }});
+    }
+
+    /**
+     * Get the list of the simulation points picked at the end of the simulation.
+     *
+     * @return the list of the simulation points picked at the end of the simulation
+     */
+    public List<SimPoint> getSimPoints() {
+        return simPoints;
+    }
+
+    /**
+     * Get the title prefix.
+     *
+     * @return the title prefix
+     */
+    @Override
+    public String getPrefix() {
+        return "simPoint/profiling";
+    }
+
+    /**
+     * Seed of the random projection and the initial centroids used in picking the simulation points.
+     */
+    private static final long SIM_POINT_SEED = 42;
+}
@@ -22,6 +22,7 @@ package archimulator.common;
 
 import archimulator.common.report.ReportNode;
 import archimulator.common.report.Reportable;
+import archimulator.common.stat.StatStore;
 import archimulator.core.BasicProcessor;
 import archimulator.core.Core;
 import archimulator.core.Processor;
@@ -36,6 +37,7 @@ import archimulator.uncore.cache.interference.CacheInteractionHelper;
 import archimulator.uncore.cache.replacement.reuseDistancePrediction.ReuseDistancePredictionHelper;
 import archimulator.uncore.cache.stackDistanceProfile.StackDistanceProfilingHelper;
 import archimulator.uncore.coherence.msi.controller.GeneralCacheController;
+import archimulator.uncore.coherence.msi.controller.L1DController;
 import archimulator.uncore.coherence.msi.flow.CacheCoherenceFlow;
 import archimulator.uncore.delinquentLoad.DelinquentLoadIdentificationHelper;
 import archimulator.uncore.helperThread.HelperThreadL2RequestProfilingHelper;
@@ -53,7 +55,9 @@ import org.apache.commons.lang.time.DurationFormatUtils;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
 
 /**
@@ -78,7 +82,7 @@ public abstract class Simulation implements SimulationObject, Reportable {
 
     private CycleAccurateEventQueue cycleAccurateEventQueue;
 
-    //TODO: the following stuffs are to be refactored out!!!
+    private EnumSet<ProfilingHelperType> profilingHelperTypes;
 
     private LatencyTrackingHelper latencyTrackingHelper;
 
@@ -133,9 +137,14 @@ public abstract class Simulation implements SimulationObject, Reportable {
     public long currentCacheCoherenceFlowId;
 
     /**
-     * Pending cache coherence flows.
+     * The first pending cache coherence flow in the intrusive list of the pending cache coherence flows.
      */
-    public List<CacheCoherenceFlow> pendingFlows = new ArrayList<>();
+    private CacheCoherenceFlow firstPendingFlow;
+
+    /**
+     * The last pending cache coherence flow in the intrusive list of the pending cache coherence flows.
+     */
+    private CacheCoherenceFlow lastPendingFlow;
 
     /**
      * Create a simulation.
@@ -167,29 +176,57 @@ public abstract class Simulation implements SimulationObject, Reportable {
 
         this.processor = new BasicProcessor(this.experiment, this, this.blockingEventDispatcher, this.cycleAccurateEventQueue, kernel, this.prepareMemoryHierarchy());
 
-        this.latencyTrackingHelper = new LatencyTrackingHelper(this);
-
-        this.stackDistanceProfilingHelper = new StackDistanceProfilingHelper(this);
-
-        this.reuseDistancePredictionHelper = new ReuseDistancePredictionHelper(this);
+        this.profilingHelperTypes = ProfilingHelperType.resolve(this.experiment.getProfilingHelperTypes(), this.experiment.getL2ReplacementPolicyType());
 
-        this.hotspotProfilingHelper = new HotspotProfilingHelper(this);
-
-        this.helperThreadL2RequestProfilingHelper = new HelperThreadL2RequestProfilingHelper(this);
-
-        this.cacheInteractionHelper = new CacheInteractionHelper(this);
-
-        this.delinquentLoadIdentificationHelper = new DelinquentLoadIdentificationHelper(this);
+        for (ProfilingHelperType profilingHelperType : this.profilingHelperTypes) {
+            this.attachProfilingHelper(profilingHelperType);
+        }
 
         if (getExperiment().getDynamicSpeculativePrecomputationEnabled()) {
             this.dynamicSpeculativePrecomputationHelper = new DynamicSpeculativePrecomputationHelper(this);
         }
+    }
 
-        this.mlpProfilingHelper = new MLPProfilingHelper(this);
-
-        this.blpProfilingHelper = new BLPProfilingHelper(this);
-
-        this.intervalHelper = new IntervalHelper(this);
+    /**
+     * Create and attach the profiling helper of the specified type.
+     *
+     * @param profilingHelperType the profiling helper type
+     */
+    private void attachProfilingHelper(ProfilingHelperType profilingHelperType) {
+        switch (profilingHelperType) {
+            case LATENCY_TRACKING:
+                this.latencyTrackingHelper = new LatencyTrackingHelper(this);
+                break;
+            case STACK_DISTANCE_PROFILING:
+                this.stackDistanceProfilingHelper = new StackDistanceProfilingHelper(this);
+                break;
+            case REUSE_DISTANCE_PREDICTION:
+                this.reuseDistancePredictionHelper = new ReuseDistancePredictionHelper(this);
+                break;
+            case HOTSPOT_PROFILING:
+                this.hotspotProfilingHelper = new HotspotProfilingHelper(this);
+                break;
+            case HELPER_THREAD_L2_REQUEST_PROFILING:
+                this.helperThreadL2RequestProfilingHelper = new HelperThreadL2RequestProfilingHelper(this);
+                break;
+            case CACHE_INTERACTION:
+                this.cacheInteractionHelper = new CacheInteractionHelper(this);
+                break;
+            case DELINQUENT_LOAD_IDENTIFICATION:
+                this.delinquentLoadIdentificationHelper = new DelinquentLoadIdentificationHelper(this);
+                break;
+            case MLP_PROFILING:
+                this.mlpProfilingHelper = new MLPProfilingHelper(this);
+                break;
+            case BLP_PROFILING:
+                this.blpProfilingHelper = new BLPProfilingHelper(this);
+                break;
+            case INTERVAL:
+                this.intervalHelper = new IntervalHelper(this);
+                break;
+            default:
+                throw new IllegalArgumentException();
+        }
     }
 
     /**
@@ -234,7 +271,7 @@ public abstract class Simulation implements SimulationObject, Reportable {
      * Collect the statistics.
      */
     private void collectStats() {
-        final List<ExperimentStat> stats = new ArrayList<>();
+        StatStore stats = this.getExperiment().getStats();
 
         ReportNode rootReportNode = new ReportNode(null, "");
 
@@ -264,25 +301,29 @@ public abstract class Simulation implements SimulationObject, Reportable {
 
         this.getProcessor().getMemoryHierarchy().getMemoryController().dumpStats(rootReportNode);
 
-        this.getLatencyTrackingHelper().dumpStats(rootReportNode);
-        this.getStackDistanceProfilingHelper().dumpStats(rootReportNode);
-        this.getReuseDistancePredictionHelper().dumpStats(rootReportNode);
-        this.getHotspotProfilingHelper().dumpStats(rootReportNode);
-        this.getHelperThreadL2RequestProfilingHelper().dumpStats(rootReportNode);
-        this.getCacheInteractionHelper().dumpStats(rootReportNode);
-        this.getDelinquentLoadIdentificationHelper().dumpStats(rootReportNode);
-        this.getMlpProfilingHelper().dumpStats(rootReportNode);
-        this.getIntervalHelper().dumpStats(rootReportNode);
+        for (Reportable profilingHelper : Arrays.asList(
+                this.getLatencyTrackingHelper(),
+                this.getStackDistanceProfilingHelper(),
+                this.getReuseDistancePredictionHelper(),
+                this.getHotspotProfilingHelper(),
+                this.getHelperThreadL2RequestProfilingHelper(),
+                this.getCacheInteractionHelper(),
+                this.getDelinquentLoadIdentificationHelper(),
+                this.getMlpProfilingHelper(),
+                this.getIntervalHelper()
+        )) {
+            if (profilingHelper != null) {
+                profilingHelper.dumpStats(rootReportNode);
+            }
+        }
 
         this.getProcessor().getMemoryHierarchy().getL2Controller().getCache().getReplacementPolicy().dumpStats(rootReportNode);
 
-        rootReportNode.traverse(node -> stats.add(new ExperimentStat(getPrefix(), node.getPath(), node.getValue())));
+        rootReportNode.traverse(node -> stats.add(getPrefix(), node.getPath(), node.getValue()));
 
         if (this.getType() == SimulationType.MEASUREMENT || this.getType() == SimulationType.CACHE_WARMUP) {
             getProcessor().getMemoryHierarchy().dumpCacheControllerFsmStats(stats);
         }
-
-        this.getExperiment().getStats().addAll(stats);
     }
 
     /**
@@ -352,6 +393,50 @@ public abstract class Simulation implements SimulationObject, Reportable {
         }
     }
 
+    /**
+     * Redirect the fetch stage of each hardware thread to the next PC (program counter) of its context, which is
+     * needed when switching to the measurement mode after the context has been executed in another mode.
+     */
+    protected void redirectFetchToContexts() {
+        for (Thread thread : this.getProcessor().getThreads()) {
+            if (thread.getContext() != null) {
+                thread.updateFetchNpcAndNnpcFromRegs();
+            }
+        }
+    }
+
+    /**
+     * Squash the pipeline of each hardware thread and leave the speculative state of its context, which is needed when
+     * switching from the measurement mode to another mode.
+     */
+    protected void squashPipelines() {
+        for (Thread thread : this.getProcessor().getThreads()) {
+            if (thread.getContext() != null && thread.getContext().isSpeculative()) {
+                thread.getContext().exitSpeculativeState();
+            }
+
+            thread.squash();
+        }
+    }
+
+    /**
+     * Get the number of instructions executed on the first hardware thread.
+     *
+     * @return the number of instructions executed on the first hardware thread
+     */
+    protected long getNumInstructionsOnFirstThread() {
+        return this.getProcessor().getCores().get(0).getThreads().get(0).getNumInstructions();
+    }
+
+    /**
+     * Get the total number of misses in the L1D caches.
+     *
+     * @return the total number of misses in the L1D caches
+     */
+    protected long getNumL1DMisses() {
+        return this.getProcessor().getMemoryHierarchy().getL1DControllers().stream().mapToLong(L1DController::getNumDownwardMisses).sum();
+    }
+
     /**
      * Advance one cycle.
      */
@@ -400,10 +485,70 @@ public abstract class Simulation implements SimulationObject, Reportable {
     }
 
     /**
-     * Dump the tree of the pending cache coherence flows.
+     * Add the specified root cache coherence flow to the end of the list of the pending cache coherence flows.
+     *
+     * @param flow the root cache coherence flow
+     */
+    public void addPendingFlow(CacheCoherenceFlow flow) {
+        flow.setPreviousPendingFlow(this.lastPendingFlow);
+        flow.setNextPendingFlow(null);
+
+        if (this.lastPendingFlow != null) {
+            this.lastPendingFlow.setNextPendingFlow(flow);
+        } else {
+            this.firstPendingFlow = flow;
+        }
+
+        this.lastPendingFlow = flow;
+    }
+
+    /**
+     * Remove the specified root cache coherence flow from the list of the pending cache coherence flows if it is pending.
+     *
+     * @param flow the root cache coherence flow
+     */
+    public void removePendingFlow(CacheCoherenceFlow flow) {
+        if (flow.getPreviousPendingFlow() == null && this.firstPendingFlow != flow) {
+            return;
+        }
+
+        if (flow.getPreviousPendingFlow() != null) {
+            flow.getPreviousPendingFlow().setNextPendingFlow(flow.getNextPendingFlow());
+        } else {
+            this.firstPendingFlow = flow.getNextPendingFlow();
+        }
+
+        if (flow.getNextPendingFlow() != null) {
+            flow.getNextPendingFlow().setPreviousPendingFlow(flow.getPreviousPendingFlow());
+        } else {
+            this.lastPendingFlow = flow.getPreviousPendingFlow();
+        }
+
+        flow.setPreviousPendingFlow(null);
+        flow.setNextPendingFlow(null);
+    }
+
+    /**
+     * Get the list of the pending cache coherence flows.
+     *
+     * @return the list of the pending cache coherence flows
+     */
+    public List<CacheCoherenceFlow> getPendingFlows() {
+        List<CacheCoherenceFlow> pendingFlows = new ArrayList<>();
+
+        for (CacheCoherenceFlow pendingFlow = this.firstPendingFlow; pendingFlow != null; pendingFlow = pendingFlow.getNextPendingFlow()) {
+            pendingFlows.add(pendingFlow);
+        }
+
+        return pendingFlows;
+    }
+
+    /**
+     * Dump the tree of the pending cache coherence flows. The child flows are only shown when dumping the tree of the
+     * pending cache coherence flows is enabled in the experiment.
      */
     public void dumpPendingFlowTree() {
-        for (CacheCoherenceFlow pendingFlow : this.pendingFlows) {
+        for (CacheCoherenceFlow pendingFlow = this.firstPendingFlow; pendingFlow != null; pendingFlow = pendingFlow.getNextPendingFlow()) {
             NodeHelper.print(pendingFlow);
             System.out.println();
         }
@@ -527,10 +672,19 @@ public abstract class Simulation implements SimulationObject, Reportable {
         return this.blockingEventDispatcher;
     }
 
+    /**
+     * Get the set of the types of the attached profiling helpers.
+     *
+     * @return the set of the types of the attached profiling helpers
+     */
+    public EnumSet<ProfilingHelperType> getProfilingHelperTypes() {
+        return profilingHelperTypes;
+    }
+
     /**
      * Get the latency tracking helper.
      *
-     * @return the latency tracking helper
+     * @return the latency tracking helper if attached; otherwise null
      */
     public LatencyTrackingHelper getLatencyTrackingHelper() {
         return latencyTrackingHelper;
@@ -539,7 +693,7 @@ public abstract class Simulation implements SimulationObject, Reportable {
     /**
      * Get the stack distance profiling helper.
      *
-     * @return the stack distance profiling helper
+     * @return the stack distance profiling helper if attached; otherwise null
      */
     public StackDistanceProfilingHelper getStackDistanceProfilingHelper() {
         return stackDistanceProfilingHelper;
@@ -548,7 +702,7 @@ public abstract class Simulation implements SimulationObject, Reportable {
     /**
      * Get the reuse distance prediction helper.
      *
-     * @return the reuse distance prediction helper
+     * @return the reuse distance prediction helper if attached; otherwise null
      */
     public ReuseDistancePredictionHelper getReuseDistancePredictionHelper() {
         return reuseDistancePredictionHelper;
@@ -557,7 +711,7 @@ public abstract class Simulation implements SimulationObject, Reportable {
     /**
      * Get the hotspot profiling helper.
      *
-     * @return the hotspot profiling helper
+     * @return the hotspot profiling helper if attached; otherwise null
      */
     public HotspotProfilingHelper getHotspotProfilingHelper() {
         return hotspotProfilingHelper;
@@ -566,7 +720,7 @@ public abstract class Simulation implements SimulationObject, Reportable {
     /**
      * Get the helper thread L2 cache request profiling helper.
      *
-     * @return the helper thread L2 cache request profiling helper
+     * @return the helper thread L2 cache request profiling helper if attached; otherwise null
      */
     public HelperThreadL2RequestProfilingHelper getHelperThreadL2RequestProfilingHelper() {
         return helperThreadL2RequestProfilingHelper;
@@ -575,7 +729,7 @@ public abstract class Simulation implements SimulationObject, Reportable {
     /**
      * Get the cache interaction helper.
      *
-     * @return the cache interaction helper
+     * @return the cache interaction helper if attached; otherwise null
      */
     public CacheInteractionHelper getCacheInteractionHelper() {
         return cacheInteractionHelper;
@@ -584,7 +738,7 @@ public abstract class Simulation implements SimulationObject, Reportable {
     /**
      * Get the delinquent load identification helper.
      *
-     * @return the delinquent load identification helper
+     * @return the delinquent load identification helper if attached; otherwise null
      */
     public DelinquentLoadIdentificationHelper getDelinquentLoadIdentificationHelper() {
         return delinquentLoadIdentificationHelper;
@@ -602,7 +756,7 @@ public abstract class Simulation implements SimulationObject, Reportable {
     /**
      * Get the MLP profiling helper.
      *
-     * @return the MLP profiling helper
+     * @return the MLP profiling helper if attached; otherwise null
      */
     public MLPProfilingHelper getMlpProfilingHelper() {
         return mlpProfilingHelper;
@@ -611,7 +765,7 @@ public abstract class Simulation implements SimulationObject, Reportable {
     /**
      * Get the BLP profiling helper.
      *
-     * @return the BLP profiling helper
+     * @return the BLP profiling helper if attached; otherwise null
      */
     public BLPProfilingHelper getBlpProfilingHelper() {
         return blpProfilingHelper;
@@ -620,7 +774,7 @@ public abstract class Simulation implements SimulationObject, Reportable {
     /**
      * Get the interval helper.
      *
-     * @return the interval helper
+     * @return the interval helper if attached; otherwise null
      */
     public IntervalHelper getIntervalHelper() {
         return intervalHelper;
@@ -0,0 +1,547 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.common.stat;
+
+import archimulator.common.ExperimentStat;
+import archimulator.util.serialization.JsonSerializationHelper;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Columnar store of the statistics of an experiment. The prefixes, keys and string values are interned into
+ * dictionaries, and each statistic is kept as a row of primitive columns, with the integral and floating point values
+ * kept as primitives. The string form of each value is preserved exactly, so that the exported statistics read the same
+ * as the values dumped by the simulation.
+ *
+ * @author Min Cai
+ */
+public class StatStore implements Iterable<ExperimentStat> {
+    private Dictionary prefixes;
+    private Dictionary keys;
+    private Dictionary strings;
+
+    private int size;
+    private int[] prefixIds;
+    private int[] keyIds;
+    private byte[] types;
+    private long[] values;
+
+    private Map<Long, Integer> index;
+
+    /**
+     * Create a statistic store.
+     */
+    public StatStore() {
+        this.prefixes = new Dictionary();
+        this.keys = new Dictionary();
+        this.strings = new Dictionary();
+
+        this.size = 0;
+        this.prefixIds = new int[INITIAL_CAPACITY];
+        this.keyIds = new int[INITIAL_CAPACITY];
+        this.types = new byte[INITIAL_CAPACITY];
+        this.values = new long[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Add the statistic of the specified prefix, key and value, keeping the value as a primitive if its string form is
+     * exactly that of a long or a double.
+     *
+     * @param prefix the prefix
+     * @param key    the key
+     * @param value  the value
+     */
+    public void add(String prefix, String key, String value) {
+        StatValueType type = typeOf(value);
+
+        switch (type) {
+            case LONG:
+                this.add(prefix, key, type, Long.parseLong(value));
+                break;
+            case DOUBLE:
+                this.add(prefix, key, type, Double.doubleToRawLongBits(Double.parseDouble(value)));
+                break;
+            default:
+                this.add(prefix, key, type, this.strings.intern(value));
+                break;
+        }
+    }
+
+    /**
+     * Add the statistic of the specified prefix, key and long value.
+     *
+     * @param prefix the prefix
+     * @param key    the key
+     * @param value  the long value
+     */
+    public void addLong(String prefix, String key, long value) {
+        this.add(prefix, key, StatValueType.LONG, value);
+    }
+
+    /**
+     * Add the statistic of the specified prefix, key and double value.
+     *
+     * @param prefix the prefix
+     * @param key    the key
+     * @param value  the double value
+     */
+    public void addDouble(String prefix, String key, double value) {
+        this.add(prefix, key, StatValueType.DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Add the statistic of the specified prefix, key and string value, which is kept as a string.
+     *
+     * @param prefix the prefix
+     * @param key    the key
+     * @param value  the string value
+     */
+    void addString(String prefix, String key, String value) {
+        this.add(prefix, key, StatValueType.STRING, this.strings.intern(value));
+    }
+
+    /**
+     * Add all the statistics in the specified statistic store.
+     *
+     * @param statStore the statistic store
+     */
+    public void addAll(StatStore statStore) {
+        for (int i = 0; i < statStore.size; i++) {
+            long value = statStore.types[i] == StatValueType.STRING.ordinal() ? this.strings.intern(statStore.strings.get((int) statStore.values[i])) : statStore.values[i];
+            this.add(statStore.getPrefix(i), statStore.getKey(i), statStore.getType(i), value);
+        }
+    }
+
+    /**
+     * Add the statistic of the specified prefix, key, value type and raw value.
+     *
+     * @param prefix the prefix
+     * @param key    the key
+     * @param type   the value type
+     * @param value  the raw value, which is the long value, the raw bits of the double value or the ID of the string value
+     */
+    private void add(String prefix, String key, StatValueType type, long value) {
+        if (this.size == this.types.length) {
+            int capacity = this.size * 2;
+            this.prefixIds = Arrays.copyOf(this.prefixIds, capacity);
+            this.keyIds = Arrays.copyOf(this.keyIds, capacity);
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        this.prefixIds[this.size] = this.prefixes.intern(prefix);
+        this.keyIds[this.size] = this.keys.intern(key);
+        this.types[this.size] = (byte) type.ordinal();
+        this.values[this.size] = value;
+
+        if (this.index != null) {
+            this.index.putIfAbsent(indexKey(this.prefixIds[this.size], this.keyIds[this.size]), this.size);
+        }
+
+        this.size++;
+    }
+
+    /**
+     * Get the number of statistics.
+     *
+     * @return the number of statistics
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the prefix of the statistic at the specified index.
+     *
+     * @param i the index
+     * @return the prefix of the statistic at the specified index
+     */
+    public String getPrefix(int i) {
+        return this.prefixes.get(this.prefixIds[i]);
+    }
+
+    /**
+     * Get the key of the statistic at the specified index.
+     *
+     * @param i the index
+     * @return the key of the statistic at the specified index
+     */
+    public String getKey(int i) {
+        return this.keys.get(this.keyIds[i]);
+    }
+
+    /**
+     * Get the value type of the statistic at the specified index.
+     *
+     * @param i the index
+     * @return the value type of the statistic at the specified index
+     */
+    public StatValueType getType(int i) {
+        return StatValueType.values()[this.types[i]];
+    }
+
+    /**
+     * Get the value of the statistic at the specified index as a long.
+     *
+     * @param i the index
+     * @return the value of the statistic at the specified index as a long
+     */
+    public long getLong(int i) {
+        switch (this.getType(i)) {
+            case LONG:
+                return this.values[i];
+            case DOUBLE:
+                return (long) Double.longBitsToDouble(this.values[i]);
+            default:
+                throw new NumberFormatException(this.getValue(i));
+        }
+    }
+
+    /**
+     * Get the value of the statistic at the specified index as a double.
+     *
+     * @param i the index
+     * @return the value of the statistic at the specified index as a double
+     */
+    public double getDouble(int i) {
+        switch (this.getType(i)) {
+            case LONG:
+                return this.values[i];
+            case DOUBLE:
+                return Double.longBitsToDouble(this.values[i]);
+            default:
+                throw new NumberFormatException(this.getValue(i));
+        }
+    }
+
+    /**
+     * Get the string form of the value of the statistic at the specified index.
+     *
+     * @param i the index
+     * @return the string form of the value of the statistic at the specified index
+     */
+    public String getValue(int i) {
+        switch (this.getType(i)) {
+            case LONG:
+                return Long.toString(this.values[i]);
+            case DOUBLE:
+                return Double.toString(Double.longBitsToDouble(this.values[i]));
+            default:
+                return this.strings.get((int) this.values[i]);
+        }
+    }
+
+    /**
+     * Get the raw value of the statistic at the specified index, which is the long value, the raw bits of the double
+     * value or the ID of the string value.
+     *
+     * @param i the index
+     * @return the raw value of the statistic at the specified index
+     */
+    long getRawValue(int i) {
+        return this.values[i];
+    }
+
+    /**
+     * Get the statistic at the specified index.
+     *
+     * @param i the index
+     * @return the statistic at the specified index
+     */
+    public ExperimentStat get(int i) {
+        return new ExperimentStat(this.getPrefix(i), this.getKey(i), this.getValue(i));
+    }
+
+    /**
+     * Get the index of the first statistic of the specified prefix and key.
+     *
+     * @param prefix the prefix
+     * @param key    the key
+     * @return the index of the first statistic of the specified prefix and key, or -1 if there is none
+     */
+    public int indexOf(String prefix, String key) {
+        int prefixId = this.prefixes.find(prefix);
+        int keyId = this.keys.find(key);
+
+        if (prefixId == -1 || keyId == -1) {
+            return -1;
+        }
+
+        if (this.index == null) {
+            this.index = new HashMap<>();
+            for (int i = 0; i < this.size; i++) {
+                this.index.putIfAbsent(indexKey(this.prefixIds[i], this.keyIds[i]), i);
+            }
+        }
+
+        return this.index.getOrDefault(indexKey(prefixId, keyId), -1);
+    }
+
+    /**
+     * Get the string form of the value of the statistic of the specified prefix and key.
+     *
+     * @param prefix the prefix
+     * @param key    the key
+     * @return the string form of the value of the statistic of the specified prefix and key, or null if there is none
+     */
+    public String getValue(String prefix, String key) {
+        int i = this.indexOf(prefix, key);
+        return i != -1 ? this.getValue(i) : null;
+    }
+
+    /**
+     * Get the value of the statistic of the specified prefix and key as a long.
+     *
+     * @param prefix       the prefix
+     * @param key          the key
+     * @param defaultValue the default value
+     * @return the value of the statistic of the specified prefix and key as a long, or the default value if there is none
+     */
+    public long getLong(String prefix, String key, long defaultValue) {
+        int i = this.indexOf(prefix, key);
+        return i != -1 ? this.getLong(i) : defaultValue;
+    }
+
+    /**
+     * Get the value of the statistic of the specified prefix and key as a double.
+     *
+     * @param prefix       the prefix
+     * @param key          the key
+     * @param defaultValue the default value
+     * @return the value of the statistic of the specified prefix and key as a double, or the default value if there is none
+     */
+    public double getDouble(String prefix, String key, double defaultValue) {
+        int i = this.indexOf(prefix, key);
+        return i != -1 ? this.getDouble(i) : defaultValue;
+    }
+
+    /**
+     * Get the distinct prefixes in the order in which they are first added.
+     *
+     * @return the distinct prefixes
+     */
+    public List<String> getPrefixes() {
+        return Collections.unmodifiableList(this.prefixes.names);
+    }
+
+    /**
+     * Get an iterator over the statistics.
+     *
+     * @return an iterator over the statistics
+     */
+    @Override
+    public Iterator<ExperimentStat> iterator() {
+        return new Iterator<ExperimentStat>() {
+            private int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < size;
+            }
+
+            @Override
+            public ExperimentStat next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return get(i++);
+            }
+        };
+    }
+
+    /**
+     * Write the statistics as a JSON array of prefix, key and value objects, formatted the same as the pretty printed
+     * list of experiment statistics.
+     *
+     * @param writer the writer
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeJson(Writer writer) throws IOException {
+        JsonWriter jsonWriter = JsonSerializationHelper.newPrettyPrintJsonWriter(writer);
+
+        jsonWriter.beginArray();
+
+        for (int i = 0; i < this.size; i++) {
+            jsonWriter.beginObject();
+            jsonWriter.name("prefix").value(this.getPrefix(i));
+            jsonWriter.name("key").value(this.getKey(i));
+            jsonWriter.name("value").value(this.getValue(i));
+            jsonWriter.endObject();
+        }
+
+        jsonWriter.endArray();
+        jsonWriter.flush();
+    }
+
+    /**
+     * Write the statistics as a CSV table with the prefix, key and value columns.
+     *
+     * @param writer the writer
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeCsv(Writer writer) throws IOException {
+        writer.write("prefix,key,value\n");
+
+        for (int i = 0; i < this.size; i++) {
+            writer.write(escapeCsv(this.getPrefix(i)));
+            writer.write(',');
+            writer.write(escapeCsv(this.getKey(i)));
+            writer.write(',');
+            writer.write(escapeCsv(this.getValue(i)));
+            writer.write('\n');
+        }
+
+        writer.flush();
+    }
+
+    /**
+     * Escape the specified field for CSV.
+     *
+     * @param field the field
+     * @return the escaped field
+     */
+    private static String escapeCsv(String field) {
+        if (field.indexOf(',') == -1 && field.indexOf('"') == -1 && field.indexOf('\n') == -1 && field.indexOf('\r') == -1) {
+            return field;
+        }
+
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Get the value type of the specified string form of a value, which is a long or a double only if the value
+     * converts back to exactly the same string.
+     *
+     * @param value the string form of the value
+     * @return the value type of the specified string form of a value
+     */
+    static StatValueType typeOf(String value) {
+        if (value == null || value.isEmpty()) {
+            return StatValueType.STRING;
+        }
+
+        char c = value.charAt(0);
+        if (c != '-' && c != 'N' && c != 'I' && (c < '0' || c > '9')) {
+            return StatValueType.STRING;
+        }
+
+        try {
+            if (Long.toString(Long.parseLong(value)).equals(value)) {
+                return StatValueType.LONG;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+
+        try {
+            if (Double.toString(Double.parseDouble(value)).equals(value)) {
+                return StatValueType.DOUBLE;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+
+        return StatValueType.STRING;
+    }
+
+    /**
+     * Get the key in the index for the specified prefix ID and key ID.
+     *
+     * @param prefixId the prefix ID
+     * @param keyId    the key ID
+     * @return the key in the index for the specified prefix ID and key ID
+     */
+    private static long indexKey(int prefixId, int keyId) {
+        return (long) prefixId << 32 | keyId & 0xffffffffL;
+    }
+
+    /**
+     * Get the string interned in the dictionary of the string values for the specified ID.
+     *
+     * @param id the ID of the string value
+     * @return the string value for the specified ID
+     */
+    String getString(int id) {
+        return this.strings.get(id);
+    }
+
+    /**
+     * Dictionary of interned strings, numbered in the order in which they are first interned.
+     */
+    private static class Dictionary {
+        private List<String> names;
+        private Map<String, Integer> ids;
+
+        /**
+         * Create a dictionary.
+         */
+        private Dictionary() {
+            this.names = new ArrayList<>();
+            this.ids = new HashMap<>();
+        }
+
+        /**
+         * Intern the specified string.
+         *
+         * @param name the string
+         * @return the ID of the specified string
+         */
+        private int intern(String name) {
+            Integer id = this.ids.get(name);
+
+            if (id == null) {
+                id = this.names.size();
+                this.names.add(name);
+                this.ids.put(name, id);
+            }
+
+            return id;
+        }
+
+        /**
+         * Find the ID of the specified string.
+         *
+         * @param name the string
+         * @return the ID of the specified string, or -1 if it has not been interned
+         */
+        private int find(String name) {
+            Integer id = this.ids.get(name);
+            return id != null ? id : -1;
+        }
+
+        /**
+         * Get the string for the specified ID.
+         *
+         * @param id the ID
+         * @return the string for the specified ID
+         */
+        private String get(int id) {
+            return this.names.get(id);
+        }
+    }
+
+    /**
+     * Initial capacity of the columns.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+}
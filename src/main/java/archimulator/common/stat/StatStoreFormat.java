@@ -18,51 +18,42 @@
  * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
  * ****************************************************************************
  */
-package archimulator.uncore.coherence.msi.controller;
-
-import java.util.ArrayList;
-import java.util.List;
+package archimulator.common.stat;
 
 /**
- * Directory entry.
+ * Statistic store format.
  *
  * @author Min Cai
  */
-public class DirectoryEntry {
-    private CacheController owner;
-    private List<CacheController> sharers;
-
+public enum StatStoreFormat {
     /**
-     * Create a directory entry.
+     * JSON array of the prefix, key and value triples, written to "result.json".
      */
-    public DirectoryEntry() {
-        this.sharers = new ArrayList<>();
-    }
+    JSON,
 
     /**
-     * Get the owner L1 cache controller.
-     *
-     * @return the owner L1 cache controller
+     * CSV table of the prefix, key and value columns, written to "result.csv".
      */
-    public CacheController getOwner() {
-        return owner;
-    }
+    CSV,
 
     /**
-     * Set the owner L1 cache controller.
-     *
-     * @param owner the owner L1 cache controller
+     * Compact binary format, written to "result.stats".
      */
-    public void setOwner(CacheController owner) {
-        this.owner = owner;
-    }
+    BINARY;
 
     /**
-     * Get the sharer list of L1 cache controllers.
+     * Get the name of the file to which the statistics are written in the format.
      *
-     * @return the sharer list of L1 cache controllers
+     * @return the name of the file to which the statistics are written in the format
      */
-    public List<CacheController> getSharers() {
-        return sharers;
+    public String getFileName() {
+        switch (this) {
+            case JSON:
+                return "result.json";
+            case CSV:
+                return "result.csv";
+            default:
+                return "result.stats";
+        }
     }
 }
@@ -0,0 +1,248 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.common.stat;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reader of statistics written in the compact binary format or as JSON, for post-processing the results of many
+ * experiments.
+ *
+ * @author Min Cai
+ */
+public class StatStoreReader {
+    /**
+     * Read the statistics from the specified file, which is in either the binary format or the JSON format.
+     *
+     * @param file the file
+     * @return the statistic store holding the statistics read from the specified file
+     * @throws IOException if an I/O error occurs
+     */
+    public static StatStore read(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            in.mark(4);
+            int magic = new DataInputStream(in).readInt();
+            in.reset();
+
+            if (magic == StatStoreWriter.MAGIC) {
+                return readBinary(in);
+            } else {
+                return readJson(new InputStreamReader(in, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * Read the statistics in the binary format from the specified input stream.
+     *
+     * @param in the input stream
+     * @return the statistic store holding the statistics read from the specified input stream
+     * @throws IOException if an I/O error occurs
+     */
+    public static StatStore readBinary(InputStream in) throws IOException {
+        DataInputStream dataIn = new DataInputStream(new BufferedInputStream(in));
+
+        if (dataIn.readInt() != StatStoreWriter.MAGIC) {
+            throw new IOException("Not a statistic store");
+        }
+
+        int version = dataIn.readInt();
+        if (version != StatStoreWriter.VERSION) {
+            throw new IOException(String.format("Unsupported statistic store version: %d", version));
+        }
+
+        List<String> prefixes = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        List<String> strings = new ArrayList<>();
+
+        StatStore statStore = new StatStore();
+
+        for (; ; ) {
+            int tag = dataIn.readUnsignedByte();
+
+            switch (tag) {
+                case StatStoreWriter.TAG_END:
+                    return statStore;
+                case StatStoreWriter.TAG_PREFIX:
+                    prefixes.add(readString(dataIn));
+                    break;
+                case StatStoreWriter.TAG_KEY:
+                    keys.add(readString(dataIn));
+                    break;
+                case StatStoreWriter.TAG_STRING:
+                    strings.add(readString(dataIn));
+                    break;
+                case StatStoreWriter.TAG_STAT:
+                    String prefix = prefixes.get((int) readVarLong(dataIn));
+                    String key = keys.get((int) readVarLong(dataIn));
+
+                    switch (StatValueType.values()[dataIn.readUnsignedByte()]) {
+                        case LONG:
+                            long value = readVarLong(dataIn);
+                            statStore.addLong(prefix, key, value >>> 1 ^ -(value & 1));
+                            break;
+                        case DOUBLE:
+                            statStore.addDouble(prefix, key, Double.longBitsToDouble(dataIn.readLong()));
+                            break;
+                        default:
+                            statStore.addString(prefix, key, strings.get((int) readVarLong(dataIn)));
+                            break;
+                    }
+                    break;
+                default:
+                    throw new IOException(String.format("Unexpected tag in statistic store: %d", tag));
+            }
+        }
+    }
+
+    /**
+     * Read the statistics as a JSON array of prefix, key and value objects from the specified reader.
+     *
+     * @param reader the reader
+     * @return the statistic store holding the statistics read from the specified reader
+     * @throws IOException if an I/O error occurs
+     */
+    public static StatStore readJson(Reader reader) throws IOException {
+        JsonReader jsonReader = new JsonReader(reader);
+
+        StatStore statStore = new StatStore();
+
+        jsonReader.beginArray();
+
+        while (jsonReader.hasNext()) {
+            String prefix = null;
+            String key = null;
+            String value = null;
+
+            jsonReader.beginObject();
+
+            while (jsonReader.hasNext()) {
+                switch (jsonReader.nextName()) {
+                    case "prefix":
+                        prefix = jsonReader.nextString();
+                        break;
+                    case "key":
+                        key = jsonReader.nextString();
+                        break;
+                    case "value":
+                        value = jsonReader.nextString();
+                        break;
+                    default:
+                        jsonReader.skipValue();
+                        break;
+                }
+            }
+
+            jsonReader.endObject();
+
+            statStore.add(prefix, key, value);
+        }
+
+        jsonReader.endArray();
+
+        return statStore;
+    }
+
+    /**
+     * Read the statistics of the experiments in the subdirectories of the specified directory, such as the output
+     * directory of a sweep. The binary statistics of each experiment are preferred to its JSON statistics, and the
+     * experiments are read in parallel.
+     *
+     * @param directory the directory
+     * @return the map of the names of the experiment subdirectories to their statistic stores, sorted by name
+     */
+    public static Map<String, StatStore> readDirectory(File directory) {
+        File[] subdirectories = directory.listFiles(File::isDirectory);
+
+        Map<String, StatStore> statStores = new TreeMap<>();
+
+        if (subdirectories == null) {
+            return statStores;
+        }
+
+        List<File> files = new ArrayList<>();
+
+        for (File subdirectory : subdirectories) {
+            File binaryFile = new File(subdirectory, StatStoreFormat.BINARY.getFileName());
+            File jsonFile = new File(subdirectory, StatStoreFormat.JSON.getFileName());
+
+            if (binaryFile.exists()) {
+                files.add(binaryFile);
+            } else if (jsonFile.exists()) {
+                files.add(jsonFile);
+            }
+        }
+
+        files.parallelStream().forEach(file -> {
+            try {
+                StatStore statStore = read(file);
+
+                synchronized (statStores) {
+                    statStores.put(file.getParentFile().getName(), statStore);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return statStores;
+    }
+
+    /**
+     * Read a variable length integer of seven bits per byte.
+     *
+     * @param in the data input
+     * @return the value read
+     * @throws IOException if an I/O error occurs
+     */
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7f) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Read a string written as its length followed by its UTF-8 bytes.
+     *
+     * @param in the data input
+     * @return the string read
+     * @throws IOException if an I/O error occurs
+     */
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,233 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.common.stat;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming writer of statistics in the compact binary format. Each prefix, key and string value is written once, the
+ * first time it is used, and referred to by its ID afterwards. The integral values are written as variable length
+ * integers and the floating point values as their raw bits, so that the statistics can be written as they are
+ * produced without holding them in memory.
+ *
+ * @author Min Cai
+ */
+public class StatStoreWriter implements Closeable {
+    private DataOutputStream out;
+
+    private Map<String, Integer> prefixIds;
+    private Map<String, Integer> keyIds;
+    private Map<String, Integer> stringIds;
+
+    /**
+     * Create a statistic store writer writing to the specified output stream.
+     *
+     * @param out the output stream
+     * @throws IOException if an I/O error occurs
+     */
+    public StatStoreWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+
+        this.prefixIds = new HashMap<>();
+        this.keyIds = new HashMap<>();
+        this.stringIds = new HashMap<>();
+
+        this.out.writeInt(MAGIC);
+        this.out.writeInt(VERSION);
+    }
+
+    /**
+     * Write the statistic of the specified prefix, key and value.
+     *
+     * @param prefix the prefix
+     * @param key    the key
+     * @param value  the value
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(String prefix, String key, String value) throws IOException {
+        StatValueType type = StatStore.typeOf(value);
+
+        switch (type) {
+            case LONG:
+                this.write(prefix, key, type, Long.parseLong(value), null);
+                break;
+            case DOUBLE:
+                this.write(prefix, key, type, Double.doubleToRawLongBits(Double.parseDouble(value)), null);
+                break;
+            default:
+                this.write(prefix, key, type, 0, value);
+                break;
+        }
+    }
+
+    /**
+     * Write all the statistics in the specified statistic store.
+     *
+     * @param statStore the statistic store
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeAll(StatStore statStore) throws IOException {
+        for (int i = 0; i < statStore.size(); i++) {
+            StatValueType type = statStore.getType(i);
+
+            if (type == StatValueType.STRING) {
+                this.write(statStore.getPrefix(i), statStore.getKey(i), type, 0, statStore.getString((int) statStore.getRawValue(i)));
+            } else {
+                this.write(statStore.getPrefix(i), statStore.getKey(i), type, statStore.getRawValue(i), null);
+            }
+        }
+    }
+
+    /**
+     * Write the statistic of the specified prefix, key, value type and value.
+     *
+     * @param prefix   the prefix
+     * @param key      the key
+     * @param type     the value type
+     * @param rawValue the long value or the raw bits of the double value
+     * @param value    the string value
+     * @throws IOException if an I/O error occurs
+     */
+    private void write(String prefix, String key, StatValueType type, long rawValue, String value) throws IOException {
+        int prefixId = this.intern(this.prefixIds, TAG_PREFIX, prefix);
+        int keyId = this.intern(this.keyIds, TAG_KEY, key);
+        int stringId = type == StatValueType.STRING ? this.intern(this.stringIds, TAG_STRING, value) : -1;
+
+        this.out.writeByte(TAG_STAT);
+        writeVarLong(this.out, prefixId);
+        writeVarLong(this.out, keyId);
+        this.out.writeByte(type.ordinal());
+
+        switch (type) {
+            case LONG:
+                writeVarLong(this.out, rawValue << 1 ^ rawValue >> 63);
+                break;
+            case DOUBLE:
+                this.out.writeLong(rawValue);
+                break;
+            default:
+                writeVarLong(this.out, stringId);
+                break;
+        }
+    }
+
+    /**
+     * Get the ID of the specified string in the specified dictionary, writing the string with the specified tag if it
+     * is used for the first time.
+     *
+     * @param ids  the dictionary
+     * @param tag  the tag
+     * @param name the string
+     * @return the ID of the specified string
+     * @throws IOException if an I/O error occurs
+     */
+    private int intern(Map<String, Integer> ids, int tag, String name) throws IOException {
+        Integer id = ids.get(name);
+
+        if (id == null) {
+            id = ids.size();
+            ids.put(name, id);
+
+            this.out.writeByte(tag);
+            writeString(this.out, name);
+        }
+
+        return id;
+    }
+
+    /**
+     * Write the end of the statistics and close the underlying output stream.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        this.out.writeByte(TAG_END);
+        this.out.close();
+    }
+
+    /**
+     * Write the specified non-negative long as a variable length integer of seven bits per byte.
+     *
+     * @param out   the data output
+     * @param value the value
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7fL) != 0) {
+            out.writeByte((int) (value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Write the specified string as its length followed by its UTF-8 bytes.
+     *
+     * @param out   the data output
+     * @param value the string
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeString(DataOutput out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Magic number at the beginning of the binary format.
+     */
+    public static final int MAGIC = 0x41535441;
+
+    /**
+     * Version of the binary format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Tag of the end of the statistics.
+     */
+    static final int TAG_END = 0;
+
+    /**
+     * Tag of a new prefix.
+     */
+    static final int TAG_PREFIX = 1;
+
+    /**
+     * Tag of a new key.
+     */
+    static final int TAG_KEY = 2;
+
+    /**
+     * Tag of a new string value.
+     */
+    static final int TAG_STRING = 3;
+
+    /**
+     * Tag of a statistic.
+     */
+    static final int TAG_STAT = 4;
+}
@@ -42,9 +42,9 @@ public abstract class AbstractBasicCore extends AbstractMemoryHierarchyCore impl
     protected FunctionalUnitPool functionalUnitPool;
 
     /**
-     * The waiting instruction queue.
+     * The entries in the waiting instruction queue whose operands have all become ready since the last wake up.
      */
-    protected List<AbstractReorderBufferEntry> waitingInstructionQueue;
+    protected List<AbstractReorderBufferEntry> wokenUpInstructionQueue;
 
     /**
      * The ready instruction queue.
@@ -57,9 +57,9 @@ public abstract class AbstractBasicCore extends AbstractMemoryHierarchyCore impl
     protected List<AbstractReorderBufferEntry> readyLoadQueue;
 
     /**
-     * The waiting store queue.
+     * The entries in the waiting store queue whose operands have all become ready since the last wake up.
      */
-    protected List<AbstractReorderBufferEntry> waitingStoreQueue;
+    protected List<AbstractReorderBufferEntry> wokenUpStoreQueue;
 
     /**
      * The ready store queue.
@@ -71,6 +71,11 @@ public abstract class AbstractBasicCore extends AbstractMemoryHierarchyCore impl
      */
     protected List<AbstractReorderBufferEntry> oooEventQueue;
 
+    /**
+     * The sequence number assigned to the next entry put into the waiting instruction or store queues.
+     */
+    private long currentWaitingSequence;
+
     /**
      * Create an abstract basic core.
      *
@@ -84,12 +89,12 @@ public abstract class AbstractBasicCore extends AbstractMemoryHierarchyCore impl
 
         this.functionalUnitPool = new FunctionalUnitPool(this);
 
-        this.waitingInstructionQueue = new ArrayList<>();
+        this.wokenUpInstructionQueue = new ArrayList<>();
         this.readyInstructionQueue = new ArrayList<>();
 
         this.readyLoadQueue = new ArrayList<>();
 
-        this.waitingStoreQueue = new ArrayList<>();
+        this.wokenUpStoreQueue = new ArrayList<>();
         this.readyStoreQueue = new ArrayList<>();
 
         this.oooEventQueue = new ArrayList<>();
@@ -127,7 +132,7 @@ public abstract class AbstractBasicCore extends AbstractMemoryHierarchyCore impl
     /**
      * Wake up.
      */
-    protected abstract void wakeUp(); //TODO: to be removed
+    protected abstract void wakeUp();
 
     /**
      * Issue.
@@ -154,13 +159,15 @@ public abstract class AbstractBasicCore extends AbstractMemoryHierarchyCore impl
         this.oooEventQueue.remove(reorderBufferEntry);
 
         this.readyInstructionQueue.remove(reorderBufferEntry);
-        this.waitingInstructionQueue.remove(reorderBufferEntry);
 
         this.readyLoadQueue.remove(reorderBufferEntry);
 
         this.readyStoreQueue.remove(reorderBufferEntry);
-        this.waitingStoreQueue.remove(reorderBufferEntry);
 
+        this.wokenUpInstructionQueue.remove(reorderBufferEntry);
+        this.wokenUpStoreQueue.remove(reorderBufferEntry);
+
+        reorderBufferEntry.setWaiting(null, 0);
         reorderBufferEntry.setSquashed();
     }
 
@@ -175,8 +182,8 @@ public abstract class AbstractBasicCore extends AbstractMemoryHierarchyCore impl
     }
 
     @Override
-    public List<AbstractReorderBufferEntry> getWaitingInstructionQueue() {
-        return waitingInstructionQueue;
+    public void addToWaitingInstructionQueue(AbstractReorderBufferEntry reorderBufferEntry) {
+        reorderBufferEntry.setWaiting(this.wokenUpInstructionQueue, this.currentWaitingSequence++);
     }
 
     @Override
@@ -190,8 +197,8 @@ public abstract class AbstractBasicCore extends AbstractMemoryHierarchyCore impl
     }
 
     @Override
-    public List<AbstractReorderBufferEntry> getWaitingStoreQueue() {
-        return waitingStoreQueue;
+    public void addToWaitingStoreQueue(AbstractReorderBufferEntry loadStoreQueueEntry) {
+        loadStoreQueueEntry.setWaiting(this.wokenUpStoreQueue, this.currentWaitingSequence++);
     }
 
     @Override
@@ -89,6 +89,11 @@ public abstract class AbstractBasicThread extends BasicSimulationObject implemen
      */
     protected PipelineBuffer<LoadStoreQueueEntry> loadStoreQueue;
 
+    /**
+     * The store address CAM for the stores in the load/store queue.
+     */
+    protected StoreAddressCam storeAddressCam;
+
     private TranslationLookasideBuffer itlb;
     private TranslationLookasideBuffer dtlb;
 
@@ -249,6 +254,7 @@ public abstract class AbstractBasicThread extends BasicSimulationObject implemen
         this.decodeBuffer = new PipelineBuffer<>(getExperiment().getDecodeBufferCapacity());
         this.reorderBuffer = new PipelineBuffer<>(getExperiment().getReorderBufferCapacity());
         this.loadStoreQueue = new PipelineBuffer<>(getExperiment().getLoadStoreQueueCapacity());
+        this.storeAddressCam = new StoreAddressCam();
 
         this.executedMnemonics = new TreeMap<>();
         this.executedSystemCalls = new TreeMap<>();
@@ -341,6 +347,11 @@ public abstract class AbstractBasicThread extends BasicSimulationObject implemen
         return loadStoreQueue;
     }
 
+    @Override
+    public StoreAddressCam getStoreAddressCam() {
+        return storeAddressCam;
+    }
+
     @Override
     public long getNumInstructions() {
         return numInstructions;
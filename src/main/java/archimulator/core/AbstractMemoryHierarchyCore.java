@@ -128,7 +128,9 @@ public abstract class AbstractMemoryHierarchyCore extends BasicSimulationObject
             this.l1IController.receiveIfetch(access, () -> l1IController.endAccess(physicalTag));
         }
 
-        this.getBlockingEventDispatcher().dispatch(new MemoryAccessInitiatedEvent(thread, virtualPc, physicalAddress, physicalTag, MemoryHierarchyAccessType.IFETCH));
+        if (this.getBlockingEventDispatcher().hasListeners(MemoryAccessInitiatedEvent.class)) {
+            this.getBlockingEventDispatcher().dispatch(new MemoryAccessInitiatedEvent(thread, virtualPc, physicalAddress, physicalTag, MemoryHierarchyAccessType.IFETCH));
+        }
     }
 
     @Override
@@ -165,7 +167,9 @@ public abstract class AbstractMemoryHierarchyCore extends BasicSimulationObject
             this.l1DController.receiveLoad(access, () -> l1DController.endAccess(physicalTag));
         }
 
-        this.getBlockingEventDispatcher().dispatch(new MemoryAccessInitiatedEvent(dynamicInstruction.getThread(), virtualPc, physicalAddress, physicalTag, MemoryHierarchyAccessType.LOAD));
+        if (this.getBlockingEventDispatcher().hasListeners(MemoryAccessInitiatedEvent.class)) {
+            this.getBlockingEventDispatcher().dispatch(new MemoryAccessInitiatedEvent(dynamicInstruction.getThread(), virtualPc, physicalAddress, physicalTag, MemoryHierarchyAccessType.LOAD));
+        }
     }
 
     @Override
@@ -202,7 +206,9 @@ public abstract class AbstractMemoryHierarchyCore extends BasicSimulationObject
             this.l1DController.receiveStore(access, () -> l1DController.endAccess(physicalTag));
         }
 
-        this.getBlockingEventDispatcher().dispatch(new MemoryAccessInitiatedEvent(dynamicInstruction.getThread(), virtualPc, physicalAddress, physicalTag, MemoryHierarchyAccessType.STORE));
+        if (this.getBlockingEventDispatcher().hasListeners(MemoryAccessInitiatedEvent.class)) {
+            this.getBlockingEventDispatcher().dispatch(new MemoryAccessInitiatedEvent(dynamicInstruction.getThread(), virtualPc, physicalAddress, physicalTag, MemoryHierarchyAccessType.STORE));
+        }
     }
 
     @Override
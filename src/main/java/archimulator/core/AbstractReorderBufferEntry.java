@@ -21,16 +21,17 @@
 package archimulator.core;
 
 import archimulator.core.bpred.BranchPredictorUpdate;
+import archimulator.util.Recyclable;
 
-import java.util.Map;
-import java.util.TreeMap;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Abstract reorder buffer entry.
  *
  * @author Min Cai
  */
-public abstract class AbstractReorderBufferEntry {
+public abstract class AbstractReorderBufferEntry implements Recyclable {
     /**
      * The ID of the abstract reorder buffer entry.
      */
@@ -62,19 +63,20 @@ public abstract class AbstractReorderBufferEntry {
     private DynamicInstruction dynamicInstruction;
 
     /**
-     * The map of the old physical registers.
+     * The old physical registers, indexed by the positions in the output dependencies of the static instruction.
      */
-    private Map<Integer, PhysicalRegister> oldPhysicalRegisters;
+    private PhysicalRegister[] oldPhysicalRegisters;
 
     /**
-     * The map of the target physical registers.
+     * The target physical registers, indexed by the positions in the output dependencies of the static instruction.
      */
-    private Map<Integer, PhysicalRegister> targetPhysicalRegisters;
+    private PhysicalRegister[] targetPhysicalRegisters;
 
     /**
-     * The map of the source physical registers.
+     * The source physical registers, indexed by the positions in the input dependencies of the static instruction. A
+     * repeated input dependency only occupies the slot at its first position.
      */
-    private Map<Integer, PhysicalRegister> sourcePhysicalRegisters;
+    private PhysicalRegister[] sourcePhysicalRegisters;
 
     /**
      * A value indicating whether the reorder buffer entry is speculative or not.
@@ -114,9 +116,44 @@ public abstract class AbstractReorderBufferEntry {
     private int numNotReadyOperands;
 
     /**
-     * Create an abstract reorder buffer entry.
+     * The queue which the reorder buffer entry is pushed into when all of its operands become ready, or null if the
+     * reorder buffer entry is not waiting.
+     */
+    private List<AbstractReorderBufferEntry> wakeUpQueue;
+
+    /**
+     * The sequence number in which the reorder buffer entry starts waiting.
+     */
+    private long waitingSequence;
+
+    /**
+     * A value indicating whether the reorder buffer entry has been released or not.
+     */
+    private boolean released;
+
+    /**
+     * The shared empty array of physical registers.
+     */
+    protected static final PhysicalRegister[] EMPTY_PHYSICAL_REGISTERS = new PhysicalRegister[0];
+
+    /**
+     * Create an abstract reorder buffer entry. The entry is in the released state until {@link #reset} is called.
+     *
+     * @param thread the thread
+     */
+    public AbstractReorderBufferEntry(Thread thread) {
+        this.thread = thread;
+
+        this.oldPhysicalRegisters = EMPTY_PHYSICAL_REGISTERS;
+        this.targetPhysicalRegisters = EMPTY_PHYSICAL_REGISTERS;
+        this.sourcePhysicalRegisters = EMPTY_PHYSICAL_REGISTERS;
+
+        this.released = true;
+    }
+
+    /**
+     * Reset the abstract reorder buffer entry and begin its lifetime.
      *
-     * @param thread                         the thread
      * @param dynamicInstruction             the dynamic instruction
      * @param npc                            the value of the next program counter (NPC)
      * @param nnpc                           the value of the next next program counter (NNPC)
@@ -125,10 +162,8 @@ public abstract class AbstractReorderBufferEntry {
      * @param branchPredictorUpdate          the branch predictor update
      * @param speculative                    a value indicating whether the reorder buffer entry is speculative or not
      */
-    public AbstractReorderBufferEntry(Thread thread, DynamicInstruction dynamicInstruction, int npc, int nnpc, int predictedNnpc, int returnAddressStackRecoverIndex, BranchPredictorUpdate branchPredictorUpdate, boolean speculative) {
-        this.id = thread.getSimulation().currentReorderBufferEntryId++;
-
-        this.thread = thread;
+    public void reset(DynamicInstruction dynamicInstruction, int npc, int nnpc, int predictedNnpc, int returnAddressStackRecoverIndex, BranchPredictorUpdate branchPredictorUpdate, boolean speculative) {
+        this.id = this.thread.getSimulation().currentReorderBufferEntryId++;
 
         this.dynamicInstruction = dynamicInstruction;
 
@@ -139,15 +174,92 @@ public abstract class AbstractReorderBufferEntry {
         this.branchPredictorUpdate = branchPredictorUpdate;
         this.speculative = speculative;
 
-        this.oldPhysicalRegisters = new TreeMap<>();
-        this.targetPhysicalRegisters = new TreeMap<>();
-        this.sourcePhysicalRegisters = new TreeMap<>();
+        this.dispatched = false;
+        this.issued = false;
+        this.completed = false;
+        this.squashed = false;
+
+        this.numNotReadyOperands = 0;
+
+        this.wakeUpQueue = null;
+        this.waitingSequence = 0;
+
+        this.released = false;
+    }
+
+    /**
+     * Size the old, target and source physical registers for the dynamic instruction, reusing the existing arrays
+     * when their lengths match.
+     */
+    protected void resetPhysicalRegisters() {
+        int numOutputDependencies = this.dynamicInstruction.getStaticInstruction().getOutputDependencies().size();
+        int numInputDependencies = this.dynamicInstruction.getStaticInstruction().getInputDependencies().size();
+
+        this.oldPhysicalRegisters = resetPhysicalRegisters(this.oldPhysicalRegisters, numOutputDependencies);
+        this.targetPhysicalRegisters = resetPhysicalRegisters(this.targetPhysicalRegisters, numOutputDependencies);
+        this.sourcePhysicalRegisters = resetPhysicalRegisters(this.sourcePhysicalRegisters, numInputDependencies);
+    }
+
+    /**
+     * Clear the specified array of physical registers if it has the specified length, or allocate a new one otherwise.
+     *
+     * @param physicalRegisters the array of physical registers
+     * @param length            the length
+     * @return the cleared or newly allocated array of physical registers
+     */
+    private static PhysicalRegister[] resetPhysicalRegisters(PhysicalRegister[] physicalRegisters, int length) {
+        if (physicalRegisters.length != length) {
+            return length == 0 ? EMPTY_PHYSICAL_REGISTERS : new PhysicalRegister[length];
+        }
+
+        Arrays.fill(physicalRegisters, null);
+        return physicalRegisters;
+    }
+
+    /**
+     * End the lifetime of the reorder buffer entry. The squashed flag and the ID are kept so that pending callbacks
+     * holding a stale reference can still recognize the entry as dead.
+     */
+    @Override
+    public void release() {
+        this.dynamicInstruction = null;
+        this.branchPredictorUpdate = null;
+        this.wakeUpQueue = null;
+
+        this.released = true;
+    }
+
+    @Override
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Get a value indicating whether the reorder buffer entry is still alive with the specified ID, i.e., it has
+     * neither been squashed nor recycled since the ID was observed.
+     *
+     * @param id the ID observed when the pending operation was started
+     * @return a value indicating whether the reorder buffer entry is still alive with the specified ID
+     */
+    public boolean isAlive(long id) {
+        return this.id == id && !this.squashed;
+    }
+
+    /**
+     * Throw an exception if the reorder buffer entry has been released.
+     */
+    protected void checkNotReleased() {
+        if (this.released) {
+            throw new IllegalStateException("Reorder buffer entry used after release: " + this.id);
+        }
     }
 
     /**
      * Write back.
      */
     public void writeBack() {
+        this.checkNotReleased();
+
         if (this.isNeedWriteBack()) {
             this.doWriteBack();
         }
@@ -164,15 +276,19 @@ public abstract class AbstractReorderBufferEntry {
      * Do the write back process.
      */
     private void doWriteBack() {
-        this.targetPhysicalRegisters.entrySet().stream().filter(entry -> entry.getKey() != 0).forEach(entry -> {
-            entry.getValue().writeback();
-        });
+        for (PhysicalRegister targetPhysicalRegister : this.targetPhysicalRegisters) {
+            if (targetPhysicalRegister != null) {
+                targetPhysicalRegister.writeback();
+            }
+        }
     }
 
     /**
      * Signal the reorder buffer entry is completed.
      */
     public void signalCompleted() {
+        this.checkNotReleased();
+
         if (!this.squashed) {
             this.thread.getCore().getOooEventQueue().add(this);
         }
@@ -238,51 +354,53 @@ public abstract class AbstractReorderBufferEntry {
      * @return the dynamic instruction
      */
     public DynamicInstruction getDynamicInstruction() {
+        this.checkNotReleased();
+
         return dynamicInstruction;
     }
 
     /**
-     * Get the map of the old physical registers.
+     * Get the old physical registers, indexed by the positions in the output dependencies of the static instruction.
      *
-     * @return the map of the old physical registers
+     * @return the old physical registers
      */
-    public Map<Integer, PhysicalRegister> getOldPhysicalRegisters() {
+    public PhysicalRegister[] getOldPhysicalRegisters() {
         return oldPhysicalRegisters;
     }
 
     /**
-     * Get the map of the target physical registers.
+     * Get the target physical registers, indexed by the positions in the output dependencies of the static instruction.
      *
-     * @return the map of the target physical registers
+     * @return the target physical registers
      */
-    public Map<Integer, PhysicalRegister> getTargetPhysicalRegisters() {
+    public PhysicalRegister[] getTargetPhysicalRegisters() {
         return targetPhysicalRegisters;
     }
 
     /**
-     * Set the the map of the target physical registers.
+     * Set the target physical registers, indexed by the positions in the output dependencies of the static instruction.
      *
-     * @param targetPhysicalRegisters the map of the target physical registers
+     * @param targetPhysicalRegisters the target physical registers
      */
-    public void setTargetPhysicalRegisters(Map<Integer, PhysicalRegister> targetPhysicalRegisters) {
+    public void setTargetPhysicalRegisters(PhysicalRegister[] targetPhysicalRegisters) {
         this.targetPhysicalRegisters = targetPhysicalRegisters;
     }
 
     /**
-     * Get the map of the source physical registers.
+     * Get the source physical registers, indexed by the positions in the input dependencies of the static instruction.
      *
-     * @return the map of the source physical registers
+     * @return the source physical registers
      */
-    public Map<Integer, PhysicalRegister> getSourcePhysicalRegisters() {
+    public PhysicalRegister[] getSourcePhysicalRegisters() {
         return sourcePhysicalRegisters;
     }
 
     /**
-     * Set the map of the source physical registers.
+     * Set the source physical registers, indexed by the positions in the input dependencies of the static instruction.
      *
-     * @param sourcePhysicalRegisters the map of the source physical registers
+     * @param sourcePhysicalRegisters the source physical registers
      */
-    public void setSourcePhysicalRegisters(Map<Integer, PhysicalRegister> sourcePhysicalRegisters) {
+    public void setSourcePhysicalRegisters(PhysicalRegister[] sourcePhysicalRegisters) {
         this.sourcePhysicalRegisters = sourcePhysicalRegisters;
     }
 
@@ -299,6 +417,8 @@ public abstract class AbstractReorderBufferEntry {
      * Set the reorder buffer entry is dispatched.
      */
     public void setDispatched() {
+        this.checkNotReleased();
+
         this.dispatched = true;
     }
 
@@ -315,6 +435,8 @@ public abstract class AbstractReorderBufferEntry {
      * Set the reorder buffer entry is issued.
      */
     public void setIssued() {
+        this.checkNotReleased();
+
         this.issued = true;
     }
 
@@ -331,6 +453,8 @@ public abstract class AbstractReorderBufferEntry {
      * Set the reorder buffer entry is completed.
      */
     public void setCompleted() {
+        this.checkNotReleased();
+
         this.completed = true;
     }
 
@@ -394,4 +518,44 @@ public abstract class AbstractReorderBufferEntry {
     public void setNumNotReadyOperands(int numNotReadyOperands) {
         this.numNotReadyOperands = numNotReadyOperands;
     }
+
+    /**
+     * Decrement the number of "not ready" operands.
+     */
+    public void decrementNumNotReadyOperands() {
+        this.checkNotReleased();
+
+        this.setNumNotReadyOperands(this.numNotReadyOperands - 1);
+        this.wakeUpIfAllOperandReady();
+    }
+
+    /**
+     * Push the reorder buffer entry into the wake up queue if it is waiting and all of its operands are ready.
+     */
+    protected void wakeUpIfAllOperandReady() {
+        if (this.wakeUpQueue != null && this.isAllOperandReady()) {
+            this.wakeUpQueue.add(this);
+            this.wakeUpQueue = null;
+        }
+    }
+
+    /**
+     * Set the reorder buffer entry as waiting for its operands to become ready.
+     *
+     * @param wakeUpQueue     the queue which the reorder buffer entry is pushed into when all of its operands become ready
+     * @param waitingSequence the sequence number in which the reorder buffer entry starts waiting
+     */
+    public void setWaiting(List<AbstractReorderBufferEntry> wakeUpQueue, long waitingSequence) {
+        this.wakeUpQueue = wakeUpQueue;
+        this.waitingSequence = waitingSequence;
+    }
+
+    /**
+     * Get the sequence number in which the reorder buffer entry starts waiting.
+     *
+     * @return the sequence number in which the reorder buffer entry starts waiting
+     */
+    public long getWaitingSequence() {
+        return waitingSequence;
+    }
 }
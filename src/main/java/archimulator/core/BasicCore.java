@@ -21,11 +21,11 @@
 package archimulator.core;
 
 import archimulator.core.functionalUnit.FunctionalUnitOperationType;
-import archimulator.isa.StaticInstructionType;
 import archimulator.os.ContextState;
 import archimulator.util.Reference;
 import archimulator.util.RoundRobinScheduler;
 
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
@@ -92,19 +92,28 @@ public class BasicCore extends AbstractBasicCore {
 
     @Override
     protected void wakeUp() {
-        this.wakeUp(this.waitingInstructionQueue, this.readyInstructionQueue);
-        this.wakeUp(this.waitingStoreQueue, this.readyStoreQueue);
+        this.wakeUp(this.wokenUpInstructionQueue, this.readyInstructionQueue);
+        this.wakeUp(this.wokenUpStoreQueue, this.readyStoreQueue);
     }
 
     /**
-     * Wake up.
+     * Move the woken up entries into the ready queue in the order in which they started waiting.
      *
-     * @param waitingQueue the waiting queue
+     * @param wokenUpQueue the woken up queue
      * @param readyQueue   the ready queue
      */
-    private void wakeUp(List<AbstractReorderBufferEntry> waitingQueue, List<AbstractReorderBufferEntry> readyQueue) {
-        waitingQueue.stream().filter(AbstractReorderBufferEntry::isAllOperandReady).forEach(readyQueue::add);
-        waitingQueue.removeIf(AbstractReorderBufferEntry::isAllOperandReady);
+    private void wakeUp(List<AbstractReorderBufferEntry> wokenUpQueue, List<AbstractReorderBufferEntry> readyQueue) {
+        if (wokenUpQueue.size() > 1) {
+            wokenUpQueue.sort(Comparator.comparingLong(AbstractReorderBufferEntry::getWaitingSequence));
+        }
+
+        for (AbstractReorderBufferEntry reorderBufferEntry : wokenUpQueue) {
+            if (!reorderBufferEntry.isSquashed()) {
+                readyQueue.add(reorderBufferEntry);
+            }
+        }
+
+        wokenUpQueue.clear();
     }
 
     @Override
@@ -153,11 +162,7 @@ public class BasicCore extends AbstractBasicCore {
         for (Iterator<AbstractReorderBufferEntry> it = this.readyLoadQueue.iterator(); quant.get() > 0 && it.hasNext(); ) {
             final LoadStoreQueueEntry loadStoreQueueEntry = (LoadStoreQueueEntry) it.next();
 
-            boolean hitInLoadStoreQueue = loadStoreQueueEntry.getThread().getLoadStoreQueue().getEntries().stream().anyMatch(
-                    loadStoreQueueEntryFound
-                            -> loadStoreQueueEntryFound.getDynamicInstruction().getStaticInstruction().getMnemonic().getType() == StaticInstructionType.STORE
-                            && loadStoreQueueEntryFound.getEffectiveAddress() == loadStoreQueueEntry.getEffectiveAddress()
-            );
+            boolean hitInLoadStoreQueue = loadStoreQueueEntry.getThread().getStoreAddressCam().contains(loadStoreQueueEntry.getEffectiveAddress());
 
             if (hitInLoadStoreQueue) {
                 loadStoreQueueEntry.setIssued();
@@ -168,11 +173,17 @@ public class BasicCore extends AbstractBasicCore {
                     break;
                 }
 
+                final long loadStoreQueueEntryId = loadStoreQueueEntry.getId();
+
                 this.load(
                         loadStoreQueueEntry.getDynamicInstruction(),
                         loadStoreQueueEntry.getEffectiveAddress(),
                         loadStoreQueueEntry.getDynamicInstruction().getPc(),
-                        loadStoreQueueEntry::signalCompleted
+                        () -> {
+                            if (loadStoreQueueEntry.isAlive(loadStoreQueueEntryId)) {
+                                loadStoreQueueEntry.signalCompleted();
+                            }
+                        }
                 );
                 loadStoreQueueEntry.setIssued();
             }
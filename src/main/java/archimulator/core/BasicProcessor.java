@@ -104,6 +104,7 @@ public class BasicProcessor extends BasicSimulationObject implements Processor {
 
             if (context.getThreadId() != -1 && this.contextToThreadMappings.get(context) == null) {
                 context.setState(ContextState.RUNNING);
+                this.kernel.wakeUp();
 
                 int coreNum = context.getThreadId() / getExperiment().getNumThreadsPerCore();
                 int threadNum = context.getThreadId() % getExperiment().getNumThreadsPerCore();
@@ -145,6 +146,8 @@ public class BasicProcessor extends BasicSimulationObject implements Processor {
         context.setThreadId(-1);
 
         this.getBlockingEventDispatcher().dispatch(new ContextKilledEvent(context));
+
+        this.kernel.wakeUp();
     }
 
     @Override
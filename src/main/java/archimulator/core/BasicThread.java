@@ -30,11 +30,14 @@ import archimulator.isa.RegisterDependencyType;
 import archimulator.isa.StaticInstruction;
 import archimulator.isa.StaticInstructionType;
 import archimulator.os.ContextState;
-import archimulator.util.Reference;
+import archimulator.os.DecodedBasicBlock;
+import archimulator.util.ObjectPool;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Basic thread.
@@ -57,6 +60,10 @@ public class BasicThread extends AbstractBasicThread {
 
     private DynamicInstruction nextInstructionInCacheWarmupPhase;
 
+    private ObjectPool<DecodeBufferEntry> decodeBufferEntryPool;
+    private ObjectPool<ReorderBufferEntry> reorderBufferEntryPool;
+    private ObjectPool<LoadStoreQueueEntry> loadStoreQueueEntryPool;
+
     /**
      * Create a basic thread.
      *
@@ -67,11 +74,25 @@ public class BasicThread extends AbstractBasicThread {
         super(core, num);
 
         this.lineSizeOfICache = this.core.getL1IController().getCache().getGeometry().getLineSize();
+
+        boolean poolDebugEnabled = getExperiment().getPipelineEntryPoolDebugEnabled();
+
+        this.decodeBufferEntryPool = new ObjectPool<>(DecodeBufferEntry::new, poolDebugEnabled);
+        this.reorderBufferEntryPool = new ObjectPool<>(() -> new ReorderBufferEntry(this), poolDebugEnabled);
+        this.loadStoreQueueEntryPool = new ObjectPool<>(() -> new LoadStoreQueueEntry(this), poolDebugEnabled);
     }
 
     @Override
     public void fastForwardOneCycle() {
         if (this.context != null && this.context.getState() == ContextState.RUNNING) {
+            if (getExperiment().getBasicBlockFastForwardEnabled()) {
+                DecodedBasicBlock basicBlock = this.context.decodeNextBasicBlock();
+                if (basicBlock != null) {
+                    this.fastForwardBasicBlock(basicBlock);
+                    return;
+                }
+            }
+
             StaticInstruction staticInstruction;
             do {
                 staticInstruction = this.context.decodeNextInstruction();
@@ -86,6 +107,36 @@ public class BasicThread extends AbstractBasicThread {
         }
     }
 
+    /**
+     * Execute the specified decoded basic block in the fast forward mode, leaving it as soon as the control flow
+     * departs from the straight-line run of instructions in the block, the context stops running, or a counted instruction
+     * following a pseudocall has been executed.
+     *
+     * @param basicBlock the decoded basic block starting at the next PC (program counter)
+     */
+    private void fastForwardBasicBlock(DecodedBasicBlock basicBlock) {
+        boolean pseudoCallEncountered = false;
+
+        for (int i = 0; i < basicBlock.getNumInstructions(); i++) {
+            if (this.context == null || this.context.getState() != ContextState.RUNNING || this.context.getRegisterFile().getNpc() != basicBlock.getPc(i)) {
+                break;
+            }
+
+            StaticInstruction staticInstruction = this.context.decodeNextInstruction(basicBlock, i);
+            StaticInstruction.execute(staticInstruction, this.context);
+
+            if (this.context.isPseudoCallEncounteredInLastInstructionExecution()) {
+                pseudoCallEncountered = true;
+            } else if (staticInstruction.getMnemonic().getType() != StaticInstructionType.NOP) {
+                this.numInstructions++;
+
+                if (pseudoCallEncountered) {
+                    break;
+                }
+            }
+        }
+    }
+
     @Override
     public void warmupCacheOneCycle() {
         if (this.context != null && this.context.getState() == ContextState.RUNNING && !this.fetchStalled) {
@@ -94,8 +145,15 @@ public class BasicThread extends AbstractBasicThread {
                 do {
                     staticInstruction = this.context.decodeNextInstruction();
                     this.nextInstructionInCacheWarmupPhase = new DynamicInstruction(this, this.context.getRegisterFile().getPc(), staticInstruction);
+
+                    int npc = this.context.getRegisterFile().getNpc();
+
                     StaticInstruction.execute(staticInstruction, this.context);
 
+                    if (staticInstruction.getMnemonic().isControl() && this.branchPredictor.isDynamic()) {
+                        this.warmupBranchPredictor(this.nextInstructionInCacheWarmupPhase.getPc(), npc, staticInstruction);
+                    }
+
                     if (!this.context.isPseudoCallEncounteredInLastInstructionExecution() && staticInstruction.getMnemonic().getType() != StaticInstructionType.NOP) {
                         this.numInstructions++;
                     }
@@ -139,6 +197,34 @@ public class BasicThread extends AbstractBasicThread {
         }
     }
 
+    /**
+     * Warm up the branch predictor with the outcome of the specified control instruction that has just been executed
+     * in the cache warmup mode, by predicting it and then updating the predictor as the fetch and commit stages do.
+     *
+     * @param pc                the PC (program counter) of the control instruction
+     * @param npc               the next PC before the control instruction was executed
+     * @param staticInstruction the control instruction
+     */
+    private void warmupBranchPredictor(int pc, int npc, StaticInstruction staticInstruction) {
+        BranchPredictorUpdate branchPredictorUpdate = new BranchPredictorUpdate();
+
+        int destination = this.branchPredictor.predict(npc, 0, staticInstruction.getMnemonic(), branchPredictorUpdate);
+        int predictedNnpc = destination <= 1 ? npc + 4 : destination;
+
+        int executedNpc = this.context.getRegisterFile().getNpc();
+        int nnpc = this.context.getRegisterFile().getNnpc();
+
+        this.branchPredictor.update(
+                pc,
+                nnpc,
+                nnpc != (executedNpc + 4),
+                predictedNnpc != (executedNpc + 4),
+                predictedNnpc == nnpc,
+                staticInstruction.getMnemonic(),
+                branchPredictorUpdate
+        );
+    }
+
     @Override
     public void updateFetchNpcAndNnpcFromRegs() {
         this.fetchNpc = this.context.getRegisterFile().getNpc();
@@ -168,9 +254,13 @@ public class BasicThread extends AbstractBasicThread {
                 } else {
                     this.core.ifetch(this, this.fetchNpc, this.fetchNpc, () -> {
                         fetchStalled = false;
-                        this.getBlockingEventDispatcher().dispatch(new StaticInstructionFetchEndEvent(this, this.getCycleAccurateEventQueue().getCurrentCycle(), this.id, this.fetchNpc));
+                        if (this.getBlockingEventDispatcher().hasListeners(StaticInstructionFetchEndEvent.class)) {
+                            this.getBlockingEventDispatcher().dispatch(new StaticInstructionFetchEndEvent(this, this.getCycleAccurateEventQueue().getCurrentCycle(), this.id, this.fetchNpc));
+                        }
                     });
-                    this.getBlockingEventDispatcher().dispatch(new StaticInstructionFetchBeginEvent(this, this.getCycleAccurateEventQueue().getCurrentCycle(), this.id, this.fetchNpc));
+                    if (this.getBlockingEventDispatcher().hasListeners(StaticInstructionFetchBeginEvent.class)) {
+                        this.getBlockingEventDispatcher().dispatch(new StaticInstructionFetchBeginEvent(this, this.getCycleAccurateEventQueue().getCurrentCycle(), this.id, this.fetchNpc));
+                    }
 
                     this.fetchStalled = true;
                     this.lastFetchedCacheLine = cacheLineToFetch;
@@ -238,8 +328,7 @@ public class BasicThread extends AbstractBasicThread {
 
             BranchPredictorUpdate branchPredictorUpdate = new BranchPredictorUpdate();
 
-            Reference<Integer> returnAddressStackRecoverIndexRef = new Reference<>(0);
-            int destination = dynamicInstruction.getStaticInstruction().getMnemonic().isControl() ? this.branchPredictor.predict(this.fetchNpc, 0, dynamicInstruction.getStaticInstruction().getMnemonic(), branchPredictorUpdate, returnAddressStackRecoverIndexRef) : this.fetchNpc + 4;
+            int destination = dynamicInstruction.getStaticInstruction().getMnemonic().isControl() ? this.branchPredictor.predict(this.fetchNpc, 0, dynamicInstruction.getStaticInstruction().getMnemonic(), branchPredictorUpdate) : this.fetchNpc + 4;
 
             this.fetchNnpc = destination <= 1 ? this.fetchNpc + 4 : destination;
 
@@ -247,7 +336,9 @@ public class BasicThread extends AbstractBasicThread {
                 hasDone = true;
             }
 
-            this.decodeBuffer.getEntries().add(new DecodeBufferEntry(dynamicInstruction, this.context.getRegisterFile().getNpc(), this.context.getRegisterFile().getNnpc(), this.fetchNnpc, returnAddressStackRecoverIndexRef.get(), branchPredictorUpdate, this.context.isSpeculative()));
+            DecodeBufferEntry decodeBufferEntry = this.decodeBufferEntryPool.acquire();
+            decodeBufferEntry.reset(dynamicInstruction, this.context.getRegisterFile().getNpc(), this.context.getRegisterFile().getNnpc(), this.fetchNnpc, branchPredictorUpdate.getReturnAddressStackRecoverIndex(), branchPredictorUpdate, this.context.isSpeculative());
+            this.decodeBuffer.getEntries().add(decodeBufferEntry);
         }
     }
 
@@ -268,27 +359,43 @@ public class BasicThread extends AbstractBasicThread {
             return false;
         }
 
-        ReorderBufferEntry reorderBufferEntry = new ReorderBufferEntry(this, dynamicInstruction, decodeBufferEntry.getNpc(), decodeBufferEntry.getNnpc(), decodeBufferEntry.getPredictedNnpc(), decodeBufferEntry.getReturnAddressStackRecoverIndex(), decodeBufferEntry.getBranchPredictorUpdate(), decodeBufferEntry.isSpeculative());
+        ReorderBufferEntry reorderBufferEntry = this.reorderBufferEntryPool.acquire();
+        reorderBufferEntry.reset(dynamicInstruction, decodeBufferEntry.getNpc(), decodeBufferEntry.getNnpc(), decodeBufferEntry.getPredictedNnpc(), decodeBufferEntry.getReturnAddressStackRecoverIndex(), decodeBufferEntry.getBranchPredictorUpdate(), decodeBufferEntry.isSpeculative());
         reorderBufferEntry.setEffectiveAddressComputation(dynamicInstruction.getStaticInstruction().getMnemonic().getType() == StaticInstructionType.LOAD || dynamicInstruction.getStaticInstruction().getMnemonic().getType() == StaticInstructionType.STORE);
 
-        for (int inputDependency : reorderBufferEntry.getDynamicInstruction().getStaticInstruction().getInputDependencies()) {
-            reorderBufferEntry.getSourcePhysicalRegisters().put(inputDependency, this.renameTable.get(inputDependency));
+        List<Integer> inputDependencies = dynamicInstruction.getStaticInstruction().getInputDependencies();
+        List<Integer> outputDependencies = dynamicInstruction.getStaticInstruction().getOutputDependencies();
+
+        PhysicalRegister[] sourcePhysicalRegisters = reorderBufferEntry.getSourcePhysicalRegisters();
+
+        for (int i = 0; i < sourcePhysicalRegisters.length; i++) {
+            int inputDependency = inputDependencies.get(i);
+
+            if (!containsDependency(inputDependencies, i, inputDependency)) {
+                sourcePhysicalRegisters[i] = this.renameTable.get(inputDependency);
+            }
         }
 
-        reorderBufferEntry.getDynamicInstruction().getStaticInstruction().getOutputDependencies().stream().filter(outputDependency -> outputDependency != 0).forEach(outputDependency -> {
-            reorderBufferEntry.getOldPhysicalRegisters().put(outputDependency, this.renameTable.get(outputDependency));
-            PhysicalRegister physReg = this.getPhysicalRegisterFile(RegisterDependencyType.getType(outputDependency)).allocate(outputDependency);
-            this.renameTable.put(outputDependency, physReg);
-            reorderBufferEntry.getTargetPhysicalRegisters().put(outputDependency, physReg);
-        });
+        for (int i = 0; i < outputDependencies.size(); i++) {
+            int outputDependency = outputDependencies.get(i);
 
-        reorderBufferEntry.getSourcePhysicalRegisters().values().stream().filter(physicalRegister -> !physicalRegister.isReady()).forEach(physicalRegister -> {
-            reorderBufferEntry.setNumNotReadyOperands(reorderBufferEntry.getNumNotReadyOperands() + 1);
-            physicalRegister.getDependents().add(reorderBufferEntry);
-        });
+            if (outputDependency != 0) {
+                reorderBufferEntry.getOldPhysicalRegisters()[i] = this.renameTable.get(outputDependency);
+                PhysicalRegister physReg = this.getPhysicalRegisterFile(RegisterDependencyType.getType(outputDependency)).allocate(outputDependency);
+                this.renameTable.put(outputDependency, physReg);
+                reorderBufferEntry.getTargetPhysicalRegisters()[i] = physReg;
+            }
+        }
+
+        for (PhysicalRegister physicalRegister : sourcePhysicalRegisters) {
+            if (physicalRegister != null && !physicalRegister.isReady()) {
+                reorderBufferEntry.setNumNotReadyOperands(reorderBufferEntry.getNumNotReadyOperands() + 1);
+                physicalRegister.getDependents().add(reorderBufferEntry);
+            }
+        }
 
         if (reorderBufferEntry.isEffectiveAddressComputation()) {
-            PhysicalRegister physicalRegister = reorderBufferEntry.getSourcePhysicalRegisters().get(reorderBufferEntry.getDynamicInstruction().getStaticInstruction().getInputDependencies().get(0));
+            PhysicalRegister physicalRegister = sourcePhysicalRegisters[0];
             if (!physicalRegister.isReady()) {
                 physicalRegister.getEffectiveAddressComputationOperandDependents().add(reorderBufferEntry);
             } else {
@@ -297,19 +404,22 @@ public class BasicThread extends AbstractBasicThread {
         }
 
         if (dynamicInstruction.getStaticInstruction().getMnemonic().getType() == StaticInstructionType.LOAD || dynamicInstruction.getStaticInstruction().getMnemonic().getType() == StaticInstructionType.STORE) {
-            LoadStoreQueueEntry loadStoreQueueEntry = new LoadStoreQueueEntry(this, dynamicInstruction, decodeBufferEntry.getNpc(), decodeBufferEntry.getNnpc(), decodeBufferEntry.getPredictedNnpc(), 0, null, false);
+            LoadStoreQueueEntry loadStoreQueueEntry = this.loadStoreQueueEntryPool.acquire();
+            loadStoreQueueEntry.reset(dynamicInstruction, decodeBufferEntry.getNpc(), decodeBufferEntry.getNnpc(), decodeBufferEntry.getPredictedNnpc(), 0, null, false);
             loadStoreQueueEntry.setEffectiveAddress(dynamicInstruction.getEffectiveAddress());
 
             loadStoreQueueEntry.setSourcePhysicalRegisters(reorderBufferEntry.getSourcePhysicalRegisters());
             loadStoreQueueEntry.setTargetPhysicalRegisters(reorderBufferEntry.getTargetPhysicalRegisters());
 
-            loadStoreQueueEntry.getSourcePhysicalRegisters().values().stream().filter(physicalRegister -> !physicalRegister.isReady()).forEach(physicalRegister -> {
-                physicalRegister.getDependents().add(loadStoreQueueEntry);
-            });
+            for (PhysicalRegister physicalRegister : sourcePhysicalRegisters) {
+                if (physicalRegister != null && !physicalRegister.isReady()) {
+                    physicalRegister.getDependents().add(loadStoreQueueEntry);
+                }
+            }
 
             loadStoreQueueEntry.setNumNotReadyOperands(reorderBufferEntry.getNumNotReadyOperands());
 
-            PhysicalRegister storeAddressPhysicalRegister = loadStoreQueueEntry.getSourcePhysicalRegisters().get(loadStoreQueueEntry.getDynamicInstruction().getStaticInstruction().getInputDependencies().get(0));
+            PhysicalRegister storeAddressPhysicalRegister = sourcePhysicalRegisters[0];
             if (!storeAddressPhysicalRegister.isReady()) {
                 storeAddressPhysicalRegister.getStoreAddressDependents().add(loadStoreQueueEntry);
             } else {
@@ -318,6 +428,10 @@ public class BasicThread extends AbstractBasicThread {
 
             this.loadStoreQueue.getEntries().add(loadStoreQueueEntry);
 
+            if (dynamicInstruction.getStaticInstruction().getMnemonic().getType() == StaticInstructionType.STORE) {
+                this.storeAddressCam.add(loadStoreQueueEntry.getEffectiveAddress());
+            }
+
             reorderBufferEntry.setLoadStoreQueueEntry(loadStoreQueueEntry);
         }
 
@@ -325,6 +439,8 @@ public class BasicThread extends AbstractBasicThread {
 
         this.decodeBuffer.getEntries().remove(0);
 
+        this.decodeBufferEntryPool.release(decodeBufferEntry);
+
         return true;
     }
 
@@ -332,10 +448,10 @@ public class BasicThread extends AbstractBasicThread {
     public boolean dispatchOne() {
         for (ReorderBufferEntry reorderBufferEntry : this.reorderBuffer.getEntries()) {
             if (!reorderBufferEntry.isDispatched()) {
-                if (reorderBufferEntry.isAllOperandReady()) {//TODO: is it correct or efficient?
+                if (reorderBufferEntry.isAllOperandReady()) {
                     this.core.getReadyInstructionQueue().add(reorderBufferEntry);
                 } else {
-                    this.core.getWaitingInstructionQueue().add(reorderBufferEntry);
+                    this.core.addToWaitingInstructionQueue(reorderBufferEntry);
                 }
 
                 reorderBufferEntry.setDispatched();
@@ -344,10 +460,10 @@ public class BasicThread extends AbstractBasicThread {
                     LoadStoreQueueEntry loadStoreQueueEntry = reorderBufferEntry.getLoadStoreQueueEntry();
 
                     if (loadStoreQueueEntry.getDynamicInstruction().getStaticInstruction().getMnemonic().getType() == StaticInstructionType.STORE) {
-                        if (loadStoreQueueEntry.isAllOperandReady()) {//TODO: is it correct or efficient?
+                        if (loadStoreQueueEntry.isAllOperandReady()) {
                             this.core.getReadyStoreQueue().add(loadStoreQueueEntry);
                         } else {
-                            this.core.getWaitingStoreQueue().add(loadStoreQueueEntry);
+                            this.core.addToWaitingStoreQueue(loadStoreQueueEntry);
                         }
                     }
 
@@ -363,7 +479,7 @@ public class BasicThread extends AbstractBasicThread {
 
     @Override
     public void refreshLoadStoreQueue() { //TODO: to be clarified
-        List<Integer> stdUnknowns = new ArrayList<>();
+        Set<Integer> stdUnknowns = new HashSet<>();
 
         for (LoadStoreQueueEntry loadStoreQueueEntry : this.loadStoreQueue.getEntries()) {
             if (loadStoreQueueEntry.getDynamicInstruction().getStaticInstruction().getMnemonic().getType() == StaticInstructionType.STORE) {
@@ -372,17 +488,14 @@ public class BasicThread extends AbstractBasicThread {
                 } else if (!loadStoreQueueEntry.isAllOperandReady()) {
                     stdUnknowns.add(loadStoreQueueEntry.getEffectiveAddress());
                 } else {
-                    for (int i = 0; i < stdUnknowns.size(); i++) {
-                        if (stdUnknowns.get(i) == loadStoreQueueEntry.getEffectiveAddress()) {
-                            stdUnknowns.set(i, 0);
-                        }
-                    }
+                    stdUnknowns.remove(loadStoreQueueEntry.getEffectiveAddress());
                 }
             }
 
-            if (loadStoreQueueEntry.getDynamicInstruction().getStaticInstruction().getMnemonic().getType() == StaticInstructionType.LOAD && loadStoreQueueEntry.isDispatched() && !this.core.getReadyLoadQueue().contains(loadStoreQueueEntry) && !loadStoreQueueEntry.isIssued() && !loadStoreQueueEntry.isCompleted() && loadStoreQueueEntry.isAllOperandReady()) {
+            if (loadStoreQueueEntry.getDynamicInstruction().getStaticInstruction().getMnemonic().getType() == StaticInstructionType.LOAD && loadStoreQueueEntry.isDispatched() && !loadStoreQueueEntry.isReadyToLoad() && !loadStoreQueueEntry.isIssued() && !loadStoreQueueEntry.isCompleted() && loadStoreQueueEntry.isAllOperandReady()) {
                 if (!stdUnknowns.contains(loadStoreQueueEntry.getEffectiveAddress())) {
                     this.core.getReadyLoadQueue().add(loadStoreQueueEntry);
+                    loadStoreQueueEntry.setReadyToLoad();
                 }
             }
         }
@@ -436,13 +549,17 @@ public class BasicThread extends AbstractBasicThread {
 
                 this.core.removeFromQueues(loadStoreQueueEntry);
 
-                this.loadStoreQueue.getEntries().remove(loadStoreQueueEntry);
+                this.removeFromLoadStoreQueue(loadStoreQueueEntry);
+
+                this.loadStoreQueueEntryPool.release(loadStoreQueueEntry);
             }
 
-            reorderBufferEntry.getDynamicInstruction().getStaticInstruction().getOutputDependencies().stream().filter(outputDependency -> outputDependency != 0).forEach(outputDependency -> {
-                reorderBufferEntry.getOldPhysicalRegisters().get(outputDependency).reclaim();
-                reorderBufferEntry.getTargetPhysicalRegisters().get(outputDependency).commit();
-            });
+            for (int i = 0; i < reorderBufferEntry.getTargetPhysicalRegisters().length; i++) {
+                if (reorderBufferEntry.getTargetPhysicalRegisters()[i] != null) {
+                    reorderBufferEntry.getOldPhysicalRegisters()[i].reclaim();
+                    reorderBufferEntry.getTargetPhysicalRegisters()[i].commit();
+                }
+            }
 
             if (reorderBufferEntry.getDynamicInstruction().getStaticInstruction().getMnemonic().isControl()) {
                 this.branchPredictor.update(
@@ -458,7 +575,9 @@ public class BasicThread extends AbstractBasicThread {
 
             this.core.removeFromQueues(reorderBufferEntry);
 
-            this.getBlockingEventDispatcher().dispatch(new DynamicInstructionCommittedEvent(reorderBufferEntry.getDynamicInstruction()));
+            if (this.getBlockingEventDispatcher().hasListeners(DynamicInstructionCommittedEvent.class)) {
+                this.getBlockingEventDispatcher().dispatch(new DynamicInstructionCommittedEvent(reorderBufferEntry.getDynamicInstruction()));
+            }
 
             if (this.context.getState() == ContextState.FINISHED && reorderBufferEntry.getDynamicInstruction() == this.lastDecodedDynamicInstruction) {
                 this.lastDecodedDynamicInstructionCommitted = true;
@@ -466,6 +585,8 @@ public class BasicThread extends AbstractBasicThread {
 
             this.reorderBuffer.getEntries().remove(0);
 
+            this.reorderBufferEntryPool.release(reorderBufferEntry);
+
             this.numInstructions++;
 
             this.lastCommitCycle = this.getCycleAccurateEventQueue().getCurrentCycle();
@@ -483,32 +604,43 @@ public class BasicThread extends AbstractBasicThread {
         while (!this.reorderBuffer.isEmpty()) {
             ReorderBufferEntry reorderBufferEntry = this.reorderBuffer.getEntries().get(this.reorderBuffer.getEntries().size() - 1);
 
+            this.removeFromDependents(reorderBufferEntry);
+
             if (reorderBufferEntry.isEffectiveAddressComputation()) {
                 LoadStoreQueueEntry loadStoreQueueEntry = reorderBufferEntry.getLoadStoreQueueEntry();
 
                 this.core.removeFromQueues(loadStoreQueueEntry);
 
-                this.loadStoreQueue.getEntries().remove(loadStoreQueueEntry);
+                this.removeFromLoadStoreQueue(loadStoreQueueEntry);
+
+                this.loadStoreQueueEntryPool.release(loadStoreQueueEntry);
             }
 
             this.core.removeFromQueues(reorderBufferEntry);
 
-            reorderBufferEntry.getDynamicInstruction().getStaticInstruction().getOutputDependencies().stream().filter(outputDependency -> outputDependency != 0).forEach(outputDependency -> {
-                reorderBufferEntry.getTargetPhysicalRegisters().get(outputDependency).recover();
-                this.renameTable.put(outputDependency, reorderBufferEntry.getOldPhysicalRegisters().get(outputDependency));
-            });
+            List<Integer> outputDependencies = reorderBufferEntry.getDynamicInstruction().getStaticInstruction().getOutputDependencies();
+
+            for (int i = 0; i < outputDependencies.size(); i++) {
+                if (reorderBufferEntry.getTargetPhysicalRegisters()[i] != null) {
+                    reorderBufferEntry.getTargetPhysicalRegisters()[i].recover();
+                    this.renameTable.put(outputDependencies.get(i), reorderBufferEntry.getOldPhysicalRegisters()[i]);
+                }
+            }
 
-            reorderBufferEntry.getTargetPhysicalRegisters().clear();
+            Arrays.fill(reorderBufferEntry.getTargetPhysicalRegisters(), null);
 
             this.reorderBuffer.getEntries().remove(reorderBufferEntry);
+
+            this.reorderBufferEntryPool.release(reorderBufferEntry);
         }
 
-        if (!this.reorderBuffer.getEntries().isEmpty() || !this.loadStoreQueue.getEntries().isEmpty()) {
+        if (!this.reorderBuffer.getEntries().isEmpty() || !this.loadStoreQueue.getEntries().isEmpty() || !this.storeAddressCam.isEmpty()) {
             throw new IllegalArgumentException();
         }
 
         this.core.getFunctionalUnitPool().releaseAll(); //TODO: is it correct or just release those FUs that this thread uses?
 
+        this.decodeBuffer.getEntries().forEach(this.decodeBufferEntryPool::release);
         this.decodeBuffer.getEntries().clear();
     }
 
@@ -517,6 +649,61 @@ public class BasicThread extends AbstractBasicThread {
         return this.lastDecodedDynamicInstruction == null || lastDecodedDynamicInstructionCommitted;
     }
 
+    /**
+     * Get a value indicating whether the specified dependency appears in the specified list of dependencies before the
+     * specified position or not.
+     *
+     * @param dependencies the list of dependencies
+     * @param position     the position
+     * @param dependency   the dependency
+     * @return a value indicating whether the specified dependency appears in the specified list of dependencies before
+     * the specified position or not
+     */
+    private static boolean containsDependency(List<Integer> dependencies, int position, int dependency) {
+        for (int i = 0; i < position; i++) {
+            if (dependencies.get(i) == dependency) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Remove the specified squashed reorder buffer entry and its load/store queue entry, if any, from the dependents
+     * of its source physical registers, so that later write backs never reach them once they are recycled.
+     *
+     * @param reorderBufferEntry the squashed reorder buffer entry
+     */
+    private void removeFromDependents(ReorderBufferEntry reorderBufferEntry) {
+        LoadStoreQueueEntry loadStoreQueueEntry = reorderBufferEntry.getLoadStoreQueueEntry();
+
+        for (PhysicalRegister sourcePhysicalRegister : reorderBufferEntry.getSourcePhysicalRegisters()) {
+            if (sourcePhysicalRegister != null) {
+                sourcePhysicalRegister.getDependents().remove(reorderBufferEntry);
+                sourcePhysicalRegister.getEffectiveAddressComputationOperandDependents().remove(reorderBufferEntry);
+
+                if (loadStoreQueueEntry != null) {
+                    sourcePhysicalRegister.getDependents().remove(loadStoreQueueEntry);
+                    sourcePhysicalRegister.getStoreAddressDependents().remove(loadStoreQueueEntry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove the specified entry from the load/store queue.
+     *
+     * @param loadStoreQueueEntry the load/store queue entry
+     */
+    private void removeFromLoadStoreQueue(LoadStoreQueueEntry loadStoreQueueEntry) {
+        this.loadStoreQueue.getEntries().remove(loadStoreQueueEntry);
+
+        if (loadStoreQueueEntry.getDynamicInstruction().getStaticInstruction().getMnemonic().getType() == StaticInstructionType.STORE) {
+            this.storeAddressCam.remove(loadStoreQueueEntry.getEffectiveAddress());
+        }
+    }
+
     /**
      * Get the physical register file based on the specified register dependency type.
      *
@@ -77,11 +77,12 @@ public interface Core extends MemoryHierarchyCore, Reportable {
     FunctionalUnitPool getFunctionalUnitPool();
 
     /**
-     * Get the waiting instruction queue.
+     * Put the specified reorder buffer entry into the waiting instruction queue, from which it is woken up when all of
+     * its operands become ready.
      *
-     * @return the waiting instruction queue
+     * @param reorderBufferEntry the reorder buffer entry
      */
-    List<AbstractReorderBufferEntry> getWaitingInstructionQueue();
+    void addToWaitingInstructionQueue(AbstractReorderBufferEntry reorderBufferEntry);
 
     /**
      * Get the ready instruction queue.
@@ -98,11 +99,12 @@ public interface Core extends MemoryHierarchyCore, Reportable {
     List<AbstractReorderBufferEntry> getReadyLoadQueue();
 
     /**
-     * Get the waiting store queue.
+     * Put the specified load/store queue entry into the waiting store queue, from which it is woken up when all of its
+     * operands become ready.
      *
-     * @return the waiting store queue
+     * @param loadStoreQueueEntry the load/store queue entry
      */
-    List<AbstractReorderBufferEntry> getWaitingStoreQueue();
+    void addToWaitingStoreQueue(AbstractReorderBufferEntry loadStoreQueueEntry);
 
     /**
      * Get the ready store queue.
@@ -21,13 +21,14 @@
 package archimulator.core;
 
 import archimulator.core.bpred.BranchPredictorUpdate;
+import archimulator.util.Recyclable;
 
 /**
  * Decode buffer entry.
  *
  * @author Min Cai
  */
-public class DecodeBufferEntry {
+public class DecodeBufferEntry implements Recyclable {
     private long id;
     private DynamicInstruction dynamicInstruction;
     private int npc;
@@ -37,8 +38,17 @@ public class DecodeBufferEntry {
     private BranchPredictorUpdate branchPredictorUpdate;
     private boolean speculative;
 
+    private boolean released;
+
+    /**
+     * Create a decode buffer entry. The entry is in the released state until {@link #reset} is called.
+     */
+    public DecodeBufferEntry() {
+        this.released = true;
+    }
+
     /**
-     * Create a decode buffer entry.
+     * Reset the decode buffer entry and begin its lifetime.
      *
      * @param dynamicInstruction             the dynamic instruction
      * @param npc                            the value of the next program counter (NPC)
@@ -48,7 +58,7 @@ public class DecodeBufferEntry {
      * @param branchPredictorUpdate          the branch predictor update
      * @param speculative                    a value indicating whether the decode buffer entry is speculative or not
      */
-    public DecodeBufferEntry(
+    public void reset(
             DynamicInstruction dynamicInstruction,
             int npc,
             int nnpc,
@@ -65,6 +75,19 @@ public class DecodeBufferEntry {
         this.returnAddressStackRecoverIndex = returnAddressStackRecoverIndex;
         this.branchPredictorUpdate = branchPredictorUpdate;
         this.speculative = speculative;
+        this.released = false;
+    }
+
+    @Override
+    public void release() {
+        this.dynamicInstruction = null;
+        this.branchPredictorUpdate = null;
+        this.released = true;
+    }
+
+    @Override
+    public boolean isReleased() {
+        return released;
     }
 
     /**
@@ -82,6 +105,10 @@ public class DecodeBufferEntry {
      * @return the dynamic instruction
      */
     public DynamicInstruction getDynamicInstruction() {
+        if (this.released) {
+            throw new IllegalStateException("Decode buffer entry used after release: " + this.id);
+        }
+
         return dynamicInstruction;
     }
 
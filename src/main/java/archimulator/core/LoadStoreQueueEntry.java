@@ -30,21 +30,19 @@ import archimulator.core.bpred.BranchPredictorUpdate;
 public class LoadStoreQueueEntry extends AbstractReorderBufferEntry {
     private int effectiveAddress;
     private boolean storeAddressReady;
+    private boolean readyToLoad;
 
     /**
-     * Create a load/store queue entry.
+     * Create a load/store queue entry. The entry is in the released state until {@link #reset} is called.
      *
-     * @param thread                         the thread
-     * @param dynamicInstruction             the dynamic instruction
-     * @param npc                            the value of the next program counter (NPC)
-     * @param nnpc                           the value of the next next program counter (NNPC)
-     * @param predictedNnpc                  the predicted value of the next next program counter (predicted NNPC)
-     * @param returnAddressStackRecoverIndex the return address stack recover index
-     * @param branchPredictorUpdate          the branch predictor update
-     * @param speculative                    a value indicating whether the load/store queue entry is speculative or not
+     * @param thread the thread
      */
-    public LoadStoreQueueEntry(
-            Thread thread,
+    public LoadStoreQueueEntry(Thread thread) {
+        super(thread);
+    }
+
+    @Override
+    public void reset(
             DynamicInstruction dynamicInstruction,
             int npc,
             int nnpc,
@@ -53,7 +51,23 @@ public class LoadStoreQueueEntry extends AbstractReorderBufferEntry {
             BranchPredictorUpdate branchPredictorUpdate,
             boolean speculative
     ) {
-        super(thread, dynamicInstruction, npc, nnpc, predictedNnpc, returnAddressStackRecoverIndex, branchPredictorUpdate, speculative);
+        super.reset(dynamicInstruction, npc, nnpc, predictedNnpc, returnAddressStackRecoverIndex, branchPredictorUpdate, speculative);
+
+        this.effectiveAddress = 0;
+        this.storeAddressReady = false;
+        this.readyToLoad = false;
+    }
+
+    /**
+     * End the lifetime of the load/store queue entry, dropping the physical register arrays shared with its reorder
+     * buffer entry so that they are never cleared on behalf of a recycled reorder buffer entry.
+     */
+    @Override
+    public void release() {
+        super.release();
+
+        this.setSourcePhysicalRegisters(EMPTY_PHYSICAL_REGISTERS);
+        this.setTargetPhysicalRegisters(EMPTY_PHYSICAL_REGISTERS);
     }
 
     @Override
@@ -96,4 +110,20 @@ public class LoadStoreQueueEntry extends AbstractReorderBufferEntry {
     public void setEffectiveAddress(int effectiveAddress) {
         this.effectiveAddress = effectiveAddress;
     }
+
+    /**
+     * Get a value indicating whether the load has been put into the ready load queue or not.
+     *
+     * @return a value indicating whether the load has been put into the ready load queue or not
+     */
+    public boolean isReadyToLoad() {
+        return readyToLoad;
+    }
+
+    /**
+     * Set the load as having been put into the ready load queue.
+     */
+    public void setReadyToLoad() {
+        this.readyToLoad = true;
+    }
 }
@@ -62,7 +62,7 @@ public class PhysicalRegister {
         this.dependency = dependency;
         this.state = PhysicalRegisterState.ARCHITECTURAL_REGISTER;
 
-        this.physicalRegisterFile.setNumFreePhysicalRegisters(this.physicalRegisterFile.getNumFreePhysicalRegisters() - 1);
+        this.physicalRegisterFile.removeFromFreeList(this);
     }
 
     /**
@@ -78,7 +78,7 @@ public class PhysicalRegister {
         this.dependency = dependency;
         this.state = PhysicalRegisterState.RENAME_BUFFER_NOT_VALID;
 
-        this.physicalRegisterFile.setNumFreePhysicalRegisters(this.physicalRegisterFile.getNumFreePhysicalRegisters() - 1);
+        this.physicalRegisterFile.removeFromFreeList(this);
     }
 
     /**
@@ -100,7 +100,7 @@ public class PhysicalRegister {
         }
 
         for (AbstractReorderBufferEntry dependent : this.dependents) {
-            dependent.setNumNotReadyOperands(dependent.getNumNotReadyOperands() - 1);
+            dependent.decrementNumNotReadyOperands();
         }
 
         this.effectiveAddressComputationOperandDependents.clear();
@@ -130,7 +130,7 @@ public class PhysicalRegister {
         this.dependency = -1;
         this.state = PhysicalRegisterState.AVAILABLE;
 
-        this.physicalRegisterFile.setNumFreePhysicalRegisters(this.physicalRegisterFile.getNumFreePhysicalRegisters() + 1);
+        this.physicalRegisterFile.addToFreeList(this);
     }
 
     /**
@@ -144,7 +144,7 @@ public class PhysicalRegister {
         this.dependency = -1;
         this.state = PhysicalRegisterState.AVAILABLE;
 
-        this.physicalRegisterFile.setNumFreePhysicalRegisters(this.physicalRegisterFile.getNumFreePhysicalRegisters() + 1);
+        this.physicalRegisterFile.addToFreeList(this);
     }
 
     /**
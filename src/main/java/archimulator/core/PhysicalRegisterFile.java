@@ -20,7 +20,9 @@
  */
 package archimulator.core;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 /**
@@ -32,7 +34,7 @@ public class PhysicalRegisterFile {
     private String name;
     private List<PhysicalRegister> registers;
 
-    private int numFreePhysicalRegisters;
+    private Deque<PhysicalRegister> freePhysicalRegisters;
 
     /**
      * Create a physical register file.
@@ -48,7 +50,7 @@ public class PhysicalRegisterFile {
             this.registers.add(new PhysicalRegister(this));
         }
 
-        this.setNumFreePhysicalRegisters(capacity);
+        this.freePhysicalRegisters = new ArrayDeque<>(this.registers);
     }
 
     /**
@@ -58,14 +60,36 @@ public class PhysicalRegisterFile {
      * @return the newly allocated physical register for the specified dependency
      */
     public PhysicalRegister allocate(int dependency) {
-        for (PhysicalRegister physReg : this.registers) {
-            if (physReg.getState() == PhysicalRegisterState.AVAILABLE) {
-                physReg.allocate(dependency);
-                return physReg;
-            }
+        PhysicalRegister physReg = this.freePhysicalRegisters.peekFirst();
+
+        if (physReg == null) {
+            throw new IllegalArgumentException();
         }
 
-        throw new IllegalArgumentException();
+        physReg.allocate(dependency);
+        return physReg;
+    }
+
+    /**
+     * Remove the specified physical register from the free list.
+     *
+     * @param physicalRegister the physical register
+     */
+    void removeFromFreeList(PhysicalRegister physicalRegister) {
+        if (this.freePhysicalRegisters.peekFirst() == physicalRegister) {
+            this.freePhysicalRegisters.pollFirst();
+        } else if (!this.freePhysicalRegisters.remove(physicalRegister)) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Add the specified physical register to the free list.
+     *
+     * @param physicalRegister the physical register
+     */
+    void addToFreeList(PhysicalRegister physicalRegister) {
+        this.freePhysicalRegisters.addFirst(physicalRegister);
     }
 
     /**
@@ -74,7 +98,7 @@ public class PhysicalRegisterFile {
      * @return a value indicating whether the physical register file is full or not
      */
     public boolean isFull() {
-        return this.numFreePhysicalRegisters == 0;
+        return this.freePhysicalRegisters.isEmpty();
     }
 
     /**
@@ -101,15 +125,6 @@ public class PhysicalRegisterFile {
      * @return the number of free physical registers
      */
     public int getNumFreePhysicalRegisters() {
-        return numFreePhysicalRegisters;
-    }
-
-    /**
-     * Set the number of free physical registers.
-     *
-     * @param numFreePhysicalRegisters the number of free physical registers
-     */
-    public void setNumFreePhysicalRegisters(int numFreePhysicalRegisters) {
-        this.numFreePhysicalRegisters = numFreePhysicalRegisters;
+        return this.freePhysicalRegisters.size();
     }
 }
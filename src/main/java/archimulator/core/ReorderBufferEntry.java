@@ -34,19 +34,16 @@ public class ReorderBufferEntry extends AbstractReorderBufferEntry {
     private boolean effectiveAddressComputationOperandReady;
 
     /**
-     * Create a reorder buffer entry.
+     * Create a reorder buffer entry. The entry is in the released state until {@link #reset} is called.
      *
-     * @param thread                         the thread
-     * @param dynamicInstruction             the dynamic instruction
-     * @param npc                            the value of the next program counter (NPC)
-     * @param nnpc                           the value of the next next program counter (NNPC)
-     * @param predictedNnpc                  the predicted value of the next net program counter (predicted NNPC)
-     * @param returnAddressStackRecoverIndex the return address stack recover index
-     * @param branchPredictorUpdate          the branch predictor update
-     * @param speculative                    a value indicating whether the reorder buffer entry is speculative or not
+     * @param thread the thread
      */
-    public ReorderBufferEntry(
-            Thread thread,
+    public ReorderBufferEntry(Thread thread) {
+        super(thread);
+    }
+
+    @Override
+    public void reset(
             DynamicInstruction dynamicInstruction,
             int npc,
             int nnpc,
@@ -55,7 +52,20 @@ public class ReorderBufferEntry extends AbstractReorderBufferEntry {
             BranchPredictorUpdate branchPredictorUpdate,
             boolean speculative
     ) {
-        super(thread, dynamicInstruction, npc, nnpc, predictedNnpc, returnAddressStackRecoverIndex, branchPredictorUpdate, speculative);
+        super.reset(dynamicInstruction, npc, nnpc, predictedNnpc, returnAddressStackRecoverIndex, branchPredictorUpdate, speculative);
+
+        this.resetPhysicalRegisters();
+
+        this.effectiveAddressComputation = false;
+        this.loadStoreQueueEntry = null;
+        this.effectiveAddressComputationOperandReady = false;
+    }
+
+    @Override
+    public void release() {
+        super.release();
+
+        this.loadStoreQueueEntry = null;
     }
 
     @Override
@@ -116,6 +126,7 @@ public class ReorderBufferEntry extends AbstractReorderBufferEntry {
      */
     public void setEffectiveAddressComputationOperandReady(boolean effectiveAddressComputationOperandReady) {
         this.effectiveAddressComputationOperandReady = effectiveAddressComputationOperandReady;
+        this.wakeUpIfAllOperandReady();
     }
 
     @Override
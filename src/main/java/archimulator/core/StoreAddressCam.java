@@ -0,0 +1,88 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Store address content addressable memory (CAM), which tracks the effective addresses of the stores in a load/store
+ * queue for load disambiguation.
+ *
+ * @author Min Cai
+ */
+public class StoreAddressCam {
+    private Map<Integer, Integer> numStoresPerAddress;
+
+    /**
+     * Create a store address CAM.
+     */
+    public StoreAddressCam() {
+        this.numStoresPerAddress = new HashMap<>();
+    }
+
+    /**
+     * Add a store to the specified effective address.
+     *
+     * @param effectiveAddress the effective address
+     */
+    public void add(int effectiveAddress) {
+        this.numStoresPerAddress.merge(effectiveAddress, 1, Integer::sum);
+    }
+
+    /**
+     * Remove a store to the specified effective address.
+     *
+     * @param effectiveAddress the effective address
+     */
+    public void remove(int effectiveAddress) {
+        Integer numStores = this.numStoresPerAddress.get(effectiveAddress);
+
+        if (numStores == null) {
+            throw new IllegalArgumentException(String.format("0x%08x", effectiveAddress));
+        }
+
+        if (numStores == 1) {
+            this.numStoresPerAddress.remove(effectiveAddress);
+        } else {
+            this.numStoresPerAddress.put(effectiveAddress, numStores - 1);
+        }
+    }
+
+    /**
+     * Get a value indicating whether there is any store to the specified effective address or not.
+     *
+     * @param effectiveAddress the effective address
+     * @return a value indicating whether there is any store to the specified effective address or not
+     */
+    public boolean contains(int effectiveAddress) {
+        return this.numStoresPerAddress.containsKey(effectiveAddress);
+    }
+
+    /**
+     * Get a value indicating whether the CAM is empty or not.
+     *
+     * @return a value indicating whether the CAM is empty or not
+     */
+    public boolean isEmpty() {
+        return this.numStoresPerAddress.isEmpty();
+    }
+}
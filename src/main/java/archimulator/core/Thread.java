@@ -174,6 +174,13 @@ public interface Thread extends SimulationObject, Reportable {
      */
     PipelineBuffer<LoadStoreQueueEntry> getLoadStoreQueue();
 
+    /**
+     * Get the store address CAM for the stores in the load/store queue.
+     *
+     * @return the store address CAM for the stores in the load/store queue
+     */
+    StoreAddressCam getStoreAddressCam();
+
     /**
      * Get the number of instructions.
      *
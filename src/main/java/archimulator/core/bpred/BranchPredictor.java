@@ -22,7 +22,6 @@ package archimulator.core.bpred;
 
 import archimulator.core.Thread;
 import archimulator.isa.Mnemonic;
-import archimulator.util.Reference;
 
 /**
  * Branch predictor.
@@ -64,16 +63,14 @@ public abstract class BranchPredictor {
      * @param branchAddress                  the branch address
      * @param branchTarget                   the branch target
      * @param mnemonic                       the mnemonic
-     * @param branchPredictorUpdate          the branch predictor update
-     * @param returnAddressStackRecoverIndex the return address stack recover index
+     * @param branchPredictorUpdate          the branch predictor update, which also receives the return address stack recover index
      * @return the predicted target address
      */
     public abstract int predict(
             int branchAddress,
             int branchTarget,
             Mnemonic mnemonic,
-            BranchPredictorUpdate branchPredictorUpdate,
-            Reference<Integer> returnAddressStackRecoverIndex
+            BranchPredictorUpdate branchPredictorUpdate
     );
 
     /**
@@ -20,7 +20,7 @@
  */
 package archimulator.core.bpred;
 
-import archimulator.util.math.SaturatingCounter;
+import archimulator.util.math.SaturatingCounterTable;
 
 /**
  * Branch predictor update.
@@ -28,9 +28,14 @@ import archimulator.util.math.SaturatingCounter;
  * @author Min Cai
  */
 public class BranchPredictorUpdate {
-    private SaturatingCounter counterDir1;
-    private SaturatingCounter counterDir2;
-    private SaturatingCounter counterMeta;
+    private SaturatingCounterTable counterDir1Table;
+    private int counterDir1Index;
+    private SaturatingCounterTable counterDir2Table;
+    private int counterDir2Index;
+    private SaturatingCounterTable counterMetaTable;
+    private int counterMetaIndex;
+
+    private int returnAddressStackRecoverIndex;
 
     private boolean ras;
     private boolean bimod;
@@ -44,57 +49,117 @@ public class BranchPredictorUpdate {
     }
 
     /**
-     * Get the counter dir 1.
+     * Set the counter dir 1.
      *
-     * @return the counter dir 1
+     * @param table the table containing the counter dir 1
+     * @param index the index of the counter dir 1 in the table
      */
-    public SaturatingCounter getCounterDir1() {
-        return counterDir1;
+    public void setCounterDir1(SaturatingCounterTable table, int index) {
+        this.counterDir1Table = table;
+        this.counterDir1Index = index;
     }
 
     /**
-     * Set the counter dir 1.
+     * Get a value indicating whether the counter dir 1 is in the "taken" state or not.
      *
-     * @param counterDir1 the counter dir 1
+     * @return a value indicating whether the counter dir 1 is in the "taken" state or not
      */
-    public void setCounterDir1(SaturatingCounter counterDir1) {
-        this.counterDir1 = counterDir1;
+    public boolean isCounterDir1Taken() {
+        return this.counterDir1Table.isTaken(this.counterDir1Index);
     }
 
     /**
-     * Get the counter dir 2.
+     * Update the counter dir 1.
      *
-     * @return the counter dir 2
+     * @param direction the direction
      */
-    public SaturatingCounter getCounterDir2() {
-        return counterDir2;
+    public void updateCounterDir1(boolean direction) {
+        this.counterDir1Table.update(this.counterDir1Index, direction);
     }
 
     /**
      * Set the counter dir 2.
      *
-     * @param counterDir2 the counter dir 2
+     * @param table the table containing the counter dir 2
+     * @param index the index of the counter dir 2 in the table
      */
-    public void setCounterDir2(SaturatingCounter counterDir2) {
-        this.counterDir2 = counterDir2;
+    public void setCounterDir2(SaturatingCounterTable table, int index) {
+        this.counterDir2Table = table;
+        this.counterDir2Index = index;
     }
 
     /**
-     * Get the counter meta.
+     * Get a value indicating whether the counter dir 2 is in the "taken" state or not.
      *
-     * @return the counter meta
+     * @return a value indicating whether the counter dir 2 is in the "taken" state or not
      */
-    public SaturatingCounter getCounterMeta() {
-        return counterMeta;
+    public boolean isCounterDir2Taken() {
+        return this.counterDir2Table.isTaken(this.counterDir2Index);
+    }
+
+    /**
+     * Update the counter dir 2.
+     *
+     * @param direction the direction
+     */
+    public void updateCounterDir2(boolean direction) {
+        this.counterDir2Table.update(this.counterDir2Index, direction);
     }
 
     /**
      * Set the counter meta.
      *
-     * @param counterMeta the counter meta
+     * @param table the table containing the counter meta
+     * @param index the index of the counter meta in the table
+     */
+    public void setCounterMeta(SaturatingCounterTable table, int index) {
+        this.counterMetaTable = table;
+        this.counterMetaIndex = index;
+    }
+
+    /**
+     * Get a value indicating whether the counter meta is in the "taken" state or not.
+     *
+     * @return a value indicating whether the counter meta is in the "taken" state or not
+     */
+    public boolean isCounterMetaTaken() {
+        return this.counterMetaTable.isTaken(this.counterMetaIndex);
+    }
+
+    /**
+     * Update the counter meta.
+     *
+     * @param direction the direction
+     */
+    public void updateCounterMeta(boolean direction) {
+        this.counterMetaTable.update(this.counterMetaIndex, direction);
+    }
+
+    /**
+     * Get a value indicating whether the counter meta is set or not.
+     *
+     * @return a value indicating whether the counter meta is set or not
+     */
+    public boolean hasCounterMeta() {
+        return this.counterMetaTable != null;
+    }
+
+    /**
+     * Get the return address stack recover index.
+     *
+     * @return the return address stack recover index
+     */
+    public int getReturnAddressStackRecoverIndex() {
+        return returnAddressStackRecoverIndex;
+    }
+
+    /**
+     * Set the return address stack recover index.
+     *
+     * @param returnAddressStackRecoverIndex the return address stack recover index
      */
-    public void setCounterMeta(SaturatingCounter counterMeta) {
-        this.counterMeta = counterMeta;
+    public void setReturnAddressStackRecoverIndex(int returnAddressStackRecoverIndex) {
+        this.returnAddressStackRecoverIndex = returnAddressStackRecoverIndex;
     }
 
     /**
@@ -23,8 +23,6 @@ package archimulator.core.bpred;
 import archimulator.core.Thread;
 import archimulator.isa.Mnemonic;
 import archimulator.isa.StaticInstructionType;
-import archimulator.util.Reference;
-import archimulator.util.math.SaturatingCounter;
 
 /**
  * Combined branch predictor.
@@ -82,27 +80,29 @@ public class CombinedBranchPredictor extends DynamicBranchPredictor {
     }
 
     @Override
-    public int predict(int branchAddress, int branchTarget, Mnemonic mnemonic, BranchPredictorUpdate branchPredictorUpdate, Reference<Integer> returnAddressStackRecoverIndex) {
+    public int predict(int branchAddress, int branchTarget, Mnemonic mnemonic, BranchPredictorUpdate branchPredictorUpdate) {
         if (mnemonic.getType() == StaticInstructionType.CONDITIONAL) {
-            SaturatingCounter counterBimod = this.bimod.getIndex(branchAddress);
-            SaturatingCounter counterMeta = this.meta.getIndex(branchAddress);
-            SaturatingCounter counterTwoLevel = this.twoLevel.getIndex(branchAddress);
-
-            branchPredictorUpdate.setCounterMeta(counterMeta);
-            branchPredictorUpdate.setMeta(counterMeta.isTaken());
-            branchPredictorUpdate.setBimod(counterBimod.isTaken());
-            branchPredictorUpdate.setTwoLevel(counterTwoLevel.isTaken());
-
-            if (counterMeta.isTaken()) {
-                branchPredictorUpdate.setCounterDir1(counterTwoLevel);
-                branchPredictorUpdate.setCounterDir2(counterBimod);
+            int bimodIndex = this.bimod.getIndex(branchAddress);
+            int metaIndex = this.meta.getIndex(branchAddress);
+            int twoLevelIndex = this.twoLevel.getIndex(branchAddress);
+
+            boolean metaTaken = this.meta.getTable().isTaken(metaIndex);
+
+            branchPredictorUpdate.setCounterMeta(this.meta.getTable(), metaIndex);
+            branchPredictorUpdate.setMeta(metaTaken);
+            branchPredictorUpdate.setBimod(this.bimod.getTable().isTaken(bimodIndex));
+            branchPredictorUpdate.setTwoLevel(this.twoLevel.getL2Table().isTaken(twoLevelIndex));
+
+            if (metaTaken) {
+                branchPredictorUpdate.setCounterDir1(this.twoLevel.getL2Table(), twoLevelIndex);
+                branchPredictorUpdate.setCounterDir2(this.bimod.getTable(), bimodIndex);
             } else {
-                branchPredictorUpdate.setCounterDir1(counterBimod);
-                branchPredictorUpdate.setCounterDir2(counterTwoLevel);
+                branchPredictorUpdate.setCounterDir1(this.bimod.getTable(), bimodIndex);
+                branchPredictorUpdate.setCounterDir2(this.twoLevel.getL2Table(), twoLevelIndex);
             }
         }
 
-        returnAddressStackRecoverIndex.set(this.getReturnAddressStack().getTopOfStack());
+        branchPredictorUpdate.setReturnAddressStackRecoverIndex(this.getReturnAddressStack().getTopOfStack());
 
         if (mnemonic.getType() == StaticInstructionType.FUNCTION_RETURN && this.getReturnAddressStack().getSize() > 0) {
             branchPredictorUpdate.setRas(true);
@@ -119,7 +119,7 @@ public class CombinedBranchPredictor extends DynamicBranchPredictor {
             return branchTargetBufferEntry != null ? branchTargetBufferEntry.getTarget() : 1;
         }
 
-        if (!branchPredictorUpdate.getCounterDir1().isTaken()) {
+        if (!branchPredictorUpdate.isCounterDir1Taken()) {
             return 0;
         }
 
@@ -138,12 +138,12 @@ public class CombinedBranchPredictor extends DynamicBranchPredictor {
 
         this.twoLevel.updateTable(branchAddress, taken);
 
-        branchPredictorUpdate.getCounterDir1().update(taken);
-        branchPredictorUpdate.getCounterDir2().update(taken);
+        branchPredictorUpdate.updateCounterDir1(taken);
+        branchPredictorUpdate.updateCounterDir2(taken);
 
-        if (branchPredictorUpdate.getCounterMeta() != null) {
+        if (branchPredictorUpdate.hasCounterMeta()) {
             if (branchPredictorUpdate.isBimod() != branchPredictorUpdate.isTwoLevel()) {
-                branchPredictorUpdate.getCounterMeta().update(branchPredictorUpdate.isTwoLevel() == taken);
+                branchPredictorUpdate.updateCounterMeta(branchPredictorUpdate.isTwoLevel() == taken);
             }
         }
 
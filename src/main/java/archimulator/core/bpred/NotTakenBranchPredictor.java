@@ -23,7 +23,6 @@ package archimulator.core.bpred;
 import archimulator.core.Thread;
 import archimulator.isa.Mnemonic;
 import archimulator.isa.StaticInstructionType;
-import archimulator.util.Reference;
 
 /**
  * The "Always not taken" branch predictor.
@@ -42,7 +41,7 @@ public class NotTakenBranchPredictor extends BranchPredictor {
     }
 
     @Override
-    public int predict(int branchAddress, int branchTarget, Mnemonic mnemonic, BranchPredictorUpdate branchPredictorUpdate, Reference<Integer> returnAddressStackRecoverIndex) {
+    public int predict(int branchAddress, int branchTarget, Mnemonic mnemonic, BranchPredictorUpdate branchPredictorUpdate) {
         return mnemonic.getType() != StaticInstructionType.CONDITIONAL ? branchTarget : branchAddress + 4;
     }
 
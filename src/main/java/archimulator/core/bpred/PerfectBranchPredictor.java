@@ -22,7 +22,6 @@ package archimulator.core.bpred;
 
 import archimulator.core.Thread;
 import archimulator.isa.Mnemonic;
-import archimulator.util.Reference;
 
 /**
  * Perfect branch predictor.
@@ -41,7 +40,7 @@ public class PerfectBranchPredictor extends BranchPredictor {
     }
 
     @Override
-    public int predict(int branchAddress, int branchTarget, Mnemonic mnemonic, BranchPredictorUpdate branchPredictorUpdate, Reference<Integer> returnAddressStackRecoverIndex) {
+    public int predict(int branchAddress, int branchTarget, Mnemonic mnemonic, BranchPredictorUpdate branchPredictorUpdate) {
         return this.getThread().getContext().getRegisterFile().getNnpc();
     }
 
@@ -23,8 +23,7 @@ package archimulator.core.bpred;
 import archimulator.core.Thread;
 import archimulator.isa.Mnemonic;
 import archimulator.isa.StaticInstructionType;
-import archimulator.util.Reference;
-import archimulator.util.math.SaturatingCounter;
+import archimulator.util.math.SaturatingCounterTable;
 
 /**
  * Two bit branch predictor.
@@ -33,7 +32,7 @@ import archimulator.util.math.SaturatingCounter;
  */
 public class TwoBitBranchPredictor extends DynamicBranchPredictor {
     private int size;
-    private SaturatingCounter[] table;
+    private SaturatingCounterTable table;
 
     /**
      * Create a two bit branch predictor.
@@ -50,11 +49,11 @@ public class TwoBitBranchPredictor extends DynamicBranchPredictor {
 
         this.size = bimodSize;
 
-        this.table = new SaturatingCounter[this.size];
+        this.table = new SaturatingCounterTable(this.size, 0, 2, 3, 1);
 
         int flipFlop = 1;
         for (int i = 0; i < this.size; i++) {
-            this.table[i] = new SaturatingCounter(0, 2, 3, flipFlop);
+            this.table.setValue(i, flipFlop);
             flipFlop = 3 - flipFlop;
         }
     }
@@ -70,12 +69,12 @@ public class TwoBitBranchPredictor extends DynamicBranchPredictor {
     }
 
     @Override
-    public int predict(int branchAddress, int branchTarget, Mnemonic mnemonic, BranchPredictorUpdate branchPredictorUpdate, Reference<Integer> returnAddressStackRecoverIndex) {
+    public int predict(int branchAddress, int branchTarget, Mnemonic mnemonic, BranchPredictorUpdate branchPredictorUpdate) {
         if (mnemonic.getType() == StaticInstructionType.CONDITIONAL) {
-            branchPredictorUpdate.setCounterDir1(getIndex(branchAddress));
+            branchPredictorUpdate.setCounterDir1(this.table, this.getIndex(branchAddress));
         }
 
-        returnAddressStackRecoverIndex.set(this.getReturnAddressStack().getTopOfStack());
+        branchPredictorUpdate.setReturnAddressStackRecoverIndex(this.getReturnAddressStack().getTopOfStack());
 
         if (mnemonic.getType() == StaticInstructionType.FUNCTION_RETURN && this.getReturnAddressStack().getSize() > 0) {
             branchPredictorUpdate.setRas(true);
@@ -86,7 +85,7 @@ public class TwoBitBranchPredictor extends DynamicBranchPredictor {
             this.getReturnAddressStack().push(branchAddress);
         }
 
-        if (mnemonic.getType() != StaticInstructionType.CONDITIONAL || branchPredictorUpdate.getCounterDir1().isTaken()) {
+        if (mnemonic.getType() != StaticInstructionType.CONDITIONAL || branchPredictorUpdate.isCounterDir1Taken()) {
             BranchTargetBufferEntry branchTargetBufferEntry = this.getBranchTargetBuffer().lookup(branchAddress);
             return branchTargetBufferEntry != null ? branchTargetBufferEntry.getTarget() : 1;
         } else {
@@ -105,7 +104,7 @@ public class TwoBitBranchPredictor extends DynamicBranchPredictor {
         }
 
         if (mnemonic.getType() == StaticInstructionType.CONDITIONAL) {
-            branchPredictorUpdate.getCounterDir1().update(taken);
+            branchPredictorUpdate.updateCounterDir1(taken);
         }
 
         this.getBranchTargetBuffer().update(branchAddress, branchTarget, taken);
@@ -117,8 +116,17 @@ public class TwoBitBranchPredictor extends DynamicBranchPredictor {
      * @param branchAddress the branch address
      * @return the index of the specified branch address
      */
-    public SaturatingCounter getIndex(int branchAddress) {
-        return this.table[this.hash(branchAddress)];
+    public int getIndex(int branchAddress) {
+        return this.hash(branchAddress);
+    }
+
+    /**
+     * Get the table of counters.
+     *
+     * @return the table of counters
+     */
+    public SaturatingCounterTable getTable() {
+        return table;
     }
 
     private int hash(int branchAddress) {
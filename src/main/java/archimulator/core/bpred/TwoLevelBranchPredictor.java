@@ -23,8 +23,7 @@ package archimulator.core.bpred;
 import archimulator.core.Thread;
 import archimulator.isa.Mnemonic;
 import archimulator.isa.StaticInstructionType;
-import archimulator.util.Reference;
-import archimulator.util.math.SaturatingCounter;
+import archimulator.util.math.SaturatingCounterTable;
 
 /**
  * Two level branch predictor.
@@ -37,7 +36,7 @@ public class TwoLevelBranchPredictor extends DynamicBranchPredictor {
     private int shiftWidth;
     private boolean xor;
     private int[] shiftRegs;
-    private SaturatingCounter[] l2Table;
+    private SaturatingCounterTable l2Table;
 
     /**
      * Create a two level branch predictor.
@@ -61,11 +60,11 @@ public class TwoLevelBranchPredictor extends DynamicBranchPredictor {
         this.xor = xor;
 
         this.shiftRegs = new int[this.l1Size];
-        this.l2Table = new SaturatingCounter[this.l2Size];
+        this.l2Table = new SaturatingCounterTable(this.l2Size, 0, 2, 3, 1);
 
         int flipFlop = 1;
         for (int cnt = 0; cnt < this.l2Size; cnt++) {
-            this.l2Table[cnt] = new SaturatingCounter(0, 2, 3, flipFlop);
+            this.l2Table.setValue(cnt, flipFlop);
             flipFlop = 3 - flipFlop;
         }
     }
@@ -91,12 +90,12 @@ public class TwoLevelBranchPredictor extends DynamicBranchPredictor {
     }
 
     @Override
-    public int predict(int branchAddress, int branchTarget, Mnemonic mnemonic, BranchPredictorUpdate branchPredictorUpdate, Reference<Integer> returnAddressStackRecoverIndex) {
+    public int predict(int branchAddress, int branchTarget, Mnemonic mnemonic, BranchPredictorUpdate branchPredictorUpdate) {
         if (mnemonic.getType() == StaticInstructionType.CONDITIONAL) {
-            branchPredictorUpdate.setCounterDir1(getIndex(branchAddress));
+            branchPredictorUpdate.setCounterDir1(this.l2Table, this.getIndex(branchAddress));
         }
 
-        returnAddressStackRecoverIndex.set(this.getReturnAddressStack().getTopOfStack());
+        branchPredictorUpdate.setReturnAddressStackRecoverIndex(this.getReturnAddressStack().getTopOfStack());
 
         if (mnemonic.getType() == StaticInstructionType.FUNCTION_RETURN && this.getReturnAddressStack().getSize() > 0) {
             branchPredictorUpdate.setRas(true);
@@ -113,7 +112,7 @@ public class TwoLevelBranchPredictor extends DynamicBranchPredictor {
             return branchTargetBufferEntry != null ? branchTargetBufferEntry.getTarget() : 1;
         }
 
-        if (!branchPredictorUpdate.getCounterDir1().isTaken()) {
+        if (!branchPredictorUpdate.isCounterDir1Taken()) {
             return 0;
         }
 
@@ -134,7 +133,7 @@ public class TwoLevelBranchPredictor extends DynamicBranchPredictor {
             this.updateTable(branchAddress, taken);
         }
 
-        branchPredictorUpdate.getCounterDir1().update(taken);
+        branchPredictorUpdate.updateCounterDir1(taken);
 
         this.getBranchTargetBuffer().update(branchAddress, branchTarget, taken);
     }
@@ -160,8 +159,17 @@ public class TwoLevelBranchPredictor extends DynamicBranchPredictor {
      * @param branchAddress the branch address
      * @return the index for the specified branch address
      */
-    public SaturatingCounter getIndex(int branchAddress) {
-        return this.l2Table[this.hash(branchAddress)];
+    public int getIndex(int branchAddress) {
+        return this.hash(branchAddress);
+    }
+
+    /**
+     * Get the level 2 table of counters.
+     *
+     * @return the level 2 table of counters
+     */
+    public SaturatingCounterTable getL2Table() {
+        return l2Table;
     }
 
     /**
@@ -20,10 +20,7 @@
  */
 package archimulator.core.bpred2;
 
-import archimulator.util.math.SaturatingCounter;
-
-import java.util.ArrayList;
-import java.util.List;
+import archimulator.util.math.SaturatingCounterTable;
 
 /**
  * A branch predictor test implementation.
@@ -35,7 +32,7 @@ public class BranchPredictor2Impl implements BranchPredictor2 {
     private static final int TABLE_BITS = 15;
 
     private int history;
-    private List<SaturatingCounter> tab;
+    private SaturatingCounterTable tab;
 
     /**
      * Create a branch predictor test implementation.
@@ -43,10 +40,7 @@ public class BranchPredictor2Impl implements BranchPredictor2 {
     public BranchPredictor2Impl() {
         this.history = 0;
 
-        this.tab = new ArrayList<>();
-        for (int i = 0; i < 1 << TABLE_BITS; i++) {
-            this.tab.add(new SaturatingCounter(0, 2, 3, 0));
-        }
+        this.tab = new SaturatingCounterTable(1 << TABLE_BITS, 0, 2, 3, 0);
     }
 
     /**
@@ -60,7 +54,7 @@ public class BranchPredictor2Impl implements BranchPredictor2 {
 
         if ((branchInfo.getBranchFlags() & BranchInfo.BR_CONDITIONAL) != 0) {
             branchUpdate.setIndex((history << (TABLE_BITS - HISTORY_LENGTH)) ^ (branchInfo.getAddress() & ((1 << TABLE_BITS) - 1)));
-            branchUpdate.setPredictedDirection(this.tab.get(branchUpdate.getIndex()).isTaken());
+            branchUpdate.setPredictedDirection(this.tab.isTaken(branchUpdate.getIndex()));
         } else {
             branchUpdate.setPredictedDirection(true);
         }
@@ -82,8 +76,7 @@ public class BranchPredictor2Impl implements BranchPredictor2 {
         }
 
         if ((branchInfo.getBranchFlags() & BranchInfo.BR_CONDITIONAL) != 0) {
-            SaturatingCounter counter = this.tab.get(((MyBranchUpdate) branchUpdate).getIndex());
-            counter.update(taken);
+            this.tab.update(((MyBranchUpdate) branchUpdate).getIndex(), taken);
             this.history <<= 1;
             this.history |= taken ? 1 : 0;
             this.history &= (1 << HISTORY_LENGTH) - 1;
@@ -20,8 +20,6 @@
  */
 package archimulator.core.bpred2;
 
-import archimulator.util.math.Counter;
-
 /**
  * Branch predictor test.
  *
@@ -34,35 +32,18 @@ public class BranchPredictorTest {
      * @param args the arguments
      */
     public static void main(String[] args) {
-        final BranchPredictor2 branchPredictor = new BranchPredictor2Impl();
-
-        final Counter counterDirectionMispredictions = new Counter(0);
-        final Counter counterTargetMispredictions = new Counter(0);
-
-        BranchPredictorTraceTester traceReader = new BranchPredictorTraceTester("/home/itecgo/Tools/cbp2-infrastructure-v2/src/compress/gzip.trace");
-
-        traceReader.run(traceRecord -> {
-//            System.out.printf("taken: %s, target: 0x%08x, address: 0x%08x, opcode: %d, brFlags: %d\n", traceRecord.isTaken(), traceRecord.getTarget(), traceRecord.getBranchInfo().getAddress(), traceRecord.getBranchInfo().getOpcode(), traceRecord.getBranchInfo().getBranchFlags());
-
-            BranchUpdate branchUpdate = branchPredictor.predict(traceRecord.getBranchInfo());
-
-            if ((traceRecord.getBranchInfo().getBranchFlags() & BranchInfo.BR_CONDITIONAL) != 0) {
-                if (branchUpdate.isPredictedDirection() != traceRecord.isTaken()) {
-                    counterDirectionMispredictions.increment();
-                }
+        BranchPredictor2 branchPredictor = new BranchPredictor2Impl();
 
-                if (branchUpdate.getPredictedTarget() != traceRecord.getTarget()) {
-                    counterTargetMispredictions.increment();
-                }
+        BranchPredictorTraceTester traceReader = new BranchPredictorTraceTester(args.length > 0 ? args[0] : "/home/itecgo/Tools/cbp2-infrastructure-v2/src/compress/gzip.trace");
 
-                branchPredictor.update(traceRecord.getBranchInfo(), branchUpdate, traceRecord.isTaken(), traceRecord.getTarget());
-            }
-        });
+        BranchPredictorTraceReplayResult result = traceReader.replay(branchPredictor);
 
         System.out.printf(
-                "targetMispredictions: %f MPKI, directionMispredictions: %f MPKI\n",
-                1000.0 * (counterTargetMispredictions.getValue() / 1e8),
-                1000.0 * (counterDirectionMispredictions.getValue() / 1e8)
+                "targetMispredictions: %f MPKI, directionMispredictions: %f MPKI, %d branches replayed at %.0f branches/s\n",
+                1000.0 * (result.getNumTargetMispredictions() / 1e8),
+                1000.0 * (result.getNumDirectionMispredictions() / 1e8),
+                result.getNumBranches(),
+                result.getBranchesPerSecond()
         );
     }
 }
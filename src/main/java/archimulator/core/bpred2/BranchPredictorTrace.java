@@ -0,0 +1,226 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.core.bpred2;
+
+import archimulator.util.math.MathHelper;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Branch predictor trace decoded into primitive columns. Each distinct static branch is represented by a single shared
+ * {@link BranchInfo} object, and the dynamic records only keep the index of their static branch, their target and their
+ * direction.
+ *
+ * @author Min Cai
+ */
+public class BranchPredictorTrace {
+    private List<BranchInfo> branchInfos;
+
+    private int[] branchInfoIndices;
+    private int[] targets;
+    private BitSet takens;
+
+    private int numRecords;
+
+    /**
+     * Create a branch predictor trace.
+     *
+     * @param branchInfos       the list of distinct static branches
+     * @param branchInfoIndices the indices of the static branches of the records
+     * @param targets           the targets of the records
+     * @param takens            the set of the indices of the taken records
+     * @param numRecords        the number of records
+     */
+    public BranchPredictorTrace(List<BranchInfo> branchInfos, int[] branchInfoIndices, int[] targets, BitSet takens, int numRecords) {
+        this.branchInfos = branchInfos;
+        this.branchInfoIndices = branchInfoIndices;
+        this.targets = targets;
+        this.takens = takens;
+        this.numRecords = numRecords;
+    }
+
+    /**
+     * Load the trace from the specified file by memory mapping it in chunks of whole records.
+     *
+     * @param fileName the file name
+     * @return the loaded trace
+     */
+    public static BranchPredictorTrace load(String fileName) {
+        try (RandomAccessFile file = new RandomAccessFile(fileName, "r"); FileChannel channel = file.getChannel()) {
+            long numRecordsInFile = channel.size() / BranchPredictorTraceTester.RECORD_SIZE;
+
+            if (numRecordsInFile > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException(String.format("Too many records in the trace file %s: %d", fileName, numRecordsInFile));
+            }
+
+            int numRecords = (int) numRecordsInFile;
+
+            List<BranchInfo> branchInfos = new ArrayList<>();
+            Map<Long, Integer> branchInfoIndexMap = new HashMap<>();
+
+            int[] branchInfoIndices = new int[numRecords];
+            int[] targets = new int[numRecords];
+            BitSet takens = new BitSet(numRecords);
+
+            long maxChunkSize = (long) (Integer.MAX_VALUE / BranchPredictorTraceTester.RECORD_SIZE) * BranchPredictorTraceTester.RECORD_SIZE;
+
+            int i = 0;
+
+            for (long position = 0; i < numRecords; ) {
+                long chunkSize = Math.min(maxChunkSize, (long) (numRecords - i) * BranchPredictorTraceTester.RECORD_SIZE);
+
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, chunkSize);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+                while (buffer.remaining() >= BranchPredictorTraceTester.RECORD_SIZE) {
+                    byte code = buffer.get();
+                    int address = buffer.getInt();
+                    int target = buffer.getInt();
+
+                    int rawBranchFlags = MathHelper.bits(code, 7, 4);
+
+                    long key = ((long) address << 8) | (code & 0xff);
+
+                    Integer branchInfoIndex = branchInfoIndexMap.get(key);
+                    if (branchInfoIndex == null) {
+                        branchInfoIndex = branchInfos.size();
+                        branchInfos.add(new BranchInfo(address, MathHelper.bits(code, 3, 0), BranchPredictorTraceTester.getBranchFlags(rawBranchFlags)));
+                        branchInfoIndexMap.put(key, branchInfoIndex);
+                    }
+
+                    branchInfoIndices[i] = branchInfoIndex;
+                    targets[i] = target;
+
+                    if (rawBranchFlags != 2) {
+                        takens.set(i);
+                    }
+
+                    i++;
+                }
+
+                position += chunkSize;
+            }
+
+            return new BranchPredictorTrace(branchInfos, branchInfoIndices, targets, takens, numRecords);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Replay the trace against the specified branch predictor, with the same accounting as the record based trace
+     * tester: only the conditional branches are checked for mispredictions and used to update the branch predictor.
+     *
+     * @param branchPredictor the branch predictor
+     * @return the replay result
+     */
+    public BranchPredictorTraceReplayResult replay(BranchPredictor2 branchPredictor) {
+        long numConditionalBranches = 0;
+        long numDirectionMispredictions = 0;
+        long numTargetMispredictions = 0;
+
+        long beginTime = System.nanoTime();
+
+        for (int i = 0; i < this.numRecords; i++) {
+            BranchInfo branchInfo = this.branchInfos.get(this.branchInfoIndices[i]);
+
+            BranchUpdate branchUpdate = branchPredictor.predict(branchInfo);
+
+            if ((branchInfo.getBranchFlags() & BranchInfo.BR_CONDITIONAL) != 0) {
+                boolean taken = this.takens.get(i);
+                int target = this.targets[i];
+
+                numConditionalBranches++;
+
+                if (branchUpdate.isPredictedDirection() != taken) {
+                    numDirectionMispredictions++;
+                }
+
+                if (branchUpdate.getPredictedTarget() != target) {
+                    numTargetMispredictions++;
+                }
+
+                branchPredictor.update(branchInfo, branchUpdate, taken, target);
+            }
+        }
+
+        long replayTime = System.nanoTime() - beginTime;
+
+        return new BranchPredictorTraceReplayResult(this.numRecords, numConditionalBranches, numDirectionMispredictions, numTargetMispredictions, replayTime);
+    }
+
+    /**
+     * Get the list of distinct static branches.
+     *
+     * @return the list of distinct static branches
+     */
+    public List<BranchInfo> getBranchInfos() {
+        return branchInfos;
+    }
+
+    /**
+     * Get the static branch of the record at the specified index.
+     *
+     * @param i the index of the record
+     * @return the static branch of the record at the specified index
+     */
+    public BranchInfo getBranchInfo(int i) {
+        return this.branchInfos.get(this.branchInfoIndices[i]);
+    }
+
+    /**
+     * Get the target of the record at the specified index.
+     *
+     * @param i the index of the record
+     * @return the target of the record at the specified index
+     */
+    public int getTarget(int i) {
+        return this.targets[i];
+    }
+
+    /**
+     * Get a value indicating whether the record at the specified index is taken or not.
+     *
+     * @param i the index of the record
+     * @return a value indicating whether the record at the specified index is taken or not
+     */
+    public boolean isTaken(int i) {
+        return this.takens.get(i);
+    }
+
+    /**
+     * Get the number of records.
+     *
+     * @return the number of records
+     */
+    public int getNumRecords() {
+        return numRecords;
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.core.bpred2;
+
+/**
+ * Result of replaying a branch predictor trace.
+ *
+ * @author Min Cai
+ */
+public class BranchPredictorTraceReplayResult {
+    private long numBranches;
+    private long numConditionalBranches;
+    private long numDirectionMispredictions;
+    private long numTargetMispredictions;
+    private long replayTime;
+
+    /**
+     * Create a branch predictor trace replay result.
+     *
+     * @param numBranches                the number of branches replayed
+     * @param numConditionalBranches     the number of conditional branches replayed
+     * @param numDirectionMispredictions the number of direction mispredictions
+     * @param numTargetMispredictions    the number of target mispredictions
+     * @param replayTime                 the replay time in nanoseconds
+     */
+    public BranchPredictorTraceReplayResult(long numBranches, long numConditionalBranches, long numDirectionMispredictions, long numTargetMispredictions, long replayTime) {
+        this.numBranches = numBranches;
+        this.numConditionalBranches = numConditionalBranches;
+        this.numDirectionMispredictions = numDirectionMispredictions;
+        this.numTargetMispredictions = numTargetMispredictions;
+        this.replayTime = replayTime;
+    }
+
+    /**
+     * Get the number of branches replayed.
+     *
+     * @return the number of branches replayed
+     */
+    public long getNumBranches() {
+        return numBranches;
+    }
+
+    /**
+     * Get the number of conditional branches replayed.
+     *
+     * @return the number of conditional branches replayed
+     */
+    public long getNumConditionalBranches() {
+        return numConditionalBranches;
+    }
+
+    /**
+     * Get the number of direction mispredictions.
+     *
+     * @return the number of direction mispredictions
+     */
+    public long getNumDirectionMispredictions() {
+        return numDirectionMispredictions;
+    }
+
+    /**
+     * Get the number of target mispredictions.
+     *
+     * @return the number of target mispredictions
+     */
+    public long getNumTargetMispredictions() {
+        return numTargetMispredictions;
+    }
+
+    /**
+     * Get the replay time in nanoseconds.
+     *
+     * @return the replay time in nanoseconds
+     */
+    public long getReplayTime() {
+        return replayTime;
+    }
+
+    /**
+     * Get the number of branches replayed per second.
+     *
+     * @return the number of branches replayed per second
+     */
+    public double getBranchesPerSecond() {
+        return this.replayTime == 0 ? 0 : this.numBranches * 1e9 / this.replayTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BranchPredictorTraceReplayResult{numBranches=%d, numConditionalBranches=%d, numDirectionMispredictions=%d, numTargetMispredictions=%d, branchesPerSecond=%.0f}", numBranches, numConditionalBranches, numDirectionMispredictions, numTargetMispredictions, getBranchesPerSecond());
+    }
+}
@@ -33,6 +33,13 @@ import java.nio.ByteOrder;
  * @author Min Cai
  */
 public class BranchPredictorTraceTester extends TraceTester<BranchPredictorTraceRecord> {
+    /**
+     * The size in bytes of a record in the trace.
+     */
+    public static final int RECORD_SIZE = 9;
+
+    private BranchPredictorTrace trace;
+
     /**
      * Create a branch predictor trace tester.
      *
@@ -49,7 +56,7 @@ public class BranchPredictorTraceTester extends TraceTester<BranchPredictorTrace
      */
     @Override
     protected BranchPredictorTraceRecord readNext() {
-        byte[] data = new byte[9];
+        byte[] data = new byte[RECORD_SIZE];
 
         try {
             if (buffer.read(data) > 0) {
@@ -59,30 +66,7 @@ public class BranchPredictorTraceTester extends TraceTester<BranchPredictorTrace
                 int opcode = MathHelper.bits(code, 3, 0);
                 int rawBranchFlags = MathHelper.bits(code, 7, 4);
 
-                int branchFlags = 0;
-
-                switch (rawBranchFlags) {
-                    case 1: // taken conditional branch
-                        branchFlags |= BranchInfo.BR_CONDITIONAL;
-                        break;
-                    case 2: // not taken conditional branch
-                        branchFlags |= BranchInfo.BR_CONDITIONAL;
-                        break;
-                    case 3: // unconditional branch
-                        break;
-                    case 4: // indirect branch
-                        branchFlags |= BranchInfo.BR_INDIRECT;
-                        break;
-                    case 5: // call
-                        branchFlags |= BranchInfo.BR_CALL;
-                        break;
-                    case 6: // indirect call
-                        branchFlags |= BranchInfo.BR_CALL | BranchInfo.BR_INDIRECT;
-                        break;
-                    case 7: // return
-                        branchFlags |= BranchInfo.BR_RETURN;
-                        break;
-                }
+                int branchFlags = getBranchFlags(rawBranchFlags);
 
 //                System.out.printf("code: 0x%08x(%s), opcode: 0x%08x(%s), branchFlags: 0x%08x(%s)\n", code, Integer.toBinaryString(code), opcode, Integer.toBinaryString(opcode), branchFlags, Integer.toBinaryString(branchFlags));
 
@@ -97,4 +81,47 @@ public class BranchPredictorTraceTester extends TraceTester<BranchPredictorTrace
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Replay the trace against the specified branch predictor. The trace is decoded into a {@link BranchPredictorTrace}
+     * on the first replay and kept for the subsequent ones, so that sweeping over many predictor designs reads the file
+     * only once and replays the records without allocating any trace record objects.
+     *
+     * @param branchPredictor the branch predictor
+     * @return the replay result
+     */
+    public BranchPredictorTraceReplayResult replay(BranchPredictor2 branchPredictor) {
+        if (this.trace == null) {
+            this.trace = BranchPredictorTrace.load(this.getFileName());
+        }
+
+        return this.trace.replay(branchPredictor);
+    }
+
+    /**
+     * Get the branch flags corresponding to the specified raw branch flags in the trace.
+     *
+     * @param rawBranchFlags the raw branch flags in the trace
+     * @return the branch flags corresponding to the specified raw branch flags in the trace
+     */
+    public static int getBranchFlags(int rawBranchFlags) {
+        switch (rawBranchFlags) {
+            case 1: // taken conditional branch
+                return BranchInfo.BR_CONDITIONAL;
+            case 2: // not taken conditional branch
+                return BranchInfo.BR_CONDITIONAL;
+            case 3: // unconditional branch
+                return 0;
+            case 4: // indirect branch
+                return BranchInfo.BR_INDIRECT;
+            case 5: // call
+                return BranchInfo.BR_CALL;
+            case 6: // indirect call
+                return BranchInfo.BR_CALL | BranchInfo.BR_INDIRECT;
+            case 7: // return
+                return BranchInfo.BR_RETURN;
+            default:
+                return 0;
+        }
+    }
 }
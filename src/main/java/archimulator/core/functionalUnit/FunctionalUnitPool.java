@@ -123,10 +123,12 @@ public class FunctionalUnitPool implements Named {
             return false;
         }
 
+        final long reorderBufferEntryId = reorderBufferEntry.getId();
+
         this.core.getCycleAccurateEventQueue()
                 .schedule(this, () -> functionalUnitDescriptor.setNumFree(functionalUnitDescriptor.getNumFree() + 1), functionalUnitOperation.getIssueLatency())
                 .schedule(this, () -> {
-                    if (!reorderBufferEntry.isSquashed()) {
+                    if (reorderBufferEntry.isAlive(reorderBufferEntryId)) {
                         onCompletedCallback.apply();
                     }
                 }, functionalUnitOperation.getOperationLatency());
@@ -24,6 +24,7 @@ import archimulator.isa.ArchitecturalRegisterFile;
 import archimulator.isa.StaticInstruction;
 import archimulator.os.Context;
 import archimulator.os.ContextState;
+import archimulator.os.DecodedBasicBlock;
 import archimulator.uncore.cache.CacheLine;
 
 /**
@@ -66,6 +67,11 @@ public class PrecomputationContext extends Context {
         }
     }
 
+    @Override
+    protected DecodedBasicBlock decodeBasicBlock(int pc) {
+        return null;
+    }
+
     @Override
     public boolean useICache() {
         return false;
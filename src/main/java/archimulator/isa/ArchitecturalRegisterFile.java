@@ -22,6 +22,9 @@ package archimulator.isa;
 
 import archimulator.util.Pair;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 
 /**
@@ -298,6 +301,54 @@ public final class ArchitecturalRegisterFile implements Cloneable {
         }
     }
 
+    /**
+     * Save the architectural register file to the specified data output.
+     *
+     * @param out the data output
+     * @throws IOException if an I/O error occurs
+     */
+    public void saveTo(DataOutput out) throws IOException {
+        out.writeInt(this.pc);
+        out.writeInt(this.npc);
+        out.writeInt(this.nnpc);
+
+        for (int gpr : this.gprs) {
+            out.writeInt(gpr);
+        }
+
+        for (int i = 0; i < 32; i++) {
+            out.writeInt(this.fprs.getInt(i));
+        }
+
+        out.writeInt(this.hi);
+        out.writeInt(this.lo);
+        out.writeInt(this.fcsr);
+    }
+
+    /**
+     * Load the architectural register file from the specified data input.
+     *
+     * @param in the data input
+     * @throws IOException if an I/O error occurs
+     */
+    public void loadFrom(DataInput in) throws IOException {
+        this.pc = in.readInt();
+        this.npc = in.readInt();
+        this.nnpc = in.readInt();
+
+        for (int i = 0; i < this.gprs.length; i++) {
+            this.gprs[i] = in.readInt();
+        }
+
+        for (int i = 0; i < 32; i++) {
+            this.fprs.setInt(i, in.readInt());
+        }
+
+        this.hi = in.readInt();
+        this.lo = in.readInt();
+        this.fcsr = in.readInt();
+    }
+
     /**
      * Get the value of a general purpose register (GPR).
      *
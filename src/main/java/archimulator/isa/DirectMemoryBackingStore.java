@@ -0,0 +1,90 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.isa;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Memory backing store slicing pages out of off-heap direct byte buffers, so that the simulated memory footprint does not count towards the Java heap.
+ *
+ * @author Min Cai
+ */
+public class DirectMemoryBackingStore implements MemoryBackingStore {
+    private Map<Integer, ByteBuffer> slabs;
+
+    /**
+     * Create a direct memory backing store.
+     */
+    public DirectMemoryBackingStore() {
+        this.slabs = new HashMap<>();
+    }
+
+    @Override
+    public ByteBuffer allocatePage(int physicalAddress, int pageSize) {
+        int slabIndex = physicalAddress >>> SLAB_SIZE_IN_LOG2;
+
+        if (!this.slabs.containsKey(slabIndex)) {
+            this.slabs.put(slabIndex, ByteBuffer.allocateDirect(1 << SLAB_SIZE_IN_LOG2));
+        }
+
+        return slice(this.slabs.get(slabIndex), physicalAddress & ((1 << SLAB_SIZE_IN_LOG2) - 1), pageSize);
+    }
+
+    @Override
+    public void freePage(int physicalAddress, ByteBuffer byteBuffer) {
+        clear(byteBuffer);
+    }
+
+    @Override
+    public void close() {
+        this.slabs.clear();
+    }
+
+    /**
+     * Get a view of the specified range of the specified byte buffer.
+     *
+     * @param byteBuffer the byte buffer
+     * @param offset     the offset of the range
+     * @param size       the size of the range
+     * @return a view of the specified range of the specified byte buffer
+     */
+    static ByteBuffer slice(ByteBuffer byteBuffer, int offset, int size) {
+        ByteBuffer duplicate = byteBuffer.duplicate();
+        duplicate.position(offset);
+        duplicate.limit(offset + size);
+        return duplicate.slice();
+    }
+
+    /**
+     * Zero fill the specified byte buffer.
+     *
+     * @param byteBuffer the byte buffer
+     */
+    static void clear(ByteBuffer byteBuffer) {
+        ByteBuffer duplicate = byteBuffer.duplicate();
+        duplicate.clear();
+        duplicate.put(new byte[duplicate.remaining()]);
+    }
+
+    private static final int SLAB_SIZE_IN_LOG2 = 20;
+}
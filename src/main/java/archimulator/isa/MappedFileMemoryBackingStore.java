@@ -0,0 +1,95 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.isa;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Memory backing store slicing pages out of the regions of a sparse memory-mapped temporary file,
+ * so that the simulated memory footprint is paged by the operating system rather than held on the Java heap.
+ *
+ * @author Min Cai
+ */
+public class MappedFileMemoryBackingStore implements MemoryBackingStore {
+    private File file;
+    private RandomAccessFile randomAccessFile;
+    private Map<Integer, MappedByteBuffer> regions;
+
+    /**
+     * Create a memory-mapped file backing store.
+     */
+    public MappedFileMemoryBackingStore() {
+        try {
+            this.file = File.createTempFile("archimulator-memory-", ".bin");
+            this.file.deleteOnExit();
+
+            this.randomAccessFile = new RandomAccessFile(this.file, "rw");
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        this.regions = new HashMap<>();
+    }
+
+    @Override
+    public ByteBuffer allocatePage(int physicalAddress, int pageSize) {
+        int regionIndex = physicalAddress >>> REGION_SIZE_IN_LOG2;
+
+        if (!this.regions.containsKey(regionIndex)) {
+            try {
+                this.regions.put(regionIndex, this.randomAccessFile.getChannel().map(
+                        FileChannel.MapMode.READ_WRITE, (long) regionIndex << REGION_SIZE_IN_LOG2, 1 << REGION_SIZE_IN_LOG2
+                ));
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        return DirectMemoryBackingStore.slice(this.regions.get(regionIndex), physicalAddress & ((1 << REGION_SIZE_IN_LOG2) - 1), pageSize);
+    }
+
+    @Override
+    public void freePage(int physicalAddress, ByteBuffer byteBuffer) {
+        DirectMemoryBackingStore.clear(byteBuffer);
+    }
+
+    @Override
+    public void close() {
+        this.regions.clear();
+
+        try {
+            this.randomAccessFile.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        this.file.delete();
+    }
+
+    private static final int REGION_SIZE_IN_LOG2 = 26;
+}
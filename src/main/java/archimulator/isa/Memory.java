@@ -21,14 +21,21 @@
 package archimulator.isa;
 
 import archimulator.common.BasicSimulationObject;
+import archimulator.common.Experiment;
 import archimulator.common.report.ReportNode;
 import archimulator.common.report.Reportable;
 import archimulator.os.Kernel;
 import archimulator.uncore.cache.CacheGeometry;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 /**
  * Memory.
@@ -39,17 +46,22 @@ public class Memory extends BasicSimulationObject implements Reportable {
     private int id;
     private boolean littleEndian;
 
-    private Map<Integer, Page> pages;
+    private Page[][] pageDirectory;
 
     private Kernel kernel;
     private int processId;
 
     private int numPages;
 
-    private Map<Integer, ByteBuffer> byteBuffers;
-
     private boolean speculative;
-    private Map<Integer, List<SpeculativeMemoryBlock>> speculativeMemoryBlocks;
+    private int[] speculativeMemoryBlockTags;
+    private SpeculativeMemoryBlock[] speculativeMemoryBlocks;
+    private List<SpeculativeMemoryBlock> dirtySpeculativeMemoryBlocks;
+    private Deque<SpeculativeMemoryBlock> freeSpeculativeMemoryBlocks;
+
+    private int codeBegin;
+    private int codeEnd;
+    private BiConsumer<Integer, Integer> codeWriteListener;
 
     /**
      * Create a "memory".
@@ -67,12 +79,14 @@ public class Memory extends BasicSimulationObject implements Reportable {
 
         this.id = this.kernel.currentMemoryId++;
 
-        this.pages = new TreeMap<>();
-
-        this.byteBuffers = new HashMap<>();
+        this.pageDirectory = new Page[1 << PAGE_DIRECTORY_INDEX_BITS][];
 
         this.speculative = false;
-        this.speculativeMemoryBlocks = new TreeMap<>();
+        this.speculativeMemoryBlockTags = new int[SpeculativeMemoryBlock.INITIAL_CAPACITY];
+        Arrays.fill(this.speculativeMemoryBlockTags, SpeculativeMemoryBlock.INVALID_TAG);
+        this.speculativeMemoryBlocks = new SpeculativeMemoryBlock[SpeculativeMemoryBlock.INITIAL_CAPACITY];
+        this.dirtySpeculativeMemoryBlocks = new ArrayList<>();
+        this.freeSpeculativeMemoryBlocks = new ArrayDeque<>();
     }
 
     /**
@@ -82,6 +96,11 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @return a byte at the specified address
      */
     public byte readByte(int address) {
+        ByteBuffer byteBuffer = this.getByteBufferForDirectAccess(address, 1, false);
+        if (byteBuffer != null) {
+            return byteBuffer.get(getDisplacement(address));
+        }
+
         byte[] buffer = new byte[1];
         this.access(address, 1, buffer, false, true);
         return buffer[0];
@@ -94,6 +113,11 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @return a half word at the specified address
      */
     public short readHalfWord(int address) {
+        ByteBuffer byteBuffer = this.getByteBufferForDirectAccess(address, 2, false);
+        if (byteBuffer != null) {
+            return byteBuffer.getShort(getDisplacement(address));
+        }
+
         byte[] buffer = new byte[2];
         this.access(address, 2, buffer, false, true);
         return ByteBuffer.wrap(buffer).order(this.littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN).getShort();
@@ -106,6 +130,11 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @return a word at the specified address
      */
     public int readWord(int address) {
+        ByteBuffer byteBuffer = this.getByteBufferForDirectAccess(address, 4, false);
+        if (byteBuffer != null) {
+            return byteBuffer.getInt(getDisplacement(address));
+        }
+
         byte[] buffer = new byte[4];
         this.access(address, 4, buffer, false, true);
         return ByteBuffer.wrap(buffer).order(this.littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN).getInt();
@@ -118,6 +147,11 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @return a double word at the specified address
      */
     public long readDoubleWord(int address) {
+        ByteBuffer byteBuffer = this.getByteBufferForDirectAccess(address, 8, false);
+        if (byteBuffer != null) {
+            return byteBuffer.getLong(getDisplacement(address));
+        }
+
         byte[] buffer = new byte[8];
         this.access(address, 8, buffer, false, true);
         return ByteBuffer.wrap(buffer).order(this.littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN).getLong();
@@ -161,6 +195,12 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @param data    one byte of data to be written
      */
     public void writeByte(int address, byte data) {
+        ByteBuffer byteBuffer = this.getByteBufferForDirectAccess(address, 1, true);
+        if (byteBuffer != null) {
+            byteBuffer.put(getDisplacement(address), data);
+            return;
+        }
+
         byte[] buffer = new byte[]{data};
         this.access(address, 1, buffer, true, true);
     }
@@ -172,6 +212,12 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @param data    one half word of data to be written
      */
     public void writeHalfWord(int address, short data) {
+        ByteBuffer byteBuffer = this.getByteBufferForDirectAccess(address, 2, true);
+        if (byteBuffer != null) {
+            byteBuffer.putShort(getDisplacement(address), data);
+            return;
+        }
+
         byte[] buffer = new byte[2];
         ByteBuffer.wrap(buffer).order(this.littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN).putShort(data);
         this.access(address, 2, buffer, true, true);
@@ -184,6 +230,12 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @param data    one word of data to be written
      */
     public void writeWord(int address, int data) {
+        ByteBuffer byteBuffer = this.getByteBufferForDirectAccess(address, 4, true);
+        if (byteBuffer != null) {
+            byteBuffer.putInt(getDisplacement(address), data);
+            return;
+        }
+
         byte[] buffer = new byte[4];
         ByteBuffer.wrap(buffer).order(this.littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN).putInt(data);
         this.access(address, 4, buffer, true, true);
@@ -196,6 +248,12 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @param data    one double word of data to be written
      */
     public void writeDoubleWord(int address, long data) {
+        ByteBuffer byteBuffer = this.getByteBufferForDirectAccess(address, 8, true);
+        if (byteBuffer != null) {
+            byteBuffer.putLong(getDisplacement(address), data);
+            return;
+        }
+
         byte[] buffer = new byte[8];
         ByteBuffer.wrap(buffer).order(this.littleEndian ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN).putLong(data);
         this.access(address, 8, buffer, true, true);
@@ -236,6 +294,35 @@ public class Memory extends BasicSimulationObject implements Reportable {
         this.writeBlock(address, size, new byte[size]);
     }
 
+    /**
+     * Get the byte buffer of the page backing the specified range of addresses if the range can be accessed directly,
+     * i.e., the memory is not in the speculative mode, the range does not straddle a page boundary and a write does not touch the watched code;
+     * otherwise the access has to go through the generic path.
+     *
+     * @param address the starting address
+     * @param size    the size
+     * @param write   a value indicating whether the access is a read or write
+     * @return the byte buffer of the page backing the specified range of addresses if the range can be accessed directly; otherwise null
+     */
+    private ByteBuffer getByteBufferForDirectAccess(int address, int size, boolean write) {
+        if (this.speculative || getDisplacement(address) + size > getPageSize()) {
+            return null;
+        }
+
+        if (write && this.codeWriteListener != null
+                && Integer.compareUnsigned(address, this.codeEnd) < 0 && Integer.compareUnsigned(address + size, this.codeBegin) > 0) {
+            return null;
+        }
+
+        Page page = this.getPage(address);
+
+        if (page == null) {
+            page = this.addPage(getTag(address));
+        }
+
+        return page.byteBuffer;
+    }
+
     /**
      * Perform a read or write operation on the specified range of addresses.
      *
@@ -255,6 +342,7 @@ public class Memory extends BasicSimulationObject implements Reportable {
 
     /**
      * Perform a speculative read or write operation on the specified range of addresses.
+     * Speculative reads and writes are served by the copy-on-write overlay of speculative memory blocks, which leaves the non-speculative memory untouched.
      *
      * @param address the starting address
      * @param size    the size
@@ -262,42 +350,81 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @param write   a value indicating whether the access is a read or write
      */
     private void doSpeculativeAccess(int address, int size, byte[] buffer, boolean write) {
-        int tag = address >> SpeculativeMemoryBlock.BLOCK_LOGSIZE;
-        int index = tag % SpeculativeMemoryBlock.COUNT;
+        int offset = 0;
+
+        while (size > 0) {
+            int displacement = address & (SpeculativeMemoryBlock.BLOCK_SIZE - 1);
+            int chunkSize = Math.min(size, SpeculativeMemoryBlock.BLOCK_SIZE - displacement);
 
-        SpeculativeMemoryBlock blockFound = null;
+            byte[] data = this.getSpeculativeMemoryBlock(address).data;
 
-        if (this.speculativeMemoryBlocks.containsKey(index)) {
-            for (SpeculativeMemoryBlock blk : this.speculativeMemoryBlocks.get(index)) {
-                if (blk.tag == tag) {
-                    blockFound = blk;
-                    break;
-                }
+            if (!write) {
+                System.arraycopy(data, displacement, buffer, offset, chunkSize);
+            } else {
+                System.arraycopy(buffer, offset, data, displacement, chunkSize);
             }
+
+            size -= chunkSize;
+            offset += chunkSize;
+            address += chunkSize;
         }
+    }
 
-        if (blockFound == null) {
-            blockFound = new SpeculativeMemoryBlock(tag);
+    /**
+     * Get the speculative memory block containing the specified address, copying it from the non-speculative memory on first touch.
+     *
+     * @param address the address
+     * @return the speculative memory block containing the specified address
+     */
+    private SpeculativeMemoryBlock getSpeculativeMemoryBlock(int address) {
+        int tag = address >>> SpeculativeMemoryBlock.BLOCK_LOGSIZE;
 
-            if (!this.speculativeMemoryBlocks.containsKey(index)) {
-                this.speculativeMemoryBlocks.put(index, new ArrayList<>());
+        int mask = this.speculativeMemoryBlockTags.length - 1;
+        int slot = SpeculativeMemoryBlock.hash(tag) & mask;
+
+        while (this.speculativeMemoryBlockTags[slot] != SpeculativeMemoryBlock.INVALID_TAG) {
+            if (this.speculativeMemoryBlockTags[slot] == tag) {
+                return this.speculativeMemoryBlocks[slot];
             }
+            slot = (slot + 1) & mask;
+        }
 
-            this.speculativeMemoryBlocks.get(index).add(0, blockFound);
+        SpeculativeMemoryBlock block = this.freeSpeculativeMemoryBlocks.isEmpty() ? new SpeculativeMemoryBlock() : this.freeSpeculativeMemoryBlocks.pop();
+        block.tag = tag;
 
-            this.doNonSpeculativeAccess(address & ~(SpeculativeMemoryBlock.BLOCK_SIZE - 1), SpeculativeMemoryBlock.BLOCK_SIZE, blockFound.data, write, false);
-        }
+        Arrays.fill(block.data, (byte) 0);
+        this.doNonSpeculativeAccess(tag << SpeculativeMemoryBlock.BLOCK_LOGSIZE, SpeculativeMemoryBlock.BLOCK_SIZE, block.data, false, false);
 
-        if ((size & (size - 1)) != 0 || size > SpeculativeMemoryBlock.BLOCK_SIZE || (address & (size - 1)) != 0) {
-            return;
+        this.speculativeMemoryBlockTags[slot] = tag;
+        this.speculativeMemoryBlocks[slot] = block;
+        this.dirtySpeculativeMemoryBlocks.add(block);
+
+        if (this.dirtySpeculativeMemoryBlocks.size() * 2 > this.speculativeMemoryBlockTags.length) {
+            this.growSpeculativeMemoryBlocks();
         }
 
-        int displacement = address & (SpeculativeMemoryBlock.BLOCK_SIZE - 1);
+        return block;
+    }
 
-        if (!write) {
-            System.arraycopy(blockFound.data, displacement, buffer, 0, size);
-        } else {
-            System.arraycopy(buffer, 0, blockFound.data, displacement, size);
+    /**
+     * Double the capacity of the speculative memory block table and reinsert the speculative memory blocks in use.
+     */
+    private void growSpeculativeMemoryBlocks() {
+        int capacity = this.speculativeMemoryBlockTags.length * 2;
+
+        this.speculativeMemoryBlockTags = new int[capacity];
+        Arrays.fill(this.speculativeMemoryBlockTags, SpeculativeMemoryBlock.INVALID_TAG);
+        this.speculativeMemoryBlocks = new SpeculativeMemoryBlock[capacity];
+
+        for (SpeculativeMemoryBlock block : this.dirtySpeculativeMemoryBlocks) {
+            int slot = SpeculativeMemoryBlock.hash(block.tag) & (capacity - 1);
+
+            while (this.speculativeMemoryBlockTags[slot] != SpeculativeMemoryBlock.INVALID_TAG) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+
+            this.speculativeMemoryBlockTags[slot] = block.tag;
+            this.speculativeMemoryBlocks[slot] = block;
         }
     }
 
@@ -309,10 +436,26 @@ public class Memory extends BasicSimulationObject implements Reportable {
     }
 
     /**
-     * Exit the speculative state.
+     * Exit the speculative state, discarding the speculative memory blocks in use and returning them to the pool.
      */
     public void exitSpeculativeState() {
-        this.speculativeMemoryBlocks.clear();
+        int mask = this.speculativeMemoryBlockTags.length - 1;
+
+        for (SpeculativeMemoryBlock block : this.dirtySpeculativeMemoryBlocks) {
+            int slot = SpeculativeMemoryBlock.hash(block.tag) & mask;
+
+            while (this.speculativeMemoryBlockTags[slot] != block.tag) {
+                slot = (slot + 1) & mask;
+            }
+
+            this.speculativeMemoryBlockTags[slot] = SpeculativeMemoryBlock.INVALID_TAG;
+            this.speculativeMemoryBlocks[slot] = null;
+
+            this.freeSpeculativeMemoryBlocks.push(block);
+        }
+
+        this.dirtySpeculativeMemoryBlocks.clear();
+
         this.speculative = false;
     }
 
@@ -326,6 +469,12 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @param createNewPageIfNecessary a value indicating whether creating a new page if necessary
      */
     private void doNonSpeculativeAccess(int address, int size, byte[] buffer, boolean write, boolean createNewPageIfNecessary) {
+        boolean codeWritten = write && this.codeWriteListener != null
+                && Integer.compareUnsigned(address, this.codeEnd) < 0 && Integer.compareUnsigned(address + size, this.codeBegin) > 0;
+
+        int codeWriteAddress = address;
+        int codeWriteSize = size;
+
         int offset = 0;
 
         int pageSize = getPageSize();
@@ -338,6 +487,113 @@ public class Memory extends BasicSimulationObject implements Reportable {
             offset += chunkSize;
             address += chunkSize;
         }
+
+        if (codeWritten) {
+            this.codeWriteListener.accept(codeWriteAddress, codeWriteSize);
+        }
+    }
+
+    /**
+     * Save the identifiers of the mapped pages to the specified data output and append their raw contents to the
+     * specified page channel, so that they can be mapped back into memory as a whole on restore.
+     *
+     * @param out   the data output
+     * @param pages the page channel
+     * @throws IOException if an I/O error occurs
+     */
+    public void saveTo(DataOutput out, FileChannel pages) throws IOException {
+        if (this.speculative) {
+            throw new IllegalStateException("memory is in the speculative state");
+        }
+
+        int pageSize = getPageSize();
+        byte[] data = new byte[pageSize];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+
+        int numMappedPages = 0;
+        for (Page[] pageTable : this.pageDirectory) {
+            if (pageTable != null) {
+                for (Page page : pageTable) {
+                    if (page != null) {
+                        numMappedPages++;
+                    }
+                }
+            }
+        }
+
+        out.writeInt(this.numPages);
+        out.writeInt(numMappedPages);
+        out.writeLong(pages.position());
+
+        for (int i = 0; i < this.pageDirectory.length; i++) {
+            Page[] pageTable = this.pageDirectory[i];
+            if (pageTable != null) {
+                for (int j = 0; j < PAGE_TABLE_SIZE; j++) {
+                    Page page = pageTable[j];
+                    if (page != null) {
+                        int address = ((i << PAGE_TABLE_INDEX_BITS) | j) << getPageSizeInLog2();
+                        page.doAccess(address, data, 0, pageSize, false);
+
+                        out.writeInt(address);
+                        out.writeInt(page.id);
+
+                        buffer.clear();
+                        while (buffer.hasRemaining()) {
+                            pages.write(buffer);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Replace the mapped pages with the ones whose identifiers are loaded from the specified data input and whose
+     * contents are mapped from the specified page channel, and notify the code write listener of the whole code range,
+     * if any.
+     *
+     * @param in    the data input
+     * @param pages the page channel
+     * @throws IOException if an I/O error occurs
+     */
+    public void loadFrom(DataInput in, FileChannel pages) throws IOException {
+        int pageSize = getPageSize();
+        byte[] data = new byte[pageSize];
+
+        this.pageDirectory = new Page[1 << PAGE_DIRECTORY_INDEX_BITS][];
+        this.numPages = in.readInt();
+
+        int numMappedPages = in.readInt();
+        MappedByteBuffer mappedPages = pages.map(FileChannel.MapMode.READ_ONLY, in.readLong(), (long) numMappedPages * pageSize);
+
+        Map<Integer, Page> pagesFromIds = new HashMap<>();
+
+        for (int i = 0; i < numMappedPages; i++) {
+            int address = in.readInt();
+            int pageId = in.readInt();
+            mappedPages.get(data);
+
+            Page page = pagesFromIds.computeIfAbsent(pageId, Page::new);
+            page.doAccess(address, data, 0, pageSize, true);
+            this.setPage(address, page);
+        }
+
+        if (this.codeWriteListener != null) {
+            this.codeWriteListener.accept(this.codeBegin, this.codeEnd - this.codeBegin);
+        }
+    }
+
+    /**
+     * Set the listener to be notified when the specified range of code addresses is written.
+     *
+     * @param codeBegin         the starting address of the code
+     * @param codeEnd           the ending address (exclusive) of the code
+     * @param codeWriteListener the listener receiving the starting address and the size of each write overlapping the code
+     */
+    public void setCodeWriteListener(int codeBegin, int codeEnd, BiConsumer<Integer, Integer> codeWriteListener) {
+        this.codeBegin = codeBegin;
+        this.codeEnd = codeEnd;
+        this.codeWriteListener = codeWriteListener;
     }
 
     /**
@@ -348,6 +604,30 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @return the starting tag
      */
     public int map(int address, int size) {
+        int tagStart = this.findUnmappedPages(address, size);
+
+        if (tagStart == -1) {
+            return -1;
+        }
+
+        int pageSize = getPageSize();
+        int pageCount = (getTag(address + size - 1) - getTag(address)) / pageSize + 1;
+
+        for (int i = 0; i < pageCount; i++) {
+            this.addPage(tagStart + i * pageSize);
+        }
+
+        return tagStart;
+    }
+
+    /**
+     * Find the first run of unmapped pages large enough to hold the specified range of addresses, searching upwards from the specified address.
+     *
+     * @param address the starting address
+     * @param size    the size
+     * @return the starting tag of the run of unmapped pages if any exists; otherwise -1
+     */
+    private int findUnmappedPages(int address, int size) {
         int tagStart, tagEnd;
 
         tagStart = tagEnd = getTag(address);
@@ -372,13 +652,6 @@ public class Memory extends BasicSimulationObject implements Reportable {
             tagEnd += pageSize;
         }
 
-        for (int tag = tagStart; tag <= tagEnd; tag += pageSize) {
-            if (this.getPage(tag) != null) {
-                throw new IllegalArgumentException();
-            }
-            this.addPage(tag);
-        }
-
         return tagStart;
     }
 
@@ -414,29 +687,69 @@ public class Memory extends BasicSimulationObject implements Reportable {
     }
 
     /**
-     * Remap the specified range of addresses.
+     * Remap the specified range of addresses. The range is shrunk or grown in place if possible; otherwise it is moved to
+     * the first run of unmapped pages above the heap top. The pages are moved by remapping the page table entries, without copying their contents.
      *
      * @param oldAddr the old starting address
      * @param oldSize the old size
      * @param newSize the new size
-     * @return the new starting address
+     * @return the new starting address if the remapping succeeds; otherwise -1
      */
     public int remap(int oldAddr, int oldSize, int newSize) {
-        int start = this.map(0, newSize);
+        int pageSize = getPageSize();
+
+        int oldPageCount = (oldSize + pageSize - 1) / pageSize;
+        int newPageCount = (newSize + pageSize - 1) / pageSize;
+
+        int tagSource = getTag(oldAddr);
+
+        if (newPageCount <= oldPageCount) {
+            if (newPageCount < oldPageCount) {
+                this.unmap(tagSource + newPageCount * pageSize, (oldPageCount - newPageCount) * pageSize);
+            }
+            return tagSource;
+        }
+
+        int tagDestination = tagSource;
 
-        if (start != -1) {
-            this.copyPages(start, oldAddr, Math.min(oldSize, newSize));
-            this.unmap(oldAddr, oldSize);
+        for (int i = oldPageCount; i < newPageCount; i++) {
+            if (this.getPage(tagSource + i * pageSize) != null) {
+                tagDestination = this.findUnmappedPages(getKernel().getProcessFromId(getProcessId()).getHeapTop(), newSize);
+                break;
+            }
+        }
+
+        if (tagDestination == -1) {
+            return -1;
+        }
+
+        if (tagDestination != tagSource) {
+            this.copyPages(tagDestination, tagSource, oldPageCount);
+            this.unmap(tagSource, oldPageCount * pageSize);
+        }
+
+        for (int i = oldPageCount; i < newPageCount; i++) {
+            this.addPage(tagDestination + i * pageSize);
         }
 
-        return start;
+        return tagDestination;
     }
 
+    /**
+     * Make the specified number of pages starting at the destination tag refer to the pages starting at the source tag.
+     *
+     * @param tagDestination the destination tag
+     * @param tagSource      the source tag
+     * @param numPages       the number of pages
+     */
     private void copyPages(int tagDestination, int tagSource, int numPages) {
-        throw new UnsupportedOperationException(); //TODO: support it using BigMemory
-//        for (int i = 0; i < numPages; i++) {
-//            this.getPage(tagDestination + i * getPageSize()).bb = this.getPage(tagSource + i * getPageSize()).bb;
-//        }
+        for (int i = 0; i < numPages; i++) {
+            Page page = this.getPage(tagSource + i * getPageSize());
+
+            if (page != null) {
+                this.setPage(tagDestination + i * getPageSize(), page);
+            }
+        }
     }
 
     /**
@@ -458,7 +771,8 @@ public class Memory extends BasicSimulationObject implements Reportable {
     private Page getPage(int address) {
         int index = getIndex(address);
 
-        return this.pages.containsKey(index) ? this.pages.get(index) : null;
+        Page[] pageTable = this.pageDirectory[index >>> PAGE_TABLE_INDEX_BITS];
+        return pageTable != null ? pageTable[index & (PAGE_TABLE_SIZE - 1)] : null;
     }
 
     /**
@@ -468,16 +782,38 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @return a newly created page containing the specified address
      */
     private Page addPage(int address) {
-        int index = getIndex(address);
-
         this.numPages++;
-        Page page = new Page(getExperiment().currentMemoryPageId++);
+        Page page = new Page(this.allocatePageId());
 
-        this.pages.put(index, page);
+        this.setPage(address, page);
 
         return page;
     }
 
+    /**
+     * Set the page containing the specified address.
+     *
+     * @param address the address
+     * @param page    the page
+     */
+    private void setPage(int address, Page page) {
+        int index = getIndex(address);
+
+        Page[] pageTable = this.pageDirectory[index >>> PAGE_TABLE_INDEX_BITS];
+        if (pageTable == null) {
+            pageTable = this.pageDirectory[index >>> PAGE_TABLE_INDEX_BITS] = new Page[PAGE_TABLE_SIZE];
+        }
+
+        Page oldPage = pageTable[index & (PAGE_TABLE_SIZE - 1)];
+
+        pageTable[index & (PAGE_TABLE_SIZE - 1)] = page;
+        page.numMappings++;
+
+        if (oldPage != null) {
+            this.releasePage(oldPage);
+        }
+    }
+
     /**
      * Remove a page containing the specified address.
      *
@@ -486,57 +822,87 @@ public class Memory extends BasicSimulationObject implements Reportable {
     private void removePage(int address) {
         int index = getIndex(address);
 
-        this.pages.remove(index);
+        Page[] pageTable = this.pageDirectory[index >>> PAGE_TABLE_INDEX_BITS];
+        if (pageTable != null) {
+            Page page = pageTable[index & (PAGE_TABLE_SIZE - 1)];
+
+            if (page != null) {
+                pageTable[index & (PAGE_TABLE_SIZE - 1)] = null;
+                this.releasePage(page);
+            }
+        }
     }
 
     /**
-     * Perform a non-speculative access operation on the specified range of addresses at the page boundary.
+     * Drop a mapping of the specified page, and free the page once it is no longer mapped at any address, handing its
+     * storage back to the memory backing store and its ID back to the pool of free page IDs.
      *
-     * @param address                  the starting address
-     * @param size                     the size
-     * @param buffer                   the buffer
-     * @param write                    a value indicating whether the access is a read or write
-     * @param createNewPageIfNecessary a value indicating whether creating a new page if necessary
+     * @param page the page
      */
-    private void accessPageBoundary(int address, int size, byte[] buffer, int offset, boolean write, boolean createNewPageIfNecessary) {
-        Page page = this.getPage(address);
+    private void releasePage(Page page) {
+        if (--page.numMappings == 0) {
+            getExperiment().getMemoryBackingStore().freePage(page.physicalAddress, page.byteBuffer);
+            getExperiment().freeMemoryPageIds.set(page.id);
+        }
+    }
 
-        if (page == null && createNewPageIfNecessary) {
-            page = this.addPage(getTag(address));
+    /**
+     * Allocate a page ID, reusing the lowest freed one if any exists, so that the physical addresses of the pages stay
+     * within the 32 bit physical address space as long as the pages in use fit in it.
+     *
+     * @return the allocated page ID
+     */
+    private int allocatePageId() {
+        Experiment experiment = getExperiment();
+
+        int id = experiment.freeMemoryPageIds.nextSetBit(0);
+        if (id != -1) {
+            experiment.freeMemoryPageIds.clear(id);
+            return id;
         }
 
-        if (page != null) {
-            page.doAccess(address, buffer, offset, size, write);
+        if (experiment.currentMemoryPageId == 1 << (Integer.SIZE - getPageSizeInLog2())) {
+            throw new IllegalStateException("Out of physical memory pages: " + experiment.currentMemoryPageId + " pages are in use");
         }
+
+        return experiment.currentMemoryPageId++;
     }
 
     /**
-     * Act on when a page is created.
+     * Mark the IDs of the pages mapped in the memory in the specified bit set.
      *
-     * @param id the ID of the newly created page
+     * @param pageIds the bit set of page IDs
      */
-    protected void onPageCreated(int id) {
-        this.byteBuffers.put(id, ByteBuffer.allocate(Memory.getPageSize()).order(isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN));
+    public void collectPageIds(BitSet pageIds) {
+        for (Page[] pageTable : this.pageDirectory) {
+            if (pageTable != null) {
+                for (Page page : pageTable) {
+                    if (page != null) {
+                        pageIds.set(page.id);
+                    }
+                }
+            }
+        }
     }
 
     /**
-     * Act on when a page is accessed.
+     * Perform a non-speculative access operation on the specified range of addresses at the page boundary.
      *
-     * @param pageId       the ID of the page
-     * @param displacement the displacement within the page
-     * @param buffer       the buffer
-     * @param offset       the offset within the buffer
-     * @param size         the size of data to be accessed within the buffer
-     * @param write        whether the access is a read or write
+     * @param address                  the starting address
+     * @param size                     the size
+     * @param buffer                   the buffer
+     * @param write                    a value indicating whether the access is a read or write
+     * @param createNewPageIfNecessary a value indicating whether creating a new page if necessary
      */
-    protected void doPageAccess(int pageId, int displacement, byte[] buffer, int offset, int size, boolean write) {
-        ByteBuffer bb = getByteBuffer(pageId);
-        bb.position(displacement);
+    private void accessPageBoundary(int address, int size, byte[] buffer, int offset, boolean write, boolean createNewPageIfNecessary) {
+        Page page = this.getPage(address);
 
-        if (write) {
-            bb.put(buffer, offset, size);
-        } else {
-            bb.get(buffer, offset, size);
+        if (page == null && createNewPageIfNecessary) {
+            page = this.addPage(getTag(address));
+        }
+
+        if (page != null) {
+            page.doAccess(address, buffer, offset, size, write);
         }
     }
 
@@ -610,16 +976,6 @@ public class Memory extends BasicSimulationObject implements Reportable {
         return numPages;
     }
 
-    /**
-     * Get the byte buffer for the specified page ID.
-     *
-     * @param pageId the ID of the page
-     * @return the byte buffer for the specified page ID.
-     */
-    private ByteBuffer getByteBuffer(int pageId) {
-        return this.byteBuffers.containsKey(pageId) ? this.byteBuffers.get(pageId) : null;
-    }
-
     /**
      * Get the name of the memory.
      *
@@ -636,6 +992,8 @@ public class Memory extends BasicSimulationObject implements Reportable {
     private class Page {
         private int id;
         private int physicalAddress;
+        private ByteBuffer byteBuffer;
+        private int numMappings;
 
         /**
          * Create a page.
@@ -646,7 +1004,8 @@ public class Memory extends BasicSimulationObject implements Reportable {
             this.id = id;
             this.physicalAddress = this.id << Memory.getPageSizeInLog2();
 
-            onPageCreated(id);
+            this.byteBuffer = getExperiment().getMemoryBackingStore().allocatePage(this.physicalAddress, Memory.getPageSize())
+                    .order(isLittleEndian() ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
         }
 
         /**
@@ -659,34 +1018,52 @@ public class Memory extends BasicSimulationObject implements Reportable {
          * @param write   a value indicating whether the access is a read or write
          */
         private void doAccess(int address, byte[] buffer, int offset, int size, boolean write) {
-            doPageAccess(id, getDisplacement(address), buffer, offset, size, write);
+            this.byteBuffer.position(getDisplacement(address));
+
+            if (write) {
+                this.byteBuffer.put(buffer, offset, size);
+            } else {
+                this.byteBuffer.get(buffer, offset, size);
+            }
         }
     }
 
     /**
      * Speculative memory block. Used for representing a range of addresses involved in a speculative access.
      */
-    private class SpeculativeMemoryBlock {
+    private static class SpeculativeMemoryBlock {
         private int tag;
         private byte[] data;
 
         /**
          * Create a speculative memory block.
+         */
+        private SpeculativeMemoryBlock() {
+            this.data = new byte[BLOCK_SIZE];
+        }
+
+        /**
+         * Get the slot hash for the specified tag.
          *
          * @param tag the tag
+         * @return the slot hash for the specified tag
          */
-        private SpeculativeMemoryBlock(int tag) {
-            this.tag = tag;
-            this.data = new byte[BLOCK_SIZE];
+        private static int hash(int tag) {
+            return tag * 0x9E3779B9 >>> 8;
         }
 
         private static final int BLOCK_LOGSIZE = 8;
         private static final int BLOCK_SIZE = 1 << BLOCK_LOGSIZE;
-        private static final int COUNT = 1024;
+        private static final int INITIAL_CAPACITY = 1024;
+        private static final int INVALID_TAG = -1;
     }
 
     private static final CacheGeometry geometry = new CacheGeometry(-1, 1, 1 << 12);
 
+    private static final int PAGE_TABLE_INDEX_BITS = 10;
+    private static final int PAGE_TABLE_SIZE = 1 << PAGE_TABLE_INDEX_BITS;
+    private static final int PAGE_DIRECTORY_INDEX_BITS = 32 - geometry.getLineSizeInLog2() - PAGE_TABLE_INDEX_BITS;
+
     /**
      * Get the displacement for the specified address.
      *
@@ -714,7 +1091,7 @@ public class Memory extends BasicSimulationObject implements Reportable {
      * @return the index for the specified address
      */
     private static int getIndex(int address) {
-        return CacheGeometry.getLineId(address, geometry);
+        return address >>> getPageSizeInLog2();
     }
 
     /**
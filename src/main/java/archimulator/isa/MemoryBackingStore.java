@@ -0,0 +1,55 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.isa;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Memory backing store, which provides the storage of the simulated physical pages addressed by their physical addresses.
+ *
+ * @author Min Cai
+ */
+public interface MemoryBackingStore {
+    /**
+     * Allocate the zero filled storage for the page at the specified physical address.
+     *
+     * @param physicalAddress the physical address of the page
+     * @param pageSize        the page size in bytes
+     * @return the byte buffer of exactly the page size backing the page at the specified physical address
+     */
+    ByteBuffer allocatePage(int physicalAddress, int pageSize);
+
+    /**
+     * Free the storage of the page at the specified physical address, so that it is zero filled when the page at the
+     * same physical address is allocated again.
+     *
+     * @param physicalAddress the physical address of the page
+     * @param byteBuffer      the byte buffer backing the page
+     */
+    default void freePage(int physicalAddress, ByteBuffer byteBuffer) {
+    }
+
+    /**
+     * Release all the storage held by the backing store.
+     */
+    default void close() {
+    }
+}
@@ -652,6 +652,8 @@ public enum Mnemonic {
 
     private Method method;
 
+    private StaticInstructionExecutor executor;
+
     private int mask;
     private int bits;
     private BitField extraBitField;
@@ -707,6 +709,24 @@ public enum Mnemonic {
         return this.method;
     }
 
+    /**
+     * Get the static instruction executor bound to the method.
+     *
+     * @return the static instruction executor bound to the method
+     */
+    public StaticInstructionExecutor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Set the static instruction executor bound to the method.
+     *
+     * @param executor the static instruction executor bound to the method
+     */
+    public void setExecutor(StaticInstructionExecutor executor) {
+        this.executor = executor;
+    }
+
     /**
      * Set the method.
      *
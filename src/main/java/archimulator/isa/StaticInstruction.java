@@ -31,7 +31,10 @@ import archimulator.os.FunctionCallContext;
 import archimulator.util.Reference;
 import archimulator.util.math.MathHelper;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -217,11 +220,14 @@ public class StaticInstruction {
      * Static constructor.
      */
     static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
         Method[] declaredMethods = StaticInstruction.class.getDeclaredMethods();
         for (Method declaredMethod : declaredMethods) {
             StaticInstructionIntrinsic staticInstIntrinsic = declaredMethod.getAnnotation(StaticInstructionIntrinsic.class);
             if (staticInstIntrinsic != null) {
                 staticInstIntrinsic.mnemonic().setMethod(declaredMethod);
+                staticInstIntrinsic.mnemonic().setExecutor(createExecutor(lookup, declaredMethod));
             }
         }
 
@@ -336,6 +342,30 @@ public class StaticInstruction {
         }};
     }
 
+    /**
+     * Create a static instruction executor that directly invokes the specified static instruction intrinsic method.
+     *
+     * @param lookup the lookup object with private access to the static instruction class
+     * @param method the static instruction intrinsic method
+     * @return the newly created static instruction executor that directly invokes the specified static instruction intrinsic method
+     */
+    private static StaticInstructionExecutor createExecutor(MethodHandles.Lookup lookup, Method method) {
+        try {
+            MethodHandle methodHandle = lookup.unreflect(method);
+
+            return (StaticInstructionExecutor) LambdaMetafactory.metafactory(
+                    lookup,
+                    "execute",
+                    MethodType.methodType(StaticInstructionExecutor.class),
+                    MethodType.methodType(void.class, Context.class, int.class),
+                    methodHandle,
+                    methodHandle.type()
+            ).getTarget().invokeExact();
+        } catch (Throwable e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     /**
      * "Add" instruction.
      *
@@ -2851,12 +2881,10 @@ public class StaticInstruction {
      */
     public static void execute(StaticInstruction staticInstruction, Context context) {
         int oldPc = context.getRegisterFile().getPc();
-        try {
-            staticInstruction.mnemonic.getMethod().invoke(null, context, staticInstruction.machineInstruction);
-        } catch (IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException(e);
+        staticInstruction.mnemonic.getExecutor().execute(context, staticInstruction.machineInstruction);
+        if (context.getBlockingEventDispatcher().hasListeners(InstructionFunctionallyExecutedEvent.class)) {
+            context.getBlockingEventDispatcher().dispatch(new InstructionFunctionallyExecutedEvent(context, oldPc, staticInstruction));
         }
-        context.getBlockingEventDispatcher().dispatch(new InstructionFunctionallyExecutedEvent(context, oldPc, staticInstruction));
     }
 
     /**
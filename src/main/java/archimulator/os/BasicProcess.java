@@ -27,6 +27,7 @@ import archimulator.analysis.Instruction;
 import archimulator.common.ContextMapping;
 import archimulator.isa.Memory;
 import archimulator.isa.StaticInstruction;
+import archimulator.isa.StaticInstructionType;
 import archimulator.isa.dissembler.MipsDisassembler;
 import archimulator.os.elf.ElfFile;
 import archimulator.os.elf.ElfSectionHeader;
@@ -39,9 +40,14 @@ import java.util.*;
  * @author Min Cai
  */
 public class BasicProcess extends Process {
-    private Map<Integer, Integer> pcsToMachineInstructions;
+    private SortedMap<Integer, Integer> pcsToMachineInstructions;
     private Map<Integer, StaticInstruction> machineInstructionsToStaticInstructions;
 
+    private int codeBase;
+    private StaticInstruction[] staticInstructions;
+    private Instruction[] codeInstructions;
+    private DecodedBasicBlock[] decodedBasicBlocks;
+
     private Map<String, SortedMap<Integer, Instruction>> instructions;
     private ElfAnalyzer elfAnalyzer;
 
@@ -147,12 +153,65 @@ public class BasicProcess extends Process {
             throw new IllegalArgumentException("'environ' overflow, increment MAX_ENVIRON");
         }
 
+        this.buildTranslationCache();
+
         this.elfAnalyzer = new ElfAnalyzer(elfFileName, elfFile, this.instructions, this.getProgramEntry());
         this.elfAnalyzer.buildControlFlowGraphs();
 
         this.pcToFunctionNameMappingCache = new TreeMap<>();
     }
 
+    /**
+     * Build the flat, PC indexed tables of predecoded static instructions and decoded basic blocks for the code,
+     * and watch the code for writes so that stale translations can be invalidated.
+     */
+    private void buildTranslationCache() {
+        if (this.pcsToMachineInstructions.isEmpty()) {
+            return;
+        }
+
+        this.codeBase = this.pcsToMachineInstructions.firstKey();
+        int numCodeInstructions = ((this.pcsToMachineInstructions.lastKey() - this.codeBase) >> 2) + 1;
+
+        this.staticInstructions = new StaticInstruction[numCodeInstructions];
+        this.codeInstructions = new Instruction[numCodeInstructions];
+        this.decodedBasicBlocks = new DecodedBasicBlock[numCodeInstructions];
+
+        this.pcsToMachineInstructions.forEach((pc, machineInstruction) -> this.staticInstructions[(pc - this.codeBase) >> 2] = this.machineInstructionsToStaticInstructions.get(machineInstruction));
+
+        this.instructions.values().forEach(instructionsInSection -> instructionsInSection.forEach((pc, instruction) -> this.codeInstructions[(pc - this.codeBase) >> 2] = instruction));
+
+        this.pcsToMachineInstructions = null;
+
+        this.getMemory().setCodeWriteListener(this.codeBase, this.codeBase + (numCodeInstructions << 2), this::onCodeWritten);
+    }
+
+    /**
+     * Act on when the specified range of code addresses has been written, by redecoding the affected instructions and
+     * invalidating the decoded basic blocks that contain any of them.
+     *
+     * @param address the starting address
+     * @param size    the size
+     */
+    private void onCodeWritten(int address, int size) {
+        int indexBegin = Math.max(0, (address - this.codeBase) >> 2);
+        int indexEnd = Math.min(this.staticInstructions.length, ((address + size - this.codeBase) + 3) >> 2);
+
+        for (int i = indexBegin; i < indexEnd; i++) {
+            int machineInstruction = this.getMemory().readWord(this.codeBase + (i << 2));
+
+            if (!this.machineInstructionsToStaticInstructions.containsKey(machineInstruction)) {
+                this.machineInstructionsToStaticInstructions.put(machineInstruction, this.decode(machineInstruction));
+            }
+
+            this.staticInstructions[i] = this.machineInstructionsToStaticInstructions.get(machineInstruction);
+        }
+
+        for (int i = Math.max(0, indexBegin - DecodedBasicBlock.MAX_NUM_INSTRUCTIONS + 1); i < indexEnd; i++) {
+            this.decodedBasicBlocks[i] = null;
+        }
+    }
+
     /**
      * Predecode the instruction at the specified program counter (PC).
      *
@@ -170,7 +229,7 @@ public class BasicProcess extends Process {
             this.machineInstructionsToStaticInstructions.put(machineInstruction, staticInstruction);
         }
 
-        this.instructions.get(sectionName).put(pc, new Instruction(this, pc, this.getStaticInstruction(pc)));
+        this.instructions.get(sectionName).put(pc, new Instruction(this, pc, this.machineInstructionsToStaticInstructions.get(machineInstruction)));
     }
 
     /**
@@ -186,7 +245,72 @@ public class BasicProcess extends Process {
 
     @Override
     public StaticInstruction getStaticInstruction(int pc) {
-        return this.machineInstructionsToStaticInstructions.get(this.pcsToMachineInstructions.get(pc));
+        int index = (pc - this.codeBase) >> 2;
+        return this.staticInstructions != null && (pc & 3) == 0 && index >= 0 && index < this.staticInstructions.length ? this.staticInstructions[index] : null;
+    }
+
+    @Override
+    public DecodedBasicBlock getDecodedBasicBlock(int pc) {
+        int index = (pc - this.codeBase) >> 2;
+
+        if (this.staticInstructions == null || (pc & 3) != 0 || index < 0 || index >= this.staticInstructions.length || this.staticInstructions[index] == null) {
+            return null;
+        }
+
+        if (this.decodedBasicBlocks[index] == null) {
+            this.decodedBasicBlocks[index] = this.translate(index);
+        }
+
+        return this.decodedBasicBlocks[index];
+    }
+
+    /**
+     * Translate the straight-line run of predecoded static instructions starting at the specified code index into a decoded basic block.
+     * The decoded basic block ends after a control instruction and its delay slot, after a trap, before the next basic block leader
+     * found by the ELF analyzer, or when it reaches the maximum size.
+     *
+     * @param indexBegin the code index of the first instruction
+     * @return the newly created decoded basic block
+     */
+    private DecodedBasicBlock translate(int indexBegin) {
+        int indexEnd = indexBegin;
+
+        while (indexEnd < this.staticInstructions.length && indexEnd - indexBegin < DecodedBasicBlock.MAX_NUM_INSTRUCTIONS && this.staticInstructions[indexEnd] != null) {
+            if (indexEnd > indexBegin && this.codeInstructions[indexEnd] != null && this.codeInstructions[indexEnd].isLeader()) {
+                break;
+            }
+
+            StaticInstruction staticInstruction = this.staticInstructions[indexEnd++];
+
+            if (staticInstruction.getMnemonic().isControl()) {
+                if (indexEnd < this.staticInstructions.length && this.staticInstructions[indexEnd] != null && indexEnd - indexBegin < DecodedBasicBlock.MAX_NUM_INSTRUCTIONS) {
+                    indexEnd++;
+                }
+                break;
+            }
+
+            if (staticInstruction.getMnemonic().getType() == StaticInstructionType.TRAP) {
+                break;
+            }
+        }
+
+        Instruction firstInstruction = this.codeInstructions[indexBegin];
+
+        return new DecodedBasicBlock(
+                this.codeBase + (indexBegin << 2),
+                Arrays.copyOfRange(this.staticInstructions, indexBegin, indexEnd),
+                firstInstruction != null ? firstInstruction.getBasicBlock() : null
+        );
+    }
+
+    @Override
+    public BasicBlock getBasicBlock(int pc) {
+        int index = (pc - this.codeBase) >> 2;
+        if (this.codeInstructions == null || (pc & 3) != 0 || index < 0 || index >= this.codeInstructions.length || this.codeInstructions[index] == null) {
+            return null;
+        }
+
+        return this.codeInstructions[index].getBasicBlock();
     }
 
     @Override
@@ -29,6 +29,9 @@ import archimulator.isa.ArchitecturalRegisterFile;
 import archimulator.isa.StaticInstruction;
 import archimulator.os.signal.SignalMasks;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Stack;
 
@@ -165,14 +168,53 @@ public class Context extends BasicSimulationObject implements SimulationObject,
      * @return the next static instruction
      */
     public StaticInstruction decodeNextInstruction() {
-        this.getRegisterFile().setPc(this.getRegisterFile().getNpc());
-        this.getRegisterFile().setNpc(this.getRegisterFile().getNnpc());
-        this.getRegisterFile().setNnpc(this.getRegisterFile().getNnpc() + 4);
-        this.getRegisterFile().setGpr(ArchitecturalRegisterFile.REGISTER_ZERO, 0);
+        this.advancePc();
+        return this.decode(this.getRegisterFile().getPc());
+    }
+
+    /**
+     * Advance to the static instruction at the specified index in the specified decoded basic block and return it.
+     *
+     * @param basicBlock the decoded basic block which starts at or before the next PC (program counter)
+     * @param index      the index of the static instruction at the next PC (program counter) in the decoded basic block
+     * @return the next static instruction
+     */
+    public StaticInstruction decodeNextInstruction(DecodedBasicBlock basicBlock, int index) {
+        this.advancePc();
+        return basicBlock.getStaticInstruction(index);
+    }
+
+    /**
+     * Advance the PC (program counter) to the next instruction.
+     */
+    private void advancePc() {
+        ArchitecturalRegisterFile registerFile = this.getRegisterFile();
+
+        registerFile.setPc(registerFile.getNpc());
+        registerFile.setNpc(registerFile.getNnpc());
+        registerFile.setNnpc(registerFile.getNnpc() + 4);
+        registerFile.setGpr(ArchitecturalRegisterFile.REGISTER_ZERO, 0);
 
         this.pseudoCallEncounteredInLastInstructionExecution = false;
+    }
 
-        return this.decode(this.getRegisterFile().getPc());
+    /**
+     * Get the decoded basic block starting at the next PC (program counter).
+     *
+     * @return the decoded basic block starting at the next PC (program counter) if any exists; otherwise null
+     */
+    public DecodedBasicBlock decodeNextBasicBlock() {
+        return this.decodeBasicBlock(this.getRegisterFile().getNpc());
+    }
+
+    /**
+     * Get the decoded basic block starting at the specified mapped PC (program counter).
+     *
+     * @param mappedPc the mapped PC (program counter)
+     * @return the decoded basic block starting at the specified mapped PC (program counter) if any exists; otherwise null
+     */
+    protected DecodedBasicBlock decodeBasicBlock(int mappedPc) {
+        return this.process.getDecodedBasicBlock(mappedPc);
     }
 
     /**
@@ -223,11 +265,79 @@ public class Context extends BasicSimulationObject implements SimulationObject,
 
         if (this.signalFinish != 0 && this.parent != null) {
             this.parent.getSignalMasks().getPending().set(this.signalFinish);
+            this.kernel.wakeUp();
         }
 
 //        Logger.infof(Logger.THREAD, "%s: thread finished\n", this.getThread().getName());
     }
 
+    /**
+     * Save the context's state, except the references to the process and the parent context, to the specified data output.
+     *
+     * @param out the data output
+     * @throws IOException if an I/O error occurs
+     */
+    public void saveTo(DataOutput out) throws IOException {
+        if (this.speculative) {
+            throw new IllegalStateException("context is in the speculative state");
+        }
+
+        out.writeInt(this.id);
+        out.writeInt(this.state.ordinal());
+        out.writeInt(this.signalFinish);
+        out.writeInt(this.threadId);
+        out.writeInt(this.userId);
+        out.writeInt(this.effectiveUserId);
+        out.writeInt(this.groupId);
+        out.writeInt(this.effectiveGroupId);
+        out.writeInt(this.processId);
+        out.writeBoolean(this.pseudoCallEncounteredInLastInstructionExecution);
+
+        this.registerFile.saveTo(out);
+
+        this.signalMasks.getPending().saveTo(out);
+        this.signalMasks.getBlocked().saveTo(out);
+        this.signalMasks.getBackup().saveTo(out);
+
+        out.writeInt(this.functionCallContextStack.size());
+        for (FunctionCallContext functionCallContext : this.functionCallContextStack) {
+            out.writeInt(functionCallContext.getPc());
+            out.writeInt(functionCallContext.getTargetPc());
+        }
+    }
+
+    /**
+     * Load the context's state, except the references to the process and the parent context, from the specified data input.
+     *
+     * @param in the data input
+     * @throws IOException if an I/O error occurs
+     */
+    public void loadFrom(DataInput in) throws IOException {
+        this.id = in.readInt();
+        this.state = ContextState.values()[in.readInt()];
+        this.signalFinish = in.readInt();
+        this.threadId = in.readInt();
+        this.userId = in.readInt();
+        this.effectiveUserId = in.readInt();
+        this.groupId = in.readInt();
+        this.effectiveGroupId = in.readInt();
+        this.processId = in.readInt();
+        this.pseudoCallEncounteredInLastInstructionExecution = in.readBoolean();
+
+        this.registerFile.loadFrom(in);
+
+        this.signalMasks.getPending().loadFrom(in);
+        this.signalMasks.getBlocked().loadFrom(in);
+        this.signalMasks.getBackup().loadFrom(in);
+
+        this.functionCallContextStack.clear();
+        for (int numFunctionCallContexts = in.readInt(); numFunctionCallContexts > 0; numFunctionCallContexts--) {
+            int pc = in.readInt();
+            int targetPc = in.readInt();
+            this.functionCallContextStack.push(new FunctionCallContext(this, pc, targetPc));
+        }
+    }
+
     /**
      * Get the context's ID.
      *
@@ -291,6 +401,15 @@ public class Context extends BasicSimulationObject implements SimulationObject,
         return parent;
     }
 
+    /**
+     * Set the parent context.
+     *
+     * @param parent the parent context
+     */
+    void setParent(Context parent) {
+        this.parent = parent;
+    }
+
     /**
      * Get the kernel creating the context.
      *
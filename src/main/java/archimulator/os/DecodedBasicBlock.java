@@ -0,0 +1,106 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.os;
+
+import archimulator.analysis.BasicBlock;
+import archimulator.isa.StaticInstruction;
+
+/**
+ * Decoded basic block, i.e., a straight-line run of predecoded static instructions starting at a given program counter (PC),
+ * as cached by a process for executing whole blocks during fast forwarding.
+ *
+ * @author Min Cai
+ */
+public class DecodedBasicBlock {
+    private int pc;
+    private StaticInstruction[] staticInstructions;
+    private BasicBlock basicBlock;
+
+    /**
+     * Create a decoded basic block.
+     *
+     * @param pc                 the program counter (PC) of the first instruction
+     * @param staticInstructions the array of constituent static instructions
+     * @param basicBlock         the basic block computed by the ELF analyzer that contains the first instruction, if any
+     */
+    public DecodedBasicBlock(int pc, StaticInstruction[] staticInstructions, BasicBlock basicBlock) {
+        this.pc = pc;
+        this.staticInstructions = staticInstructions;
+        this.basicBlock = basicBlock;
+    }
+
+    /**
+     * Get the program counter (PC) of the first instruction.
+     *
+     * @return the program counter (PC) of the first instruction
+     */
+    public int getPc() {
+        return pc;
+    }
+
+    /**
+     * Get the program counter (PC) of the instruction at the specified index.
+     *
+     * @param index the index of the instruction within the decoded basic block
+     * @return the program counter (PC) of the instruction at the specified index
+     */
+    public int getPc(int index) {
+        return pc + (index << 2);
+    }
+
+    /**
+     * Get the number of constituent static instructions.
+     *
+     * @return the number of constituent static instructions
+     */
+    public int getNumInstructions() {
+        return staticInstructions.length;
+    }
+
+    /**
+     * Get the static instruction at the specified index.
+     *
+     * @param index the index of the instruction within the decoded basic block
+     * @return the static instruction at the specified index
+     */
+    public StaticInstruction getStaticInstruction(int index) {
+        return staticInstructions[index];
+    }
+
+    /**
+     * Get the basic block computed by the ELF analyzer that contains the first instruction.
+     *
+     * @return the basic block computed by the ELF analyzer that contains the first instruction if any exists; otherwise null
+     */
+    public BasicBlock getBasicBlock() {
+        return basicBlock;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DecodedBasicBlock{pc=0x%08x, numInstructions=%d}", pc, staticInstructions.length);
+    }
+
+    /**
+     * The maximum number of static instructions in a decoded basic block.
+     */
+    public static final int MAX_NUM_INSTRUCTIONS = 64;
+}
@@ -21,20 +21,31 @@
 package archimulator.os;
 
 import archimulator.common.BasicSimulationObject;
+import archimulator.common.ContextMapping;
 import archimulator.common.Simulation;
 import archimulator.common.SimulationObject;
 import archimulator.isa.ArchitecturalRegisterFile;
 import archimulator.isa.Memory;
 import archimulator.isa.StaticInstruction;
-import archimulator.os.event.SystemEvent;
+import archimulator.os.event.*;
 import archimulator.os.signal.SignalAction;
 import archimulator.util.buffer.CircularByteBuffer;
 
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Kernel.
@@ -53,6 +64,9 @@ public class Kernel extends BasicSimulationObject implements SimulationObject {
 
     private long currentCycle;
 
+    private boolean wakeupPending;
+    private long nextTimerCycle;
+
     /**
      * Current/maximum process ID.
      */
@@ -93,6 +107,9 @@ public class Kernel extends BasicSimulationObject implements SimulationObject {
         this.processes = new ArrayList<>();
 
         this.systemCallEmulation = new SystemCallEmulation(this);
+
+        this.wakeupPending = false;
+        this.nextTimerCycle = Long.MAX_VALUE;
     }
 
     /**
@@ -185,33 +202,74 @@ public class Kernel extends BasicSimulationObject implements SimulationObject {
      */
     public void scheduleSystemEvent(SystemEvent event) {
         this.systemEvents.add(event);
+        this.wakeUp();
+    }
+
+    /**
+     * Request the pending system events and signals to be processed, because a file descriptor has become ready, a
+     * signal has been sent or unblocked, or the state of a context has changed.
+     */
+    public void wakeUp() {
+        this.wakeupPending = true;
+    }
+
+    /**
+     * Process the pending system events and signals if a wakeup has been requested or a timer has expired since they
+     * were last processed.
+     */
+    public void processWakeups() {
+        if (this.wakeupPending || this.currentCycle >= this.nextTimerCycle) {
+            this.wakeupPending = false;
+
+            this.processSystemEvents();
+            this.processSignals();
+        }
     }
 
     /**
-     * Process the pending list of system events.
+     * Process the pending list of system events. The timer is set to the earliest time at which any of the remaining
+     * events expires, and a wakeup is requested again if any of them is deferred by a speculative context.
      */
     public void processSystemEvents() {
+        this.nextTimerCycle = Long.MAX_VALUE;
+
         for (Iterator<SystemEvent> it = this.systemEvents.iterator(); it.hasNext(); ) {
             SystemEvent e = it.next();
 
             if ((e.getContext().getState() == ContextState.RUNNING || e.getContext().getState() == ContextState.BLOCKED) && !e.getContext().isSpeculative() && e.needProcess()) {
                 it.remove();
                 e.process();
+            } else {
+                if (e.getContext().isSpeculative()) {
+                    this.wakeUp();
+                }
+
+                TimeCriterion timeCriterion = e.getTimeCriterion();
+                if (timeCriterion != null) {
+                    this.nextTimerCycle = Math.min(this.nextTimerCycle, NativeSystemCalls.cycles(timeCriterion.getWhen()));
+                }
             }
         }
     }
 
     /**
-     * Process the pending list of signals.
+     * Process the pending list of signals. A wakeup is requested again if any of the signals is deferred by a
+     * speculative context.
      */
     public void processSignals() {
         for (Context context : this.contexts) {
+            if (!this.mustProcessAnySignal(context)) {
+                continue;
+            }
+
             if ((context.getState() == ContextState.RUNNING || context.getState() == ContextState.BLOCKED) && !context.isSpeculative()) {
-                for (int signal = 1; signal <= MAX_SIGNAL; signal++) {
-                    if (this.mustProcessSignal(context, signal)) {
-                        this.runSignalHandler(context, signal);
-                    }
+                for (int signal = context.getSignalMasks().getPending().findUnblocked(context.getSignalMasks().getBlocked(), 1);
+                     signal != 0;
+                     signal = context.getSignalMasks().getPending().findUnblocked(context.getSignalMasks().getBlocked(), signal + 1)) {
+                    this.runSignalHandler(context, signal);
                 }
+            } else if (context.isSpeculative()) {
+                this.wakeUp();
             }
         }
     }
@@ -333,18 +391,355 @@ public class Kernel extends BasicSimulationObject implements SimulationObject {
         return context.getSignalMasks().getPending().contains(signal) && !context.getSignalMasks().getBlocked().contains(signal);
     }
 
+    /**
+     * Get a value indicating whether any signal must be processed for the specified context or not.
+     *
+     * @param context the context
+     * @return a value indicating whether any signal must be processed for the specified context or not
+     */
+    public boolean mustProcessAnySignal(Context context) {
+        return context.getSignalMasks().getPending().findUnblocked(context.getSignalMasks().getBlocked(), 1) != 0;
+    }
+
     /**
      * Advance one cycle.
      */
     public void advanceOneCycle() {
-        if (this.currentCycle % 1000 == 0) {
-            this.processSystemEvents();
-            this.processSignals();
-        }
+        this.processWakeups();
 
         this.currentCycle++;
     }
 
+    /**
+     * Save the kernel state, including the processes, the contexts, the pipes, the signal actions and the pending
+     * system events, as a checkpoint to the specified file. The checkpoint is written to a temporary file first and
+     * then moved in place, so that concurrent experiments never observe a partially written checkpoint.
+     *
+     * <p>The file starts with a fixed size header holding the offset and the length of the deflated kernel state at
+     * the end of the file. The raw memory pages are stored uncompressed in between, starting at a page aligned offset,
+     * so that a restore maps them from the file instead of inflating them.</p>
+     *
+     * @param file the checkpoint file
+     */
+    public void saveCheckpoint(File file) {
+        try {
+            File directory = file.getAbsoluteFile().getParentFile();
+            if (!directory.exists() && !directory.mkdirs() && !directory.exists()) {
+                throw new IOException("cannot create the checkpoint directory: " + directory);
+            }
+
+            File temporaryFile = File.createTempFile(file.getName(), ".tmp", directory);
+
+            try (FileChannel channel = FileChannel.open(temporaryFile.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteArrayOutputStream state = new ByteArrayOutputStream();
+
+                channel.position(Math.max(CHECKPOINT_HEADER_SIZE, Memory.getPageSize()));
+
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(state)))) {
+                    this.saveTo(out, channel);
+                }
+
+                long stateOffset = channel.position();
+
+                ByteBuffer header = ByteBuffer.allocate(CHECKPOINT_HEADER_SIZE);
+                header.putInt(CHECKPOINT_MAGIC);
+                header.putInt(CHECKPOINT_VERSION);
+                header.putLong(stateOffset);
+                header.putInt(state.size());
+                header.flip();
+
+                writeFully(channel, ByteBuffer.wrap(state.toByteArray()), stateOffset);
+                writeFully(channel, header, 0);
+            } catch (IOException e) {
+                temporaryFile.delete();
+                throw e;
+            }
+
+            Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Create a kernel for the specified simulation from the checkpoint in the specified file. The programs of all the
+     * processes are loaded from the context mappings of the experiment as usual before any of their states is
+     * overwritten by the checkpoint, so that the reloaded pages never alias the restored ones in the backing store.
+     *
+     * @param simulation the simulation object
+     * @param file       the checkpoint file
+     * @return the kernel restored from the checkpoint
+     */
+    public static Kernel loadCheckpoint(Simulation simulation, File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < CHECKPOINT_HEADER_SIZE) {
+                throw new IOException("unsupported checkpoint: " + file);
+            }
+
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, CHECKPOINT_HEADER_SIZE);
+            if (header.getInt() != CHECKPOINT_MAGIC || header.getInt() != CHECKPOINT_VERSION) {
+                throw new IOException("unsupported checkpoint: " + file);
+            }
+
+            long stateOffset = header.getLong();
+            byte[] state = new byte[header.getInt()];
+            channel.map(FileChannel.MapMode.READ_ONLY, stateOffset, state.length).get(state);
+
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(state))))) {
+                Kernel kernel = new Kernel(simulation);
+                kernel.loadFrom(in, channel);
+                return kernel;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Write the remaining bytes in the specified buffer to the specified channel at the specified position.
+     *
+     * @param channel  the channel
+     * @param buffer   the buffer
+     * @param position the position
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * Save the kernel state to the specified data output, appending the memory pages to the specified page channel.
+     *
+     * @param out   the data output
+     * @param pages the page channel
+     * @throws IOException if an I/O error occurs
+     */
+    private void saveTo(DataOutput out, FileChannel pages) throws IOException {
+        out.writeLong(this.currentCycle);
+        out.writeInt(this.currentPid);
+        out.writeInt(this.currentMemoryId);
+        out.writeInt(this.currentContextId);
+        out.writeInt(this.currentFd);
+        out.writeInt(this.getExperiment().currentProcessId);
+        out.writeInt(this.getExperiment().currentMemoryPageId);
+
+        for (SignalAction signalAction : this.signalActions) {
+            signalAction.saveTo(out);
+        }
+
+        out.writeInt(this.pipes.size());
+        for (Pipe pipe : this.pipes) {
+            out.writeInt(pipe.getFileDescriptors()[0]);
+            out.writeInt(pipe.getFileDescriptors()[1]);
+            pipe.getBuffer().saveTo(out);
+        }
+
+        out.writeInt(this.processes.size());
+        for (Process process : this.processes) {
+            out.writeInt(process.getId());
+            out.writeInt(this.getExperiment().getContextMappings().indexOf(process.getContextMapping()));
+        }
+
+        for (Process process : this.processes) {
+            process.saveTo(out, pages);
+        }
+
+        out.writeInt(this.contexts.size());
+        for (Context context : this.contexts) {
+            out.writeInt(context.getProcess().getId());
+            context.saveTo(out);
+        }
+
+        for (Context context : this.contexts) {
+            out.writeInt(context.getParent() != null ? context.getParent().getId() : -1);
+        }
+
+        List<SystemEvent> systemEventsToSave = this.systemEvents.stream().filter(e -> this.contexts.contains(e.getContext())).collect(Collectors.toList());
+
+        out.writeInt(systemEventsToSave.size());
+        for (SystemEvent systemEvent : systemEventsToSave) {
+            this.saveSystemEvent(out, systemEvent);
+        }
+    }
+
+    /**
+     * Load the kernel state from the specified data input, mapping the memory pages from the specified page channel.
+     *
+     * @param in    the data input
+     * @param pages the page channel
+     * @throws IOException if an I/O error occurs
+     */
+    private void loadFrom(DataInput in, FileChannel pages) throws IOException {
+        long currentCycle = in.readLong();
+        int currentPid = in.readInt();
+        int currentMemoryId = in.readInt();
+        int currentContextId = in.readInt();
+        int currentFd = in.readInt();
+        int currentProcessId = in.readInt();
+        int currentMemoryPageId = in.readInt();
+
+        for (SignalAction signalAction : this.signalActions) {
+            signalAction.loadFrom(in);
+        }
+
+        for (int numPipes = in.readInt(); numPipes > 0; numPipes--) {
+            Pipe pipe = new Pipe(new int[]{in.readInt(), in.readInt()});
+            pipe.getBuffer().loadFrom(in);
+            this.pipes.add(pipe);
+        }
+
+        for (int numProcesses = in.readInt(); numProcesses > 0; numProcesses--) {
+            int processId = in.readInt();
+            ContextMapping contextMapping = this.getExperiment().getContextMappings().get(in.readInt());
+
+            Process process = new BasicProcess(this, contextMapping);
+            if (process.getId() != processId) {
+                throw new IOException("unexpected process ID in the checkpoint: " + processId);
+            }
+        }
+
+        for (Process process : this.processes) {
+            process.loadFrom(in, pages);
+        }
+
+        for (int numContexts = in.readInt(); numContexts > 0; numContexts--) {
+            Process process = this.getProcessFromId(in.readInt());
+
+            Context context = new Context(this, process, null, new ArchitecturalRegisterFile(process.isLittleEndian()), 0);
+            context.loadFrom(in);
+            this.contexts.add(context);
+        }
+
+        for (Context context : this.contexts) {
+            context.setParent(this.getContextFromId(in.readInt()));
+        }
+
+        for (int numSystemEvents = in.readInt(); numSystemEvents > 0; numSystemEvents--) {
+            this.systemEvents.add(this.loadSystemEvent(in));
+        }
+
+        this.currentCycle = currentCycle;
+        this.wakeUp();
+        this.currentPid = currentPid;
+        this.currentMemoryId = currentMemoryId;
+        this.currentContextId = currentContextId;
+        this.currentFd = currentFd;
+        this.getExperiment().currentProcessId = currentProcessId;
+        this.getExperiment().currentMemoryPageId = currentMemoryPageId;
+
+        BitSet freeMemoryPageIds = new BitSet();
+        for (Process process : this.processes) {
+            process.getMemory().collectPageIds(freeMemoryPageIds);
+        }
+        freeMemoryPageIds.flip(0, currentMemoryPageId);
+        this.getExperiment().freeMemoryPageIds = freeMemoryPageIds;
+    }
+
+    /**
+     * Save the specified pending system event to the specified data output.
+     *
+     * @param out         the data output
+     * @param systemEvent the pending system event
+     * @throws IOException if an I/O error occurs
+     */
+    private void saveSystemEvent(DataOutput out, SystemEvent systemEvent) throws IOException {
+        out.writeInt(systemEvent.getType().ordinal());
+        out.writeInt(systemEvent.getContext().getId());
+
+        switch (systemEvent.getType()) {
+            case READ:
+                this.saveWaitForFileDescriptorCriterion(out, ((ReadEvent) systemEvent).getWaitForFileDescriptorCriterion());
+                break;
+            case RESUME:
+                out.writeLong(((ResumeEvent) systemEvent).getTimeCriterion().getWhen());
+                break;
+            case WAIT:
+                out.writeInt(((WaitEvent) systemEvent).getWaitForProcessIdCriterion().getProcessId());
+                out.writeBoolean(((WaitEvent) systemEvent).getWaitForProcessIdCriterion().hasProcessIdKilled());
+                break;
+            case POLL:
+                out.writeLong(((PollEvent) systemEvent).getTimeCriterion().getWhen());
+                this.saveWaitForFileDescriptorCriterion(out, ((PollEvent) systemEvent).getWaitForFileDescriptorCriterion());
+                break;
+            case SIGNAL_SUSPEND:
+                break;
+        }
+    }
+
+    /**
+     * Load a pending system event from the specified data input.
+     *
+     * @param in the data input
+     * @return the pending system event
+     * @throws IOException if an I/O error occurs
+     */
+    private SystemEvent loadSystemEvent(DataInput in) throws IOException {
+        SystemEventType type = SystemEventType.values()[in.readInt()];
+        Context context = this.getContextFromId(in.readInt());
+
+        switch (type) {
+            case READ:
+                ReadEvent readEvent = new ReadEvent(context);
+                this.loadWaitForFileDescriptorCriterion(in, readEvent.getWaitForFileDescriptorCriterion());
+                return readEvent;
+            case RESUME:
+                ResumeEvent resumeEvent = new ResumeEvent(context);
+                resumeEvent.getTimeCriterion().setWhen(in.readLong());
+                return resumeEvent;
+            case WAIT:
+                return new WaitEvent(context, new WaitForProcessIdCriterion(in.readInt(), in.readBoolean()));
+            case POLL:
+                PollEvent pollEvent = new PollEvent(context);
+                pollEvent.getTimeCriterion().setWhen(in.readLong());
+                this.loadWaitForFileDescriptorCriterion(in, pollEvent.getWaitForFileDescriptorCriterion());
+                return pollEvent;
+            case SIGNAL_SUSPEND:
+                return new SignalSuspendEvent(context);
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Save the specified wait for file descriptor criterion to the specified data output. The buffer is saved as the
+     * index of the pipe owning it.
+     *
+     * @param out       the data output
+     * @param criterion the wait for file descriptor criterion
+     * @throws IOException if an I/O error occurs
+     */
+    private void saveWaitForFileDescriptorCriterion(DataOutput out, WaitForFileDescriptorCriterion criterion) throws IOException {
+        int pipeIndex = -1;
+        for (int i = 0; i < this.pipes.size(); i++) {
+            if (this.pipes.get(i).getBuffer() == criterion.getBuffer()) {
+                pipeIndex = i;
+                break;
+            }
+        }
+
+        out.writeInt(pipeIndex);
+        out.writeInt(criterion.getAddress());
+        out.writeInt(criterion.getSize());
+        out.writeInt(criterion.getPufds());
+    }
+
+    /**
+     * Load the specified wait for file descriptor criterion from the specified data input.
+     *
+     * @param in        the data input
+     * @param criterion the wait for file descriptor criterion
+     * @throws IOException if an I/O error occurs
+     */
+    private void loadWaitForFileDescriptorCriterion(DataInput in, WaitForFileDescriptorCriterion criterion) throws IOException {
+        int pipeIndex = in.readInt();
+        criterion.setBuffer(pipeIndex != -1 ? this.pipes.get(pipeIndex).getBuffer() : null);
+        criterion.setAddress(in.readInt());
+        criterion.setSize(in.readInt());
+        criterion.setPufds(in.readInt());
+    }
+
     /**
      * Get the list of signal actions.
      *
@@ -413,4 +808,19 @@ public class Kernel extends BasicSimulationObject implements SimulationObject {
      * Maximum signal.
      */
     public static final int MAX_SIGNAL = 64;
+
+    /**
+     * Magic number identifying the kernel checkpoint files.
+     */
+    private static final int CHECKPOINT_MAGIC = 0x4b434b50;
+
+    /**
+     * Version of the kernel checkpoint file format.
+     */
+    private static final int CHECKPOINT_VERSION = 2;
+
+    /**
+     * Size of the kernel checkpoint file header in bytes.
+     */
+    private static final int CHECKPOINT_HEADER_SIZE = 20;
 }
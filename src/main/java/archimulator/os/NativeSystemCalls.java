@@ -161,4 +161,14 @@ public class NativeSystemCalls {
     public static long clock(long numCycles) {
         return CLOCKS_PER_SEC * numCycles / CPU_FREQUENCY;
     }
+
+    /**
+     * Get the smallest number of cycles for which the clocks reach the specified number of clocks.
+     *
+     * @param numClocks the number of clocks
+     * @return the smallest number of cycles for which the clocks reach the specified number of clocks
+     */
+    public static long cycles(long numClocks) {
+        return (numClocks * CPU_FREQUENCY + CLOCKS_PER_SEC - 1) / CLOCKS_PER_SEC;
+    }
 }
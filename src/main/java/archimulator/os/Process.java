@@ -29,11 +29,16 @@ import archimulator.common.ContextMapping;
 import archimulator.common.SimulationObject;
 import archimulator.isa.*;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -103,6 +108,44 @@ public abstract class Process extends BasicSimulationObject implements Simulatio
      */
     protected abstract void loadProgram(Kernel kernel, ContextMapping contextMapping);
 
+    /**
+     * Save the memory layout and the memory of the process to the specified data output and page channel.
+     *
+     * @param out   the data output
+     * @param pages the page channel
+     * @throws IOException if an I/O error occurs
+     */
+    public void saveTo(DataOutput out, FileChannel pages) throws IOException {
+        out.writeInt(this.stackBase);
+        out.writeInt(this.stackSize);
+        out.writeInt(this.textSize);
+        out.writeInt(this.environmentBase);
+        out.writeInt(this.heapTop);
+        out.writeInt(this.dataTop);
+        out.writeInt(this.programEntry);
+
+        this.memory.saveTo(out, pages);
+    }
+
+    /**
+     * Load the memory layout and the memory of the process from the specified data input and page channel.
+     *
+     * @param in    the data input
+     * @param pages the page channel
+     * @throws IOException if an I/O error occurs
+     */
+    public void loadFrom(DataInput in, FileChannel pages) throws IOException {
+        this.stackBase = in.readInt();
+        this.stackSize = in.readInt();
+        this.textSize = in.readInt();
+        this.environmentBase = in.readInt();
+        this.heapTop = in.readInt();
+        this.dataTop = in.readInt();
+        this.programEntry = in.readInt();
+
+        this.memory.loadFrom(in, pages);
+    }
+
     /**
      * Translate the specified file descriptor number.
      *
@@ -138,14 +181,16 @@ public abstract class Process extends BasicSimulationObject implements Simulatio
      * @return the decoded static instruction
      */
     protected StaticInstruction decode(int machineInstruction) {
-        for (Mnemonic mnemonic : StaticInstruction.MNEMONICS) {
-            BitField extraBitField = mnemonic.getExtraBitField();
-            if ((machineInstruction & mnemonic.getMask()) == mnemonic.getBits() && (extraBitField == null || extraBitField.valueOf(machineInstruction) == mnemonic.getExtraBitFieldValue())) {
-                return new StaticInstruction(mnemonic, machineInstruction);
+        return decodedStaticInstructions.computeIfAbsent(machineInstruction, key -> {
+            for (Mnemonic mnemonic : StaticInstruction.MNEMONICS) {
+                BitField extraBitField = mnemonic.getExtraBitField();
+                if ((machineInstruction & mnemonic.getMask()) == mnemonic.getBits() && (extraBitField == null || extraBitField.valueOf(machineInstruction) == mnemonic.getExtraBitFieldValue())) {
+                    return new StaticInstruction(mnemonic, machineInstruction);
+                }
             }
-        }
 
-        throw new IllegalArgumentException();
+            throw new IllegalArgumentException();
+        });
     }
 
     /**
@@ -156,6 +201,22 @@ public abstract class Process extends BasicSimulationObject implements Simulatio
      */
     public abstract StaticInstruction getStaticInstruction(int pc);
 
+    /**
+     * Get the decoded basic block starting at the specified program counter (PC).
+     *
+     * @param pc the program counter (PC)
+     * @return the decoded basic block starting at the specified program counter (PC) if any exists; otherwise null
+     */
+    public abstract DecodedBasicBlock getDecodedBasicBlock(int pc);
+
+    /**
+     * Get the basic block in the control flow graphs that contains the instruction at the specified program counter (PC).
+     *
+     * @param pc the program counter (PC)
+     * @return the basic block that contains the instruction at the specified program counter (PC) if any exists; otherwise null
+     */
+    public abstract BasicBlock getBasicBlock(int pc);
+
     /**
      * Get the ID of the process.
      *
@@ -380,6 +441,12 @@ public abstract class Process extends BasicSimulationObject implements Simulatio
      */
     public static final int MAX_ENVIRON = 16 * 1024;
 
+    /**
+     * Static instructions decoded so far, shared by all the processes of all the experiments running in the JVM.
+     * Static instructions are immutable once created, so that they can be shared safely among concurrently running experiments.
+     */
+    private static final Map<Integer, StaticInstruction> decodedStaticInstructions = new ConcurrentHashMap<>();
+
     /**
      * Round up.
      *
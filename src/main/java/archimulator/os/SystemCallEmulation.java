@@ -341,8 +341,7 @@ public class SystemCallEmulation extends BasicSimulationObject implements Simula
 
 //            System.out.printf("%s\n", context.getRegisterFile().dump());
 
-            context.getKernel().processSystemEvents();
-            context.getKernel().processSignals();
+            context.getKernel().processWakeups();
 
             return true;
         }
@@ -485,6 +484,8 @@ public class SystemCallEmulation extends BasicSimulationObject implements Simula
                     throw new RuntimeException(e);
                 }
             }
+
+            context.getKernel().wakeUp();
         }
 
         context.getRegisterFile().setGpr(ArchitecturalRegisterFile.REGISTER_A3, 0);
@@ -875,6 +876,7 @@ public class SystemCallEmulation extends BasicSimulationObject implements Simula
         }
 
         destContext.getSignalMasks().getPending().set(sig);
+        context.getKernel().wakeUp();
         context.getRegisterFile().setGpr(ArchitecturalRegisterFile.REGISTER_A3, 0);
         context.getRegisterFile().setGpr(ArchitecturalRegisterFile.REGISTER_V0, 0);
 
@@ -994,6 +996,7 @@ public class SystemCallEmulation extends BasicSimulationObject implements Simula
         CircularByteBuffer buffer = context.getKernel().getWriteBuffer(fd);
         if (buffer != null) {
             buffer.write(buf, 0, count);
+            context.getKernel().wakeUp();
             ret = count;
         } else {
             ret = NativeSystemCalls.LIBC.write(fd, buf, count);
@@ -67,6 +67,7 @@ public class PollEvent extends SystemEvent {
      *
      * @return the time criterion
      */
+    @Override
     public TimeCriterion getTimeCriterion() {
         return timeCriterion;
     }
@@ -56,6 +56,7 @@ public class ResumeEvent extends SystemEvent {
      *
      * @return the time criterion
      */
+    @Override
     public TimeCriterion getTimeCriterion() {
         return timeCriterion;
     }
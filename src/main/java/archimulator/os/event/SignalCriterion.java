@@ -21,7 +21,6 @@
 package archimulator.os.event;
 
 import archimulator.os.Context;
-import archimulator.os.Kernel;
 
 /**
  * Signal criterion.
@@ -30,12 +29,6 @@ import archimulator.os.Kernel;
  */
 public class SignalCriterion implements SystemEventCriterion {
     public boolean needProcess(Context context) {
-        for (int signal = 1; signal <= Kernel.MAX_SIGNAL; signal++) {
-            if (context.getKernel().mustProcessSignal(context, signal)) {
-                return true;
-            }
-        }
-
-        return false;
+        return context.getKernel().mustProcessAnySignal(context);
     }
 }
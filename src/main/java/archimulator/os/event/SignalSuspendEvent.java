@@ -54,6 +54,7 @@ public class SignalSuspendEvent extends SystemEvent {
         this.getContext().getKernel().processSignals();
         try {
             this.getContext().getSignalMasks().setBlocked((SignalMask) this.getContext().getSignalMasks().getBackup().clone());
+            this.getContext().getKernel().wakeUp();
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
         }
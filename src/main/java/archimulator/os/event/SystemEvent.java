@@ -54,6 +54,16 @@ public abstract class SystemEvent {
      */
     public abstract void process();
 
+    /**
+     * Get the time criterion after which the system event is processed at the latest, or null if the system event is
+     * not timed.
+     *
+     * @return the time criterion of the system event, or null if the system event is not timed
+     */
+    public TimeCriterion getTimeCriterion() {
+        return null;
+    }
+
     /**
      * Get the context.
      *
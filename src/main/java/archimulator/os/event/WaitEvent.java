@@ -45,6 +45,19 @@ public class WaitEvent extends SystemEvent {
         this.signalCriterion = new SignalCriterion();
     }
 
+    /**
+     * Create a wait event.
+     *
+     * @param context                   the context
+     * @param waitForProcessIdCriterion the wait for process ID criterion
+     */
+    public WaitEvent(Context context, WaitForProcessIdCriterion waitForProcessIdCriterion) {
+        super(context, SystemEventType.WAIT);
+
+        this.waitForProcessIdCriterion = waitForProcessIdCriterion;
+        this.signalCriterion = new SignalCriterion();
+    }
+
     @Override
     public boolean needProcess() {
         return this.waitForProcessIdCriterion.needProcess(this.getContext()) || this.signalCriterion.needProcess(this.getContext());
@@ -50,6 +50,18 @@ public class WaitForProcessIdCriterion implements SystemEventCriterion {
         }
     }
 
+    /**
+     * Create a wait for process ID criterion restored from a checkpoint. No listener is registered for the killed
+     * contexts, the same as for the pending criteria whose listeners are cleared at the region of interest.
+     *
+     * @param processId          the process ID
+     * @param hasProcessIdKilled a value indicating whether a context has been killed or not
+     */
+    public WaitForProcessIdCriterion(int processId, boolean hasProcessIdKilled) {
+        this.processId = processId;
+        this.hasProcessIdKilled = hasProcessIdKilled;
+    }
+
     public boolean needProcess(Context context) {
         return this.getProcessId() == -1 && this.hasProcessIdKilled || this.getProcessId() > 0 && context.getKernel().getContextFromProcessId(this.processId) == null;
     }
@@ -62,4 +74,13 @@ public class WaitForProcessIdCriterion implements SystemEventCriterion {
     public int getProcessId() {
         return processId;
     }
+
+    /**
+     * Get a value indicating whether a context has been killed or not.
+     *
+     * @return a value indicating whether a context has been killed or not
+     */
+    public boolean hasProcessIdKilled() {
+        return hasProcessIdKilled;
+    }
 }
@@ -24,6 +24,10 @@ import archimulator.isa.Memory;
 import archimulator.os.Kernel;
 import archimulator.util.math.MathHelper;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 /**
  * Signal mask.
  *
@@ -91,6 +95,25 @@ public class SignalMask implements Cloneable {
         return MathHelper.containsBit(this.signals[signal / 32], signal % 32);
     }
 
+    /**
+     * Find the lowest signal, not less than the specified signal, that is contained in the signal mask but not in the
+     * specified blocked signal mask.
+     *
+     * @param blocked    the blocked signal mask
+     * @param fromSignal the signal to start searching from
+     * @return the lowest unblocked signal not less than the specified signal, or 0 if there is none
+     */
+    public int findUnblocked(SignalMask blocked, int fromSignal) {
+        for (int i = Math.max(fromSignal, 1) - 1; i < Kernel.MAX_SIGNAL; i = (i / 32 + 1) * 32) {
+            int signals = this.signals[i / 32] & ~blocked.signals[i / 32] & (-1 << (i % 32));
+            if (signals != 0) {
+                return i / 32 * 32 + Integer.numberOfTrailingZeros(signals) + 1;
+            }
+        }
+
+        return 0;
+    }
+
     /**
      * Load the signal mask from the specified address in the specified memory.
      *
@@ -114,4 +137,28 @@ public class SignalMask implements Cloneable {
             memory.writeWord(address + i * 4, this.signals[i]);
         }
     }
+
+    /**
+     * Load the signal mask from the specified data input.
+     *
+     * @param in the data input
+     * @throws IOException if an I/O error occurs
+     */
+    public void loadFrom(DataInput in) throws IOException {
+        for (int i = 0; i < Kernel.MAX_SIGNAL / 32; i++) {
+            this.signals[i] = in.readInt();
+        }
+    }
+
+    /**
+     * Save the signal mask to the specified data output.
+     *
+     * @param out the data output
+     * @throws IOException if an I/O error occurs
+     */
+    public void saveTo(DataOutput out) throws IOException {
+        for (int i = 0; i < Kernel.MAX_SIGNAL / 32; i++) {
+            out.writeInt(this.signals[i]);
+        }
+    }
 }
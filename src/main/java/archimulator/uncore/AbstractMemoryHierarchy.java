@@ -21,7 +21,7 @@
 package archimulator.uncore;
 
 import archimulator.common.*;
-import archimulator.uncore.cache.CacheLine;
+import archimulator.common.stat.StatStore;
 import archimulator.uncore.coherence.msi.controller.*;
 import archimulator.uncore.coherence.msi.message.CoherenceMessage;
 import archimulator.uncore.dram.BasicMemoryController;
@@ -31,11 +31,8 @@ import archimulator.uncore.dram.SimpleMemoryController;
 import archimulator.uncore.tlb.TranslationLookasideBuffer;
 import archimulator.util.event.BlockingEventDispatcher;
 import archimulator.util.event.CycleAccurateEventQueue;
-import archimulator.util.fsm.BasicFiniteStateMachine;
 
-import java.io.Serializable;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Abstract memory hierarchy.
@@ -106,10 +103,10 @@ public abstract class AbstractMemoryHierarchy extends BasicSimulationObject impl
     /**
      * Dump the cache controller finite state machine statistics.
      *
-     * @param stats the list of statistics to be manipulated
+     * @param stats the statistic store to be added to
      */
     @Override
-    public void dumpCacheControllerFsmStats(List<ExperimentStat> stats) {
+    public void dumpCacheControllerFsmStats(StatStore stats) {
         for (CacheController l1IController : this.l1IControllers) {
             dumpCacheControllerFsmStats(stats, l1IController);
         }
@@ -123,27 +120,19 @@ public abstract class AbstractMemoryHierarchy extends BasicSimulationObject impl
     /**
      * Dump the statistics for the specified general cache controller.
      *
-     * @param stats           the list of statistics to be manipulated
+     * @param stats           the statistic store to be added to
      * @param cacheController the general cache controller
      * @param <StateT>        state
      * @param <ConditionT>    transition
      */
-    @SuppressWarnings("unchecked")
-    private <StateT extends Serializable, ConditionT> void dumpCacheControllerFsmStats(List<ExperimentStat> stats, GeneralCacheController<StateT, ConditionT> cacheController) {
-        List<BasicFiniteStateMachine<StateT, ConditionT>> finiteStateMachines = new ArrayList<>();
-
-        for (int set = 0; set < cacheController.getCache().getNumSets(); set++) {
-            for (CacheLine<StateT> line : cacheController.getCache().getLines(set)) {
-                BasicFiniteStateMachine<StateT, ConditionT> fsm = (BasicFiniteStateMachine<StateT, ConditionT>) line.getStateProvider();
-                finiteStateMachines.add(fsm);
-            }
-        }
-
+    private <StateT extends Enum<StateT>, ConditionT extends Enum<ConditionT>> void dumpCacheControllerFsmStats(StatStore stats, GeneralCacheController<StateT, ConditionT> cacheController) {
         Map<String, String> statsMap = new LinkedHashMap<>();
 
-        cacheController.getFsmFactory().dump(PREFIX_CC_FSM + cacheController.getName(), finiteStateMachines, statsMap);
+        cacheController.getFsmFactory().dump(PREFIX_CC_FSM + cacheController.getName(), cacheController::getNumFsmExecutionsByTransition, statsMap);
 
-        stats.addAll(statsMap.entrySet().stream().map(entry -> new ExperimentStat(getSimulation().getPrefix(), entry.getKey(), entry.getValue())).collect(Collectors.toList()));
+        for (Map.Entry<String, String> entry : statsMap.entrySet()) {
+            stats.add(getSimulation().getPrefix(), entry.getKey(), entry.getValue());
+        }
     }
 
     /**
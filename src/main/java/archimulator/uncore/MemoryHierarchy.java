@@ -20,8 +20,8 @@
  */
 package archimulator.uncore;
 
-import archimulator.common.ExperimentStat;
 import archimulator.common.SimulationObject;
+import archimulator.common.stat.StatStore;
 import archimulator.core.Core;
 import archimulator.uncore.coherence.msi.controller.*;
 import archimulator.uncore.coherence.msi.message.CoherenceMessage;
@@ -137,7 +137,7 @@ public interface MemoryHierarchy extends SimulationObject {
     /**
      * Dump the cache controller finite state machine statistics.
      *
-     * @param stats the list of statistics to be manipulated
+     * @param stats the statistic store to be added to
      */
-    void dumpCacheControllerFsmStats(List<ExperimentStat> stats);
+    void dumpCacheControllerFsmStats(StatStore stats);
 }
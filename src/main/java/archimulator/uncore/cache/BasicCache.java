@@ -27,6 +27,7 @@ import archimulator.util.ValueProviderFactory;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -39,6 +40,8 @@ public class BasicCache<StateT extends Serializable> extends BasicSimulationObje
     private String name;
     private CacheGeometry geometry;
     private List<CacheSet<StateT>> sets;
+    private int associativity;
+    private int[] tags;
     private int numTagsInUse;
 
     /**
@@ -50,15 +53,48 @@ public class BasicCache<StateT extends Serializable> extends BasicSimulationObje
      * @param cacheLineStateProviderFactory the cache line state provider factory
      */
     public BasicCache(SimulationObject parent, String name, CacheGeometry geometry, ValueProviderFactory<StateT, ValueProvider<StateT>> cacheLineStateProviderFactory) {
+        this(parent, name, geometry);
+
+        for (int i = 0; i < this.getNumSets(); i++) {
+            this.sets.add(new CacheSet<>(this, this.getAssociativity(), i, cacheLineStateProviderFactory));
+        }
+    }
+
+    /**
+     * Create a basic cache whose lines keep their states in the specified table.
+     *
+     * @param parent     the parent simulation object
+     * @param name       the name
+     * @param geometry   the geometry
+     * @param stateTable the cache line state table
+     */
+    public BasicCache(SimulationObject parent, String name, CacheGeometry geometry, CacheLineStateTable<StateT> stateTable) {
+        this(parent, name, geometry);
+
+        for (int i = 0; i < this.getNumSets(); i++) {
+            this.sets.add(new CacheSet<>(this, this.getAssociativity(), i, stateTable));
+        }
+    }
+
+    /**
+     * Create a basic cache without any sets.
+     *
+     * @param parent   the parent simulation object
+     * @param name     the name
+     * @param geometry the geometry
+     */
+    private BasicCache(SimulationObject parent, String name, CacheGeometry geometry) {
         super(parent);
 
         this.name = name;
         this.geometry = geometry;
 
+        this.associativity = geometry.getAssociativity();
+
+        this.tags = new int[this.getNumSets() * this.associativity];
+        Arrays.fill(this.tags, CacheLine.INVALID_TAG);
+
         this.sets = new ArrayList<>();
-        for (int i = 0; i < this.getNumSets(); i++) {
-            this.sets.add(new CacheSet<>(this, this.getAssociativity(), i, cacheLineStateProviderFactory));
-        }
     }
 
     /**
@@ -89,6 +125,29 @@ public class BasicCache<StateT extends Serializable> extends BasicSimulationObje
         return this.sets.get(set);
     }
 
+    @Override
+    public int findWayOfTag(int set, int tag) {
+        int base = set * this.associativity;
+
+        for (int way = 0; way < this.associativity; way++) {
+            if (this.tags[base + way] == tag) {
+                return way;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int getLineTag(int set, int way) {
+        return this.tags[set * this.associativity + way];
+    }
+
+    @Override
+    public void setLineTag(int set, int way, int tag) {
+        this.tags[set * this.associativity + way] = tag;
+    }
+
     /**
      * Get the name.
      *
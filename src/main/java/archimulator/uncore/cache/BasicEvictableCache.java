@@ -56,6 +56,21 @@ public class BasicEvictableCache<StateT extends Serializable> extends BasicCache
         this.replacementPolicy = CacheReplacementPolicyFactory.createCacheReplacementPolicy(replacementPolicyType, this);
     }
 
+    /**
+     * Create a basic evictable cache whose lines keep their states in the specified table.
+     *
+     * @param parent                the parent simulation object.
+     * @param name                  the name
+     * @param geometry              the geometry
+     * @param replacementPolicyType the replacement policy type
+     * @param stateTable            the cache line state table
+     */
+    public BasicEvictableCache(SimulationObject parent, String name, CacheGeometry geometry, CacheReplacementPolicyType replacementPolicyType, CacheLineStateTable<StateT> stateTable) {
+        super(parent, name, geometry, stateTable);
+
+        this.replacementPolicy = CacheReplacementPolicyFactory.createCacheReplacementPolicy(replacementPolicyType, this);
+    }
+
     /**
      * Get the replacement policy.
      *
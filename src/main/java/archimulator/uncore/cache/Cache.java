@@ -75,15 +75,38 @@ public interface Cache<StateT extends Serializable> extends SimulationObject {
         int tag = this.getTag(address);
         int set = this.getSet(address);
 
-        for (CacheLine<StateT> line : this.getLines(set)) {
-            if (line.getTag() == tag && line.getState() != line.getInitialState()) {
-                return line.getWay();
-            }
-        }
-
-        return -1;
+        int way = this.findWayOfTag(set, tag);
+        return way != -1 && this.getLine(set, way).isValid() ? way : -1;
     }
 
+    /**
+     * Find the way of the line holding the specified tag in the specified set regardless of its state.
+     * Tags other than the invalid tag are unique within a set.
+     *
+     * @param set the set index
+     * @param tag the tag
+     * @return the way of the line holding the specified tag in the specified set if any exists; otherwise -1
+     */
+    int findWayOfTag(int set, int tag);
+
+    /**
+     * Get the tag of the line at the specified set and way.
+     *
+     * @param set the set index
+     * @param way the way
+     * @return the tag of the line at the specified set and way
+     */
+    int getLineTag(int set, int way);
+
+    /**
+     * Set the tag of the line at the specified set and way.
+     *
+     * @param set the set index
+     * @param way the way
+     * @param tag the tag
+     */
+    void setLineTag(int set, int way, int tag);
+
     /**
      * Find the line that matches the specified address.
      *
@@ -37,9 +37,9 @@ public class CacheLine<StateT extends Serializable> extends Params {
     private int set;
     private int way;
 
-    private int tag;
     private MemoryHierarchyAccess access;
     private ValueProvider<StateT> stateProvider;
+    private CacheLineStateTable<StateT> stateTable;
 
     /**
      * Create a cache line.
@@ -54,8 +54,21 @@ public class CacheLine<StateT extends Serializable> extends Params {
         this.set = set;
         this.way = way;
         this.stateProvider = stateProvider;
+    }
 
-        this.tag = -1;
+    /**
+     * Create a cache line whose state is kept in the specified table instead of a state provider of its own.
+     *
+     * @param cache      the parent cache
+     * @param set        the set index
+     * @param way        the way
+     * @param stateTable the cache line state table
+     */
+    public CacheLine(Cache<StateT> cache, int set, int way, CacheLineStateTable<StateT> stateTable) {
+        this.cache = cache;
+        this.set = set;
+        this.way = way;
+        this.stateTable = stateTable;
     }
 
     /**
@@ -88,7 +101,7 @@ public class CacheLine<StateT extends Serializable> extends Params {
     /**
      * Get the state provider.
      *
-     * @return the state provider
+     * @return the state provider if the state is not kept in a cache line state table; otherwise null
      */
     public ValueProvider<StateT> getStateProvider() {
         return stateProvider;
@@ -100,7 +113,7 @@ public class CacheLine<StateT extends Serializable> extends Params {
      * @return the initial state
      */
     public StateT getInitialState() {
-        return getStateProvider().getInitialValue();
+        return this.stateTable != null ? this.stateTable.getInitialLineState() : this.stateProvider.getInitialValue();
     }
 
     /**
@@ -109,7 +122,7 @@ public class CacheLine<StateT extends Serializable> extends Params {
      * @return the tag
      */
     public int getTag() {
-        return tag;
+        return this.cache.getLineTag(this.set, this.way);
     }
 
     /**
@@ -118,21 +131,19 @@ public class CacheLine<StateT extends Serializable> extends Params {
      * @param tag the tag
      */
     public void setTag(int tag) {
-        if (tag != INVALID_TAG) {
-            for (CacheLine<StateT> line : this.cache.getLines(this.set)) {
-                if (line.getTag() == tag) {
-                    throw new IllegalArgumentException();
-                }
-            }
+        if (tag != INVALID_TAG && this.cache.findWayOfTag(this.set, tag) != -1) {
+            throw new IllegalArgumentException();
         }
 
-        if (this.tag == INVALID_TAG && tag != INVALID_TAG) {
+        int oldTag = this.getTag();
+
+        if (oldTag == INVALID_TAG && tag != INVALID_TAG) {
             this.cache.setNumTagsInUse(this.cache.getNumTagsInUse() + 1);
-        } else if (this.tag != INVALID_TAG && tag == INVALID_TAG) {
+        } else if (oldTag != INVALID_TAG && tag == INVALID_TAG) {
             this.cache.setNumTagsInUse(this.cache.getNumTagsInUse() - 1);
         }
 
-        this.tag = tag;
+        this.cache.setLineTag(this.set, this.way, tag);
     }
 
     /**
@@ -159,7 +170,7 @@ public class CacheLine<StateT extends Serializable> extends Params {
      * @return the state
      */
     public StateT getState() {
-        return getStateProvider().get();
+        return this.stateTable != null ? this.stateTable.getLineState(this.set, this.way) : this.stateProvider.get();
     }
 
     /**
@@ -173,6 +184,7 @@ public class CacheLine<StateT extends Serializable> extends Params {
 
     @Override
     public String toString() {
+        int tag = getTag();
         return String.format("%s [%d,%d] {%s} %s", getCache().getName(), getSet(), getWay(), getState(), tag == INVALID_TAG ? "N/A" : String.format("0x%08x", tag));
     }
 
@@ -0,0 +1,47 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.uncore.cache;
+
+import java.io.Serializable;
+
+/**
+ * Table holding the states of all the lines in a cache, indexed by the set index and the way.
+ *
+ * @param <StateT> state
+ * @author Min Cai
+ */
+public interface CacheLineStateTable<StateT extends Serializable> {
+    /**
+     * Get the state of the line at the specified set index and way.
+     *
+     * @param set the set index
+     * @param way the way
+     * @return the state of the line at the specified set index and way
+     */
+    StateT getLineState(int set, int way);
+
+    /**
+     * Get the initial state of the lines.
+     *
+     * @return the initial state of the lines
+     */
+    StateT getInitialLineState();
+}
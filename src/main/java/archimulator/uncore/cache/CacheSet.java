@@ -53,7 +53,23 @@ public class CacheSet<StateT extends Serializable> implements Serializable {
         for (int i = 0; i < associativity; i++) {
             this.lines.add(new CacheLine<>(cache, this.num, i, cacheLineStateProviderFactory.createValueProvider(this.num, i)));
         }
+    }
 
+    /**
+     * Create a cache set whose lines keep their states in the specified table.
+     *
+     * @param cache         the parent cache
+     * @param associativity the associativity
+     * @param num           the cache set number
+     * @param stateTable    the cache line state table
+     */
+    public CacheSet(Cache<StateT> cache, int associativity, int num, CacheLineStateTable<StateT> stateTable) {
+        this.cache = cache;
+        this.num = num;
+        this.lines = new ArrayList<>();
+        for (int i = 0; i < associativity; i++) {
+            this.lines.add(new CacheLine<>(cache, this.num, i, stateTable));
+        }
     }
 
     /**
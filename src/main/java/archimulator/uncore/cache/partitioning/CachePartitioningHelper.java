@@ -25,9 +25,6 @@ import archimulator.common.SimulationType;
 import archimulator.core.Thread;
 import archimulator.uncore.cache.EvictableCache;
 import archimulator.uncore.coherence.msi.controller.DirectoryController;
-import org.paukov.combinatorics.Factory;
-import org.paukov.combinatorics.Generator;
-import org.paukov.combinatorics.ICombinatoricsVector;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -51,6 +48,8 @@ public abstract class CachePartitioningHelper implements Partitioner {
 
     private List<Integer> partition;
 
+    private PartitionSearcher partitionSearcher;
+
     /**
      * Create a cache partitioning helper.
      *
@@ -74,6 +73,8 @@ public abstract class CachePartitioningHelper implements Partitioner {
             partition.add(l2Associativity / this.numThreads);
         }
 
+        this.partitionSearcher = new PartitionSearcher(this.cache.getExperiment().getPartitionSearchType(), this.numThreads, l2Associativity);
+
         this.numCyclesElapsedPerInterval = 5000000;
 
         this.cache.getCycleAccurateEventQueue().getPerCycleEvents().add(() -> {
@@ -172,6 +173,15 @@ public abstract class CachePartitioningHelper implements Partitioner {
         return partition;
     }
 
+    /**
+     * Get the partition searcher.
+     *
+     * @return the partition searcher
+     */
+    public PartitionSearcher getPartitionSearcher() {
+        return partitionSearcher;
+    }
+
     /**
      * Set the partition for the specified set.
      *
@@ -205,25 +215,4 @@ public abstract class CachePartitioningHelper implements Partitioner {
     public static int getThreadIdentifier(Thread thread) {
         return thread.getCore().getNum();
     }
-
-    /**
-     * Divide the integer n into k partitions.
-     *
-     * @param n the integer n to be partitioned
-     * @param k the number of partitions
-     * @return the partition list of the specified integer n
-     */
-    public static List<List<Integer>> partition(int n, int k) {
-        List<List<Integer>> result = new ArrayList<>();
-
-        Generator<Integer> generator = Factory.createCompositionGenerator(n);
-
-        for (ICombinatoricsVector<Integer> vector : generator) {
-            if (vector.getSize() == k) {
-                result.add(vector.getVector());
-            }
-        }
-
-        return result;
-    }
 }
@@ -0,0 +1,131 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.uncore.cache.partitioning;
+
+import archimulator.util.Pair;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Partition search benchmark, which measures the search time of each partition search type against the number of
+ * threads and the associativity on random non-increasing cost curves. The exhaustive search enumerates all the 2^(n - 1)
+ * compositions of the associativity n and is therefore only run for small associativities.
+ *
+ * @author Min Cai
+ */
+public class PartitionSearchBenchmark {
+    private static final int[] NUM_THREADS = new int[]{2, 4, 8, 16};
+    private static final int[] ASSOCIATIVITIES = new int[]{8, 16, 32, 64};
+
+    private static final int NUM_ITERATIONS = 100;
+
+    private static final int NUM_WARMUP_ITERATIONS = 1000;
+
+    private static final int MAX_ASSOCIATIVITY_FOR_EXHAUSTIVE_SEARCH = 20;
+
+    /**
+     * Entry point.
+     *
+     * @param args the arguments
+     */
+    public static void main(String[] args) {
+        Random random = new Random(13);
+
+        System.out.printf("%-20s %8s %8s %16s %12s\n", "type", "threads", "ways", "time (us/search)", "cost/optimal");
+
+        for (int associativity : ASSOCIATIVITIES) {
+            for (int numThreads : NUM_THREADS) {
+                if (associativity < numThreads) {
+                    continue;
+                }
+
+                int[][][] costs = new int[NUM_ITERATIONS][][];
+
+                for (int i = 0; i < NUM_ITERATIONS; i++) {
+                    costs[i] = generateCosts(random, numThreads, associativity);
+                }
+
+                long[] optimalSums = new long[NUM_ITERATIONS];
+
+                for (PartitionSearchType type : new PartitionSearchType[]{PartitionSearchType.DYNAMIC_PROGRAMMING, PartitionSearchType.LOOKAHEAD, PartitionSearchType.EXHAUSTIVE}) {
+                    if (type == PartitionSearchType.EXHAUSTIVE && associativity > MAX_ASSOCIATIVITY_FOR_EXHAUSTIVE_SEARCH) {
+                        System.out.printf("%-20s %8d %8d %16s %12s\n", type, numThreads, associativity, "skipped", "-");
+                        continue;
+                    }
+
+                    PartitionSearcher partitionSearcher = new PartitionSearcher(type, numThreads, associativity);
+
+                    for (int i = 0; i < NUM_WARMUP_ITERATIONS; i++) {
+                        partitionSearcher.search(costs[i % NUM_ITERATIONS]);
+                    }
+
+                    long sum = 0;
+                    long optimalSum = 0;
+
+                    long beginTime = System.nanoTime();
+
+                    for (int i = 0; i < NUM_ITERATIONS; i++) {
+                        Pair<Integer, List<Integer>> result = partitionSearcher.search(costs[i]);
+
+                        if (type == PartitionSearchType.DYNAMIC_PROGRAMMING) {
+                            optimalSums[i] = result.getFirst();
+                        }
+
+                        sum += result.getFirst();
+                        optimalSum += optimalSums[i];
+                    }
+
+                    long elapsedTime = System.nanoTime() - beginTime;
+
+                    System.out.printf(
+                            "%-20s %8d %8d %16.2f %12.4f\n",
+                            type, numThreads, associativity,
+                            (double) elapsedTime / NUM_ITERATIONS / 1000,
+                            optimalSum == 0 ? 1.0 : (double) sum / optimalSum
+                    );
+                }
+            }
+        }
+    }
+
+    /**
+     * Generate random non-increasing cost curves.
+     *
+     * @param random        the random number generator
+     * @param numThreads    the number of threads
+     * @param associativity the associativity
+     * @return the generated cost curves
+     */
+    private static int[][] generateCosts(Random random, int numThreads, int associativity) {
+        int[][] costs = new int[numThreads][associativity + 1];
+
+        for (int i = 0; i < numThreads; i++) {
+            costs[i][associativity] = random.nextInt(1000);
+
+            for (int j = associativity - 1; j >= 1; j--) {
+                costs[i][j] = costs[i][j + 1] + random.nextInt(random.nextBoolean() ? 1000 : 50);
+            }
+        }
+
+        return costs;
+    }
+}
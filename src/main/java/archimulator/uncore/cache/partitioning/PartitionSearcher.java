@@ -0,0 +1,258 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.uncore.cache.partitioning;
+
+import archimulator.util.Pair;
+import org.paukov.combinatorics.Factory;
+import org.paukov.combinatorics.Generator;
+import org.paukov.combinatorics.ICombinatoricsVector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Partition searcher, which finds the partition of the ways in a cache among the threads minimizing the sum of the
+ * per-thread costs. Each thread is allocated at least one way.
+ *
+ * @author Min Cai
+ */
+public class PartitionSearcher {
+    private PartitionSearchType type;
+    private int numThreads;
+    private int associativity;
+
+    private List<List<Integer>> partitions;
+
+    /**
+     * Create a partition searcher.
+     *
+     * @param type          the partition search type
+     * @param numThreads    the number of threads
+     * @param associativity the associativity
+     */
+    public PartitionSearcher(PartitionSearchType type, int numThreads, int associativity) {
+        if (associativity < numThreads) {
+            throw new IllegalArgumentException();
+        }
+
+        this.type = type;
+        this.numThreads = numThreads;
+        this.associativity = associativity;
+    }
+
+    /**
+     * Search for the partition minimizing the sum of the per-thread costs.
+     *
+     * @param costs the per-thread cost curves, where costs[threadId][numWays] is the cost of the specified thread when
+     *              allocated with the specified number of ways (1 to associativity)
+     * @return the minimal sum of the costs and its associated partition
+     */
+    public Pair<Integer, List<Integer>> search(int[][] costs) {
+        switch (this.type) {
+            case EXHAUSTIVE:
+                return this.searchExhaustively(costs);
+            case LOOKAHEAD:
+                return this.searchByLookahead(costs);
+            case DYNAMIC_PROGRAMMING:
+                return this.searchByDynamicProgramming(costs);
+            default:
+                throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * Search for the partition by enumerating all the compositions of the associativity among the threads.
+     *
+     * @param costs the per-thread cost curves
+     * @return the minimal sum of the costs and its associated partition
+     */
+    private Pair<Integer, List<Integer>> searchExhaustively(int[][] costs) {
+        if (this.partitions == null) {
+            this.partitions = partition(this.associativity, this.numThreads);
+        }
+
+        int minSum = Integer.MAX_VALUE;
+        List<Integer> minPartition = null;
+
+        for (List<Integer> partition : this.partitions) {
+            int sum = 0;
+
+            for (int i = 0; i < partition.size(); i++) {
+                sum += costs[i][partition.get(i)];
+            }
+
+            if (sum < minSum) {
+                minSum = sum;
+                minPartition = partition;
+            }
+        }
+
+        return new Pair<>(minSum, minPartition);
+    }
+
+    /**
+     * Search for the partition by the lookahead algorithm in utility-based cache partitioning (UCP): starting from one
+     * way per thread, repeatedly allocate to the thread the number of ways giving the maximal marginal utility per way
+     * until all the ways are allocated.
+     *
+     * @param costs the per-thread cost curves
+     * @return the sum of the costs and the associated partition found
+     */
+    private Pair<Integer, List<Integer>> searchByLookahead(int[][] costs) {
+        int[] allocations = new int[this.numThreads];
+
+        for (int i = 0; i < this.numThreads; i++) {
+            allocations[i] = 1;
+        }
+
+        int balance = this.associativity - this.numThreads;
+
+        while (balance > 0) {
+            double maxMarginalUtility = -1;
+            int winner = -1;
+            int winnerNumWays = 0;
+
+            for (int i = 0; i < this.numThreads; i++) {
+                for (int numWays = 1; numWays <= balance; numWays++) {
+                    double marginalUtility = (double) (costs[i][allocations[i]] - costs[i][allocations[i] + numWays]) / numWays;
+
+                    if (marginalUtility > maxMarginalUtility) {
+                        maxMarginalUtility = marginalUtility;
+                        winner = i;
+                        winnerNumWays = numWays;
+                    }
+                }
+            }
+
+            allocations[winner] += winnerNumWays;
+            balance -= winnerNumWays;
+        }
+
+        return this.toResult(costs, allocations);
+    }
+
+    /**
+     * Search for the partition by dynamic programming, where minSums[i][j] is the minimal sum of the costs of the
+     * first i threads allocated with j ways in total.
+     *
+     * @param costs the per-thread cost curves
+     * @return the minimal sum of the costs and its associated partition
+     */
+    private Pair<Integer, List<Integer>> searchByDynamicProgramming(int[][] costs) {
+        long[][] minSums = new long[this.numThreads + 1][this.associativity + 1];
+        int[][] choices = new int[this.numThreads + 1][this.associativity + 1];
+
+        for (int j = 1; j <= this.associativity; j++) {
+            minSums[0][j] = Long.MAX_VALUE;
+        }
+
+        for (int i = 1; i <= this.numThreads; i++) {
+            for (int j = 0; j <= this.associativity; j++) {
+                minSums[i][j] = Long.MAX_VALUE;
+
+                for (int numWays = 1; numWays <= j - (i - 1); numWays++) {
+                    long previousSum = minSums[i - 1][j - numWays];
+
+                    if (previousSum != Long.MAX_VALUE && previousSum + costs[i - 1][numWays] < minSums[i][j]) {
+                        minSums[i][j] = previousSum + costs[i - 1][numWays];
+                        choices[i][j] = numWays;
+                    }
+                }
+            }
+        }
+
+        int[] allocations = new int[this.numThreads];
+
+        for (int i = this.numThreads, j = this.associativity; i > 0; i--) {
+            allocations[i - 1] = choices[i][j];
+            j -= choices[i][j];
+        }
+
+        return this.toResult(costs, allocations);
+    }
+
+    /**
+     * Get the sum of the costs and the partition for the specified allocations.
+     *
+     * @param costs       the per-thread cost curves
+     * @param allocations the number of ways allocated to each thread
+     * @return the sum of the costs and the partition for the specified allocations
+     */
+    private Pair<Integer, List<Integer>> toResult(int[][] costs, int[] allocations) {
+        int sum = 0;
+        List<Integer> partition = new ArrayList<>();
+
+        for (int i = 0; i < this.numThreads; i++) {
+            sum += costs[i][allocations[i]];
+            partition.add(allocations[i]);
+        }
+
+        return new Pair<>(sum, partition);
+    }
+
+    /**
+     * Divide the integer n into k partitions.
+     *
+     * @param n the integer n to be partitioned
+     * @param k the number of partitions
+     * @return the partition list of the specified integer n
+     */
+    public static List<List<Integer>> partition(int n, int k) {
+        List<List<Integer>> result = new ArrayList<>();
+
+        Generator<Integer> generator = Factory.createCompositionGenerator(n);
+
+        for (ICombinatoricsVector<Integer> vector : generator) {
+            if (vector.getSize() == k) {
+                result.add(vector.getVector());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the partition search type.
+     *
+     * @return the partition search type
+     */
+    public PartitionSearchType getType() {
+        return type;
+    }
+
+    /**
+     * Get the number of threads.
+     *
+     * @return the number of threads
+     */
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    /**
+     * Get the associativity.
+     *
+     * @return the associativity
+     */
+    public int getAssociativity() {
+        return associativity;
+    }
+}
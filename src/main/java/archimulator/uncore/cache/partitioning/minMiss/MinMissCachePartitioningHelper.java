@@ -24,8 +24,8 @@ import archimulator.common.report.ReportNode;
 import archimulator.uncore.MemoryHierarchyAccess;
 import archimulator.uncore.cache.EvictableCache;
 import archimulator.uncore.cache.partitioning.CachePartitioningHelper;
-import archimulator.uncore.cache.partitioning.LRUStack;
 import archimulator.uncore.cache.stackDistanceProfile.StackDistanceProfile;
+import archimulator.uncore.cache.stackDistanceProfile.UtilityMonitor;
 import archimulator.uncore.coherence.event.GeneralCacheControllerServiceNonblockingRequestEvent;
 import archimulator.util.Pair;
 
@@ -41,9 +41,7 @@ import java.util.Map;
 public class MinMissCachePartitioningHelper extends CachePartitioningHelper {
     private Map<Integer, StackDistanceProfile> stackDistanceProfiles;
 
-    private Map<Integer, Map<Integer, LRUStack>> lruStacks;
-
-    private List<List<Integer>> partitions;
+    private UtilityMonitor utilityMonitor;
 
     /**
      * Create a min-miss cache partitioning helper.
@@ -55,10 +53,17 @@ public class MinMissCachePartitioningHelper extends CachePartitioningHelper {
 
         this.stackDistanceProfiles = new LinkedHashMap<>();
 
-        this.lruStacks = new LinkedHashMap<>();
+        this.utilityMonitor = new UtilityMonitor(
+                cache.getNumSets(),
+                cache.getAssociativity(),
+                getNumThreads(),
+                cache.getExperiment().getUtilityMonitorSamplingRatio()
+        );
 
         cache.getBlockingEventDispatcher().addListener(GeneralCacheControllerServiceNonblockingRequestEvent.class, event -> {
-            if (event.getCacheController() == getL2Controller() && shouldInclude(event.getSet())) {
+            if (event.getCacheController() == getL2Controller()
+                    && this.utilityMonitor.isSampled(event.getSet())
+                    && shouldInclude(event.getSet())) {
                 profileStackDistance(event.getAccess());
             }
         });
@@ -83,34 +88,13 @@ public class MinMissCachePartitioningHelper extends CachePartitioningHelper {
         int set = this.getL2Controller().getCache().getSet(tag);
         int threadId = getThreadIdentifier(access.getThread());
 
-        LRUStack lruStack = getLruStack(threadId, set);
-
-        int stackDistance = lruStack.access(tag);
+        int stackDistance = this.utilityMonitor.access(threadId, set, tag);
 
         if (stackDistance == -1) {
-            this.getStackDistanceProfile(threadId).incrementMissCounter();
+            this.getStackDistanceProfile(threadId).incrementMissCounter(this.utilityMonitor.getSamplingRatio());
         } else {
-            this.getStackDistanceProfile(threadId).incrementHitCounter(stackDistance);
-        }
-    }
-
-    /**
-     * Get the LRU stack for the specified thread ID and set index in the L2 cache.
-     *
-     * @param threadId the thread ID
-     * @param set      the set index
-     * @return the LRU stack for the specified thread ID and set index in the L2 cache
-     */
-    private LRUStack getLruStack(int threadId, int set) {
-        if (!this.lruStacks.containsKey(threadId)) {
-            this.lruStacks.put(threadId, new LinkedHashMap<>());
-        }
-
-        if (!this.lruStacks.get(threadId).containsKey(set)) {
-            this.lruStacks.get(threadId).put(set, new LRUStack(threadId, set, this.getL2Controller().getCache().getAssociativity()));
+            this.getStackDistanceProfile(threadId).incrementHitCounter(stackDistance, this.utilityMonitor.getSamplingRatio());
         }
-
-        return this.lruStacks.get(threadId).get(set);
     }
 
     /**
@@ -158,27 +142,17 @@ public class MinMissCachePartitioningHelper extends CachePartitioningHelper {
      * @return the minimal sum of misses and its associated optimal partition
      */
     private Pair<Integer, List<Integer>> getMinMissSumAndPartition() {
-        if (partitions == null) {
-            partitions = partition(getL2Controller().getCache().getAssociativity(), getNumThreads());
-        }
-
-        int minMissSum = Integer.MAX_VALUE;
-        List<Integer> minPartition = null;
+        int associativity = getL2Controller().getCache().getAssociativity();
 
-        for (List<Integer> partition : partitions) {
-            int sum = 0;
-
-            for (int i = 0; i < partition.size(); i++) {
-                sum += this.getTotalMisses(i, partition.get(i));
-            }
+        int[][] totalMisses = new int[getNumThreads()][associativity + 1];
 
-            if (sum < minMissSum) {
-                minMissSum = sum;
-                minPartition = partition;
+        for (int i = 0; i < getNumThreads(); i++) {
+            for (int j = 1; j <= associativity; j++) {
+                totalMisses[i][j] = this.getTotalMisses(i, j);
             }
         }
 
-        return new Pair<>(minMissSum, minPartition);
+        return this.getPartitionSearcher().search(totalMisses);
     }
 
     @Override
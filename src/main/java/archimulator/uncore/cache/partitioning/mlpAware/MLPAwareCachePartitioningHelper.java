@@ -26,8 +26,8 @@ import archimulator.core.event.DynamicInstructionCommittedEvent;
 import archimulator.uncore.MemoryHierarchyAccess;
 import archimulator.uncore.cache.EvictableCache;
 import archimulator.uncore.cache.partitioning.CachePartitioningHelper;
-import archimulator.uncore.cache.partitioning.LRUStack;
 import archimulator.uncore.cache.partitioning.MemoryLatencyMeter;
+import archimulator.uncore.cache.stackDistanceProfile.UtilityMonitor;
 import archimulator.uncore.coherence.event.GeneralCacheControllerServiceNonblockingRequestEvent;
 import archimulator.uncore.coherence.event.LastLevelCacheControllerLineInsertEvent;
 import archimulator.uncore.mlp.PendingL2Hit;
@@ -42,6 +42,10 @@ import java.util.stream.Collectors;
 
 /**
  * Memory level parallelism (MLP) aware cache partitioning helper.
+ * <p>
+ * Set sampling is not supported. The MLP-cost of each in-flight L2 access is divided among the concurrent accesses
+ * with the same or a greater stack distance, and only the accesses to the sampled sets would have stack distances, so
+ * under sampling the concurrency would be undercounted and the MLP-costs inflated towards those of isolated misses.
  *
  * @author Min Cai
  */
@@ -55,19 +59,24 @@ public class MLPAwareCachePartitioningHelper extends CachePartitioningHelper {
 
     private Map<Integer, MLPAwareStackDistanceProfile> mlpAwareStackDistanceProfiles;
 
-    private Map<Integer, Map<Integer, LRUStack>> lruStacks;
+    private UtilityMonitor utilityMonitor;
 
     private Function<Double, Integer> mlpCostQuantizer;
-    private List<List<Integer>> partitions;
 
     /**
      * Create an MLP aware cache partitioning helper.
      *
      * @param cache the cache
+     * @throws IllegalArgumentException if the sampling ratio of the utility monitors is not 1
      */
     public MLPAwareCachePartitioningHelper(EvictableCache<?> cache) {
         super(cache);
 
+        if (cache.getExperiment().getUtilityMonitorSamplingRatio() != 1) {
+            throw new IllegalArgumentException("MLP-aware cache partitioning does not support utility monitor sampling ratios other than 1: "
+                    + cache.getExperiment().getUtilityMonitorSamplingRatio());
+        }
+
         this.pendingL2Misses = new LinkedHashMap<>();
         this.pendingL2Hits = new LinkedHashMap<>();
 
@@ -77,7 +86,12 @@ public class MLPAwareCachePartitioningHelper extends CachePartitioningHelper {
 
         this.mlpAwareStackDistanceProfiles = new LinkedHashMap<>();
 
-        this.lruStacks = new LinkedHashMap<>();
+        this.utilityMonitor = new UtilityMonitor(
+                cache.getNumSets(),
+                cache.getAssociativity(),
+                getNumThreads(),
+                1
+        );
 
         this.mlpCostQuantizer = rawValue -> {
             if (rawValue < 0) {
@@ -194,9 +208,7 @@ public class MLPAwareCachePartitioningHelper extends CachePartitioningHelper {
         int tag = access.getPhysicalTag();
         int set = this.getL2Controller().getCache().getSet(tag);
 
-        LRUStack lruStack = getLruStack(set, getThreadIdentifier(access.getThread()));
-
-        final int stackDistance = lruStack.access(tag);
+        final int stackDistance = this.utilityMonitor.access(getThreadIdentifier(access.getThread()), set, tag);
 
         PendingL2Miss pendingL2Miss = new PendingL2Miss(access, getL2Controller().getCycleAccurateEventQueue().getCurrentCycle()) {
             {
@@ -229,9 +241,9 @@ public class MLPAwareCachePartitioningHelper extends CachePartitioningHelper {
         MLPAwareStackDistanceProfile mlpAwareStackDistanceProfile = this.getMlpAwareStackDistanceProfile(getThreadIdentifier(access.getThread()));
 
         if (pendingL2Miss.getStackDistance() == -1) {
-            mlpAwareStackDistanceProfile.incrementMissCounter(this.mlpCostQuantizer.apply(pendingL2Miss.getMlpCost()));
+            mlpAwareStackDistanceProfile.incrementMissCounter(this.getQuantizedMlpCost(pendingL2Miss.getMlpCost()));
         } else {
-            mlpAwareStackDistanceProfile.incrementHitCounter(pendingL2Miss.getStackDistance(), this.mlpCostQuantizer.apply(pendingL2Miss.getMlpCost()));
+            mlpAwareStackDistanceProfile.incrementHitCounter(pendingL2Miss.getStackDistance(), this.getQuantizedMlpCost(pendingL2Miss.getMlpCost()));
         }
     }
 
@@ -244,9 +256,7 @@ public class MLPAwareCachePartitioningHelper extends CachePartitioningHelper {
         int tag = access.getPhysicalTag();
         int set = this.getL2Controller().getCache().getSet(tag);
 
-        LRUStack lruStack = getLruStack(set, getThreadIdentifier(access.getThread()));
-
-        final int stackDistance = lruStack.access(tag);
+        final int stackDistance = this.utilityMonitor.access(getThreadIdentifier(access.getThread()), set, tag);
 
         PendingL2Hit pendingL2Hit = new PendingL2Hit(access, getL2Controller().getCycleAccurateEventQueue().getCurrentCycle()) {
             {
@@ -281,29 +291,20 @@ public class MLPAwareCachePartitioningHelper extends CachePartitioningHelper {
         MLPAwareStackDistanceProfile mlpAwareStackDistanceProfile = this.getMlpAwareStackDistanceProfile(getThreadIdentifier(access.getThread()));
 
         if (pendingL2Hit.getStackDistance() == -1) {
-            mlpAwareStackDistanceProfile.incrementMissCounter(this.mlpCostQuantizer.apply(pendingL2Hit.getMlpCost()));
+            mlpAwareStackDistanceProfile.incrementMissCounter(this.getQuantizedMlpCost(pendingL2Hit.getMlpCost()));
         } else {
-            mlpAwareStackDistanceProfile.incrementHitCounter(pendingL2Hit.getStackDistance(), this.mlpCostQuantizer.apply(pendingL2Hit.getMlpCost()));
+            mlpAwareStackDistanceProfile.incrementHitCounter(pendingL2Hit.getStackDistance(), this.getQuantizedMlpCost(pendingL2Hit.getMlpCost()));
         }
     }
 
     /**
-     * Get the LRU stack for the specified thread ID and set index in the L2 cache.
+     * Get the quantized value of the specified MLP-cost.
      *
-     * @param threadId the thread ID
-     * @param set      the set index
-     * @return the LRU stack for the specified thread ID and set index in the L2 cache
+     * @param mlpCost the MLP-cost
+     * @return the quantized value of the specified MLP-cost
      */
-    private LRUStack getLruStack(int threadId, int set) {
-        if (!this.lruStacks.containsKey(threadId)) {
-            this.lruStacks.put(threadId, new LinkedHashMap<>());
-        }
-
-        if (!this.lruStacks.get(threadId).containsKey(set)) {
-            this.lruStacks.get(threadId).put(set, new LRUStack(threadId, set, this.getL2Controller().getCache().getAssociativity()));
-        }
-
-        return this.lruStacks.get(threadId).get(set);
+    private int getQuantizedMlpCost(double mlpCost) {
+        return this.mlpCostQuantizer.apply(mlpCost);
     }
 
     /**
@@ -351,27 +352,17 @@ public class MLPAwareCachePartitioningHelper extends CachePartitioningHelper {
      * @return the minimal sum of MLP-cost and its associated optimal partition
      */
     private Pair<Integer, List<Integer>> getOptimalMlpCostSumAndPartition() {
-        if (this.partitions == null) {
-            this.partitions = partition(this.getL2Controller().getCache().getAssociativity(), this.getNumThreads());
-        }
+        int associativity = this.getL2Controller().getCache().getAssociativity();
 
-        int minMlpCostSum = Integer.MAX_VALUE;
-        List<Integer> minPartition = null;
-
-        for (List<Integer> partition : this.partitions) {
-            int sum = 0;
-
-            for (int i = 0; i < partition.size(); i++) {
-                sum += this.getTotalMlpCost(i, partition.get(i));
-            }
+        int[][] totalMlpCosts = new int[this.getNumThreads()][associativity + 1];
 
-            if (sum < minMlpCostSum) {
-                minMlpCostSum = sum;
-                minPartition = partition;
+        for (int i = 0; i < this.getNumThreads(); i++) {
+            for (int j = 1; j <= associativity; j++) {
+                totalMlpCosts[i][j] = this.getTotalMlpCost(i, j);
             }
         }
 
-        return new Pair<>(minMlpCostSum, minPartition);
+        return this.getPartitionSearcher().search(totalMlpCosts);
     }
 
     @Override
@@ -413,11 +404,11 @@ public class MLPAwareCachePartitioningHelper extends CachePartitioningHelper {
     }
 
     /**
-     * Get the map of LRU stacks.
+     * Get the utility monitor.
      *
-     * @return the map of LRU stacks
+     * @return the utility monitor
      */
-    public Map<Integer, Map<Integer, LRUStack>> getLruStacks() {
-        return lruStacks;
+    public UtilityMonitor getUtilityMonitor() {
+        return utilityMonitor;
     }
 }
@@ -24,8 +24,6 @@ import archimulator.uncore.cache.CacheLine;
 import archimulator.uncore.cache.EvictableCache;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Stack based cache replacement policy.
@@ -34,7 +32,10 @@ import java.util.List;
  * @author Min Cai
  */
 public abstract class StackBasedCacheReplacementPolicy<StateT extends Serializable> extends AbstractCacheReplacementPolicy<StateT> {
-    private List<List<Integer>> stackEntries;
+    private int associativity;
+
+    private int[] waysInStackPositions;
+    private int[] stackPositionsOfWays;
 
     /**
      * Create a stack based replacement policy for the specified evictable cache.
@@ -44,13 +45,15 @@ public abstract class StackBasedCacheReplacementPolicy<StateT extends Serializab
     public StackBasedCacheReplacementPolicy(EvictableCache<StateT> cache) {
         super(cache);
 
-        this.stackEntries = new ArrayList<>();
+        this.associativity = this.getCache().getAssociativity();
 
-        for (int set = 0; set < this.getCache().getNumSets(); set++) {
-            this.stackEntries.add(new ArrayList<>());
+        this.waysInStackPositions = new int[this.getCache().getNumSets() * this.associativity];
+        this.stackPositionsOfWays = new int[this.getCache().getNumSets() * this.associativity];
 
-            for (int way = 0; way < this.getCache().getAssociativity(); way++) {
-                this.stackEntries.get(set).add(way);
+        for (int set = 0; set < this.getCache().getNumSets(); set++) {
+            for (int way = 0; way < this.associativity; way++) {
+                this.waysInStackPositions[set * this.associativity + way] = way;
+                this.stackPositionsOfWays[set * this.associativity + way] = way;
             }
         }
     }
@@ -62,7 +65,7 @@ public abstract class StackBasedCacheReplacementPolicy<StateT extends Serializab
      * @return the way in the MRU position in the specified set
      */
     public int getMRU(int set) {
-        return this.getCacheLineInStackPosition(set, 0).getWay();
+        return this.getWayInStackPosition(set, 0);
     }
 
     /**
@@ -72,7 +75,7 @@ public abstract class StackBasedCacheReplacementPolicy<StateT extends Serializab
      * @return the way in the LRU position in the specified set
      */
     public int getLRU(int set) {
-        return this.getCacheLineInStackPosition(set, this.getCache().getAssociativity() - 1).getWay();
+        return this.getWayInStackPosition(set, this.associativity - 1);
     }
 
     /**
@@ -92,7 +95,7 @@ public abstract class StackBasedCacheReplacementPolicy<StateT extends Serializab
      * @param way the way
      */
     public void setLRU(int set, int way) {
-        this.setStackPosition(set, way, this.getCache().getAssociativity() - 1);
+        this.setStackPosition(set, way, this.associativity - 1);
     }
 
     /**
@@ -103,7 +106,7 @@ public abstract class StackBasedCacheReplacementPolicy<StateT extends Serializab
      * @return the way in the specified stack position in the specified set
      */
     public int getWayInStackPosition(int set, int stackPosition) {
-        return this.getCacheLineInStackPosition(set, stackPosition).getWay();
+        return this.waysInStackPositions[set * this.associativity + stackPosition];
     }
 
     /**
@@ -114,7 +117,7 @@ public abstract class StackBasedCacheReplacementPolicy<StateT extends Serializab
      * @return the cache line in the specified stack position in the specified set
      */
     public CacheLine<StateT> getCacheLineInStackPosition(int set, int stackPosition) {
-        return this.getCache().getLine(set, this.stackEntries.get(set).get(stackPosition));
+        return this.getCache().getLine(set, this.getWayInStackPosition(set, stackPosition));
     }
 
     /**
@@ -125,8 +128,7 @@ public abstract class StackBasedCacheReplacementPolicy<StateT extends Serializab
      * @return the stack position (distance) for the specified way in the specified set
      */
     public int getStackPosition(int set, int way) {
-        Integer stackEntry = this.getStackEntry(set, way);
-        return this.stackEntries.get(set).indexOf(stackEntry);
+        return this.stackPositionsOfWays[set * this.associativity + way];
     }
 
     /**
@@ -137,19 +139,24 @@ public abstract class StackBasedCacheReplacementPolicy<StateT extends Serializab
      * @param newStackPosition the new stack position (distance)
      */
     public void setStackPosition(int set, int way, int newStackPosition) {
-        Integer stackEntry = this.getStackEntry(set, way);
-        this.stackEntries.get(set).remove(stackEntry);
-        this.stackEntries.get(set).add(newStackPosition, stackEntry);
-    }
+        int base = set * this.associativity;
+        int oldStackPosition = this.stackPositionsOfWays[base + way];
+
+        if (oldStackPosition > newStackPosition) {
+            for (int stackPosition = oldStackPosition; stackPosition > newStackPosition; stackPosition--) {
+                int wayShifted = this.waysInStackPositions[base + stackPosition - 1];
+                this.waysInStackPositions[base + stackPosition] = wayShifted;
+                this.stackPositionsOfWays[base + wayShifted] = stackPosition;
+            }
+        } else {
+            for (int stackPosition = oldStackPosition; stackPosition < newStackPosition; stackPosition++) {
+                int wayShifted = this.waysInStackPositions[base + stackPosition + 1];
+                this.waysInStackPositions[base + stackPosition] = wayShifted;
+                this.stackPositionsOfWays[base + wayShifted] = stackPosition;
+            }
+        }
 
-    /**
-     * Get the stack entry at the specified set and way.
-     *
-     * @param set the set index
-     * @param way the way
-     * @return the stack entry at the specified set and way
-     */
-    private Integer getStackEntry(int set, int way) {
-        return this.stackEntries.get(set).stream().filter(stackEntry -> stackEntry == way).findFirst().get();
+        this.waysInStackPositions[base + newStackPosition] = way;
+        this.stackPositionsOfWays[base + way] = newStackPosition;
     }
 }
@@ -51,7 +51,17 @@ public class StackDistanceProfile {
      * @param stackDistance the stack distance
      */
     public void incrementHitCounter(int stackDistance) {
-        this.getHitCounters().set(stackDistance, this.getHitCounters().get(stackDistance) + 1);
+        this.incrementHitCounter(stackDistance, 1);
+    }
+
+    /**
+     * Increment the hit counter for the specified stack distance by the specified weight.
+     *
+     * @param stackDistance the stack distance
+     * @param weight        the weight, e.g., the sampling ratio of the utility monitor
+     */
+    public void incrementHitCounter(int stackDistance, int weight) {
+        this.getHitCounters().set(stackDistance, this.getHitCounters().get(stackDistance) + weight);
     }
 
     /**
@@ -69,7 +79,16 @@ public class StackDistanceProfile {
      * Increment the miss counter.
      */
     public void incrementMissCounter() {
-        this.missCounter++;
+        this.incrementMissCounter(1);
+    }
+
+    /**
+     * Increment the miss counter by the specified weight.
+     *
+     * @param weight the weight, e.g., the sampling ratio of the utility monitor
+     */
+    public void incrementMissCounter(int weight) {
+        this.missCounter += weight;
     }
 
     /**
@@ -31,8 +31,6 @@ import archimulator.uncore.coherence.msi.controller.GeneralCacheController;
 
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Stack;
-import java.util.TreeMap;
 
 /**
  * Stack distance profiling helper.
@@ -41,9 +39,12 @@ import java.util.TreeMap;
  */
 public class StackDistanceProfilingHelper implements Reportable {
     private DirectoryController l2Controller;
-    private Map<Integer, Stack<Integer>> l2LruStacks;
+    private UtilityMonitor l2UtilityMonitor;
     private StackDistanceProfile l2StackDistanceProfile;
 
+    private UtilityMonitor sampledL2UtilityMonitor;
+    private StackDistanceProfile sampledL2StackDistanceProfile;
+
     /**
      * Create a stack distance profiling helper.
      *
@@ -51,8 +52,19 @@ public class StackDistanceProfilingHelper implements Reportable {
      */
     public StackDistanceProfilingHelper(Simulation simulation) {
         this.l2Controller = simulation.getProcessor().getMemoryHierarchy().getL2Controller();
-        this.l2LruStacks = new TreeMap<>();
-        this.l2StackDistanceProfile = new StackDistanceProfile(this.l2Controller.getCache().getAssociativity());
+
+        int numSets = this.l2Controller.getCache().getNumSets();
+        int associativity = this.l2Controller.getCache().getAssociativity();
+
+        this.l2UtilityMonitor = new UtilityMonitor(numSets, associativity, 1, 1);
+        this.l2StackDistanceProfile = new StackDistanceProfile(associativity);
+
+        int samplingRatio = simulation.getExperiment().getUtilityMonitorSamplingRatio();
+
+        if (samplingRatio > 1) {
+            this.sampledL2UtilityMonitor = new UtilityMonitor(numSets, associativity, 1, samplingRatio);
+            this.sampledL2StackDistanceProfile = new StackDistanceProfile(associativity);
+        }
 
         simulation.getBlockingEventDispatcher().addListener(GeneralCacheControllerServiceNonblockingRequestEvent.class, event -> {
             if (event.getCacheController() == l2Controller) {
@@ -72,20 +84,7 @@ public class StackDistanceProfilingHelper implements Reportable {
         int tag = access.getPhysicalTag();
         int set = this.l2Controller.getCache().getSet(tag);
 
-        Stack<Integer> lruStack = getLruStack(set);
-
-        int stackDistance = lruStack.search(tag);
-
-        if (stackDistance != -1) {
-            lruStack.remove((Integer) tag);
-            stackDistance--;
-        }
-
-        lruStack.push(tag);
-
-        if (lruStack.size() > this.l2Controller.getCache().getAssociativity()) {
-            lruStack.remove(lruStack.size() - 1);
-        }
+        int stackDistance = this.l2UtilityMonitor.access(0, set, tag);
 
         this.l2Controller.getBlockingEventDispatcher().dispatch(new StackDistanceProfiledEvent(this.l2Controller, access, hitInCache, set, way, stackDistance));
 
@@ -94,6 +93,16 @@ public class StackDistanceProfilingHelper implements Reportable {
         } else {
             this.l2StackDistanceProfile.incrementHitCounter(stackDistance);
         }
+
+        if (this.sampledL2UtilityMonitor != null && this.sampledL2UtilityMonitor.isSampled(set)) {
+            int sampledStackDistance = this.sampledL2UtilityMonitor.access(0, set, tag);
+
+            if (sampledStackDistance == -1) {
+                this.sampledL2StackDistanceProfile.incrementMissCounter(this.sampledL2UtilityMonitor.getSamplingRatio());
+            } else {
+                this.sampledL2StackDistanceProfile.incrementHitCounter(sampledStackDistance, this.sampledL2UtilityMonitor.getSamplingRatio());
+            }
+        }
     }
 
     @Override
@@ -103,31 +112,36 @@ public class StackDistanceProfilingHelper implements Reportable {
                 getChildren().add(new ReportNode(this, "l2StackDistanceProfile/hitCounters", getL2StackDistanceProfile().getHitCounters() + ""));
                 getChildren().add(new ReportNode(this, "l2StackDistanceProfile/missCounter", getL2StackDistanceProfile().getMissCounter() + ""));
                 getChildren().add(new ReportNode(this, "assumedNumMissesDistribution", getAssumedNumMissesDistribution() + ""));
+
+                if (sampledL2StackDistanceProfile != null) {
+                    getChildren().add(new ReportNode(this, "sampledL2StackDistanceProfile/samplingRatio", sampledL2UtilityMonitor.getSamplingRatio() + ""));
+                    getChildren().add(new ReportNode(this, "sampledL2StackDistanceProfile/hitCounters", getSampledL2StackDistanceProfile().getHitCounters() + ""));
+                    getChildren().add(new ReportNode(this, "sampledL2StackDistanceProfile/missCounter", getSampledL2StackDistanceProfile().getMissCounter() + ""));
+                    getChildren().add(new ReportNode(this, "sampledAssumedNumMissesDistribution", getSampledAssumedNumMissesDistribution() + ""));
+                    getChildren().add(new ReportNode(this, "sampledAssumedNumMissesMeanRelativeError", getSampledAssumedNumMissesMeanRelativeError() + ""));
+                }
             }
         });
     }
 
     /**
-     * Get the LRU stack for the specified set in the L2 cache.
+     * Get the number of misses for the assumed associativity.
      *
-     * @param set the set index
-     * @return the LRU stack for the specified set in the L2 cache
+     * @param associativity the assumed associativity
+     * @return the number of misses for the assumed associativity
      */
-    private Stack<Integer> getLruStack(int set) {
-        if (!this.l2LruStacks.containsKey(set)) {
-            this.l2LruStacks.put(set, new Stack<>());
-        }
-
-        return this.l2LruStacks.get(set);
+    public int getAssumedNumMisses(int associativity) {
+        return getAssumedNumMisses(this.l2StackDistanceProfile, associativity);
     }
 
     /**
-     * Get the number of misses for the assumed associativity.
+     * Get the number of misses for the assumed associativity as estimated from the specified stack distance profile.
      *
-     * @param associativity the assumed associativity
-     * @return the number of misses for the assumed associativity
+     * @param stackDistanceProfile the stack distance profile
+     * @param associativity        the assumed associativity
+     * @return the number of misses for the assumed associativity as estimated from the specified stack distance profile
      */
-    public int getAssumedNumMisses(int associativity) {
+    private int getAssumedNumMisses(StackDistanceProfile stackDistanceProfile, int associativity) {
         if (associativity > this.l2Controller.getCache().getAssociativity()) {
             throw new IllegalArgumentException();
         }
@@ -135,10 +149,10 @@ public class StackDistanceProfilingHelper implements Reportable {
         int numMisses = 0;
 
         for (int i = associativity - 1; i < this.l2Controller.getCache().getAssociativity(); i++) {
-            numMisses += this.l2StackDistanceProfile.getHitCounters().get(i);
+            numMisses += stackDistanceProfile.getHitCounters().get(i);
         }
 
-        numMisses += this.l2StackDistanceProfile.getMissCounter();
+        numMisses += stackDistanceProfile.getMissCounter();
 
         return numMisses;
     }
@@ -149,15 +163,63 @@ public class StackDistanceProfilingHelper implements Reportable {
      * @return the distribution of the number of misses for the assumed associativities
      */
     public Map<Integer, Integer> getAssumedNumMissesDistribution() {
+        return getAssumedNumMissesDistribution(this.l2StackDistanceProfile);
+    }
+
+    /**
+     * Get the distribution of the number of misses for the assumed associativities as estimated from the sampled sets.
+     *
+     * @return the distribution of the number of misses for the assumed associativities as estimated from the sampled
+     * sets if set sampling is enabled; otherwise null
+     */
+    public Map<Integer, Integer> getSampledAssumedNumMissesDistribution() {
+        return this.sampledL2StackDistanceProfile != null ? getAssumedNumMissesDistribution(this.sampledL2StackDistanceProfile) : null;
+    }
+
+    /**
+     * Get the distribution of the number of misses for the assumed associativities as estimated from the specified
+     * stack distance profile.
+     *
+     * @param stackDistanceProfile the stack distance profile
+     * @return the distribution of the number of misses for the assumed associativities as estimated from the specified
+     * stack distance profile
+     */
+    private Map<Integer, Integer> getAssumedNumMissesDistribution(StackDistanceProfile stackDistanceProfile) {
         Map<Integer, Integer> result = new LinkedHashMap<>();
 
         for (int associativity = 1; associativity <= this.l2Controller.getCache().getAssociativity(); associativity++) {
-            result.put(associativity, this.getAssumedNumMisses(associativity));
+            result.put(associativity, this.getAssumedNumMisses(stackDistanceProfile, associativity));
         }
 
         return result;
     }
 
+    /**
+     * Get the mean relative error of the number of misses for the assumed associativities as estimated from the
+     * sampled sets, against that obtained from profiling all the sets.
+     *
+     * @return the mean relative error of the number of misses for the assumed associativities as estimated from the
+     * sampled sets if set sampling is enabled; otherwise 0
+     */
+    public double getSampledAssumedNumMissesMeanRelativeError() {
+        if (this.sampledL2StackDistanceProfile == null) {
+            return 0;
+        }
+
+        int associativity = this.l2Controller.getCache().getAssociativity();
+
+        double sumRelativeErrors = 0;
+
+        for (int i = 1; i <= associativity; i++) {
+            int numMisses = this.getAssumedNumMisses(this.l2StackDistanceProfile, i);
+            int sampledNumMisses = this.getAssumedNumMisses(this.sampledL2StackDistanceProfile, i);
+
+            sumRelativeErrors += (double) Math.abs(sampledNumMisses - numMisses) / Math.max(numMisses, 1);
+        }
+
+        return sumRelativeErrors / associativity;
+    }
+
     /**
      * Get the stack distance profile for the L2 cache.
      *
@@ -167,6 +229,16 @@ public class StackDistanceProfilingHelper implements Reportable {
         return l2StackDistanceProfile;
     }
 
+    /**
+     * Get the stack distance profile for the L2 cache as estimated from the sampled sets.
+     *
+     * @return the stack distance profile for the L2 cache as estimated from the sampled sets if set sampling is
+     * enabled; otherwise null
+     */
+    public StackDistanceProfile getSampledL2StackDistanceProfile() {
+        return sampledL2StackDistanceProfile;
+    }
+
     /**
      * An event when a stack distance is profiled.
      */
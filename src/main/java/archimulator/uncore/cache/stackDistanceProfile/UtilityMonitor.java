@@ -0,0 +1,152 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2015 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the Archimulator multicore architectural simulator.
+ * <p>
+ * Archimulator is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * Archimulator is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with Archimulator. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.uncore.cache.stackDistanceProfile;
+
+import archimulator.uncore.cache.CacheLine;
+
+import java.util.Arrays;
+
+/**
+ * Utility monitor, which keeps per-thread LRU stacks of shadow tags for the sampled sets of a cache in a flat primitive
+ * array and reports the stack distance of each access. One in every N sets is sampled, so that profiles built from the
+ * sampled sets are to be scaled up by the sampling ratio N.
+ *
+ * @author Min Cai
+ */
+public class UtilityMonitor {
+    private int numSets;
+    private int associativity;
+    private int numThreads;
+    private int samplingRatio;
+    private int numSampledSets;
+
+    private int[] shadowTags;
+
+    /**
+     * Create a utility monitor.
+     *
+     * @param numSets       the number of sets in the monitored cache
+     * @param associativity the associativity of the monitored cache
+     * @param numThreads    the number of threads
+     * @param samplingRatio the sampling ratio, i.e., one in every samplingRatio sets is sampled
+     */
+    public UtilityMonitor(int numSets, int associativity, int numThreads, int samplingRatio) {
+        if (samplingRatio < 1) {
+            throw new IllegalArgumentException();
+        }
+
+        this.numSets = numSets;
+        this.associativity = associativity;
+        this.numThreads = numThreads;
+        this.samplingRatio = samplingRatio;
+        this.numSampledSets = (numSets + samplingRatio - 1) / samplingRatio;
+
+        this.shadowTags = new int[numThreads * this.numSampledSets * associativity];
+        Arrays.fill(this.shadowTags, CacheLine.INVALID_TAG);
+    }
+
+    /**
+     * Get a value indicating whether the specified set is sampled or not.
+     *
+     * @param set the set index
+     * @return a value indicating whether the specified set is sampled or not
+     */
+    public boolean isSampled(int set) {
+        return set % this.samplingRatio == 0;
+    }
+
+    /**
+     * Access the specified tag in the specified sampled set on behalf of the specified thread.
+     *
+     * @param threadId the thread ID
+     * @param set      the sampled set index
+     * @param tag      the tag
+     * @return the stack distance of the access if the tag is found in the LRU stack; otherwise -1
+     */
+    public int access(int threadId, int set, int tag) {
+        if (!this.isSampled(set)) {
+            throw new IllegalArgumentException();
+        }
+
+        int base = (threadId * this.numSampledSets + set / this.samplingRatio) * this.associativity;
+
+        int stackDistance = -1;
+
+        for (int i = 0; i < this.associativity; i++) {
+            if (this.shadowTags[base + i] == tag) {
+                stackDistance = i;
+                break;
+            }
+        }
+
+        int numShifted = stackDistance == -1 ? this.associativity - 1 : stackDistance;
+
+        System.arraycopy(this.shadowTags, base, this.shadowTags, base + 1, numShifted);
+        this.shadowTags[base] = tag;
+
+        return stackDistance;
+    }
+
+    /**
+     * Get the number of sets in the monitored cache.
+     *
+     * @return the number of sets in the monitored cache
+     */
+    public int getNumSets() {
+        return numSets;
+    }
+
+    /**
+     * Get the associativity of the monitored cache.
+     *
+     * @return the associativity of the monitored cache
+     */
+    public int getAssociativity() {
+        return associativity;
+    }
+
+    /**
+     * Get the number of threads.
+     *
+     * @return the number of threads
+     */
+    public int getNumThreads() {
+        return numThreads;
+    }
+
+    /**
+     * Get the sampling ratio, i.e., one in every samplingRatio sets is sampled.
+     *
+     * @return the sampling ratio
+     */
+    public int getSamplingRatio() {
+        return samplingRatio;
+    }
+
+    /**
+     * Get the number of sampled sets.
+     *
+     * @return the number of sampled sets
+     */
+    public int getNumSampledSets() {
+        return numSampledSets;
+    }
+}
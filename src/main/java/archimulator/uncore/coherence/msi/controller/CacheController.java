@@ -37,6 +37,7 @@ import archimulator.uncore.coherence.msi.fsm.CacheControllerFiniteStateMachine;
 import archimulator.uncore.coherence.msi.fsm.CacheControllerFiniteStateMachineFactory;
 import archimulator.uncore.coherence.msi.message.*;
 import archimulator.uncore.coherence.msi.state.CacheControllerState;
+import archimulator.util.ObjectPool;
 import archimulator.util.action.Action;
 
 import java.util.EnumMap;
@@ -57,6 +58,11 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
     private EnumMap<MemoryHierarchyAccessType, Integer> pendingAccessesPerType;
     private CacheControllerFiniteStateMachineFactory fsmFactory;
 
+    private CacheControllerFiniteStateMachine[] fsms;
+    private ObjectPool<CacheControllerFiniteStateMachine> fsmPool;
+
+    private int id;
+
     /**
      * Create a cache controller.
      *
@@ -67,12 +73,12 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
     public CacheController(MemoryHierarchy memoryHierarchy, final String name, MemoryDeviceType type) {
         super(memoryHierarchy, name, type);
 
-        this.cache = new BasicEvictableCache<>(memoryHierarchy, name, getGeometry(), getReplacementPolicyType(), args -> {
-            int set = (Integer) args[0];
-            int way = (Integer) args[1];
+        this.createLineStates(CacheControllerState.I);
+
+        this.cache = new BasicEvictableCache<>(memoryHierarchy, name, getGeometry(), getReplacementPolicyType(), this);
 
-            return new CacheControllerFiniteStateMachine(name, set, way, this);
-        });
+        this.fsms = new CacheControllerFiniteStateMachine[getGeometry().getNumSets() * getGeometry().getAssociativity()];
+        this.fsmPool = new ObjectPool<>(() -> new CacheControllerFiniteStateMachine(name, this), false);
 
         this.pendingAccesses = new HashMap<>();
 
@@ -201,6 +207,15 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
         return (DirectoryController) super.getNext();
     }
 
+    /**
+     * Get the ID of the L1 cache controller among the L1 cache controllers attached to the same directory controller.
+     *
+     * @return the ID of the L1 cache controller among the L1 cache controllers attached to the same directory controller
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Set the next level directory controller.
      *
@@ -211,6 +226,7 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
             throw new IllegalArgumentException();
         }
 
+        this.id = ((DirectoryController) next).getCacheControllers().size();
         ((DirectoryController) next).getCacheControllers().add(this);
         super.setNext(next);
     }
@@ -266,8 +282,7 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
         final Action onStalledCallback = () -> onLoad(access, tag, loadFlow);
 
         this.access(loadFlow, access, tag, (set, way) -> {
-            CacheLine<CacheControllerState> line = getCache().getLine(set, way);
-            CacheControllerFiniteStateMachine fsm = (CacheControllerFiniteStateMachine) line.getStateProvider();
+            CacheControllerFiniteStateMachine fsm = getFsm(set, way);
             fsm.onEventLoad(loadFlow, tag, loadFlow.getOnCompletedCallback(), onStalledCallback);
         }, onStalledCallback);
     }
@@ -294,8 +309,7 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
         final Action onStalledCallback = () -> onStore(access, tag, storeFlow);
 
         this.access(storeFlow, access, tag, (set, way) -> {
-            CacheLine<CacheControllerState> line = getCache().getLine(set, way);
-            CacheControllerFiniteStateMachine fsm = (CacheControllerFiniteStateMachine) line.getStateProvider();
+            CacheControllerFiniteStateMachine fsm = getFsm(set, way);
             fsm.onEventStore(storeFlow, tag, storeFlow.getOnCompletedCallback(), onStalledCallback);
         }, onStalledCallback);
     }
@@ -307,8 +321,7 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
      */
     private void onFwdGetS(FwdGetSMessage message) {
         int way = this.cache.findWay(message.getTag());
-        CacheLine<CacheControllerState> line = this.getCache().getLine(this.getCache().getSet(message.getTag()), way);
-        CacheControllerFiniteStateMachine fsm = (CacheControllerFiniteStateMachine) line.getStateProvider();
+        CacheControllerFiniteStateMachine fsm = this.getFsm(this.getCache().getSet(message.getTag()), way);
         fsm.onEventFwdGetS(message, message.getRequester(), message.getTag());
     }
 
@@ -319,8 +332,7 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
      */
     private void onFwdGetM(FwdGetMMessage message) {
         int way = this.cache.findWay(message.getTag());
-        CacheLine<CacheControllerState> line = this.getCache().getLine(this.getCache().getSet(message.getTag()), way);
-        CacheControllerFiniteStateMachine fsm = (CacheControllerFiniteStateMachine) line.getStateProvider();
+        CacheControllerFiniteStateMachine fsm = this.getFsm(this.getCache().getSet(message.getTag()), way);
         fsm.onEventFwdGetM(message, message.getRequester(), message.getTag());
     }
 
@@ -331,8 +343,7 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
      */
     private void onInv(InvMessage message) {
         int way = this.cache.findWay(message.getTag());
-        CacheLine<CacheControllerState> line = this.getCache().getLine(this.getCache().getSet(message.getTag()), way);
-        CacheControllerFiniteStateMachine fsm = (CacheControllerFiniteStateMachine) line.getStateProvider();
+        CacheControllerFiniteStateMachine fsm = this.getFsm(this.getCache().getSet(message.getTag()), way);
         fsm.onEventInv(message, message.getRequester(), message.getTag());
     }
 
@@ -343,8 +354,7 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
      */
     private void onRecall(RecallMessage message) {
         int way = this.cache.findWay(message.getTag());
-        CacheLine<CacheControllerState> line = this.getCache().getLine(this.getCache().getSet(message.getTag()), way);
-        CacheControllerFiniteStateMachine fsm = (CacheControllerFiniteStateMachine) line.getStateProvider();
+        CacheControllerFiniteStateMachine fsm = this.getFsm(this.getCache().getSet(message.getTag()), way);
         fsm.onEventRecall(message, message.getTag());
     }
 
@@ -355,8 +365,7 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
      */
     private void onPutAck(PutAckMessage message) {
         int way = this.cache.findWay(message.getTag());
-        CacheLine<CacheControllerState> line = this.getCache().getLine(this.getCache().getSet(message.getTag()), way);
-        CacheControllerFiniteStateMachine fsm = (CacheControllerFiniteStateMachine) line.getStateProvider();
+        CacheControllerFiniteStateMachine fsm = this.getFsm(this.getCache().getSet(message.getTag()), way);
         fsm.onEventPutAck(message, message.getTag());
     }
 
@@ -367,8 +376,7 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
      */
     private void onData(DataMessage message) {
         int way = this.cache.findWay(message.getTag());
-        CacheLine<CacheControllerState> line = this.getCache().getLine(this.getCache().getSet(message.getTag()), way);
-        CacheControllerFiniteStateMachine fsm = (CacheControllerFiniteStateMachine) line.getStateProvider();
+        CacheControllerFiniteStateMachine fsm = this.getFsm(this.getCache().getSet(message.getTag()), way);
         fsm.onEventData(message, message.getSender(), message.getTag(), message.getNumInvAcks());
     }
 
@@ -379,8 +387,7 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
      */
     private void onInvAck(InvAckMessage message) {
         int way = this.cache.findWay(message.getTag());
-        CacheLine<CacheControllerState> line = this.getCache().getLine(this.getCache().getSet(message.getTag()), way);
-        CacheControllerFiniteStateMachine fsm = (CacheControllerFiniteStateMachine) line.getStateProvider();
+        CacheControllerFiniteStateMachine fsm = this.getFsm(this.getCache().getSet(message.getTag()), way);
         fsm.onEventInvAck(message, message.getSender(), message.getTag());
     }
 
@@ -401,8 +408,7 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
             onReplacementCompletedCallback.accept(set, cacheAccess.getWay());
         } else {
             if (cacheAccess.isReplacement()) {
-                CacheLine<CacheControllerState> line = this.getCache().getLine(set, cacheAccess.getWay());
-                CacheControllerFiniteStateMachine fsm = (CacheControllerFiniteStateMachine) line.getStateProvider();
+                CacheControllerFiniteStateMachine fsm = this.getFsm(set, cacheAccess.getWay());
                 fsm.onEventReplacement(producerFlow, tag, cacheAccess,
                         () -> onReplacementCompletedCallback.accept(set, cacheAccess.getWay()),
                         () -> getCycleAccurateEventQueue().schedule(CacheController.this, onReplacementStalledCallback, 1)
@@ -413,6 +419,36 @@ public abstract class CacheController extends GeneralCacheController<CacheContro
         }
     }
 
+    /**
+     * Get the finite state machine bound to the line at the specified set index and way, binding a free one to the line
+     * if the line has no transaction in flight.
+     *
+     * @param set the set index
+     * @param way the way
+     * @return the finite state machine bound to the line at the specified set index and way
+     */
+    public CacheControllerFiniteStateMachine getFsm(int set, int way) {
+        int index = this.getLineIndex(set, way);
+
+        CacheControllerFiniteStateMachine fsm = this.fsms[index];
+        if (fsm == null) {
+            fsm = this.fsms[index] = this.fsmPool.acquire();
+            fsm.reset(set, way);
+        }
+
+        return fsm;
+    }
+
+    /**
+     * Release the specified finite state machine once the transaction in flight on its line is completed.
+     *
+     * @param fsm the finite state machine
+     */
+    public void releaseFsm(CacheControllerFiniteStateMachine fsm) {
+        this.fsms[this.getLineIndex(fsm.getSet(), fsm.getWay())] = null;
+        this.fsmPool.release(fsm);
+    }
+
     /**
      * Get the core.
      *
@@ -32,14 +32,20 @@ import archimulator.uncore.coherence.msi.fsm.DirectoryControllerFiniteStateMachi
 import archimulator.uncore.coherence.msi.message.*;
 import archimulator.uncore.coherence.msi.state.DirectoryControllerState;
 import archimulator.uncore.dram.MemoryController;
+import archimulator.util.ObjectPool;
 import archimulator.util.action.Action;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 /**
- * Directory controller.
+ * Directory controller. The owners and the sharers of the lines are kept in flat arrays indexed by the set index and the
+ * way; the sharers of each line take a fixed number of words of a bit vector indexed by the IDs of the L1 cache
+ * controllers, which is sized to the number of L1 cache controllers attached to the directory controller on the first
+ * sharer being added.
  *
  * @author Min Cai
  */
@@ -49,6 +55,13 @@ public class DirectoryController extends GeneralCacheController<DirectoryControl
     private List<CacheController> cacheControllers;
     private DirectoryControllerFiniteStateMachineFactory fsmFactory;
 
+    private int[] owners;
+    private long[] sharers;
+    private int numSharerWords;
+
+    private DirectoryControllerFiniteStateMachine[] fsms;
+    private ObjectPool<DirectoryControllerFiniteStateMachine> fsmPool;
+
     private int numPendingMemoryAccesses;
 
     /**
@@ -66,19 +79,22 @@ public class DirectoryController extends GeneralCacheController<DirectoryControl
                 getExperiment().getL2LineSize()
         );
 
+        this.createLineStates(DirectoryControllerState.I);
+
         this.cache = new BasicEvictableCache<>(
                 memoryHierarchy,
                 name,
                 getGeometry(),
                 getReplacementPolicyType(),
-                args -> {
-                    int set = (Integer) args[0];
-                    int way = (Integer) args[1];
-
-                    return new DirectoryControllerFiniteStateMachine(name, set, way, this);
-                }
+                this
         );
 
+        this.owners = new int[getGeometry().getNumSets() * getGeometry().getAssociativity()];
+        Arrays.fill(this.owners, -1);
+
+        this.fsms = new DirectoryControllerFiniteStateMachine[getGeometry().getNumSets() * getGeometry().getAssociativity()];
+        this.fsmPool = new ObjectPool<>(() -> new DirectoryControllerFiniteStateMachine(name, this), false);
+
         this.cacheControllers = new ArrayList<>();
 
         this.fsmFactory = DirectoryControllerFiniteStateMachineFactory.getSingleton();
@@ -131,8 +147,7 @@ public class DirectoryController extends GeneralCacheController<DirectoryControl
         final Action onStalledCallback = () -> onGetS(message);
 
         this.access(message, message.getAccess(), message.getRequester(), message.getTag(), (set, way) -> {
-            CacheLine<DirectoryControllerState> line = getCache().getLine(set, way);
-            DirectoryControllerFiniteStateMachine fsm = (DirectoryControllerFiniteStateMachine) line.getStateProvider();
+            DirectoryControllerFiniteStateMachine fsm = getFsm(set, way);
             fsm.onEventGetS(message, message.getRequester(), message.getTag(), onStalledCallback);
         }, onStalledCallback);
     }
@@ -146,8 +161,7 @@ public class DirectoryController extends GeneralCacheController<DirectoryControl
         final Action onStalledCallback = () -> onGetM(message);
 
         this.access(message, message.getAccess(), message.getRequester(), message.getTag(), (set, way) -> {
-            CacheLine<DirectoryControllerState> line = getCache().getLine(set, way);
-            DirectoryControllerFiniteStateMachine fsm = (DirectoryControllerFiniteStateMachine) line.getStateProvider();
+            DirectoryControllerFiniteStateMachine fsm = getFsm(set, way);
             fsm.onEventGetM(message, message.getRequester(), message.getTag(), onStalledCallback);
         }, onStalledCallback);
     }
@@ -162,8 +176,7 @@ public class DirectoryController extends GeneralCacheController<DirectoryControl
         int tag = message.getTag();
 
         int way = this.cache.findWay(tag);
-        CacheLine<DirectoryControllerState> line = this.cache.getLine(this.cache.getSet(tag), way);
-        DirectoryControllerFiniteStateMachine fsm = (DirectoryControllerFiniteStateMachine) line.getStateProvider();
+        DirectoryControllerFiniteStateMachine fsm = this.getFsm(this.cache.getSet(tag), way);
         fsm.onEventRecallAck(message, sender, tag);
     }
 
@@ -181,8 +194,7 @@ public class DirectoryController extends GeneralCacheController<DirectoryControl
         if (way == -1) {
             DirectoryControllerFiniteStateMachine.sendPutAckToReq(message, this, req, tag);
         } else {
-            CacheLine<DirectoryControllerState> line = this.cache.getLine(this.cache.getSet(tag), way);
-            DirectoryControllerFiniteStateMachine fsm = (DirectoryControllerFiniteStateMachine) line.getStateProvider();
+            DirectoryControllerFiniteStateMachine fsm = this.getFsm(this.cache.getSet(tag), way);
             fsm.onEventPutS(message, req, tag);
         }
     }
@@ -201,8 +213,7 @@ public class DirectoryController extends GeneralCacheController<DirectoryControl
         if (tag == -1) {
             DirectoryControllerFiniteStateMachine.sendPutAckToReq(message, this, req, tag);
         } else {
-            CacheLine<DirectoryControllerState> line = this.cache.getLine(this.cache.getSet(tag), way);
-            DirectoryControllerFiniteStateMachine fsm = (DirectoryControllerFiniteStateMachine) line.getStateProvider();
+            DirectoryControllerFiniteStateMachine fsm = this.getFsm(this.cache.getSet(tag), way);
             fsm.onEventPutMAndData(message, req, tag);
         }
     }
@@ -217,8 +228,7 @@ public class DirectoryController extends GeneralCacheController<DirectoryControl
         int tag = message.getTag();
 
         int way = this.cache.findWay(tag);
-        CacheLine<DirectoryControllerState> line = this.cache.getLine(this.cache.getSet(tag), way);
-        DirectoryControllerFiniteStateMachine fsm = (DirectoryControllerFiniteStateMachine) line.getStateProvider();
+        DirectoryControllerFiniteStateMachine fsm = this.getFsm(this.cache.getSet(tag), way);
         fsm.onEventData(message, sender, tag);
     }
 
@@ -236,9 +246,8 @@ public class DirectoryController extends GeneralCacheController<DirectoryControl
         final int set = this.cache.getSet(tag);
 
         for (CacheLine<DirectoryControllerState> line : this.cache.getLines(set)) {
-            DirectoryControllerFiniteStateMachine fsm = (DirectoryControllerFiniteStateMachine) line.getStateProvider();
-            if (line.getState() == DirectoryControllerState.MI_A || line.getState() == DirectoryControllerState.SI_A && fsm.getEvicterTag() == tag) {
-                fsm.stall(onReplacementStalledCallback);
+            if (line.getState() == DirectoryControllerState.MI_A || line.getState() == DirectoryControllerState.SI_A && this.getFsm(set, line.getWay()).getEvicterTag() == tag) {
+                this.getFsm(set, line.getWay()).stall(onReplacementStalledCallback);
                 return;
             }
         }
@@ -248,8 +257,7 @@ public class DirectoryController extends GeneralCacheController<DirectoryControl
             onReplacementCompletedCallback.accept(set, cacheAccess.getWay());
         } else {
             if (cacheAccess.isReplacement()) {
-                CacheLine<DirectoryControllerState> line = this.getCache().getLine(set, cacheAccess.getWay());
-                DirectoryControllerFiniteStateMachine fsm = (DirectoryControllerFiniteStateMachine) line.getStateProvider();
+                DirectoryControllerFiniteStateMachine fsm = this.getFsm(set, cacheAccess.getWay());
                 fsm.onEventReplacement(
                         producerFlow,
                         req,
@@ -264,6 +272,186 @@ public class DirectoryController extends GeneralCacheController<DirectoryControl
         }
     }
 
+    /**
+     * Get the finite state machine bound to the line at the specified set index and way, binding a free one to the line
+     * if the line has no transaction in flight.
+     *
+     * @param set the set index
+     * @param way the way
+     * @return the finite state machine bound to the line at the specified set index and way
+     */
+    public DirectoryControllerFiniteStateMachine getFsm(int set, int way) {
+        int index = this.getLineIndex(set, way);
+
+        DirectoryControllerFiniteStateMachine fsm = this.fsms[index];
+        if (fsm == null) {
+            fsm = this.fsms[index] = this.fsmPool.acquire();
+            fsm.reset(set, way);
+        }
+
+        return fsm;
+    }
+
+    /**
+     * Release the specified finite state machine once the transaction in flight on its line is completed.
+     *
+     * @param fsm the finite state machine
+     */
+    public void releaseFsm(DirectoryControllerFiniteStateMachine fsm) {
+        this.fsms[this.getLineIndex(fsm.getSet(), fsm.getWay())] = null;
+        this.fsmPool.release(fsm);
+    }
+
+    /**
+     * Get the owner L1 cache controller of the line at the specified set index and way.
+     *
+     * @param set the set index
+     * @param way the way
+     * @return the owner L1 cache controller of the line at the specified set index and way if any exists; otherwise null
+     */
+    public CacheController getOwner(int set, int way) {
+        int owner = this.owners[this.getLineIndex(set, way)];
+        return owner != -1 ? this.cacheControllers.get(owner) : null;
+    }
+
+    /**
+     * Set the owner L1 cache controller of the line at the specified set index and way.
+     *
+     * @param set   the set index
+     * @param way   the way
+     * @param owner the owner L1 cache controller, or null if there is no owner
+     */
+    public void setOwner(int set, int way, CacheController owner) {
+        this.owners[this.getLineIndex(set, way)] = owner != null ? owner.getId() : -1;
+    }
+
+    /**
+     * Get a value indicating whether the specified L1 cache controller is a sharer of the line at the specified set index
+     * and way or not.
+     *
+     * @param set             the set index
+     * @param way             the way
+     * @param cacheController the L1 cache controller
+     * @return a value indicating whether the specified L1 cache controller is a sharer of the line at the specified set
+     * index and way or not
+     */
+    public boolean isSharer(int set, int way, CacheController cacheController) {
+        if (cacheController == null || this.sharers == null) {
+            return false;
+        }
+
+        int word = cacheController.getId() >>> 6;
+        return word < this.numSharerWords && (this.sharers[this.getLineIndex(set, way) * this.numSharerWords + word] & (1L << cacheController.getId())) != 0;
+    }
+
+    /**
+     * Add the specified L1 cache controller to the sharers of the line at the specified set index and way.
+     *
+     * @param set             the set index
+     * @param way             the way
+     * @param cacheController the L1 cache controller
+     */
+    public void addSharer(int set, int way, CacheController cacheController) {
+        int word = cacheController.getId() >>> 6;
+
+        if (this.sharers == null || word >= this.numSharerWords) {
+            this.resizeSharers(Math.max(word + 1, (this.cacheControllers.size() + 63) >>> 6));
+        }
+
+        this.sharers[this.getLineIndex(set, way) * this.numSharerWords + word] |= 1L << cacheController.getId();
+    }
+
+    /**
+     * Remove the specified L1 cache controller from the sharers of the line at the specified set index and way.
+     *
+     * @param set             the set index
+     * @param way             the way
+     * @param cacheController the L1 cache controller
+     */
+    public void removeSharer(int set, int way, CacheController cacheController) {
+        if (this.isSharer(set, way, cacheController)) {
+            this.sharers[this.getLineIndex(set, way) * this.numSharerWords + (cacheController.getId() >>> 6)] &= ~(1L << cacheController.getId());
+        }
+    }
+
+    /**
+     * Clear the sharers of the line at the specified set index and way.
+     *
+     * @param set the set index
+     * @param way the way
+     */
+    public void clearSharers(int set, int way) {
+        if (this.sharers != null) {
+            int base = this.getLineIndex(set, way) * this.numSharerWords;
+            Arrays.fill(this.sharers, base, base + this.numSharerWords, 0L);
+        }
+    }
+
+    /**
+     * Get the number of the sharers of the line at the specified set index and way.
+     *
+     * @param set the set index
+     * @param way the way
+     * @return the number of the sharers of the line at the specified set index and way
+     */
+    public int getNumSharers(int set, int way) {
+        if (this.sharers == null) {
+            return 0;
+        }
+
+        int numSharers = 0;
+
+        int base = this.getLineIndex(set, way) * this.numSharerWords;
+        for (int i = 0; i < this.numSharerWords; i++) {
+            numSharers += Long.bitCount(this.sharers[base + i]);
+        }
+
+        return numSharers;
+    }
+
+    /**
+     * Perform the specified action on each sharer of the line at the specified set index and way in the order of the IDs
+     * of the L1 cache controllers.
+     *
+     * @param set    the set index
+     * @param way    the way
+     * @param action the action
+     */
+    public void forEachSharer(int set, int way, Consumer<CacheController> action) {
+        if (this.sharers == null) {
+            return;
+        }
+
+        int base = this.getLineIndex(set, way) * this.numSharerWords;
+        for (int i = 0; i < this.numSharerWords; i++) {
+            long bits = this.sharers[base + i];
+
+            while (bits != 0) {
+                action.accept(this.cacheControllers.get((i << 6) + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * Resize the bit vector of the sharers to the specified number of words per line, keeping the existing sharers.
+     *
+     * @param numSharerWords the number of words per line
+     */
+    private void resizeSharers(int numSharerWords) {
+        int numLines = this.owners.length;
+        long[] sharers = new long[numLines * numSharerWords];
+
+        if (this.sharers != null) {
+            for (int i = 0; i < numLines; i++) {
+                System.arraycopy(this.sharers, i * this.numSharerWords, sharers, i * numSharerWords, this.numSharerWords);
+            }
+        }
+
+        this.sharers = sharers;
+        this.numSharerWords = numSharerWords;
+    }
+
     @Override
     public EvictableCache<DirectoryControllerState> getCache() {
         return cache;
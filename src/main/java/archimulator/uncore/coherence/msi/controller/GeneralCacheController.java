@@ -24,19 +24,22 @@ import archimulator.common.report.ReportNode;
 import archimulator.common.report.Reportable;
 import archimulator.uncore.MemoryHierarchy;
 import archimulator.uncore.cache.CacheGeometry;
+import archimulator.uncore.cache.CacheLineStateTable;
 import archimulator.uncore.cache.EvictableCache;
 import archimulator.uncore.cache.MemoryDeviceType;
 import archimulator.util.fsm.FiniteStateMachineFactory;
 
-import java.io.Serializable;
+import java.util.Arrays;
 
 /**
- * General cache controller.
+ * General cache controller. The states of the lines in the owned cache are kept in a flat array indexed by the set index
+ * and the way, and so are the numbers of executions of the finite state machine transitions, so that the finite state
+ * machines only need to exist while the lines have transactions in flight.
  *
  * @param <StateT> state
  * @author Min Cai
  */
-public abstract class GeneralCacheController<StateT extends Serializable, ConditionT> extends Controller implements Reportable {
+public abstract class GeneralCacheController<StateT extends Enum<StateT>, ConditionT extends Enum<ConditionT>> extends Controller implements Reportable, CacheLineStateTable<StateT> {
     private long numDownwardReadHits;
     private long numDownwardReadMisses;
     private long numDownwardWriteHits;
@@ -44,6 +47,13 @@ public abstract class GeneralCacheController<StateT extends Serializable, Condit
 
     private long numEvictions;
 
+    private StateT initialLineState;
+    private StateT[] lineStateValues;
+    private int associativity;
+    private byte[] lineStates;
+
+    private long[][] numFsmExecutions;
+
     /**
      * Create a general cache controller.
      *
@@ -55,6 +65,82 @@ public abstract class GeneralCacheController<StateT extends Serializable, Condit
         super(memoryHierarchy, name, type);
     }
 
+    /**
+     * Create the array of the states of the lines in the owned cache, with all the lines in the specified initial state.
+     *
+     * @param initialLineState the initial state of the lines
+     */
+    protected void createLineStates(StateT initialLineState) {
+        this.initialLineState = initialLineState;
+        this.lineStateValues = initialLineState.getDeclaringClass().getEnumConstants();
+        this.associativity = getGeometry().getAssociativity();
+        this.lineStates = new byte[getGeometry().getNumSets() * this.associativity];
+        Arrays.fill(this.lineStates, (byte) initialLineState.ordinal());
+    }
+
+    /**
+     * Get the index of the line at the specified set index and way in the arrays of per line information.
+     *
+     * @param set the set index
+     * @param way the way
+     * @return the index of the line at the specified set index and way in the arrays of per line information
+     */
+    protected int getLineIndex(int set, int way) {
+        return set * this.associativity + way;
+    }
+
+    @Override
+    public StateT getLineState(int set, int way) {
+        return this.lineStateValues[this.lineStates[this.getLineIndex(set, way)]];
+    }
+
+    /**
+     * Set the state of the line at the specified set index and way.
+     *
+     * @param set   the set index
+     * @param way   the way
+     * @param state the state
+     */
+    public void setLineState(int set, int way, StateT state) {
+        this.lineStates[this.getLineIndex(set, way)] = (byte) state.ordinal();
+    }
+
+    @Override
+    public StateT getInitialLineState() {
+        return initialLineState;
+    }
+
+    /**
+     * Get the number of executions of the finite state machine transition from the specified state on the specified condition.
+     *
+     * @param state     the state
+     * @param condition the condition
+     * @return the number of executions of the finite state machine transition from the specified state on the specified condition
+     */
+    public long getNumFsmExecutionsByTransition(StateT state, ConditionT condition) {
+        long[] numExecutionsByCondition = this.numFsmExecutions != null ? this.numFsmExecutions[state.ordinal()] : null;
+        return numExecutionsByCondition != null ? numExecutionsByCondition[condition.ordinal()] : 0L;
+    }
+
+    /**
+     * Increment the number of executions of the finite state machine transition from the specified state on the specified condition.
+     *
+     * @param state     the state
+     * @param condition the condition
+     */
+    public void incrementNumFsmExecutionsByTransition(StateT state, ConditionT condition) {
+        if (this.numFsmExecutions == null) {
+            this.numFsmExecutions = new long[this.lineStateValues.length][];
+        }
+
+        long[] numExecutionsByCondition = this.numFsmExecutions[state.ordinal()];
+        if (numExecutionsByCondition == null) {
+            numExecutionsByCondition = this.numFsmExecutions[state.ordinal()] = new long[condition.getDeclaringClass().getEnumConstants().length];
+        }
+
+        numExecutionsByCondition[condition.ordinal()]++;
+    }
+
     /**
      * Get the owned evictable cache.
      *
@@ -40,6 +40,8 @@ public abstract class CacheCoherenceFlow extends Params implements Node {
     private CacheCoherenceFlow producerFlow;
     private CacheCoherenceFlow ancestorFlow;
     private List<CacheCoherenceFlow> childFlows;
+    private CacheCoherenceFlow previousPendingFlow;
+    private CacheCoherenceFlow nextPendingFlow;
     private int numPendingDescendantFlows;
     private long beginCycle;
     private long endCycle;
@@ -60,7 +62,7 @@ public abstract class CacheCoherenceFlow extends Params implements Node {
         this.generator = generator;
         this.producerFlow = producerFlow;
         this.ancestorFlow = producerFlow == null ? this : producerFlow.ancestorFlow;
-        this.childFlows = new ArrayList<>();
+        this.childFlows = generator.getExperiment().getPendingFlowTreeDumpEnabled() ? new ArrayList<>() : null;
         this.access = access;
         this.tag = tag;
 
@@ -73,8 +75,8 @@ public abstract class CacheCoherenceFlow extends Params implements Node {
     private void onCreate() {
         this.beginCycle = this.generator.getCycleAccurateEventQueue().getCurrentCycle();
         if (this.producerFlow == null) {
-            this.generator.getSimulation().pendingFlows.add(this);
-        } else {
+            this.generator.getSimulation().addPendingFlow(this);
+        } else if (this.producerFlow.childFlows != null) {
             this.producerFlow.childFlows.add(this);
         }
         this.ancestorFlow.numPendingDescendantFlows++;
@@ -89,7 +91,7 @@ public abstract class CacheCoherenceFlow extends Params implements Node {
         this.ancestorFlow.numPendingDescendantFlows--;
 
         if (this.ancestorFlow.numPendingDescendantFlows == 0) {
-            this.generator.getSimulation().pendingFlows.remove(this.ancestorFlow);
+            this.generator.getSimulation().removePendingFlow(this.ancestorFlow);
         }
     }
 
@@ -123,12 +125,48 @@ public abstract class CacheCoherenceFlow extends Params implements Node {
     /**
      * Get the list of child flows.
      *
-     * @return the list of child flows
+     * @return the list of child flows if dumping the tree of the pending cache coherence flows is enabled; otherwise null
      */
     public List<CacheCoherenceFlow> getChildFlows() {
         return childFlows;
     }
 
+    /**
+     * Get the previous pending cache coherence flow in the list of the pending cache coherence flows.
+     *
+     * @return the previous pending cache coherence flow in the list of the pending cache coherence flows
+     */
+    public CacheCoherenceFlow getPreviousPendingFlow() {
+        return previousPendingFlow;
+    }
+
+    /**
+     * Set the previous pending cache coherence flow in the list of the pending cache coherence flows.
+     *
+     * @param previousPendingFlow the previous pending cache coherence flow in the list of the pending cache coherence flows
+     */
+    public void setPreviousPendingFlow(CacheCoherenceFlow previousPendingFlow) {
+        this.previousPendingFlow = previousPendingFlow;
+    }
+
+    /**
+     * Get the next pending cache coherence flow in the list of the pending cache coherence flows.
+     *
+     * @return the next pending cache coherence flow in the list of the pending cache coherence flows
+     */
+    public CacheCoherenceFlow getNextPendingFlow() {
+        return nextPendingFlow;
+    }
+
+    /**
+     * Set the next pending cache coherence flow in the list of the pending cache coherence flows.
+     *
+     * @param nextPendingFlow the next pending cache coherence flow in the list of the pending cache coherence flows
+     */
+    public void setNextPendingFlow(CacheCoherenceFlow nextPendingFlow) {
+        this.nextPendingFlow = nextPendingFlow;
+    }
+
     /**
      * Get the cycle when the cache coherence flow begins.
      *
@@ -35,20 +35,24 @@ import archimulator.uncore.coherence.msi.flow.LoadFlow;
 import archimulator.uncore.coherence.msi.flow.StoreFlow;
 import archimulator.uncore.coherence.msi.message.*;
 import archimulator.uncore.coherence.msi.state.CacheControllerState;
-import archimulator.util.ValueProvider;
+import archimulator.util.Params;
+import archimulator.util.Recyclable;
 import archimulator.util.action.Action;
 import archimulator.util.fsm.BasicFiniteStateMachine;
-import archimulator.util.fsm.event.ExitStateEvent;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
- * L1 cache controller finite state machine.
+ * L1 cache controller finite state machine. The machine is only bound to a line while the line has a transaction in
+ * flight; the state of the line and the numbers of executions of the transitions are kept in the owning L1 cache
+ * controller, and the machine is handed back to the L1 cache controller once the line settles in a stable state with no
+ * pending work.
  *
  * @author Min Cai
  */
-public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<CacheControllerState, CacheControllerEventType> implements ValueProvider<CacheControllerState> {
+public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<CacheControllerState, CacheControllerEventType> implements Recyclable {
     private CacheController cacheController;
     private CacheControllerState previousState;
     private int set;
@@ -56,25 +60,61 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
 
     private int numInvAcks;
 
-    private List<Action> stalledEvents = new ArrayList<>();
+    private List<Action> stalledEvents;
 
     private Action onCompletedCallback;
 
+    private int numTransitionsInProgress;
+
+    private boolean released;
+
     /**
-     * Create an L1 cache controller finite state machine.
+     * Create an L1 cache controller finite state machine. The machine is in the released state until {@link #reset} is
+     * called.
      *
      * @param name            the name
-     * @param set             the set index
-     * @param way             the way
      * @param cacheController the L1 cache controller
      */
-    public CacheControllerFiniteStateMachine(String name, int set, int way, final CacheController cacheController) {
+    public CacheControllerFiniteStateMachine(String name, final CacheController cacheController) {
         super(name, CacheControllerState.I);
+        this.cacheController = cacheController;
+        this.released = true;
+    }
+
+    /**
+     * Reset the L1 cache controller finite state machine and bind it to the line at the specified set index and way.
+     *
+     * @param set the set index
+     * @param way the way
+     */
+    public void reset(int set, int way) {
         this.set = set;
         this.way = way;
-        this.cacheController = cacheController;
+        this.released = false;
+    }
 
-        this.addListener(ExitStateEvent.class, exitStateEvent -> previousState = getState());
+    @Override
+    public void release() {
+        this.previousState = null;
+        this.numInvAcks = 0;
+        this.stalledEvents = null;
+        this.onCompletedCallback = null;
+        this.released = true;
+    }
+
+    @Override
+    public boolean isReleased() {
+        return released;
+    }
+
+    /**
+     * Get a value indicating whether the line has a transaction in flight or not, that is, whether the line is in a
+     * transient state or has any pending work.
+     *
+     * @return a value indicating whether the line has a transaction in flight or not
+     */
+    public boolean hasTransactionInFlight() {
+        return !this.getState().isStable() || this.stalledEvents != null || this.onCompletedCallback != null || this.numInvAcks != 0;
     }
 
     /**
@@ -87,7 +127,7 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      */
     public void onEventLoad(LoadFlow producerFlow, int tag, Action onCompletedCallback, Action onStalledCallback) {
         LoadEvent loadEvent = new LoadEvent(cacheController, producerFlow, tag, set, way, onCompletedCallback, onStalledCallback, producerFlow.getAccess());
-        this.fireTransition(producerFlow.getAccess().getThread().getName() + "." + String.format("0x%08x", tag), loadEvent);
+        this.fireTransition(producerFlow.getAccess().getThread().getName(), tag, loadEvent);
     }
 
     /**
@@ -100,7 +140,7 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      */
     public void onEventStore(StoreFlow producerFlow, int tag, Action onCompletedCallback, Action onStalledCallback) {
         StoreEvent storeEvent = new StoreEvent(cacheController, producerFlow, tag, set, way, onCompletedCallback, onStalledCallback, producerFlow.getAccess());
-        this.fireTransition(producerFlow.getAccess().getThread().getName() + "." + String.format("0x%08x", tag), storeEvent);
+        this.fireTransition(producerFlow.getAccess().getThread().getName(), tag, storeEvent);
     }
 
     /**
@@ -114,7 +154,7 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      */
     public void onEventReplacement(CacheCoherenceFlow producerFlow, int tag, CacheAccess<CacheControllerState> cacheAccess, Action onCompletedCallback, Action onStalledCallback) {
         ReplacementEvent replacementEvent = new ReplacementEvent(cacheController, producerFlow, tag, cacheAccess, set, way, onCompletedCallback, onStalledCallback, producerFlow.getAccess());
-        this.fireTransition(producerFlow.getAccess().getThread().getName() + "." + String.format("0x%08x", tag), replacementEvent);
+        this.fireTransition(producerFlow.getAccess().getThread().getName(), tag, replacementEvent);
     }
 
     /**
@@ -126,7 +166,7 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      */
     public void onEventFwdGetS(CacheCoherenceFlow producerFlow, CacheController requester, int tag) {
         FwdGetSEvent fwdGetSEvent = new FwdGetSEvent(cacheController, producerFlow, requester, tag, producerFlow.getAccess());
-        this.fireTransition(requester + "." + String.format("0x%08x", tag), fwdGetSEvent);
+        this.fireTransition(requester, tag, fwdGetSEvent);
     }
 
     /**
@@ -138,7 +178,7 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      */
     public void onEventFwdGetM(CacheCoherenceFlow producerFlow, CacheController requester, int tag) {
         FwdGetMEvent fwdGetMEvent = new FwdGetMEvent(cacheController, producerFlow, requester, tag, producerFlow.getAccess());
-        this.fireTransition(requester + "." + String.format("0x%08x", tag), fwdGetMEvent);
+        this.fireTransition(requester, tag, fwdGetMEvent);
     }
 
     /**
@@ -150,7 +190,7 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      */
     public void onEventInv(CacheCoherenceFlow producerFlow, CacheController requester, int tag) {
         InvEvent invEvent = new InvEvent(cacheController, producerFlow, requester, tag, producerFlow.getAccess());
-        this.fireTransition(requester + "." + String.format("0x%08x", tag), invEvent);
+        this.fireTransition(requester, tag, invEvent);
     }
 
     /**
@@ -161,7 +201,7 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      */
     public void onEventRecall(CacheCoherenceFlow producerFlow, int tag) {
         RecallEvent recallEvent = new RecallEvent(cacheController, producerFlow, tag, producerFlow.getAccess());
-        this.fireTransition("<dir>" + "." + String.format("0x%08x", tag), recallEvent);
+        this.fireTransition("<dir>", tag, recallEvent);
     }
 
     /**
@@ -172,7 +212,7 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      */
     public void onEventPutAck(CacheCoherenceFlow producerFlow, int tag) {
         PutAckEvent putAckEvent = new PutAckEvent(cacheController, producerFlow, tag, producerFlow.getAccess());
-        this.fireTransition(cacheController.getDirectoryController() + "." + String.format("0x%08x", tag), putAckEvent);
+        this.fireTransition(cacheController.getDirectoryController(), tag, putAckEvent);
     }
 
     /**
@@ -190,10 +230,10 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
         if (sender instanceof DirectoryController) {
             if (numInvalidationAcknowledgements == 0) {
                 DataFromDirAcksEq0Event dataFromDirAcksEq0Event = new DataFromDirAcksEq0Event(cacheController, producerFlow, sender, tag, producerFlow.getAccess());
-                this.fireTransition(sender + "." + String.format("0x%08x", tag), dataFromDirAcksEq0Event);
+                this.fireTransition(sender, tag, dataFromDirAcksEq0Event);
             } else {
                 DataFromDirAcksGt0Event dataFromDirAcksGt0Event = new DataFromDirAcksGt0Event(cacheController, producerFlow, sender, tag, producerFlow.getAccess());
-                this.fireTransition(sender + "." + String.format("0x%08x", tag), dataFromDirAcksGt0Event);
+                this.fireTransition(sender, tag, dataFromDirAcksGt0Event);
 
                 if (this.numInvAcks == 0) {
                     onEventLastInvAck(producerFlow, tag);
@@ -201,7 +241,7 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
             }
         } else {
             DataFromOwnerEvent dataFromOwnerEvent = new DataFromOwnerEvent(cacheController, producerFlow, sender, tag, producerFlow.getAccess());
-            this.fireTransition(sender + "." + String.format("0x%08x", tag), dataFromOwnerEvent);
+            this.fireTransition(sender, tag, dataFromOwnerEvent);
         }
     }
 
@@ -214,7 +254,7 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      */
     public void onEventInvAck(CacheCoherenceFlow producerFlow, CacheController sender, int tag) {
         InvAckEvent invAckEvent = new InvAckEvent(cacheController, producerFlow, sender, tag, producerFlow.getAccess());
-        this.fireTransition(sender + "." + String.format("0x%08x", tag), invAckEvent);
+        this.fireTransition(sender, tag, invAckEvent);
 
         if (this.numInvAcks == 0) {
             onEventLastInvAck(producerFlow, tag);
@@ -229,11 +269,23 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      */
     private void onEventLastInvAck(CacheCoherenceFlow producerFlow, int tag) {
         LastInvAckEvent lastInvAckEvent = new LastInvAckEvent(cacheController, producerFlow, tag, producerFlow.getAccess());
-        this.fireTransition("<N/A>" + "." + String.format("0x%08x", tag), lastInvAckEvent);
+        this.fireTransition("<N/A>", tag, lastInvAckEvent);
 
         this.numInvAcks = 0;
     }
 
+    /**
+     * Fire the predefined transition based on the specified sender, tag and event. The human readable sender label is
+     * only built when there is any listener for the state change events.
+     *
+     * @param sender the sender
+     * @param tag    the tag
+     * @param event  the event
+     */
+    private void fireTransition(Object sender, int tag, CacheControllerEvent event) {
+        this.fireTransition(this.hasStateChangeListeners() ? sender + "." + String.format("0x%08x", tag) : sender, event);
+    }
+
     /**
      * Fire the predefined transition based on the specified sender and event.
      *
@@ -242,7 +294,14 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      */
     public void fireTransition(Object sender, CacheControllerEvent event) {
         event.onCompleted();
+
+        this.numTransitionsInProgress++;
         cacheController.getFsmFactory().fireTransition(this, sender, event.getType(), event);
+        this.numTransitionsInProgress--;
+
+        if (this.numTransitionsInProgress == 0 && !this.hasTransactionInFlight()) {
+            cacheController.releaseFsm(this);
+        }
     }
 
     /**
@@ -367,7 +426,23 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      * @param action the callback action performed when the stall is awaken
      */
     public void stall(Action action) {
-        stalledEvents.add(action);
+        if (this.stalledEvents == null) {
+            this.stalledEvents = new ArrayList<>();
+        }
+
+        this.stalledEvents.add(action);
+    }
+
+    /**
+     * Wake up and process the stalled events if any.
+     */
+    public void wakeUpStalledEvents() {
+        if (this.stalledEvents != null) {
+            List<Action> stalledEventsToProcess = this.stalledEvents;
+            this.stalledEvents = null;
+
+            stalledEventsToProcess.forEach(Action::apply);
+        }
     }
 
     /**
@@ -378,7 +453,9 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      * @param hitInCache a value indicating whether the access hits in the cache or not
      */
     public void fireServiceNonblockingRequestEvent(MemoryHierarchyAccess access, int tag, boolean hitInCache) {
-        this.getCacheController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerServiceNonblockingRequestEvent(this.getCacheController(), access, tag, getSet(), getWay(), hitInCache));
+        if (this.getCacheController().getBlockingEventDispatcher().hasListeners(GeneralCacheControllerServiceNonblockingRequestEvent.class)) {
+            this.getCacheController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerServiceNonblockingRequestEvent(this.getCacheController(), access, tag, getSet(), getWay(), hitInCache));
+        }
         this.getCacheController().updateStats(access.getType().isRead(), hitInCache);
     }
 
@@ -389,7 +466,9 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      * @param tag    the tag
      */
     public void fireReplacementEvent(MemoryHierarchyAccess access, int tag) {
-        this.getCacheController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerLineReplacementEvent(this.getCacheController(), access, tag, getSet(), getWay()));
+        if (this.getCacheController().getBlockingEventDispatcher().hasListeners(GeneralCacheControllerLineReplacementEvent.class)) {
+            this.getCacheController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerLineReplacementEvent(this.getCacheController(), access, tag, getSet(), getWay()));
+        }
     }
 
     /**
@@ -399,27 +478,9 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      * @param tag    the tag
      */
     public void fireNonblockingRequestHitToTransientTagEvent(MemoryHierarchyAccess access, int tag) {
-        this.getCacheController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerNonblockingRequestHitToTransientTagEvent(this.getCacheController(), access, tag, getSet(), getWay()));
-    }
-
-    /**
-     * Get the state of the owning L1 cache controller.
-     *
-     * @return the state of the owning L1 cache controller
-     */
-    @Override
-    public CacheControllerState get() {
-        return this.getState();
-    }
-
-    /**
-     * Get the initial state of the owning L1 cache controller.
-     *
-     * @return the initial state of the owning L1 cache controller
-     */
-    @Override
-    public CacheControllerState getInitialValue() {
-        return CacheControllerState.I;
+        if (this.getCacheController().getBlockingEventDispatcher().hasListeners(GeneralCacheControllerNonblockingRequestHitToTransientTagEvent.class)) {
+            this.getCacheController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerNonblockingRequestHitToTransientTagEvent(this.getCacheController(), access, tag, getSet(), getWay()));
+        }
     }
 
     /**
@@ -464,7 +525,33 @@ public class CacheControllerFiniteStateMachine extends BasicFiniteStateMachine<C
      * @return the list of stalled events
      */
     public List<Action> getStalledEvents() {
-        return stalledEvents;
+        return stalledEvents != null ? stalledEvents : Collections.emptyList();
+    }
+
+    @Override
+    public CacheControllerState getState() {
+        return this.cacheController.getLineState(this.set, this.way);
+    }
+
+    @Override
+    public void setState(Object sender, CacheControllerEventType condition, Params params, CacheControllerState state) {
+        this.previousState = getState();
+        super.setState(sender, condition, params, state);
+    }
+
+    @Override
+    protected void updateState(CacheControllerState state) {
+        this.cacheController.setLineState(this.set, this.way, state);
+    }
+
+    @Override
+    public long getNumExecutionsByTransition(CacheControllerState state, CacheControllerEventType condition) {
+        return this.cacheController.getNumFsmExecutionsByTransition(state, condition);
+    }
+
+    @Override
+    public void incrementNumExecutionsByTransition(CacheControllerState state, CacheControllerEventType condition) {
+        this.cacheController.incrementNumFsmExecutionsByTransition(state, condition);
     }
 
     /**
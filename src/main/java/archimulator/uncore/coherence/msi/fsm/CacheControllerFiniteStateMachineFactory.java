@@ -27,8 +27,6 @@ import archimulator.uncore.coherence.msi.state.CacheControllerState;
 import archimulator.util.action.Action;
 import archimulator.util.fsm.FiniteStateMachineFactory;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.Consumer;
 
 /**
@@ -51,11 +49,7 @@ public class CacheControllerFiniteStateMachineFactory extends FiniteStateMachine
                     }
                 }
 
-                List<Action> stalledEventsToProcess = new ArrayList<>();
-                stalledEventsToProcess.addAll(fsm.getStalledEvents());
-                fsm.getStalledEvents().clear();
-
-                stalledEventsToProcess.forEach(Action::apply);
+                fsm.wakeUpStalledEvents();
             }
         };
 
@@ -399,7 +393,7 @@ public class CacheControllerFiniteStateMachineFactory extends FiniteStateMachine
      *
      * @return the L1 cache controller finite state machine factory singleton
      */
-    public static CacheControllerFiniteStateMachineFactory getSingleton() {
+    public static synchronized CacheControllerFiniteStateMachineFactory getSingleton() {
         if (singleton == null) {
             singleton = new CacheControllerFiniteStateMachineFactory();
         }
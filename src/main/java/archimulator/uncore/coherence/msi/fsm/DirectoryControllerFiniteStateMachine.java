@@ -26,27 +26,29 @@ import archimulator.uncore.cache.CacheLine;
 import archimulator.uncore.coherence.event.*;
 import archimulator.uncore.coherence.msi.controller.CacheController;
 import archimulator.uncore.coherence.msi.controller.DirectoryController;
-import archimulator.uncore.coherence.msi.controller.DirectoryEntry;
 import archimulator.uncore.coherence.msi.event.directory.*;
 import archimulator.uncore.coherence.msi.flow.CacheCoherenceFlow;
 import archimulator.uncore.coherence.msi.message.*;
 import archimulator.uncore.coherence.msi.state.DirectoryControllerState;
-import archimulator.util.ValueProvider;
+import archimulator.util.Params;
+import archimulator.util.Recyclable;
 import archimulator.util.action.Action;
 import archimulator.util.fsm.BasicFiniteStateMachine;
-import archimulator.util.fsm.event.ExitStateEvent;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
- * Directory controller finite state machine.
+ * Directory controller finite state machine. The machine is only bound to a line while the line has a transaction in
+ * flight; the state, the owner and the sharers of the line and the numbers of executions of the transitions are kept in
+ * the owning directory controller, and the machine is handed back to the directory controller once the line settles in
+ * a stable state with no pending work.
  *
  * @author Min Cai
  */
-public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachine<DirectoryControllerState, DirectoryControllerEventType> implements ValueProvider<DirectoryControllerState> {
+public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachine<DirectoryControllerState, DirectoryControllerEventType> implements Recyclable {
     private DirectoryController directoryController;
-    private DirectoryEntry directoryEntry;
     private DirectoryControllerState previousState;
     private int set;
     private int way;
@@ -61,25 +63,63 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
 
     private int victimTag;
 
+    private int numTransitionsInProgress;
+
+    private boolean released;
+
     /**
-     * Create a directory controller finite state machine.
+     * Create a directory controller finite state machine. The machine is in the released state until {@link #reset} is
+     * called.
      *
      * @param name                the name
-     * @param set                 the set index
-     * @param way                 the way
      * @param directoryController the directory controller
      */
-    public DirectoryControllerFiniteStateMachine(String name, int set, int way, final DirectoryController directoryController) {
+    public DirectoryControllerFiniteStateMachine(String name, final DirectoryController directoryController) {
         super(name, DirectoryControllerState.I);
+        this.directoryController = directoryController;
+        this.evicterTag = CacheLine.INVALID_TAG;
+        this.victimTag = CacheLine.INVALID_TAG;
+        this.released = true;
+    }
+
+    /**
+     * Reset the directory controller finite state machine and bind it to the line at the specified set index and way.
+     *
+     * @param set the set index
+     * @param way the way
+     */
+    public void reset(int set, int way) {
         this.set = set;
         this.way = way;
-        this.directoryController = directoryController;
-        this.directoryEntry = new DirectoryEntry();
-        this.stalledEvents = new ArrayList<>();
+        this.released = false;
+    }
+
+    @Override
+    public void release() {
+        this.previousState = null;
+        this.numRecallAcks = 0;
+        this.stalledEvents = null;
+        this.onCompletedCallback = null;
         this.evicterTag = CacheLine.INVALID_TAG;
         this.victimTag = CacheLine.INVALID_TAG;
+        this.released = true;
+    }
+
+    @Override
+    public boolean isReleased() {
+        return released;
+    }
 
-        this.addListener(ExitStateEvent.class, exitStateEvent -> previousState = getState());
+    /**
+     * Get a value indicating whether the line has a transaction in flight or not, that is, whether the line is in a
+     * transient state or has any pending work. A line whose replacement has completed keeps its evicter and victim tags
+     * until it is refilled, so it is still in flight until then.
+     *
+     * @return a value indicating whether the line has a transaction in flight or not
+     */
+    public boolean hasTransactionInFlight() {
+        return !this.getState().isStable() || this.stalledEvents != null || this.onCompletedCallback != null || this.numRecallAcks != 0
+                || this.evicterTag != CacheLine.INVALID_TAG || this.victimTag != CacheLine.INVALID_TAG;
     }
 
     /**
@@ -92,7 +132,7 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      */
     public void onEventGetS(CacheCoherenceFlow producerFlow, CacheController requester, int tag, Action onStalledCallback) {
         GetSEvent getSEvent = new GetSEvent(this.directoryController, producerFlow, requester, tag, set, way, onStalledCallback, producerFlow.getAccess());
-        this.fireTransition(requester + "." + String.format("0x%08x", tag), getSEvent);
+        this.fireTransition(requester, tag, getSEvent);
     }
 
     /**
@@ -105,7 +145,7 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      */
     public void onEventGetM(CacheCoherenceFlow producerFlow, CacheController requester, int tag, Action onStalledCallback) {
         GetMEvent getMEvent = new GetMEvent(this.directoryController, producerFlow, requester, tag, set, way, onStalledCallback, producerFlow.getAccess());
-        this.fireTransition(requester + "." + String.format("0x%08x", tag), getMEvent);
+        this.fireTransition(requester, tag, getMEvent);
     }
 
     /**
@@ -120,7 +160,7 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      */
     public void onEventReplacement(CacheCoherenceFlow producerFlow, CacheController requester, int tag, CacheAccess<DirectoryControllerState> cacheAccess, Action onCompletedCallback, Action onStalledCallback) {
         ReplacementEvent replacementEvent = new ReplacementEvent(this.directoryController, producerFlow, tag, cacheAccess, set, way, onCompletedCallback, onStalledCallback, producerFlow.getAccess());
-        this.fireTransition(requester + "." + String.format("0x%08x", tag), replacementEvent);
+        this.fireTransition(requester, tag, replacementEvent);
     }
 
     /**
@@ -132,11 +172,11 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      */
     public void onEventRecallAck(CacheCoherenceFlow producerFlow, CacheController sender, int tag) {
         RecallAckEvent recallAckEvent = new RecallAckEvent(this.directoryController, producerFlow, sender, tag, producerFlow.getAccess());
-        this.fireTransition(sender + "." + String.format("0x%08x", tag), recallAckEvent);
+        this.fireTransition(sender, tag, recallAckEvent);
 
         if (this.numRecallAcks == 0) {
             LastRecallAckEvent lastRecallAckEvent = new LastRecallAckEvent(this.directoryController, producerFlow, tag, producerFlow.getAccess());
-            this.fireTransition(sender + "." + String.format("0x%08x", tag), lastRecallAckEvent);
+            this.fireTransition(sender, tag, lastRecallAckEvent);
         }
     }
 
@@ -148,12 +188,12 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param tag          the tag
      */
     public void onEventPutS(CacheCoherenceFlow producerFlow, CacheController requester, int tag) {
-        if (this.getDirectoryEntry().getSharers().size() > 1) {
+        if (this.getNumSharers() > 1) {
             PutSNotLastEvent putSNotLastEvent = new PutSNotLastEvent(this.directoryController, producerFlow, requester, tag, producerFlow.getAccess());
-            this.fireTransition(requester + "." + String.format("0x%08x", tag), putSNotLastEvent);
+            this.fireTransition(requester, tag, putSNotLastEvent);
         } else {
             PutSLastEvent putSLastEvent = new PutSLastEvent(this.directoryController, producerFlow, requester, tag, producerFlow.getAccess());
-            this.fireTransition(requester + "." + String.format("0x%08x", tag), putSLastEvent);
+            this.fireTransition(requester, tag, putSLastEvent);
         }
     }
 
@@ -165,12 +205,12 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param tag          the tag
      */
     public void onEventPutMAndData(CacheCoherenceFlow producerFlow, CacheController requester, int tag) {
-        if (requester == this.getDirectoryEntry().getOwner()) {
+        if (requester == this.getOwner()) {
             PutMAndDataFromOwnerEvent putMAndDataFromOwnerEvent = new PutMAndDataFromOwnerEvent(this.directoryController, producerFlow, requester, tag, producerFlow.getAccess());
-            this.fireTransition(requester + "." + String.format("0x%08x", tag), putMAndDataFromOwnerEvent);
+            this.fireTransition(requester, tag, putMAndDataFromOwnerEvent);
         } else {
             PutMAndDataFromNonOwnerEvent putMAndDataFromNonOwnerEvent = new PutMAndDataFromNonOwnerEvent(this.directoryController, producerFlow, requester, tag, producerFlow.getAccess());
-            this.fireTransition(requester + "." + String.format("0x%08x", tag), putMAndDataFromNonOwnerEvent);
+            this.fireTransition(requester, tag, putMAndDataFromNonOwnerEvent);
         }
     }
 
@@ -183,7 +223,19 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      */
     public void onEventData(CacheCoherenceFlow producerFlow, CacheController sender, int tag) {
         DataEvent dataEvent = new DataEvent(this.directoryController, producerFlow, sender, tag, producerFlow.getAccess());
-        this.fireTransition(sender + "." + String.format("0x%08x", tag), dataEvent);
+        this.fireTransition(sender, tag, dataEvent);
+    }
+
+    /**
+     * Fire the predefined action based on the specified sender, tag and directory controller event. The human readable
+     * sender label is only built when there is any listener for the state change events.
+     *
+     * @param sender the sender object
+     * @param tag    the tag
+     * @param event  the directory controller event
+     */
+    private void fireTransition(Object sender, int tag, DirectoryControllerEvent event) {
+        this.fireTransition(this.hasStateChangeListeners() ? sender + "." + String.format("0x%08x", tag) : sender, event);
     }
 
     /**
@@ -194,7 +246,14 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      */
     public void fireTransition(Object sender, DirectoryControllerEvent event) {
         event.onCompleted();
+
+        this.numTransitionsInProgress++;
         this.directoryController.getFsmFactory().fireTransition(this, sender, event.getType(), event);
+        this.numTransitionsInProgress--;
+
+        if (this.numTransitionsInProgress == 0 && !this.hasTransactionInFlight()) {
+            this.directoryController.releaseFsm(this);
+        }
     }
 
     /**
@@ -227,7 +286,23 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param action the callback action performed when the stall is awaken
      */
     public void stall(Action action) {
-        stalledEvents.add(action);
+        if (this.stalledEvents == null) {
+            this.stalledEvents = new ArrayList<>();
+        }
+
+        this.stalledEvents.add(action);
+    }
+
+    /**
+     * Wake up and process the stalled events if any.
+     */
+    public void wakeUpStalledEvents() {
+        if (this.stalledEvents != null) {
+            List<Action> stalledEventsToProcess = this.stalledEvents;
+            this.stalledEvents = null;
+
+            stalledEventsToProcess.forEach(Action::apply);
+        }
     }
 
     /**
@@ -238,7 +313,9 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param hitInCache a value indicating whether the access hits in the cache or not
      */
     public void fireServiceNonblockingRequestEvent(MemoryHierarchyAccess access, int tag, boolean hitInCache) {
-        this.getDirectoryController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerServiceNonblockingRequestEvent(this.getDirectoryController(), access, tag, getSet(), getWay(), hitInCache));
+        if (this.getDirectoryController().getBlockingEventDispatcher().hasListeners(GeneralCacheControllerServiceNonblockingRequestEvent.class)) {
+            this.getDirectoryController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerServiceNonblockingRequestEvent(this.getDirectoryController(), access, tag, getSet(), getWay(), hitInCache));
+        }
         this.getDirectoryController().updateStats(access.getType().isRead(), hitInCache);
     }
 
@@ -250,7 +327,9 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param victimTag the victim tag
      */
     public void fireCacheLineInsertEvent(MemoryHierarchyAccess access, int tag, int victimTag) {
-        this.getDirectoryController().getBlockingEventDispatcher().dispatch(new LastLevelCacheControllerLineInsertEvent(this.getDirectoryController(), access, tag, getSet(), getWay(), victimTag));
+        if (this.getDirectoryController().getBlockingEventDispatcher().hasListeners(LastLevelCacheControllerLineInsertEvent.class)) {
+            this.getDirectoryController().getBlockingEventDispatcher().dispatch(new LastLevelCacheControllerLineInsertEvent(this.getDirectoryController(), access, tag, getSet(), getWay(), victimTag));
+        }
     }
 
     /**
@@ -260,7 +339,9 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param tag    the tag
      */
     public void fireReplacementEvent(MemoryHierarchyAccess access, int tag) {
-        this.getDirectoryController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerLineReplacementEvent(this.getDirectoryController(), access, tag, getSet(), getWay()));
+        if (this.getDirectoryController().getBlockingEventDispatcher().hasListeners(GeneralCacheControllerLineReplacementEvent.class)) {
+            this.getDirectoryController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerLineReplacementEvent(this.getDirectoryController(), access, tag, getSet(), getWay()));
+        }
     }
 
     /**
@@ -270,7 +351,9 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param tag    the tag
      */
     public void firePutSOrPutMAndDataFromOwnerEvent(MemoryHierarchyAccess access, int tag) {
-        this.getDirectoryController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerLastPutSOrPutMAndDataFromOwnerEvent(this.getDirectoryController(), access, tag, getSet(), getWay()));
+        if (this.getDirectoryController().getBlockingEventDispatcher().hasListeners(GeneralCacheControllerLastPutSOrPutMAndDataFromOwnerEvent.class)) {
+            this.getDirectoryController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerLastPutSOrPutMAndDataFromOwnerEvent(this.getDirectoryController(), access, tag, getSet(), getWay()));
+        }
     }
 
     /**
@@ -280,7 +363,9 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param tag    the tag
      */
     public void fireNonblockingRequestHitToTransientTagEvent(MemoryHierarchyAccess access, int tag) {
-        this.getDirectoryController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerNonblockingRequestHitToTransientTagEvent(this.getDirectoryController(), access, tag, getSet(), getWay()));
+        if (this.getDirectoryController().getBlockingEventDispatcher().hasListeners(GeneralCacheControllerNonblockingRequestHitToTransientTagEvent.class)) {
+            this.getDirectoryController().getBlockingEventDispatcher().dispatch(new GeneralCacheControllerNonblockingRequestHitToTransientTagEvent(this.getDirectoryController(), access, tag, getSet(), getWay()));
+        }
     }
 
     /**
@@ -337,7 +422,7 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param tag          the tag
      */
     public void sendFwdGetSToOwner(CacheCoherenceFlow producerFlow, CacheController requester, int tag) {
-        this.directoryController.transfer(getDirectoryEntry().getOwner(), 8, new FwdGetSMessage(this.directoryController, producerFlow, requester, tag, producerFlow.getAccess()));
+        this.directoryController.transfer(this.getOwner(), 8, new FwdGetSMessage(this.directoryController, producerFlow, requester, tag, producerFlow.getAccess()));
     }
 
     /**
@@ -348,7 +433,7 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param tag          the tag
      */
     public void sendFwdGetMToOwner(CacheCoherenceFlow producerFlow, CacheController requester, int tag) {
-        this.directoryController.transfer(getDirectoryEntry().getOwner(), 8, new FwdGetMMessage(this.directoryController, producerFlow, requester, tag, producerFlow.getAccess()));
+        this.directoryController.transfer(this.getOwner(), 8, new FwdGetMMessage(this.directoryController, producerFlow, requester, tag, producerFlow.getAccess()));
     }
 
     /**
@@ -359,7 +444,11 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param tag          the tag
      */
     public void sendInvToSharers(CacheCoherenceFlow producerFlow, CacheController requester, int tag) {
-        this.getDirectoryEntry().getSharers().stream().filter(sharer -> requester != sharer).forEach(sharer -> this.directoryController.transfer(sharer, 8, new InvMessage(this.directoryController, producerFlow, requester, tag, producerFlow.getAccess())));
+        this.directoryController.forEachSharer(this.set, this.way, sharer -> {
+            if (requester != sharer) {
+                this.directoryController.transfer(sharer, 8, new InvMessage(this.directoryController, producerFlow, requester, tag, producerFlow.getAccess()));
+            }
+        });
     }
 
     /**
@@ -369,7 +458,7 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param tag          the tag
      */
     public void sendRecallToOwner(CacheCoherenceFlow producerFlow, int tag) {
-        CacheController owner = getDirectoryEntry().getOwner();
+        CacheController owner = this.getOwner();
         if (owner.getCache().findWay(tag) == -1) {
             throw new IllegalArgumentException();
         }
@@ -384,13 +473,13 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param tag          the tag
      */
     public void sendRecallToSharers(CacheCoherenceFlow producerFlow, int tag) {
-        for (CacheController sharer : this.getDirectoryEntry().getSharers()) {
+        this.directoryController.forEachSharer(this.set, this.way, sharer -> {
             if (sharer.getCache().findWay(tag) == -1) {
                 throw new IllegalArgumentException();
             }
 
             this.directoryController.transfer(sharer, 8, new RecallMessage(this.directoryController, producerFlow, tag, producerFlow.getAccess()));
-        }
+        });
     }
 
     /**
@@ -415,12 +504,14 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param requester the requester L1 cache controller
      */
     public void addRequesterAndOwnerToSharers(CacheController requester) {
-        if (this.getDirectoryEntry().getSharers().contains(requester) || this.getDirectoryEntry().getSharers().contains(this.getDirectoryEntry().getOwner())) {
+        CacheController owner = this.getOwner();
+
+        if (this.isSharer(requester) || this.isSharer(owner)) {
             throw new IllegalArgumentException();
         }
 
-        this.getDirectoryEntry().getSharers().add(requester);
-        this.getDirectoryEntry().getSharers().add(this.getDirectoryEntry().getOwner());
+        this.directoryController.addSharer(this.set, this.way, requester);
+        this.directoryController.addSharer(this.set, this.way, owner);
     }
 
     /**
@@ -429,11 +520,11 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param requester the requester L1 cache controller
      */
     public void addRequesterToSharers(CacheController requester) {
-        if (this.getDirectoryEntry().getSharers().contains(requester)) {
+        if (this.isSharer(requester)) {
             throw new IllegalArgumentException();
         }
 
-        this.getDirectoryEntry().getSharers().add(requester);
+        this.directoryController.addSharer(this.set, this.way, requester);
     }
 
     /**
@@ -442,11 +533,11 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param requester the requester L1 cache controller
      */
     public void removeRequesterFromSharers(CacheController requester) {
-        if (!this.getDirectoryEntry().getSharers().contains(requester)) {
+        if (!this.isSharer(requester)) {
             throw new IllegalArgumentException();
         }
 
-        this.getDirectoryEntry().getSharers().remove(requester);
+        this.directoryController.removeSharer(this.set, this.way, requester);
     }
 
     /**
@@ -455,50 +546,49 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @param requester the requester L1 cache controller
      */
     public void setOwnerToRequester(CacheController requester) {
-        this.getDirectoryEntry().setOwner(requester);
+        this.directoryController.setOwner(this.set, this.way, requester);
     }
 
     /**
      * Clear the list of sharers.
      */
     public void clearSharers() {
-        this.getDirectoryEntry().getSharers().clear();
+        this.directoryController.clearSharers(this.set, this.way);
     }
 
     /**
      * Clear the owner L1 cache controller.
      */
     public void clearOwner() {
-        this.getDirectoryEntry().setOwner(null);
+        this.directoryController.setOwner(this.set, this.way, null);
     }
 
     /**
-     * Get the state of the owning directory controller.
+     * Get the owner L1 cache controller of the line.
      *
-     * @return the state of the owning directory controller
+     * @return the owner L1 cache controller of the line if any exists; otherwise null
      */
-    @Override
-    public DirectoryControllerState get() {
-        return this.getState();
+    public CacheController getOwner() {
+        return this.directoryController.getOwner(this.set, this.way);
     }
 
     /**
-     * Get the initial state of the owning directory controller.
+     * Get a value indicating whether the specified L1 cache controller is a sharer of the line or not.
      *
-     * @return the initial state of the owning directory controller
+     * @param cacheController the L1 cache controller
+     * @return a value indicating whether the specified L1 cache controller is a sharer of the line or not
      */
-    @Override
-    public DirectoryControllerState getInitialValue() {
-        return DirectoryControllerState.I;
+    public boolean isSharer(CacheController cacheController) {
+        return this.directoryController.isSharer(this.set, this.way, cacheController);
     }
 
     /**
-     * Get the directory entry.
+     * Get the number of the sharers of the line.
      *
-     * @return the directory entry
+     * @return the number of the sharers of the line
      */
-    public DirectoryEntry getDirectoryEntry() {
-        return directoryEntry;
+    public int getNumSharers() {
+        return this.directoryController.getNumSharers(this.set, this.way);
     }
 
     /**
@@ -573,6 +663,32 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
         this.victimTag = victimTag;
     }
 
+    @Override
+    public DirectoryControllerState getState() {
+        return this.directoryController.getLineState(this.set, this.way);
+    }
+
+    @Override
+    public void setState(Object sender, DirectoryControllerEventType condition, Params params, DirectoryControllerState state) {
+        this.previousState = getState();
+        super.setState(sender, condition, params, state);
+    }
+
+    @Override
+    protected void updateState(DirectoryControllerState state) {
+        this.directoryController.setLineState(this.set, this.way, state);
+    }
+
+    @Override
+    public long getNumExecutionsByTransition(DirectoryControllerState state, DirectoryControllerEventType condition) {
+        return this.directoryController.getNumFsmExecutionsByTransition(state, condition);
+    }
+
+    @Override
+    public void incrementNumExecutionsByTransition(DirectoryControllerState state, DirectoryControllerEventType condition) {
+        this.directoryController.incrementNumFsmExecutionsByTransition(state, condition);
+    }
+
     /**
      * Get the previous state of the line in the owning directory controller.
      *
@@ -588,7 +704,7 @@ public class DirectoryControllerFiniteStateMachine extends BasicFiniteStateMachi
      * @return the list of stalled events
      */
     public List<Action> getStalledEvents() {
-        return stalledEvents;
+        return stalledEvents != null ? stalledEvents : Collections.emptyList();
     }
 
     /**
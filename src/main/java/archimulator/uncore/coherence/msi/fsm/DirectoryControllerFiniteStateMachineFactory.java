@@ -21,18 +21,12 @@
 package archimulator.uncore.coherence.msi.fsm;
 
 import archimulator.uncore.cache.CacheLine;
-import archimulator.uncore.coherence.msi.controller.CacheController;
 import archimulator.uncore.coherence.msi.event.directory.*;
 import archimulator.uncore.coherence.msi.state.DirectoryControllerState;
 import archimulator.util.action.Action;
 import archimulator.util.fsm.FiniteStateMachineFactory;
 
-import java.util.List;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-
-import static ch.lambdaj.Lambda.*;
-import static org.hamcrest.Matchers.not;
 
 /**
  * Directory controller finite state machine factory.
@@ -54,11 +48,7 @@ public class DirectoryControllerFiniteStateMachineFactory extends FiniteStateMac
             }
 
             if (fsm.getPreviousState() != fsm.getState()) {
-                List<Action> stalledEventsToProcess = fsm.getStalledEvents().stream().collect(Collectors.toList());
-
-                fsm.getStalledEvents().clear();
-
-                stalledEventsToProcess.forEach(Action::apply);
+                fsm.wakeUpStalledEvents();
             }
         };
 
@@ -185,7 +175,7 @@ public class DirectoryControllerFiniteStateMachineFactory extends FiniteStateMac
                 }, DirectoryControllerState.S)
                 .onCondition(DirectoryControllerEventType.GETM, (fsm, sender, eventType, params) -> {
                     GetMEvent event = (GetMEvent) params;
-                    fsm.sendDataToRequester(event, event.getRequester(), event.getTag(), select(fsm.getDirectoryEntry().getSharers(), having(on(CacheController.class), not(event.getRequester()))).size());
+                    fsm.sendDataToRequester(event, event.getRequester(), event.getTag(), fsm.getNumSharers() - (fsm.isSharer(event.getRequester()) ? 1 : 0));
                     fsm.sendInvToSharers(event, event.getRequester(), event.getTag());
                     fsm.clearSharers();
                     fsm.setOwnerToRequester(event.getRequester());
@@ -193,7 +183,7 @@ public class DirectoryControllerFiniteStateMachineFactory extends FiniteStateMac
                 }, DirectoryControllerState.M)
                 .onCondition(DirectoryControllerEventType.REPLACEMENT, (fsm, sender, eventType, params) -> {
                     ReplacementEvent event = (ReplacementEvent) params;
-                    fsm.setNumRecallAcks(fsm.getDirectoryEntry().getSharers().size());
+                    fsm.setNumRecallAcks(fsm.getNumSharers());
                     fsm.sendRecallToSharers(event, fsm.getLine().getTag());
                     fsm.clearSharers();
                     fsm.setOnCompletedCallback(event.getOnCompletedCallback());
@@ -377,7 +367,7 @@ public class DirectoryControllerFiniteStateMachineFactory extends FiniteStateMac
      *
      * @return the directory controller finite state machine factory singleton
      */
-    public static DirectoryControllerFiniteStateMachineFactory getSingleton() {
+    public static synchronized DirectoryControllerFiniteStateMachineFactory getSingleton() {
         if (singleton == null) {
             singleton = new DirectoryControllerFiniteStateMachineFactory();
         }
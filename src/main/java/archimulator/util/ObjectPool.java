@@ -0,0 +1,129 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2012 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the PickaPack library.
+ * <p>
+ * PickaPack is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * PickaPack is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with PickaPack. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Supplier;
+
+/**
+ * Object pool recycling short-lived objects whose lifetimes are explicitly ended by calling {@link #release(Recyclable)}.
+ * <p>
+ * In the debug mode, released objects are never handed out again, so that any stale reference to them keeps observing
+ * the released state and fails fast instead of silently aliasing a live object.
+ *
+ * @author Min Cai
+ * @param <T> the type of the pooled objects
+ */
+public class ObjectPool<T extends Recyclable> {
+    private Supplier<T> factory;
+
+    private boolean debug;
+
+    private Deque<T> freeObjects;
+
+    private long numCreated;
+
+    private long numRecycled;
+
+    /**
+     * Create an object pool.
+     *
+     * @param factory the factory used to create new objects when the pool is empty
+     * @param debug   a value indicating whether the debug mode is enabled or not
+     */
+    public ObjectPool(Supplier<T> factory, boolean debug) {
+        this.factory = factory;
+        this.debug = debug;
+
+        this.freeObjects = new ArrayDeque<>();
+    }
+
+    /**
+     * Acquire an object, either recycled or newly created. The caller is responsible for resetting its state.
+     *
+     * @return the acquired object
+     */
+    public T acquire() {
+        T object = this.freeObjects.pollFirst();
+
+        if (object == null) {
+            this.numCreated++;
+            return this.factory.get();
+        }
+
+        this.numRecycled++;
+        return object;
+    }
+
+    /**
+     * Release the specified object and end its lifetime.
+     *
+     * @param object the object to be released
+     */
+    public void release(T object) {
+        if (object.isReleased()) {
+            throw new IllegalStateException("Object has already been released: " + object);
+        }
+
+        object.release();
+
+        if (!this.debug) {
+            this.freeObjects.addFirst(object);
+        }
+    }
+
+    /**
+     * Get a value indicating whether the debug mode is enabled or not.
+     *
+     * @return a value indicating whether the debug mode is enabled or not
+     */
+    public boolean isDebug() {
+        return debug;
+    }
+
+    /**
+     * Get the number of free objects.
+     *
+     * @return the number of free objects
+     */
+    public int getNumFreeObjects() {
+        return this.freeObjects.size();
+    }
+
+    /**
+     * Get the number of objects created by the pool.
+     *
+     * @return the number of objects created by the pool
+     */
+    public long getNumCreated() {
+        return numCreated;
+    }
+
+    /**
+     * Get the number of acquisitions served by recycled objects.
+     *
+     * @return the number of acquisitions served by recycled objects
+     */
+    public long getNumRecycled() {
+        return numRecycled;
+    }
+}
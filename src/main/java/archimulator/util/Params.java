@@ -33,10 +33,9 @@ public class Params implements Serializable {
     private Map<Object, Object> properties;
 
     /**
-     * Create a parameters map.
+     * Create a parameters map. The underlying map is not allocated until the first value is set.
      */
     public Params() {
-        this.properties = new HashMap<>();
     }
 
     /**
@@ -50,6 +49,10 @@ public class Params implements Serializable {
             throw new IllegalArgumentException();
         }
 
+        if (this.properties == null) {
+            this.properties = new HashMap<>();
+        }
+
         this.properties.put(key, value);
     }
 
@@ -68,7 +71,7 @@ public class Params implements Serializable {
             throw new IllegalArgumentException();
         }
 
-        return this.properties.containsKey(key) ? (T) this.properties.get(key) : defaultValue;
+        return this.properties != null && this.properties.containsKey(key) ? (T) this.properties.get(key) : defaultValue;
     }
 
     /**
@@ -89,7 +92,7 @@ public class Params implements Serializable {
      * @return the size of the parameters map
      */
     public int size() {
-        return this.properties.size();
+        return this.properties != null ? this.properties.size() : 0;
     }
 
     /**
@@ -98,6 +101,6 @@ public class Params implements Serializable {
      * @return a value indicating whether the parameters map is empty or not
      */
     public boolean isEmpty() {
-        return this.properties.isEmpty();
+        return this.properties == null || this.properties.isEmpty();
     }
 }
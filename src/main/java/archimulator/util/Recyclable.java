@@ -0,0 +1,40 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2012 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the PickaPack library.
+ * <p>
+ * PickaPack is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * PickaPack is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with PickaPack. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.util;
+
+/**
+ * Object that can be recycled by an {@link ObjectPool}.
+ *
+ * @author Min Cai
+ */
+public interface Recyclable {
+    /**
+     * End the lifetime of the object, dropping the references that it holds.
+     */
+    void release();
+
+    /**
+     * Get a value indicating whether the object has been released or not.
+     *
+     * @return a value indicating whether the object has been released or not
+     */
+    boolean isReleased();
+}
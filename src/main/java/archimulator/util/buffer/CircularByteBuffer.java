@@ -20,6 +20,9 @@
  */
 package archimulator.util.buffer;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 
 /**
@@ -167,6 +170,30 @@ public class CircularByteBuffer {
         return writeIndex + 1 <= buffer.capacity() && writeIndex + 1 == readIndex || writeIndex == buffer.capacity() - 1 && readIndex == 0;
     }
 
+    /**
+     * Load the content and the read and write indices of the circular byte buffer from the specified data input.
+     *
+     * @param in the data input
+     * @throws IOException if an I/O error occurs
+     */
+    public void loadFrom(DataInput in) throws IOException {
+        readIndex = in.readInt();
+        writeIndex = in.readInt();
+        in.readFully(buffer.array());
+    }
+
+    /**
+     * Save the content and the read and write indices of the circular byte buffer to the specified data output.
+     *
+     * @param out the data output
+     * @throws IOException if an I/O error occurs
+     */
+    public void saveTo(DataOutput out) throws IOException {
+        out.writeInt(readIndex);
+        out.writeInt(writeIndex);
+        out.write(buffer.array());
+    }
+
     /**
      * Get the supporting byte buffer.
      *
@@ -1,20 +1,25 @@
 package archimulator.util.cmd;
 
 import archimulator.common.*;
+import archimulator.common.stat.StatStoreFormat;
+import archimulator.common.stat.StatStoreWriter;
+import archimulator.isa.MemoryBackingStoreType;
+import archimulator.uncore.cache.partitioning.PartitionSearchType;
 import archimulator.uncore.cache.replacement.CacheReplacementPolicyType;
 import archimulator.uncore.dram.MemoryControllerType;
 import archimulator.uncore.net.simple.routing.RoutingAlgorithmType;
-import archimulator.util.serialization.JsonSerializationHelper;
+import archimulator.util.event.CycleAccurateEventQueueType;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.Parameters;
-import org.apache.commons.io.FileUtils;
 
-import java.io.File;
-import java.io.IOException;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Simulate command.
@@ -71,6 +76,54 @@ public class SimulateCommand {
     @Parameter(names = "-mcType", description = "Memory controller type")
     private MemoryControllerType memoryControllerType = MemoryControllerType.FIXED_LATENCY;
 
+    @Parameter(names = "-eventQueue", description = "Cycle accurate event queue type")
+    private CycleAccurateEventQueueType cycleAccurateEventQueueType = CycleAccurateEventQueueType.CALENDAR;
+
+    @Parameter(names = "-bbFastForward", description = "Execute whole decoded basic blocks per cycle in the fast forward mode")
+    private boolean basicBlockFastForwardEnabled = false;
+
+    @Parameter(names = "-memoryBackingStore", description = "Memory backing store type")
+    private MemoryBackingStoreType memoryBackingStoreType = MemoryBackingStoreType.HEAP;
+
+    @Parameter(names = "-profilers", description = "Comma separated profiling helper types to be attached")
+    private List<String> profilingHelperTypes = new ArrayList<>();
+
+    @Parameter(names = "-umonSampling", description = "Profile one in every N sets of the L2 cache in the utility monitors (the MLP-aware policies only support 1)")
+    private int utilityMonitorSamplingRatio = 1;
+
+    @Parameter(names = "-partitionSearch", description = "Search algorithm for the optimal cache partition")
+    private PartitionSearchType partitionSearchType = PartitionSearchType.DYNAMIC_PROGRAMMING;
+
+    @Parameter(names = "-dumpPendingFlowTree", description = "Record the child flows of the pending cache coherence flows for dumping")
+    private boolean pendingFlowTreeDumpEnabled = false;
+
+    @Parameter(names = "-poolDebug", description = "Never recycle the released pipeline entries and fail on any use after release")
+    private boolean pipelineEntryPoolDebugEnabled = false;
+
+    @Parameter(names = "-roiCheckpointDir", description = "Directory of the ROI checkpoints reused by the two-phase experiments to skip fast forwarding on reruns")
+    private String roiCheckpointDirectory = null;
+
+    @Parameter(names = "-simPointInterval", description = "Size in instructions of the intervals profiled by the sampled experiments")
+    private long simPointIntervalSize = 10000000;
+
+    @Parameter(names = "-simPointWarmup", description = "Number of instructions for warming up the caches before each simulation point of the sampled experiments")
+    private long simPointWarmupSize = 1000000;
+
+    @Parameter(names = "-simPointMaxK", description = "Maximum number of simulation points picked by the sampled experiments")
+    private int simPointMaxNumClusters = 10;
+
+    @Parameter(names = "-samplingPeriod", description = "Sampling period in instructions of the periodic sampled experiments")
+    private long samplingPeriod = 1000000;
+
+    @Parameter(names = "-samplingUnit", description = "Size in instructions of the measurement units of the periodic sampled experiments")
+    private long samplingUnitSize = 1000;
+
+    @Parameter(names = "-samplingWarmup", description = "Number of instructions simulated in detail before each measurement unit of the periodic sampled experiments")
+    private long samplingDetailedWarmupSize = 2000;
+
+    @Parameter(names = "-statsFormats", description = "Formats in which the statistics are written: JSON, CSV and/or BINARY", variableArity = true)
+    private List<String> statsFormats = new ArrayList<>();
+
     /**
      * Run the simulate command.
      */
@@ -79,31 +132,93 @@ public class SimulateCommand {
         contextMappings.add(new ContextMapping(0, executable, arguments));
 
         Experiment experiment = new Experiment(experimentType, outputDirectory, false, -1, numCores, numThreadsPerCore, (int) displaySizeToByteCount(l1ISize), l1IAssociativity, (int) displaySizeToByteCount(l1DSize), l1DAssociativity, (int) displaySizeToByteCount(l2Size), l2Associativity, l2ReplacementPolicyType, routingAlgorithmType, memoryControllerType, numMaxInstructions, contextMappings);
+        experiment.setCycleAccurateEventQueueType(cycleAccurateEventQueueType);
+        experiment.setBasicBlockFastForwardEnabled(basicBlockFastForwardEnabled);
+        experiment.setMemoryBackingStoreType(memoryBackingStoreType);
+        experiment.setProfilingHelperTypes(profilingHelperTypes.stream().map(ProfilingHelperType::valueOf).collect(Collectors.toList()));
+        experiment.setUtilityMonitorSamplingRatio(utilityMonitorSamplingRatio);
+        experiment.setPartitionSearchType(partitionSearchType);
+        experiment.setPendingFlowTreeDumpEnabled(pendingFlowTreeDumpEnabled);
+        experiment.setPipelineEntryPoolDebugEnabled(pipelineEntryPoolDebugEnabled);
+        experiment.setRoiCheckpointDirectory(roiCheckpointDirectory);
+        experiment.setSimPointIntervalSize(simPointIntervalSize);
+        experiment.setSimPointWarmupSize(simPointWarmupSize);
+        experiment.setSimPointMaxNumClusters(simPointMaxNumClusters);
+        experiment.setSamplingPeriod(samplingPeriod);
+        experiment.setSamplingUnitSize(samplingUnitSize);
+        experiment.setSamplingDetailedWarmupSize(samplingDetailedWarmupSize);
         experiment.run();
 
-        if (experiment.getState() == ExperimentState.COMPLETED) {
-            File file = new File(outputDirectory, "result.json");
+        writeStats(experiment, outputDirectory, toStatStoreFormats(statsFormats));
+    }
 
-            if (!file.exists()) {
-                List<ExperimentStat> stats = experiment.getStats();
+    /**
+     * Get the list of the statistic store formats from the specified list of format names, which defaults to JSON.
+     *
+     * @param statsFormats the list of format names
+     * @return the list of the statistic store formats
+     */
+    static List<StatStoreFormat> toStatStoreFormats(List<String> statsFormats) {
+        if (statsFormats.isEmpty()) {
+            return Collections.singletonList(StatStoreFormat.JSON);
+        }
 
-                String json = JsonSerializationHelper.toJson(stats, true);
+        return statsFormats.stream().map(format -> StatStoreFormat.valueOf(format.toUpperCase())).collect(Collectors.toList());
+    }
 
-                if (!file.getParentFile().exists()) {
-                    if (!file.getParentFile().mkdirs()) {
-                        throw new RuntimeException();
+    /**
+     * Write the statistics of the specified experiment in each of the specified formats to the output directory if the
+     * experiment has completed. The statistics are streamed to the files, and existing files are not overwritten.
+     *
+     * @param experiment      the experiment
+     * @param outputDirectory the output directory
+     * @param formats         the list of the statistic store formats
+     * @return the list of the files that have been written
+     */
+    static List<File> writeStats(Experiment experiment, String outputDirectory, List<StatStoreFormat> formats) {
+        List<File> files = new ArrayList<>();
+
+        if (experiment.getState() == ExperimentState.COMPLETED) {
+            for (StatStoreFormat format : formats) {
+                File file = new File(outputDirectory, format.getFileName());
+
+                if (!file.exists()) {
+                    if (!file.getParentFile().exists()) {
+                        if (!file.getParentFile().mkdirs()) {
+                            throw new RuntimeException();
+                        }
                     }
-                }
 
-                try {
-                    FileUtils.writeStringToFile(file, json);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
+                    try {
+                        switch (format) {
+                            case JSON:
+                                try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+                                    experiment.getStats().writeJson(writer);
+                                }
+                                break;
+                            case CSV:
+                                try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+                                    experiment.getStats().writeCsv(writer);
+                                }
+                                break;
+                            default:
+                                try (StatStoreWriter writer = new StatStoreWriter(new FileOutputStream(file))) {
+                                    writer.writeAll(experiment.getStats());
+                                }
+                                break;
+                        }
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+
+                    System.out.println("Experiment statistics has been written to " + file.getPath());
 
-                System.out.println("Experiment statistics has been written to " + file.getPath());
+                    files.add(file);
+                }
             }
         }
+
+        return files;
     }
 
     /**
@@ -112,7 +227,7 @@ public class SimulateCommand {
      * @param displaySize the display size
      * @return the byte count
      */
-    private long displaySizeToByteCount(String displaySize) {
+    static long displaySizeToByteCount(String displaySize) {
         displaySize = displaySize.trim();
         displaySize = displaySize.replaceAll(",", ".");
         try {
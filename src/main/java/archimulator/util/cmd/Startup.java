@@ -16,9 +16,11 @@ public class Startup {
      */
     public static void main(String[] args) {
         SimulateCommand simulateCommand = new SimulateCommand();
+        SweepCommand sweepCommand = new SweepCommand();
 
         JCommander commander = new JCommander();
         commander.addCommand(simulateCommand);
+        commander.addCommand(sweepCommand);
 
         try {
             commander.parse(args);
@@ -30,6 +32,9 @@ public class Startup {
                     case "simulate":
                         simulateCommand.run();
                         break;
+                    case "sweep":
+                        sweepCommand.run();
+                        break;
                     default:
                         commander.usage();
                         break;
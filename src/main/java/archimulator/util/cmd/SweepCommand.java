@@ -0,0 +1,206 @@
+package archimulator.util.cmd;
+
+import archimulator.common.ContextMapping;
+import archimulator.common.Experiment;
+import archimulator.common.ExperimentType;
+import archimulator.common.ProfilingHelperType;
+import archimulator.isa.MemoryBackingStoreType;
+import archimulator.uncore.cache.partitioning.PartitionSearchType;
+import archimulator.uncore.cache.replacement.CacheReplacementPolicyType;
+import archimulator.uncore.dram.MemoryControllerType;
+import archimulator.uncore.net.simple.routing.RoutingAlgorithmType;
+import archimulator.util.event.CycleAccurateEventQueueType;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.Parameters;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * Sweep command. Runs the experiments of all the combinations of the specified parameter values concurrently on a bounded pool of worker threads.
+ *
+ * @author Min Cai
+ */
+@Parameters(commandNames = "sweep", separators = "=")
+public class SweepCommand {
+    @Parameter(names = "-t", description = "Experiment type")
+    private ExperimentType experimentType = ExperimentType.TWO_PHASE;
+
+    @Parameter(required = true, names = "-d", description = "Output directory under which a subdirectory is generated for each experiment")
+    private String outputDirectory = null;
+
+    @Parameter(required = true, names = "-e", description = "Executable to be simulated")
+    private String executable = null;
+
+    @Parameter(names = "-a", description = "Arguments passed to the executable")
+    private String arguments = "";
+
+    @Parameter(names = "-numMaxInsts", description = "Number of maximum instructions executed")
+    private long numMaxInstructions = -1;
+
+    @Parameter(names = {"-n", "-numCores"}, description = "Number of cores")
+    private int numCores = 2;
+
+    @Parameter(names = "-numThreadsPerCore", description = "Number of threads per core")
+    private int numThreadsPerCore = 2;
+
+    @Parameter(names = "-l1ISize", description = "L1 instruction cache size(B,KB,MB,GB)")
+    private String l1ISize = "64KB";
+
+    @Parameter(names = "-l1IAssoc", description = "L1 instruction cache associativity")
+    private int l1IAssociativity = 4;
+
+    @Parameter(names = "-l1DSize", description = "L1 data cache size(B,KB,MB,GB)")
+    private String l1DSize = "64KB";
+
+    @Parameter(names = "-l1DAssoc", description = "L1 data cache associativity")
+    private int l1DAssociativity = 4;
+
+    @Parameter(names = "-l2Size", description = "Comma separated L2 cache sizes(B,KB,MB,GB)")
+    private List<String> l2Sizes = null;
+
+    @Parameter(names = "-l2Assoc", description = "Comma separated L2 cache associativities")
+    private List<String> l2Associativities = null;
+
+    @Parameter(names = "-l2Repl", description = "Comma separated L2 cache replacement policy types")
+    private List<String> l2ReplacementPolicyTypes = null;
+
+    @Parameter(names = "-routing", description = "Comma separated on-chip interconnect routing algorithm types")
+    private List<String> routingAlgorithmTypes = null;
+
+    @Parameter(names = "-mcType", description = "Comma separated memory controller types")
+    private List<String> memoryControllerTypes = null;
+
+    @Parameter(names = "-eventQueue", description = "Cycle accurate event queue type")
+    private CycleAccurateEventQueueType cycleAccurateEventQueueType = CycleAccurateEventQueueType.CALENDAR;
+
+    @Parameter(names = "-bbFastForward", description = "Execute whole decoded basic blocks per cycle in the fast forward mode")
+    private boolean basicBlockFastForwardEnabled = false;
+
+    @Parameter(names = "-memoryBackingStore", description = "Memory backing store type")
+    private MemoryBackingStoreType memoryBackingStoreType = MemoryBackingStoreType.HEAP;
+
+    @Parameter(names = "-profilers", description = "Comma separated profiling helper types to be attached")
+    private List<String> profilingHelperTypes = new ArrayList<>();
+
+    @Parameter(names = "-umonSampling", description = "Profile one in every N sets of the L2 cache in the utility monitors (the MLP-aware policies only support 1)")
+    private int utilityMonitorSamplingRatio = 1;
+
+    @Parameter(names = "-partitionSearch", description = "Search algorithm for the optimal cache partition")
+    private PartitionSearchType partitionSearchType = PartitionSearchType.DYNAMIC_PROGRAMMING;
+
+    @Parameter(names = "-roiCheckpointDir", description = "Directory of the ROI checkpoints reused by the two-phase experiments to skip fast forwarding on reruns")
+    private String roiCheckpointDirectory = null;
+
+    @Parameter(names = "-simPointInterval", description = "Size in instructions of the intervals profiled by the sampled experiments")
+    private long simPointIntervalSize = 10000000;
+
+    @Parameter(names = "-simPointWarmup", description = "Number of instructions for warming up the caches before each simulation point of the sampled experiments")
+    private long simPointWarmupSize = 1000000;
+
+    @Parameter(names = "-simPointMaxK", description = "Maximum number of simulation points picked by the sampled experiments")
+    private int simPointMaxNumClusters = 10;
+
+    @Parameter(names = "-samplingPeriod", description = "Sampling period in instructions of the periodic sampled experiments")
+    private long samplingPeriod = 1000000;
+
+    @Parameter(names = "-samplingUnit", description = "Size in instructions of the measurement units of the periodic sampled experiments")
+    private long samplingUnitSize = 1000;
+
+    @Parameter(names = "-samplingWarmup", description = "Number of instructions simulated in detail before each measurement unit of the periodic sampled experiments")
+    private long samplingDetailedWarmupSize = 2000;
+
+    @Parameter(names = "-statsFormats", description = "Formats in which the statistics are written: JSON, CSV and/or BINARY", variableArity = true)
+    private List<String> statsFormats = new ArrayList<>();
+
+    @Parameter(names = "-j", description = "Number of experiments run concurrently")
+    private int numWorkers = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Run the sweep command.
+     */
+    public void run() {
+        List<Experiment> experiments = new ArrayList<>();
+
+        for (String l2Size : valuesOrDefault(l2Sizes, "512KB")) {
+            for (String l2Associativity : valuesOrDefault(l2Associativities, "16")) {
+                for (String l2ReplacementPolicyType : valuesOrDefault(l2ReplacementPolicyTypes, CacheReplacementPolicyType.LRU.name())) {
+                    for (String routingAlgorithmType : valuesOrDefault(routingAlgorithmTypes, RoutingAlgorithmType.BASIC_STATIC.name())) {
+                        for (String memoryControllerType : valuesOrDefault(memoryControllerTypes, MemoryControllerType.FIXED_LATENCY.name())) {
+                            String experimentOutputDirectory = new File(outputDirectory, String.format(
+                                    "l2Size-%s_l2Assoc-%s_l2Repl-%s_routing-%s_mcType-%s",
+                                    l2Size, l2Associativity, l2ReplacementPolicyType, routingAlgorithmType, memoryControllerType
+                            )).getPath();
+
+                            List<ContextMapping> contextMappings = new ArrayList<>();
+                            contextMappings.add(new ContextMapping(0, executable, arguments));
+
+                            Experiment experiment = new Experiment(
+                                    experimentType, experimentOutputDirectory, false, -1, numCores, numThreadsPerCore,
+                                    (int) SimulateCommand.displaySizeToByteCount(l1ISize), l1IAssociativity,
+                                    (int) SimulateCommand.displaySizeToByteCount(l1DSize), l1DAssociativity,
+                                    (int) SimulateCommand.displaySizeToByteCount(l2Size), Integer.parseInt(l2Associativity),
+                                    CacheReplacementPolicyType.valueOf(l2ReplacementPolicyType),
+                                    RoutingAlgorithmType.valueOf(routingAlgorithmType),
+                                    MemoryControllerType.valueOf(memoryControllerType),
+                                    numMaxInstructions, contextMappings
+                            );
+                            experiment.setCycleAccurateEventQueueType(cycleAccurateEventQueueType);
+                            experiment.setBasicBlockFastForwardEnabled(basicBlockFastForwardEnabled);
+                            experiment.setMemoryBackingStoreType(memoryBackingStoreType);
+                            experiment.setProfilingHelperTypes(profilingHelperTypes.stream().map(ProfilingHelperType::valueOf).collect(Collectors.toList()));
+                            experiment.setUtilityMonitorSamplingRatio(utilityMonitorSamplingRatio);
+                            experiment.setPartitionSearchType(partitionSearchType);
+                            experiment.setRoiCheckpointDirectory(roiCheckpointDirectory);
+                            experiment.setSimPointIntervalSize(simPointIntervalSize);
+                            experiment.setSimPointWarmupSize(simPointWarmupSize);
+                            experiment.setSimPointMaxNumClusters(simPointMaxNumClusters);
+                            experiment.setSamplingPeriod(samplingPeriod);
+                            experiment.setSamplingUnitSize(samplingUnitSize);
+                            experiment.setSamplingDetailedWarmupSize(samplingDetailedWarmupSize);
+
+                            experiments.add(experiment);
+                        }
+                    }
+                }
+            }
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(Math.max(1, Math.min(numWorkers, experiments.size())));
+        CompletionService<Experiment> completionService = new ExecutorCompletionService<>(executorService);
+
+        for (Experiment experiment : experiments) {
+            completionService.submit(() -> {
+                experiment.run();
+                SimulateCommand.writeStats(experiment, experiment.getOutputDirectory(), SimulateCommand.toStatStoreFormats(statsFormats));
+                return experiment;
+            });
+        }
+
+        try {
+            for (int i = 0; i < experiments.size(); i++) {
+                Experiment experiment = completionService.take().get();
+                System.out.printf("[%d/%d] %s: %s%n", i + 1, experiments.size(), experiment.getOutputDirectory(), experiment.getState());
+            }
+        } catch (InterruptedException | ExecutionException e) {
+            throw new RuntimeException(e);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Get the specified list of values if it is not empty; otherwise a singleton list of the specified default value.
+     *
+     * @param values       the list of values
+     * @param defaultValue the default value
+     * @return the specified list of values if it is not empty; otherwise a singleton list of the specified default value
+     */
+    private static List<String> valuesOrDefault(List<String> values, String defaultValue) {
+        return values != null && !values.isEmpty() ? values : Collections.singletonList(defaultValue);
+    }
+}
@@ -20,15 +20,15 @@
  */
 package archimulator.util.event;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
- * Blocking event dispatcher.
+ * Blocking event dispatcher. The listeners of each event class are kept in an immutable array which is replaced on registration,
+ * so that dispatching takes neither a lock nor an iterator, and producers can skip creating events which nobody listens to.
  *
  * @param <BlockingEventT> the type of the event
  * @author Min Cai
@@ -37,19 +37,19 @@ public class BlockingEventDispatcher<BlockingEventT extends BlockingEvent> {
     /**
      * Map of event listeners.
      */
-    protected final Map<Class<? extends BlockingEventT>, List<BiConsumer<?, ? extends BlockingEventT>>> listeners;
+    private volatile Map<Class<?>, BiConsumer<?, ?>[]> listeners;
 
     /**
-     * Map of any event listeners.
+     * Array of any event listeners.
      */
-    protected final List<BiConsumer<Object, BlockingEventT>> anyListeners;
+    private volatile BiConsumer<?, ?>[] anyListeners;
 
     /**
      * Create a blocking event dispatcher.
      */
     public BlockingEventDispatcher() {
-        this.listeners = new LinkedHashMap<>();
-        this.anyListeners = new ArrayList<>();
+        this.listeners = new HashMap<>();
+        this.anyListeners = NO_LISTENERS;
     }
 
     /**
@@ -58,7 +58,7 @@ public class BlockingEventDispatcher<BlockingEventT extends BlockingEvent> {
      * @param <BlockingEventK> the type of the event
      * @param event            the event
      */
-    public synchronized <BlockingEventK extends BlockingEventT> void dispatch(BlockingEventK event) {
+    public <BlockingEventK extends BlockingEventT> void dispatch(BlockingEventK event) {
         this.dispatch(null, event);
     }
 
@@ -70,20 +70,31 @@ public class BlockingEventDispatcher<BlockingEventT extends BlockingEvent> {
      * @param event            the event
      */
     @SuppressWarnings({"unchecked"})
-    public synchronized <BlockingEventK extends BlockingEventT> void dispatch(Object sender, BlockingEventK event) {
-        Class<? extends BlockingEventT> eventClass = (Class<? extends BlockingEventT>) event.getClass();
+    public <BlockingEventK extends BlockingEventT> void dispatch(Object sender, BlockingEventK event) {
+        BiConsumer<?, ?>[] listenersInTheEventClass = this.listeners.get(event.getClass());
 
-        if (this.listeners.containsKey(eventClass)) {
-            for (BiConsumer<?, ? extends BlockingEventT> listener : this.listeners.get(eventClass)) {
+        if (listenersInTheEventClass != null) {
+            for (BiConsumer<?, ?> listener : listenersInTheEventClass) {
                 ((BiConsumer<Object, BlockingEventK>) listener).accept(sender, event);
             }
         }
 
-        for (BiConsumer<Object, BlockingEventT> anyListener : this.anyListeners) {
-            anyListener.accept(sender, event);
+        for (BiConsumer<?, ?> anyListener : this.anyListeners) {
+            ((BiConsumer<Object, BlockingEventK>) anyListener).accept(sender, event);
         }
     }
 
+    /**
+     * Get a value indicating whether there is any listener for the specified event class or not.
+     * Producers of frequent events may use it to skip creating the events which nobody listens to.
+     *
+     * @param eventClass the event class
+     * @return a value indicating whether there is any listener for the specified event class or not
+     */
+    public boolean hasListeners(Class<? extends BlockingEventT> eventClass) {
+        return this.anyListeners.length > 0 || this.listeners.containsKey(eventClass);
+    }
+
     /**
      * Add a listener for the specified event class.
      *
@@ -91,7 +102,7 @@ public class BlockingEventDispatcher<BlockingEventT extends BlockingEvent> {
      * @param eventClass       the event class
      * @param listener         the listener that is to be added
      */
-    public synchronized <BlockingEventK extends BlockingEventT> void addListener(Class<BlockingEventK> eventClass, final Consumer<BlockingEventK> listener) {
+    public <BlockingEventK extends BlockingEventT> void addListener(Class<BlockingEventK> eventClass, final Consumer<BlockingEventK> listener) {
         this.addListener(eventClass, new ProxyAction2<>(listener));
     }
 
@@ -103,12 +114,10 @@ public class BlockingEventDispatcher<BlockingEventT extends BlockingEvent> {
      * @param listener         the listener that is to be added
      */
     public synchronized <BlockingEventK extends BlockingEventT> void addListener(Class<BlockingEventK> eventClass, BiConsumer<?, BlockingEventK> listener) {
-        if (!this.listeners.containsKey(eventClass)) {
-            this.listeners.put(eventClass, new ArrayList<>());
-        }
+        BiConsumer<?, ?>[] listenersInTheEventClass = this.listeners.getOrDefault(eventClass, NO_LISTENERS);
 
-        if (!this.listeners.get(eventClass).contains(listener)) {
-            this.listeners.get(eventClass).add(listener);
+        if (indexOf(listenersInTheEventClass, listener) == -1) {
+            this.putListeners(eventClass, append(listenersInTheEventClass, listener));
         }
     }
 
@@ -118,8 +127,8 @@ public class BlockingEventDispatcher<BlockingEventT extends BlockingEvent> {
      * @param listener the listener that is to be added
      */
     public synchronized void addAnyListener(BiConsumer<Object, BlockingEventT> listener) {
-        if (!this.anyListeners.contains(listener)) {
-            this.anyListeners.add(listener);
+        if (indexOf(this.anyListeners, listener) == -1) {
+            this.anyListeners = append(this.anyListeners, listener);
         }
     }
 
@@ -131,16 +140,12 @@ public class BlockingEventDispatcher<BlockingEventT extends BlockingEvent> {
      * @param listener         the listener that is to be removed
      */
     public synchronized <BlockingEventK extends BlockingEventT> void removeListener(Class<BlockingEventK> eventClass, Consumer<BlockingEventK> listener) {
-        if (this.listeners.containsKey(eventClass)) {
-            List<BiConsumer<?, ? extends BlockingEventT>> listenersInTheEventClass = this.listeners.get(eventClass);
-
-            for (BiConsumer<?, ? extends BlockingEventT> listenerFound : listenersInTheEventClass) {
-                if (listenerFound instanceof ProxyAction2) {
-                    if (((ProxyAction2) listenerFound).listener == listener) {
-                        this.listeners.get(eventClass).remove(listenerFound);
-                        break;
-                    }
-                }
+        BiConsumer<?, ?>[] listenersInTheEventClass = this.listeners.getOrDefault(eventClass, NO_LISTENERS);
+
+        for (int i = 0; i < listenersInTheEventClass.length; i++) {
+            if (listenersInTheEventClass[i] instanceof ProxyAction2 && ((ProxyAction2) listenersInTheEventClass[i]).listener == listener) {
+                this.putListeners(eventClass, remove(listenersInTheEventClass, i));
+                break;
             }
         }
     }
@@ -151,8 +156,10 @@ public class BlockingEventDispatcher<BlockingEventT extends BlockingEvent> {
      * @param listener         the listener that is to be removed
      */
     public synchronized void removeAnyListener(BiConsumer<Object, BlockingEventT> listener) {
-        if (this.anyListeners.contains(listener)) {
-            this.anyListeners.remove(listener);
+        int index = indexOf(this.anyListeners, listener);
+
+        if (index != -1) {
+            this.anyListeners = remove(this.anyListeners, index);
         }
     }
 
@@ -164,8 +171,12 @@ public class BlockingEventDispatcher<BlockingEventT extends BlockingEvent> {
      * @param listener         the listener that is to be removed
      */
     public synchronized <BlockingEventK extends BlockingEventT> void removeListener(Class<BlockingEventK> eventClass, BiConsumer<?, BlockingEventK> listener) {
-        if (this.listeners.containsKey(eventClass)) {
-            this.listeners.get(eventClass).remove(listener);
+        BiConsumer<?, ?>[] listenersInTheEventClass = this.listeners.getOrDefault(eventClass, NO_LISTENERS);
+
+        int index = indexOf(listenersInTheEventClass, listener);
+
+        if (index != -1) {
+            this.putListeners(eventClass, remove(listenersInTheEventClass, index));
         }
     }
 
@@ -173,7 +184,7 @@ public class BlockingEventDispatcher<BlockingEventT extends BlockingEvent> {
      * Clear all the listeners.
      */
     public synchronized void clearListeners() {
-        this.listeners.clear();
+        this.listeners = new HashMap<>();
     }
 
     /**
@@ -185,6 +196,70 @@ public class BlockingEventDispatcher<BlockingEventT extends BlockingEvent> {
         return this.listeners.isEmpty();
     }
 
+    /**
+     * Publish a copy of the listener map in which the listeners for the specified event class are replaced.
+     *
+     * @param eventClass               the event class
+     * @param listenersInTheEventClass the new listeners for the specified event class
+     */
+    private void putListeners(Class<?> eventClass, BiConsumer<?, ?>[] listenersInTheEventClass) {
+        Map<Class<?>, BiConsumer<?, ?>[]> listeners = new HashMap<>(this.listeners);
+
+        if (listenersInTheEventClass.length > 0) {
+            listeners.put(eventClass, listenersInTheEventClass);
+        } else {
+            listeners.remove(eventClass);
+        }
+
+        this.listeners = listeners;
+    }
+
+    /**
+     * Get the index of the specified listener in the specified array of listeners.
+     *
+     * @param listeners the array of listeners
+     * @param listener  the listener
+     * @return the index of the specified listener in the specified array of listeners if any exists; otherwise -1
+     */
+    private static int indexOf(BiConsumer<?, ?>[] listeners, BiConsumer<?, ?> listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i].equals(listener)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Get a copy of the specified array of listeners with the specified listener appended.
+     *
+     * @param listeners the array of listeners
+     * @param listener  the listener to be appended
+     * @return a copy of the specified array of listeners with the specified listener appended
+     */
+    private static BiConsumer<?, ?>[] append(BiConsumer<?, ?>[] listeners, BiConsumer<?, ?> listener) {
+        BiConsumer<?, ?>[] result = Arrays.copyOf(listeners, listeners.length + 1);
+        result[listeners.length] = listener;
+        return result;
+    }
+
+    /**
+     * Get a copy of the specified array of listeners with the listener at the specified index removed.
+     *
+     * @param listeners the array of listeners
+     * @param index     the index of the listener to be removed
+     * @return a copy of the specified array of listeners with the listener at the specified index removed
+     */
+    private static BiConsumer<?, ?>[] remove(BiConsumer<?, ?>[] listeners, int index) {
+        BiConsumer<?, ?>[] result = new BiConsumer<?, ?>[listeners.length - 1];
+        System.arraycopy(listeners, 0, result, 0, index);
+        System.arraycopy(listeners, index + 1, result, index, listeners.length - index - 1);
+        return result;
+    }
+
+    private static final BiConsumer<?, ?>[] NO_LISTENERS = new BiConsumer<?, ?>[0];
+
     /**
      * Proxy action.
      *
@@ -0,0 +1,136 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2012 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the PickaPack library.
+ * <p>
+ * PickaPack is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * PickaPack is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with PickaPack. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.util.event;
+
+import java.util.ArrayDeque;
+
+/**
+ * Calendar (timing wheel) based cycle accurate event queue.
+ * <p>
+ * Events that are due within the wheel horizon are kept in per-cycle FIFO buckets,
+ * while far-future events are kept in the overflow heap inherited from the cycle accurate event queue.
+ * Events that are due at or before the current cycle but are scheduled after the bucket of the current cycle has been
+ * drained, such as those scheduled by the per-cycle actions, are also kept in the overflow heap, so that they take
+ * place at the next cycle ahead of the events due then, as they do in the cycle accurate event queue.
+ * The queue is not thread safe.
+ *
+ * @author Min Cai
+ */
+public class CalendarCycleAccurateEventQueue extends CycleAccurateEventQueue {
+    /**
+     * The default number of buckets in the timing wheel.
+     */
+    public static final int DEFAULT_NUM_BUCKETS = 1024;
+
+    private ArrayDeque<CycleAccurateEvent>[] buckets;
+    private int mask;
+    private long wheelBase;
+    private long drainedCycle = -1;
+
+    /**
+     * Create a calendar based cycle accurate event queue with the default number of buckets.
+     */
+    public CalendarCycleAccurateEventQueue() {
+        this(DEFAULT_NUM_BUCKETS);
+    }
+
+    /**
+     * Create a calendar based cycle accurate event queue.
+     *
+     * @param numBuckets the number of buckets in the timing wheel, which must be a power of two
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CalendarCycleAccurateEventQueue(int numBuckets) {
+        if (numBuckets <= 0 || (numBuckets & (numBuckets - 1)) != 0) {
+            throw new IllegalArgumentException("numBuckets must be a power of two: " + numBuckets);
+        }
+
+        this.buckets = new ArrayDeque[numBuckets];
+        for (int i = 0; i < numBuckets; i++) {
+            this.buckets[i] = new ArrayDeque<>();
+        }
+
+        this.mask = numBuckets - 1;
+    }
+
+    @Override
+    protected void processEvents() {
+        super.processEvents();
+
+        ArrayDeque<CycleAccurateEvent> bucket = this.buckets[this.getBucketIndex(this.getCurrentCycle())];
+
+        CycleAccurateEvent event;
+        while ((event = bucket.poll()) != null) {
+            this.performEvent(event);
+        }
+
+        this.drainedCycle = this.getCurrentCycle();
+    }
+
+    @Override
+    protected void addEvent(CycleAccurateEvent event) {
+        long delay = event.getWhen() - this.getCurrentCycle();
+
+        if (delay > this.mask || delay <= 0 && this.drainedCycle == this.getCurrentCycle()) {
+            super.addEvent(event);
+        } else {
+            this.buckets[this.getBucketIndex(delay < 0 ? this.getCurrentCycle() : event.getWhen())].add(event);
+        }
+    }
+
+    @Override
+    protected void rebaseEvents(long numCycles) {
+        super.rebaseEvents(numCycles);
+
+        for (ArrayDeque<CycleAccurateEvent> bucket : this.buckets) {
+            for (CycleAccurateEvent event : bucket) {
+                event.setWhen(event.getWhen() - numCycles);
+            }
+        }
+
+        this.wheelBase += numCycles;
+        this.drainedCycle -= numCycles;
+    }
+
+    /**
+     * Get the index of the bucket holding the events that take place at the specified cycle.
+     *
+     * @param when the cycle
+     * @return the index of the bucket holding the events that take place at the specified cycle
+     */
+    private int getBucketIndex(long when) {
+        return (int) ((when + this.wheelBase) & this.mask);
+    }
+
+    /**
+     * Get the number of buckets in the timing wheel.
+     *
+     * @return the number of buckets in the timing wheel
+     */
+    public int getNumBuckets() {
+        return this.buckets.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CalendarCycleAccurateEventQueue{currentCycle=%d, numBuckets=%d}", getCurrentCycle(), getNumBuckets());
+    }
+}
@@ -24,7 +24,7 @@ import archimulator.util.action.Action;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.PriorityQueue;
 
 /**
  * Cycle accurate event queue.
@@ -33,14 +33,14 @@ import java.util.concurrent.PriorityBlockingQueue;
  */
 public class CycleAccurateEventQueue {
     private long currentCycle;
-    private PriorityBlockingQueue<CycleAccurateEvent> events;
+    private PriorityQueue<CycleAccurateEvent> events;
     private List<Action> perCycleEvents;
 
     /**
      * Create a cycle accurate event queue.
      */
     public CycleAccurateEventQueue() {
-        this.events = new PriorityBlockingQueue<>();
+        this.events = new PriorityQueue<>();
         this.perCycleEvents = new ArrayList<>();
     }
 
@@ -48,16 +48,7 @@ public class CycleAccurateEventQueue {
      * Advance for one cycle.
      */
     public void advanceOneCycle() {
-        while (!this.events.isEmpty()) {
-            CycleAccurateEvent event = this.events.peek();
-
-            if (event.getWhen() > this.currentCycle) {
-                break;
-            }
-
-            event.getAction().apply();
-            this.events.remove(event);
-        }
+        this.processEvents();
 
         this.perCycleEvents.forEach(Action::apply);
 
@@ -84,16 +75,61 @@ public class CycleAccurateEventQueue {
      */
     private void schedule(CycleAccurateEvent event) {
         event.setScheduledTime(this.getCurrentCycle());
+        this.addEvent(event);
+    }
+
+    /**
+     * Perform the actions of all the pending events that are due at the current cycle, in the order of when and ID.
+     */
+    protected void processEvents() {
+        while (!this.events.isEmpty()) {
+            CycleAccurateEvent event = this.events.peek();
+
+            if (event.getWhen() > this.currentCycle) {
+                break;
+            }
+
+            this.events.poll();
+            this.performEvent(event);
+        }
+    }
+
+    /**
+     * Perform the action of the specified event. An event never takes place later than its due cycle or the cycle after
+     * the one at which it is scheduled, whichever is later.
+     *
+     * @param event the event whose action is to be performed
+     */
+    protected void performEvent(CycleAccurateEvent event) {
+        assert this.currentCycle <= Math.max(event.getWhen(), event.getScheduledTime() + 1) : "Event performed late: " + event + " at " + this.currentCycle;
+        event.getAction().apply();
+    }
+
+    /**
+     * Add the specified event to the pending events.
+     *
+     * @param event the event that is to be added to the pending events
+     */
+    protected void addEvent(CycleAccurateEvent event) {
         this.events.add(event);
     }
 
     /**
-     * Reset the current cycle to 0.
+     * Shift the cycles of all the pending events back by the specified number of cycles.
+     *
+     * @param numCycles the number of cycles by which the pending events are shifted back
      */
-    public void resetCurrentCycle() {
+    protected void rebaseEvents(long numCycles) {
         for (CycleAccurateEvent event : this.events) {
-            event.setWhen(event.getWhen() - this.currentCycle);
+            event.setWhen(event.getWhen() - numCycles);
         }
+    }
+
+    /**
+     * Reset the current cycle to 0.
+     */
+    public void resetCurrentCycle() {
+        this.rebaseEvents(this.currentCycle);
 
         this.currentCycle = 0;
     }
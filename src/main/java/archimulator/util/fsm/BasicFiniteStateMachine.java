@@ -26,24 +26,23 @@ import archimulator.util.fsm.event.EnterStateEvent;
 import archimulator.util.fsm.event.ExitStateEvent;
 import archimulator.util.fsm.event.FiniteStateMachineEvent;
 
-import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.function.Consumer;
 
 /**
- * Basic finite state machine.
+ * Basic finite state machine. The event dispatcher and the execution counters are only created when first needed.
  *
  * @param <StateT>     the type of the states
  * @param <ConditionT> the type of the conditions
  * @author Min Cai
  */
-public class BasicFiniteStateMachine<StateT, ConditionT> extends Params implements FiniteStateMachine<StateT, ConditionT> {
+public class BasicFiniteStateMachine<StateT extends Enum<StateT>, ConditionT extends Enum<ConditionT>> extends Params implements FiniteStateMachine<StateT, ConditionT> {
     private String name;
     private StateT state;
 
     private BlockingEventDispatcher<FiniteStateMachineEvent> eventDispatcher;
 
-    private Map<StateT, Map<ConditionT, Long>> numExecutions;
+    private long[][] numExecutions;
 
     private boolean settingStates = false;
 
@@ -57,9 +56,6 @@ public class BasicFiniteStateMachine<StateT, ConditionT> extends Params implemen
         this.name = name;
         this.state = state;
 
-        this.eventDispatcher = new BlockingEventDispatcher<>();
-
-        this.numExecutions = new LinkedHashMap<>();
     }
 
     /**
@@ -70,6 +66,10 @@ public class BasicFiniteStateMachine<StateT, ConditionT> extends Params implemen
      * @param listener   the listener that is to be added for the specified event class
      */
     public <EventT extends FiniteStateMachineEvent> void addListener(Class<EventT> eventClass, Consumer<EventT> listener) {
+        if (this.eventDispatcher == null) {
+            this.eventDispatcher = new BlockingEventDispatcher<>();
+        }
+
         this.eventDispatcher.addListener(eventClass, listener);
     }
 
@@ -81,7 +81,18 @@ public class BasicFiniteStateMachine<StateT, ConditionT> extends Params implemen
      * @param listener   the listener that is to removed for the specified event class
      */
     public <EventT extends FiniteStateMachineEvent> void removeListener(Class<EventT> eventClass, Consumer<EventT> listener) {
-        this.eventDispatcher.removeListener(eventClass, listener);
+        if (this.eventDispatcher != null) {
+            this.eventDispatcher.removeListener(eventClass, listener);
+        }
+    }
+
+    /**
+     * Get a value indicating whether there is any listener for the state change events or not.
+     *
+     * @return a value indicating whether there is any listener for the state change events or not
+     */
+    public boolean hasStateChangeListeners() {
+        return this.eventDispatcher != null && (this.eventDispatcher.hasListeners(ExitStateEvent.class) || this.eventDispatcher.hasListeners(EnterStateEvent.class));
     }
 
     /**
@@ -115,12 +126,22 @@ public class BasicFiniteStateMachine<StateT, ConditionT> extends Params implemen
 
     @Override
     public long getNumExecutionsByTransition(StateT state, ConditionT condition) {
-        return this.numExecutions.containsKey(state) && this.numExecutions.get(state).containsKey(condition) ? this.numExecutions.get(state).get(condition) : 0L;
+        long[] numExecutionsByCondition = this.numExecutions != null ? this.numExecutions[state.ordinal()] : null;
+        return numExecutionsByCondition != null ? numExecutionsByCondition[condition.ordinal()] : 0L;
     }
 
     @Override
-    public Map<StateT, Map<ConditionT, Long>> getNumExecutions() {
-        return numExecutions;
+    public void incrementNumExecutionsByTransition(StateT state, ConditionT condition) {
+        if (this.numExecutions == null) {
+            this.numExecutions = new long[state.getDeclaringClass().getEnumConstants().length][];
+        }
+
+        long[] numExecutionsByCondition = this.numExecutions[state.ordinal()];
+        if (numExecutionsByCondition == null) {
+            numExecutionsByCondition = this.numExecutions[state.ordinal()] = new long[condition.getDeclaringClass().getEnumConstants().length];
+        }
+
+        numExecutionsByCondition[condition.ordinal()]++;
     }
 
     @Override
@@ -128,6 +149,15 @@ public class BasicFiniteStateMachine<StateT, ConditionT> extends Params implemen
         return state;
     }
 
+    /**
+     * Update the current state, between the dispatching of the exit state event and that of the enter state event.
+     *
+     * @param state the new state
+     */
+    protected void updateState(StateT state) {
+        this.state = state;
+    }
+
     @Override
     public void setState(Object sender, ConditionT condition, Params params, StateT state) {
         if (this.settingStates) {
@@ -136,9 +166,13 @@ public class BasicFiniteStateMachine<StateT, ConditionT> extends Params implemen
 
         this.settingStates = true;
 
-        this.eventDispatcher.dispatch(new ExitStateEvent(this, sender, condition, params));
-        this.state = state;
-        this.eventDispatcher.dispatch(new EnterStateEvent(this, sender, condition, params));
+        if (this.eventDispatcher != null && this.eventDispatcher.hasListeners(ExitStateEvent.class)) {
+            this.eventDispatcher.dispatch(new ExitStateEvent(this, sender, condition, params));
+        }
+        this.updateState(state);
+        if (this.eventDispatcher != null && this.eventDispatcher.hasListeners(EnterStateEvent.class)) {
+            this.eventDispatcher.dispatch(new EnterStateEvent(this, sender, condition, params));
+        }
 
         this.settingStates = false;
     }
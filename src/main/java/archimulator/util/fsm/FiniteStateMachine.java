@@ -23,7 +23,6 @@ package archimulator.util.fsm;
 import archimulator.util.Params;
 
 import java.io.Serializable;
-import java.util.Map;
 
 /**
  * Finite state machine.
@@ -32,7 +31,7 @@ import java.util.Map;
  * @param <ConditionT> the type of the conditions
  * @author Min Cai
  */
-public interface FiniteStateMachine<StateT, ConditionT> extends Serializable {
+public interface FiniteStateMachine<StateT extends Enum<StateT>, ConditionT extends Enum<ConditionT>> extends Serializable {
     /**
      * Get the number of executions by the specified transition.
      *
@@ -43,11 +42,12 @@ public interface FiniteStateMachine<StateT, ConditionT> extends Serializable {
     long getNumExecutionsByTransition(StateT state, ConditionT condition);
 
     /**
-     * Get the map of the number of executions ordered by states and conditions.
+     * Increment the number of executions by the specified transition.
      *
-     * @return the map of the number of executions ordered by states and conditions
+     * @param state     the state
+     * @param condition the condition
      */
-    Map<StateT, Map<ConditionT, Long>> getNumExecutions();
+    void incrementNumExecutionsByTransition(StateT state, ConditionT condition);
 
     /**
      * Get the current state.
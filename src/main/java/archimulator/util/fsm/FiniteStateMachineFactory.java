@@ -22,9 +22,11 @@ package archimulator.util.fsm;
 
 import archimulator.util.Params;
 
+import java.lang.reflect.Array;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.ToLongBiFunction;
 
 /**
  * Finite state machine factory.
@@ -34,8 +36,9 @@ import java.util.Map;
  * @param <ConditionT> the type of the conditions
  * @param <FiniteStateMachineT> the type of the finite state machines
  */
-public class FiniteStateMachineFactory<StateT, ConditionT, FiniteStateMachineT extends FiniteStateMachine<StateT, ConditionT>> {
+public class FiniteStateMachineFactory<StateT extends Enum<StateT>, ConditionT extends Enum<ConditionT>, FiniteStateMachineT extends FiniteStateMachine<StateT, ConditionT>> {
     Map<StateT, StateTransitions<StateT, ConditionT, FiniteStateMachineT>> transitions;
+    private StateTransitions<StateT, ConditionT, FiniteStateMachineT>[] transitionsByState;
 
     /**
      * Create a finite state machine factory.
@@ -50,9 +53,16 @@ public class FiniteStateMachineFactory<StateT, ConditionT, FiniteStateMachineT e
      * @param state the state
      * @return the state transitions object for the specified state
      */
+    @SuppressWarnings("unchecked")
     public StateTransitions<StateT, ConditionT, FiniteStateMachineT> inState(StateT state) {
         if (!this.transitions.containsKey(state)) {
-            this.transitions.put(state, new StateTransitions<>(this, state));
+            if (this.transitionsByState == null) {
+                this.transitionsByState = (StateTransitions<StateT, ConditionT, FiniteStateMachineT>[]) Array.newInstance(StateTransitions.class, state.getDeclaringClass().getEnumConstants().length);
+            }
+
+            StateTransitions<StateT, ConditionT, FiniteStateMachineT> stateTransitions = new StateTransitions<>(this, state);
+            this.transitions.put(state, stateTransitions);
+            this.transitionsByState[state.ordinal()] = stateTransitions;
         }
 
         return this.transitions.get(state);
@@ -63,6 +73,7 @@ public class FiniteStateMachineFactory<StateT, ConditionT, FiniteStateMachineT e
      */
     public void clear() {
         this.transitions.clear();
+        this.transitionsByState = null;
     }
 
     /**
@@ -74,8 +85,10 @@ public class FiniteStateMachineFactory<StateT, ConditionT, FiniteStateMachineT e
      * @param params the event parameters
      */
     public void fireTransition(FiniteStateMachineT fsm, Object sender, ConditionT condition, Params params) {
-        if (this.transitions.containsKey(fsm.getState())) {
-            this.transitions.get(fsm.getState()).fireTransition(fsm, sender, condition, params);
+        StateTransitions<StateT, ConditionT, FiniteStateMachineT> stateTransitions = this.transitionsByState != null ? this.transitionsByState[fsm.getState().ordinal()] : null;
+
+        if (stateTransitions != null) {
+            stateTransitions.fireTransition(fsm, sender, condition, params);
         } else {
             throw new IllegalArgumentException("No handler registered for condition " + condition + " in state " + fsm.getState());
         }
@@ -120,16 +133,28 @@ public class FiniteStateMachineFactory<StateT, ConditionT, FiniteStateMachineT e
      * @param stats the map of statistics
      */
     public void dump(String name, List<? extends FiniteStateMachine<StateT, ConditionT>> fsms, Map<String, String> stats) {
+        this.dump(name, (state, condition) -> {
+            long numExecutions = 0;
+            for (FiniteStateMachine<StateT, ConditionT> fsm : fsms) {
+                numExecutions += fsm.getNumExecutionsByTransition(state, condition);
+            }
+            return numExecutions;
+        }, stats);
+    }
+
+    /**
+     * Dump.
+     *
+     * @param name the name of the finite state machine factory.
+     * @param numExecutionsByTransition the function returning the number of executions of the transition from the specified state on the specified condition
+     * @param stats the map of statistics
+     */
+    public void dump(String name, ToLongBiFunction<StateT, ConditionT> numExecutionsByTransition, Map<String, String> stats) {
         for (StateT state : this.transitions.keySet()) {
             StateTransitions<StateT, ConditionT, FiniteStateMachineT> stateTransitions = this.transitions.get(state);
             Map<ConditionT, StateTransitions<StateT, ConditionT, FiniteStateMachineT>.StateTransition> perStateTransitions = stateTransitions.getPerStateTransitions();
             for (ConditionT condition : perStateTransitions.keySet()) {
-                long numExecutions = 0;
-                for (FiniteStateMachine<StateT, ConditionT> fsm : fsms) {
-                    numExecutions += fsm.getNumExecutionsByTransition(state, condition);
-                }
-
-                stats.put(String.format("%s.%s.%s", name, state, condition), "" + numExecutions);
+                stats.put(String.format("%s.%s.%s", name, state, condition), "" + numExecutionsByTransition.applyAsLong(state, condition));
             }
         }
     }
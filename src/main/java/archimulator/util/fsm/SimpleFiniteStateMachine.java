@@ -22,8 +22,6 @@ package archimulator.util.fsm;
 
 import archimulator.util.Params;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
 
 /**
  * Simple finite state machine.
@@ -32,12 +30,12 @@ import java.util.Map;
  * @param <StateT> the type of the states
  * @param <ConditionT> the type of the conditions
  */
-public class SimpleFiniteStateMachine<StateT, ConditionT> implements FiniteStateMachine<StateT, ConditionT> {
+public class SimpleFiniteStateMachine<StateT extends Enum<StateT>, ConditionT extends Enum<ConditionT>> implements FiniteStateMachine<StateT, ConditionT> {
     private StateT state;
 
     private boolean settingStates = false;
 
-    private Map<StateT, Map<ConditionT, Long>> numExecutions;
+    private long[][] numExecutions;
 
     /**
      * Create a simple finite state machine.
@@ -47,17 +45,23 @@ public class SimpleFiniteStateMachine<StateT, ConditionT> implements FiniteState
     public SimpleFiniteStateMachine(StateT state) {
         this.state = state;
 
-        this.numExecutions = new LinkedHashMap<>();
+        this.numExecutions = new long[state.getDeclaringClass().getEnumConstants().length][];
     }
 
     @Override
     public long getNumExecutionsByTransition(StateT state, ConditionT condition) {
-        return this.numExecutions.containsKey(state) && this.numExecutions.get(state).containsKey(condition) ? this.numExecutions.get(state).get(condition) : 0L;
+        long[] numExecutionsByCondition = this.numExecutions[state.ordinal()];
+        return numExecutionsByCondition != null ? numExecutionsByCondition[condition.ordinal()] : 0L;
     }
 
     @Override
-    public Map<StateT, Map<ConditionT, Long>> getNumExecutions() {
-        return numExecutions;
+    public void incrementNumExecutionsByTransition(StateT state, ConditionT condition) {
+        long[] numExecutionsByCondition = this.numExecutions[state.ordinal()];
+        if (numExecutionsByCondition == null) {
+            numExecutionsByCondition = this.numExecutions[state.ordinal()] = new long[condition.getDeclaringClass().getEnumConstants().length];
+        }
+
+        numExecutionsByCondition[condition.ordinal()]++;
     }
 
     @Override
@@ -24,6 +24,7 @@ import archimulator.util.Params;
 import archimulator.util.action.Action4;
 
 import java.io.Serializable;
+import java.lang.reflect.Array;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -38,8 +39,9 @@ import java.util.function.Consumer;
  * @param <ConditionT> the type of the conditions
  * @param <FiniteStateMachineT> the type of the finite state machines
  */
-public class StateTransitions<StateT, ConditionT, FiniteStateMachineT extends FiniteStateMachine<StateT, ConditionT>> implements Serializable {
+public class StateTransitions<StateT extends Enum<StateT>, ConditionT extends Enum<ConditionT>, FiniteStateMachineT extends FiniteStateMachine<StateT, ConditionT>> implements Serializable {
     private Map<ConditionT, StateTransition> perStateTransitions;
+    private StateTransition[] perStateTransitionsByCondition;
     private FiniteStateMachineFactory<StateT, ConditionT, FiniteStateMachineT> fsmFactory;
     private StateT state;
     private Consumer<FiniteStateMachineT> onCompletedCallback;
@@ -131,7 +133,7 @@ public class StateTransitions<StateT, ConditionT, FiniteStateMachineT extends Fi
             }
         });
 
-        this.perStateTransitions.put(condition, new StateTransition(state, condition, newState, actions, onCompletedCallback));
+        this.addTransition(new StateTransition(state, condition, newState, actions, onCompletedCallback));
 
         return this;
     }
@@ -150,11 +152,28 @@ public class StateTransitions<StateT, ConditionT, FiniteStateMachineT extends Fi
             throw new IllegalArgumentException("Transition of condition " + condition + " in state " + this.state + " has already been registered");
         }
 
-        this.perStateTransitions.put(condition, new StateTransition(state, condition, newState, actions, onCompletedCallback));
+        this.addTransition(new StateTransition(state, condition, newState, actions, onCompletedCallback));
 
         return this;
     }
 
+    /**
+     * Add the specified transition to both the map and the condition ordinal indexed table of the per state transitions.
+     *
+     * @param stateTransition the state transition
+     */
+    @SuppressWarnings("unchecked")
+    private void addTransition(StateTransition stateTransition) {
+        ConditionT condition = stateTransition.getCondition();
+
+        if (this.perStateTransitionsByCondition == null) {
+            this.perStateTransitionsByCondition = (StateTransition[]) Array.newInstance(StateTransition.class, condition.getDeclaringClass().getEnumConstants().length);
+        }
+
+        this.perStateTransitions.put(condition, stateTransition);
+        this.perStateTransitionsByCondition[condition.ordinal()] = stateTransition;
+    }
+
     /**
      * Ignore the specified condition.
      *
@@ -172,6 +191,7 @@ public class StateTransitions<StateT, ConditionT, FiniteStateMachineT extends Fi
      */
     public void clear() {
         this.perStateTransitions.clear();
+        this.perStateTransitionsByCondition = null;
     }
 
     /**
@@ -192,8 +212,9 @@ public class StateTransitions<StateT, ConditionT, FiniteStateMachineT extends Fi
      * @param params the event parameters
      */
     void fireTransition(FiniteStateMachineT fsm, Object sender, ConditionT condition, Params params) {
-        if (this.perStateTransitions.containsKey(condition)) {
-            StateTransition stateTransition = this.perStateTransitions.get(condition);
+        StateTransition stateTransition = this.perStateTransitionsByCondition != null ? this.perStateTransitionsByCondition[condition.ordinal()] : null;
+
+        if (stateTransition != null) {
             fsmFactory.changeState(fsm, sender, condition, params, stateTransition.apply(fsm, sender, condition, params));
             if (stateTransition.onCompletedCallback != null) {
                 stateTransition.onCompletedCallback.accept(fsm);
@@ -249,15 +270,7 @@ public class StateTransitions<StateT, ConditionT, FiniteStateMachineT extends Fi
                 ((FiniteStateMachineAction<FiniteStateMachineT, ConditionT, Params>) action).apply(fsm, sender, condition, params);
             }
 
-            if (!fsm.getNumExecutions().containsKey(state)) {
-                fsm.getNumExecutions().put(state, new LinkedHashMap<>());
-            }
-
-            if (!fsm.getNumExecutions().get(state).containsKey(condition)) {
-                fsm.getNumExecutions().get(state).put(condition, 0L);
-            }
-
-            fsm.getNumExecutions().get(state).put(condition, fsm.getNumExecutions().get(state).get(condition) + 1);
+            fsm.incrementNumExecutionsByTransition(state, condition);
 
             if (this.newState == null) {
                 return fsm.getState();
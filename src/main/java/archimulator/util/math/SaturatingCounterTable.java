@@ -0,0 +1,175 @@
+/**
+ * ****************************************************************************
+ * Copyright (c) 2010-2012 by Min Cai (min.cai.china@gmail.com).
+ * <p>
+ * This file is part of the PickaPack library.
+ * <p>
+ * PickaPack is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ * <p>
+ * PickaPack is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ * <p>
+ * You should have received a copy of the GNU General Public License
+ * along with PickaPack. If not, see <http://www.gnu.org/licenses/>.
+ * ****************************************************************************
+ */
+package archimulator.util.math;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Table of saturating counters packed into a byte array, one byte per counter, so that a predictor table is a single
+ * primitive array instead of an array of {@link SaturatingCounter} objects.
+ *
+ * @author Min Cai
+ */
+public class SaturatingCounterTable implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private byte minValue;
+    private byte threshold;
+    private byte maxValue;
+    private byte initialValue;
+
+    private byte[] values;
+
+    /**
+     * Create a saturating counter table.
+     *
+     * @param size the number of counters
+     * @param minValue the minimum value
+     * @param threshold the threshold
+     * @param maxValue the max value
+     * @param initialValue the initial value
+     */
+    public SaturatingCounterTable(int size, int minValue, int threshold, int maxValue, int initialValue) {
+        if (minValue < Byte.MIN_VALUE || maxValue > Byte.MAX_VALUE || minValue > maxValue) {
+            throw new IllegalArgumentException();
+        }
+
+        this.minValue = (byte) minValue;
+        this.threshold = (byte) threshold;
+        this.maxValue = (byte) maxValue;
+        this.initialValue = (byte) initialValue;
+
+        this.values = new byte[size];
+        Arrays.fill(this.values, this.initialValue);
+    }
+
+    /**
+     * Reset the values of all the counters to the initial value.
+     */
+    public void reset() {
+        Arrays.fill(this.values, this.initialValue);
+    }
+
+    /**
+     * Update the counter at the specified index.
+     *
+     * @param index the index of the counter
+     * @param direction the direction
+     */
+    public void update(int index, boolean direction) {
+        byte value = this.values[index];
+
+        if (direction) {
+            if (value < this.maxValue) {
+                this.values[index] = (byte) (value + 1);
+            }
+        } else {
+            if (value > this.minValue) {
+                this.values[index] = (byte) (value - 1);
+            }
+        }
+    }
+
+    /**
+     * Get a value indicating whether the counter at the specified index is in the "taken" state or not.
+     *
+     * @param index the index of the counter
+     * @return a value indicating whether the counter at the specified index is in the "taken" state or not
+     */
+    public boolean isTaken(int index) {
+        return this.values[index] >= this.threshold;
+    }
+
+    /**
+     * Get the value of the counter at the specified index.
+     *
+     * @param index the index of the counter
+     * @return the value of the counter at the specified index
+     */
+    public int getValue(int index) {
+        return this.values[index];
+    }
+
+    /**
+     * Set the value of the counter at the specified index.
+     *
+     * @param index the index of the counter
+     * @param value the value
+     */
+    public void setValue(int index, int value) {
+        if (value < this.minValue || value > this.maxValue) {
+            throw new IllegalArgumentException();
+        }
+
+        this.values[index] = (byte) value;
+    }
+
+    /**
+     * Get the number of counters.
+     *
+     * @return the number of counters
+     */
+    public int getSize() {
+        return this.values.length;
+    }
+
+    /**
+     * Get the minimum value.
+     *
+     * @return the minimum value
+     */
+    public int getMinValue() {
+        return minValue;
+    }
+
+    /**
+     * Get the threshold.
+     *
+     * @return the threshold
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Get the max value.
+     *
+     * @return the max value
+     */
+    public int getMaxValue() {
+        return maxValue;
+    }
+
+    /**
+     * Get the initial value.
+     *
+     * @return the initial value
+     */
+    public int getInitialValue() {
+        return initialValue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SaturatingCounterTable{size=%d, minValue=%d, threshold=%d, maxValue=%d, initialValue=%d}", values.length, minValue, threshold, maxValue, initialValue);
+    }
+}
@@ -22,7 +22,9 @@ package archimulator.util.serialization;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.Writer;
 import java.lang.reflect.Type;
 
 /**
@@ -165,6 +167,20 @@ public class JsonSerializationHelper {
         return gsonPrettyPrint.toJson(gsonPrettyPrint.fromJson(json, Object.class));
     }
 
+    /**
+     * Create a JSON writer for streaming to the specified writer, configured the same as the pretty printing serializer.
+     *
+     * @param writer the writer
+     * @return the JSON writer for streaming to the specified writer
+     */
+    public static JsonWriter newPrettyPrintJsonWriter(Writer writer) {
+        JsonWriter jsonWriter = new JsonWriter(writer);
+        jsonWriter.setIndent("  ");
+        jsonWriter.setHtmlSafe(true);
+        jsonWriter.setSerializeNulls(true);
+        return jsonWriter;
+    }
+
     /**
      * The object wrapper.
      */
@@ -198,4 +214,4 @@ public class JsonSerializationHelper {
             }
         }
     }
-}
\ No newline at end of file
+}